@@ -0,0 +1,217 @@
+package io.coffeebeans.connect.azure.blob.sink.format;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.confluent.connect.avro.AvroData;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import org.apache.kafka.common.record.TimestampType;
+import org.apache.kafka.connect.data.Field;
+import org.apache.kafka.connect.data.Schema;
+import org.apache.kafka.connect.data.SchemaBuilder;
+import org.apache.kafka.connect.data.Struct;
+import org.apache.kafka.connect.sink.SinkRecord;
+
+/**
+ * Generates the records written by the benchmarks. The values are<br>
+ * random but reproducible, and the strings are made of a small alphabet<br>
+ * so that the codecs have something to compress. The {@code INT64} fields<br>
+ * are epoch milliseconds, for the time partitioner to format.
+ */
+public final class BenchmarkRecords {
+    public static final String NESTED_FIELD = "nested";
+    public static final long BASE_TIMESTAMP = 1_660_000_000_000L;
+
+    private static final long SEED = 42L;
+    private static final int DAY_MS = 86_400_000;
+    private static final String ALPHABET = "abcdefghijklmnop";
+    private static final Schema.Type[] FIELD_TYPES = {
+        Schema.Type.INT64, Schema.Type.STRING, Schema.Type.FLOAT64, Schema.Type.BOOLEAN, Schema.Type.INT32
+    };
+
+    /**
+     * Number of fields of the record values.
+     */
+    public enum Width {
+        NARROW(5),
+        WIDE(50);
+
+        private final int fields;
+
+        Width(int fields) {
+            this.fields = fields;
+        }
+    }
+
+    /**
+     * Representation of the record values, as produced by the converters.
+     */
+    public enum Input {
+        STRUCT,
+        MAP,
+        JSON_STRING,
+        BYTES,
+        BYTE_BUFFER
+    }
+
+    private BenchmarkRecords() {
+    }
+
+    /**
+     * Connect schema of the record values.
+     *
+     * @param width Number of fields
+     * @return Struct schema
+     */
+    public static Schema schema(Width width) {
+        return schema(width, false);
+    }
+
+    /**
+     * Connect schema of the record values.
+     *
+     * @param width Number of fields
+     * @param nested Whether the values have a {@value #NESTED_FIELD} struct with as many fields
+     * @return Struct schema
+     */
+    public static Schema schema(Width width, boolean nested) {
+        SchemaBuilder builder = SchemaBuilder.struct()
+                .name(nested ? "io.coffeebeans.benchmark.NestedRecord" : "io.coffeebeans.benchmark.Record");
+
+        for (int i = 0; i < width.fields; i++) {
+            builder.field("field_" + i, SchemaBuilder.type(FIELD_TYPES[i % FIELD_TYPES.length]).build());
+        }
+        if (nested) {
+            builder.field(NESTED_FIELD, schema(width, false));
+        }
+        return builder.build();
+    }
+
+    /**
+     * Writes the Avro schema of the record values to a temporary file,<br>
+     * for the schema store to convert the schemaless values.
+     *
+     * @param width Number of fields
+     * @return URL of the schema file
+     * @throws IOException If the file cannot be written
+     */
+    public static String writeAvroSchema(Width width) throws IOException {
+        org.apache.avro.Schema avroSchema = new AvroData(1).fromConnectSchema(schema(width));
+
+        Path file = Files.createTempFile("benchmark-", ".avsc");
+        file.toFile().deleteOnExit();
+        Files.writeString(file, avroSchema.toString());
+
+        return file.toUri().toString();
+    }
+
+    /**
+     * Generates the records of a file.
+     *
+     * @param topic Kafka topic
+     * @param width Number of fields
+     * @param input Representation of the values
+     * @param count Number of records
+     * @return Sink records
+     * @throws JsonProcessingException If a value cannot be serialized
+     */
+    public static List<SinkRecord> records(String topic, Width width, Input input, int count)
+            throws JsonProcessingException {
+
+        return records(topic, width, false, input, count);
+    }
+
+    /**
+     * Generates the records of a file. The records are produced a<br>
+     * second apart, from {@value #BASE_TIMESTAMP}.
+     *
+     * @param topic Kafka topic
+     * @param width Number of fields
+     * @param nested Whether the values have a {@value #NESTED_FIELD} struct with as many fields
+     * @param input Representation of the values
+     * @param count Number of records
+     * @return Sink records
+     * @throws JsonProcessingException If a value cannot be serialized
+     */
+    public static List<SinkRecord> records(String topic, Width width, boolean nested, Input input, int count)
+            throws JsonProcessingException {
+
+        Schema schema = schema(width, nested);
+        ObjectMapper mapper = new ObjectMapper();
+        Random random = new Random(SEED);
+        List<SinkRecord> records = new ArrayList<>(count);
+
+        for (int offset = 0; offset < count; offset++) {
+            Struct struct = new Struct(schema);
+            Map<String, Object> map = new LinkedHashMap<>();
+            randomValues(schema, random, struct, map);
+
+            Schema valueSchema = null;
+            Object value;
+
+            switch (input) {
+                case STRUCT:
+                    valueSchema = schema;
+                    value = struct;
+                    break;
+                case MAP:
+                    value = map;
+                    break;
+                case JSON_STRING:
+                    value = mapper.writeValueAsString(map);
+                    break;
+                case BYTES:
+                    value = mapper.writeValueAsString(map).getBytes(StandardCharsets.UTF_8);
+                    break;
+                default:
+                    value = ByteBuffer.wrap(mapper.writeValueAsString(map).getBytes(StandardCharsets.UTF_8));
+            }
+            records.add(new SinkRecord(
+                    topic, 0, null, null, valueSchema, value, offset,
+                    BASE_TIMESTAMP + offset * 1000L, TimestampType.CREATE_TIME
+            ));
+        }
+        return records;
+    }
+
+    private static void randomValues(Schema schema, Random random, Struct struct, Map<String, Object> map) {
+        for (Field field : schema.fields()) {
+            if (field.schema().type() != Schema.Type.STRUCT) {
+                Object value = randomValue(field.schema().type(), random);
+                struct.put(field, value);
+                map.put(field.name(), value);
+                continue;
+            }
+            Struct nestedStruct = new Struct(field.schema());
+            Map<String, Object> nestedMap = new LinkedHashMap<>();
+            randomValues(field.schema(), random, nestedStruct, nestedMap);
+
+            struct.put(field, nestedStruct);
+            map.put(field.name(), nestedMap);
+        }
+    }
+
+    private static Object randomValue(Schema.Type type, Random random) {
+        switch (type) {
+            case INT64: return BASE_TIMESTAMP + random.nextInt(DAY_MS);
+            case FLOAT64: return random.nextDouble() * 1000;
+            case BOOLEAN: return random.nextBoolean();
+            case INT32: return random.nextInt(10_000);
+            default: {
+                char[] chars = new char[12 + random.nextInt(12)];
+                for (int i = 0; i < chars.length; i++) {
+                    chars[i] = ALPHABET.charAt(random.nextInt(ALPHABET.length()));
+                }
+                return new String(chars);
+            }
+        }
+    }
+}
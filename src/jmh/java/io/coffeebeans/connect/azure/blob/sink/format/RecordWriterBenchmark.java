@@ -0,0 +1,151 @@
+package io.coffeebeans.connect.azure.blob.sink.format;
+
+import io.coffeebeans.connect.azure.blob.sink.config.AzureBlobSinkConfig;
+import io.coffeebeans.connect.azure.blob.sink.format.BenchmarkRecords.Input;
+import io.coffeebeans.connect.azure.blob.sink.format.BenchmarkRecords.Width;
+import io.coffeebeans.connect.azure.blob.sink.format.avro.AvroSchemaStore;
+import io.coffeebeans.connect.azure.blob.sink.storage.InMemoryStorageManager;
+import io.coffeebeans.connect.azure.blob.sink.storage.StorageManager;
+import java.io.IOException;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import org.apache.kafka.connect.sink.SinkRecord;
+import org.openjdk.jmh.annotations.AuxCounters;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OperationsPerInvocation;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Writes files of {@value #RECORDS_PER_FILE} records with the record<br>
+ * writers of a format, to an {@link InMemoryStorageManager}.
+ *
+ * <p>An operation is one record. The throughput is reported in records
+ * per second, the size of the output in {@code bytesPerOp}, and the
+ * allocations per record in {@code gc.alloc.rate.norm} when run with the
+ * GC profiler, as the {@code benchmark} profile does.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 5)
+@Measurement(iterations = 5, time = 5)
+@Fork(1)
+public abstract class RecordWriterBenchmark {
+    public static final String TOPIC = "benchmark";
+    public static final int RECORDS_PER_FILE = 10_000;
+
+    private static final String CONNECTION_STRING = "AccountName=devstoreaccount1;"
+            + "AccountKey=Eby8vdM02xNOcqFlqUwJPLlmEtlCDXJ1OUzFT50uSRZ6IFsuFq2UVErCz4I6tq/K1SZFPTOtr/KBHBeksoGMGw==;"
+            + "DefaultEndpointsProtocol=http;BlobEndpoint=http://localhost:10000/devstoreaccount1;";
+
+    @Param({"NARROW", "WIDE"})
+    public Width width;
+
+    private long files;
+    private List<SinkRecord> records;
+    private InMemoryStorageManager storage;
+    private RecordWriterProvider provider;
+
+    /**
+     * Configures the provider of the format and generates the records.
+     *
+     * @throws IOException If the Avro schema of the records cannot be written
+     */
+    @Setup(Level.Trial)
+    public void setUp() throws IOException {
+        Map<String, String> props = new HashMap<>();
+        props.put(AzureBlobSinkConfig.CONNECTION_STRING_CONF, CONNECTION_STRING);
+        props.put(AzureBlobSinkConfig.FLUSH_SIZE_CONF, String.valueOf(RECORDS_PER_FILE));
+        configure(props);
+
+        SchemaStore schemaStore = new AvroSchemaStore();
+        schemaStore.register(TOPIC, BenchmarkRecords.writeAvroSchema(width));
+
+        storage = new InMemoryStorageManager();
+        provider = newProvider(storage, schemaStore);
+        provider.configure(new AzureBlobSinkConfig(props));
+
+        records = BenchmarkRecords.records(TOPIC, width, getInput(), RECORDS_PER_FILE);
+    }
+
+    /**
+     * Releases the resources of the provider.
+     */
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        provider.close();
+    }
+
+    /**
+     * Writes and commits a file, then drops it from the storage.
+     *
+     * @param counters Size of the output
+     */
+    @Benchmark
+    @OperationsPerInvocation(RECORDS_PER_FILE)
+    public void writeFile(OutputCounters counters) {
+        long committedBytes = storage.getCommittedBytes();
+        RecordWriter writer = provider.getRecordWriter("topics/benchmark/partition=0/file-" + files++, TOPIC);
+
+        for (SinkRecord record : records) {
+            writer.write(record);
+        }
+        writer.commit();
+        provider.release(writer, TOPIC);
+
+        counters.add(RECORDS_PER_FILE, storage.getCommittedBytes() - committedBytes);
+        storage.clear();
+    }
+
+    /**
+     * Adds the configuration of the format, for e.g. its codec.
+     *
+     * @param props Connector configuration
+     */
+    protected abstract void configure(Map<String, String> props);
+
+    protected abstract RecordWriterProvider newProvider(StorageManager storageManager, SchemaStore schemaStore);
+
+    protected abstract Input getInput();
+
+    /**
+     * Bytes written to the storage per record, over an iteration.
+     */
+    @State(Scope.Thread)
+    @AuxCounters(AuxCounters.Type.EVENTS)
+    public static class OutputCounters {
+        public double bytesPerOp;
+
+        private long records;
+        private long bytes;
+
+        /**
+         * Resets the counters.
+         */
+        @Setup(Level.Iteration)
+        public void reset() {
+            bytesPerOp = 0;
+            records = 0;
+            bytes = 0;
+        }
+
+        private void add(long fileRecords, long fileBytes) {
+            records += fileRecords;
+            bytes += fileBytes;
+            bytesPerOp = (double) bytes / records;
+        }
+    }
+}
@@ -0,0 +1,38 @@
+package io.coffeebeans.connect.azure.blob.sink.format.avro;
+
+import io.coffeebeans.connect.azure.blob.sink.config.AzureBlobSinkConfig;
+import io.coffeebeans.connect.azure.blob.sink.format.BenchmarkRecords.Input;
+import io.coffeebeans.connect.azure.blob.sink.format.RecordWriterBenchmark;
+import io.coffeebeans.connect.azure.blob.sink.format.RecordWriterProvider;
+import io.coffeebeans.connect.azure.blob.sink.format.SchemaStore;
+import io.coffeebeans.connect.azure.blob.sink.storage.StorageManager;
+import java.util.Map;
+import org.openjdk.jmh.annotations.Param;
+
+/**
+ * Benchmarks {@link AvroRecordWriter} for each Avro codec.
+ */
+public class AvroRecordWriterBenchmark extends RecordWriterBenchmark {
+
+    @Param({"STRUCT", "MAP", "JSON_STRING"})
+    public Input input;
+
+    @Param({"null", "deflate", "snappy", "bzip2"})
+    public String codec;
+
+    @Override
+    protected void configure(Map<String, String> props) {
+        props.put(AzureBlobSinkConfig.FORMAT_CONF, "AVRO");
+        props.put(AzureBlobSinkConfig.AVRO_CODEC_CONF, codec);
+    }
+
+    @Override
+    protected RecordWriterProvider newProvider(StorageManager storageManager, SchemaStore schemaStore) {
+        return new AvroRecordWriterProvider(storageManager, schemaStore);
+    }
+
+    @Override
+    protected Input getInput() {
+        return input;
+    }
+}
@@ -0,0 +1,38 @@
+package io.coffeebeans.connect.azure.blob.sink.format.bytearray;
+
+import io.coffeebeans.connect.azure.blob.sink.config.AzureBlobSinkConfig;
+import io.coffeebeans.connect.azure.blob.sink.format.BenchmarkRecords.Input;
+import io.coffeebeans.connect.azure.blob.sink.format.RecordWriterBenchmark;
+import io.coffeebeans.connect.azure.blob.sink.format.RecordWriterProvider;
+import io.coffeebeans.connect.azure.blob.sink.format.SchemaStore;
+import io.coffeebeans.connect.azure.blob.sink.storage.StorageManager;
+import java.util.Map;
+import org.openjdk.jmh.annotations.Param;
+
+/**
+ * Benchmarks {@link ByteArrayRecordWriter} for each compression type of the files.
+ */
+public class ByteArrayRecordWriterBenchmark extends RecordWriterBenchmark {
+
+    @Param({"BYTES", "BYTE_BUFFER"})
+    public Input input;
+
+    @Param({"none", "gzip", "zstd", "snappy"})
+    public String codec;
+
+    @Override
+    protected void configure(Map<String, String> props) {
+        props.put(AzureBlobSinkConfig.FORMAT_CONF, "BYTEARRAY");
+        props.put(AzureBlobSinkConfig.COMPRESSION_TYPE_CONF, codec);
+    }
+
+    @Override
+    protected RecordWriterProvider newProvider(StorageManager storageManager, SchemaStore schemaStore) {
+        return new ByteArrayRecordWriterProvider(storageManager);
+    }
+
+    @Override
+    protected Input getInput() {
+        return input;
+    }
+}
@@ -0,0 +1,38 @@
+package io.coffeebeans.connect.azure.blob.sink.format.json;
+
+import io.coffeebeans.connect.azure.blob.sink.config.AzureBlobSinkConfig;
+import io.coffeebeans.connect.azure.blob.sink.format.BenchmarkRecords.Input;
+import io.coffeebeans.connect.azure.blob.sink.format.RecordWriterBenchmark;
+import io.coffeebeans.connect.azure.blob.sink.format.RecordWriterProvider;
+import io.coffeebeans.connect.azure.blob.sink.format.SchemaStore;
+import io.coffeebeans.connect.azure.blob.sink.storage.StorageManager;
+import java.util.Map;
+import org.openjdk.jmh.annotations.Param;
+
+/**
+ * Benchmarks {@link JsonRecordWriter} for each compression type of the files.
+ */
+public class JsonRecordWriterBenchmark extends RecordWriterBenchmark {
+
+    @Param({"STRUCT", "MAP", "JSON_STRING"})
+    public Input input;
+
+    @Param({"none", "gzip", "zstd", "snappy"})
+    public String codec;
+
+    @Override
+    protected void configure(Map<String, String> props) {
+        props.put(AzureBlobSinkConfig.FORMAT_CONF, "JSON");
+        props.put(AzureBlobSinkConfig.COMPRESSION_TYPE_CONF, codec);
+    }
+
+    @Override
+    protected RecordWriterProvider newProvider(StorageManager storageManager, SchemaStore schemaStore) {
+        return new JsonRecordWriterProvider(storageManager);
+    }
+
+    @Override
+    protected Input getInput() {
+        return input;
+    }
+}
@@ -0,0 +1,38 @@
+package io.coffeebeans.connect.azure.blob.sink.format.parquet;
+
+import io.coffeebeans.connect.azure.blob.sink.config.AzureBlobSinkConfig;
+import io.coffeebeans.connect.azure.blob.sink.format.BenchmarkRecords.Input;
+import io.coffeebeans.connect.azure.blob.sink.format.RecordWriterBenchmark;
+import io.coffeebeans.connect.azure.blob.sink.format.RecordWriterProvider;
+import io.coffeebeans.connect.azure.blob.sink.format.SchemaStore;
+import io.coffeebeans.connect.azure.blob.sink.storage.StorageManager;
+import java.util.Map;
+import org.openjdk.jmh.annotations.Param;
+
+/**
+ * Benchmarks {@link ParquetRecordWriter} for each Parquet codec.
+ */
+public class ParquetRecordWriterBenchmark extends RecordWriterBenchmark {
+
+    @Param({"STRUCT", "MAP", "JSON_STRING"})
+    public Input input;
+
+    @Param({"UNCOMPRESSED", "GZIP", "SNAPPY", "ZSTD"})
+    public String codec;
+
+    @Override
+    protected void configure(Map<String, String> props) {
+        props.put(AzureBlobSinkConfig.FORMAT_CONF, "PARQUET");
+        props.put(AzureBlobSinkConfig.PARQUET_CODEC_CONF, codec);
+    }
+
+    @Override
+    protected RecordWriterProvider newProvider(StorageManager storageManager, SchemaStore schemaStore) {
+        return new ParquetRecordWriterProvider(storageManager, schemaStore);
+    }
+
+    @Override
+    protected Input getInput() {
+        return input;
+    }
+}
@@ -0,0 +1,139 @@
+package io.coffeebeans.connect.azure.blob.sink.partitioner;
+
+import io.coffeebeans.connect.azure.blob.sink.config.AzureBlobSinkConfig;
+import io.coffeebeans.connect.azure.blob.sink.format.BenchmarkRecords;
+import io.coffeebeans.connect.azure.blob.sink.format.BenchmarkRecords.Input;
+import io.coffeebeans.connect.azure.blob.sink.format.BenchmarkRecords.Width;
+import io.coffeebeans.connect.azure.blob.sink.partitioner.field.FieldPartitioner;
+import io.coffeebeans.connect.azure.blob.sink.partitioner.time.TimePartitioner;
+import io.coffeebeans.connect.azure.blob.sink.partitioner.time.extractor.TimestampExtractorStrategy;
+import java.io.IOException;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import org.apache.kafka.connect.sink.SinkRecord;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Partitions records with each {@link PartitionStrategy}, as done once<br>
+ * per record by the sink task.
+ *
+ * <p>The field partitioner partitions on a string field and the time
+ * partitioner on the time of an epoch milliseconds field, so that both
+ * read the values. The time spent per record is reported, and the
+ * allocations per record in {@code gc.alloc.rate.norm} when run with the
+ * GC profiler, as the {@code benchmark} profile does.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class PartitionerBenchmark {
+    public static final String TOPIC = "benchmark";
+    public static final String PARTITION_FIELD = "field_1";
+    public static final String TIMESTAMP_FIELD = "field_0";
+
+    private static final int RECORDS = 1024;
+    private static final String CONNECTION_STRING = "AccountName=devstoreaccount1;"
+            + "AccountKey=Eby8vdM02xNOcqFlqUwJPLlmEtlCDXJ1OUzFT50uSRZ6IFsuFq2UVErCz4I6tq/K1SZFPTOtr/KBHBeksoGMGw==;"
+            + "DefaultEndpointsProtocol=http;BlobEndpoint=http://localhost:10000/devstoreaccount1;";
+
+    @Param({"DEFAULT", "FIELD", "TIME"})
+    public PartitionStrategy strategy;
+
+    @Param({"STRUCT", "MAP", "JSON_STRING"})
+    public Input input;
+
+    @Param({"NARROW", "WIDE"})
+    public Width width;
+
+    @Param({"false", "true"})
+    public boolean nested;
+
+    private int next;
+    private List<SinkRecord> records;
+    private Partitioner partitioner;
+
+    /**
+     * Configures the partitioner and generates the records.
+     *
+     * @throws IOException If a record value cannot be serialized
+     */
+    @Setup(Level.Trial)
+    public void setUp() throws IOException {
+        Map<String, String> props = config();
+        props.put(AzureBlobSinkConfig.PARTITION_STRATEGY_CONF, strategy.toString());
+        props.put(AzureBlobSinkConfig.TIMESTAMP_EXTRACTOR_CONF, TimestampExtractorStrategy.RECORD_FIELD.toString());
+        AzureBlobSinkConfig config = new AzureBlobSinkConfig(props);
+
+        switch (strategy) {
+            case FIELD:
+                partitioner = new FieldPartitioner(config);
+                break;
+            case TIME:
+                partitioner = new TimePartitioner(config);
+                break;
+            default:
+                partitioner = new DefaultPartitioner(config);
+        }
+        records = BenchmarkRecords.records(TOPIC, width, nested, input, RECORDS);
+    }
+
+    /**
+     * Encodes the partition of a record.
+     *
+     * @return Encoded partition
+     */
+    @Benchmark
+    public String encodePartition() {
+        return partitioner.encodePartition(nextRecord());
+    }
+
+    /**
+     * Generates the path of the file of a record.
+     *
+     * @return Full path
+     */
+    @Benchmark
+    public String generateFullPath() {
+        SinkRecord record = nextRecord();
+        return partitioner.generateFullPath(record, record.kafkaOffset());
+    }
+
+    /**
+     * Configuration of the partitioners, partitioning on<br>
+     * {@value #PARTITION_FIELD} and {@value #TIMESTAMP_FIELD}.
+     *
+     * @return Connector configuration
+     */
+    public static Map<String, String> config() {
+        Map<String, String> props = new HashMap<>();
+        props.put(AzureBlobSinkConfig.CONNECTION_STRING_CONF, CONNECTION_STRING);
+        props.put(AzureBlobSinkConfig.FLUSH_SIZE_CONF, String.valueOf(RECORDS));
+        props.put(AzureBlobSinkConfig.PARTITION_FIELD_NAME_CONF, PARTITION_FIELD);
+        props.put(AzureBlobSinkConfig.TIMESTAMP_FIELD_CONF, TIMESTAMP_FIELD);
+
+        return props;
+    }
+
+    private SinkRecord nextRecord() {
+        SinkRecord record = records.get(next);
+        next = (next + 1) % RECORDS;
+
+        return record;
+    }
+}
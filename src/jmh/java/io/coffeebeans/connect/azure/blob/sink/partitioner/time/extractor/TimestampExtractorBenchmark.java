@@ -0,0 +1,90 @@
+package io.coffeebeans.connect.azure.blob.sink.partitioner.time.extractor;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import io.coffeebeans.connect.azure.blob.sink.config.AzureBlobSinkConfig;
+import io.coffeebeans.connect.azure.blob.sink.format.BenchmarkRecords;
+import io.coffeebeans.connect.azure.blob.sink.format.BenchmarkRecords.Input;
+import io.coffeebeans.connect.azure.blob.sink.format.BenchmarkRecords.Width;
+import io.coffeebeans.connect.azure.blob.sink.partitioner.PartitionerBenchmark;
+import java.io.IOException;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import org.apache.kafka.connect.sink.SinkRecord;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Formats the timestamp of records with each {@link TimestampExtractorStrategy},<br>
+ * with the default path format.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class TimestampExtractorBenchmark {
+    private static final int RECORDS = 1024;
+
+    @Param({"DEFAULT", "RECORD", "RECORD_FIELD"})
+    public TimestampExtractorStrategy strategy;
+
+    @Param({"STRUCT", "MAP", "JSON_STRING"})
+    public Input input;
+
+    @Param({"NARROW", "WIDE"})
+    public Width width;
+
+    @Param({"false", "true"})
+    public boolean nested;
+
+    private int next;
+    private List<SinkRecord> records;
+    private TimestampExtractor timestampExtractor;
+
+    /**
+     * Configures the timestamp extractor and generates the records.
+     *
+     * @throws IOException If a record value cannot be serialized
+     */
+    @Setup(Level.Trial)
+    public void setUp() throws IOException {
+        AzureBlobSinkConfig config = new AzureBlobSinkConfig(PartitionerBenchmark.config());
+
+        switch (strategy) {
+            case RECORD:
+                timestampExtractor = new RecordTimestampExtractor(config);
+                break;
+            case RECORD_FIELD:
+                timestampExtractor = new RecordFieldTimestampExtractor(config);
+                break;
+            default:
+                timestampExtractor = new DefaultTimestampExtractor(config);
+        }
+        records = BenchmarkRecords.records(PartitionerBenchmark.TOPIC, width, nested, input, RECORDS);
+    }
+
+    /**
+     * Formats the timestamp of a record.
+     *
+     * @return Formatted timestamp
+     * @throws JsonProcessingException If the value of the record cannot be parsed
+     */
+    @Benchmark
+    public String getFormattedTimestamp() throws JsonProcessingException {
+        SinkRecord record = records.get(next);
+        next = (next + 1) % RECORDS;
+
+        return timestampExtractor.getFormattedTimestamp(record);
+    }
+}
@@ -3,6 +3,7 @@ package io.coffeebeans.connect.azure.blob.sink;
 import io.coffeebeans.connect.azure.blob.sink.config.AzureBlobSinkConfig;
 import io.coffeebeans.connect.azure.blob.util.Version;
 import java.util.ArrayList;
+import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
 import org.apache.kafka.common.config.ConfigDef;
@@ -24,6 +25,12 @@ import org.slf4j.LoggerFactory;
 public class AzureBlobSinkConnector extends SinkConnector {
     private static final Logger log = LoggerFactory.getLogger(SinkConnector.class);
 
+    /**
+     * Index of the task among the tasks of the connector, added to the<br>
+     * configuration of each task by {@link #taskConfigs(int)}.
+     */
+    public static final String TASK_ID_CONF = "task.id";
+
     private Map<String, String> configProps;
 
     /**
@@ -63,8 +70,9 @@ public class AzureBlobSinkConnector extends SinkConnector {
      * @param maxTasks Configuration property passed over
      *                 REST API {@code 'tasks.max'}
      * @return List of Map of configuration properties passed
-     *         to the connect-runtime over REST API. The length of the
-     *         list is equal to the number of the tasks to be configured
+     *         to the connect-runtime over REST API, with the id of
+     *         each task. The length of the list is equal to the
+     *         number of the tasks to be configured
      */
     @Override
     public List<Map<String, String>> taskConfigs(int maxTasks) {
@@ -72,7 +80,9 @@ public class AzureBlobSinkConnector extends SinkConnector {
 
         final List<Map<String, String>> configs = new ArrayList<>();
         for (int i = 0; i < maxTasks; i++) {
-            configs.add(configProps);
+            Map<String, String> taskConfig = new HashMap<>(configProps);
+            taskConfig.put(TASK_ID_CONF, String.valueOf(i));
+            configs.add(taskConfig);
         }
         return configs;
     }
@@ -9,8 +9,12 @@ import io.coffeebeans.connect.azure.blob.sink.exception.SchemaParseException;
 import io.coffeebeans.connect.azure.blob.sink.format.RecordWriter;
 import io.coffeebeans.connect.azure.blob.sink.format.RecordWriterProvider;
 import io.coffeebeans.connect.azure.blob.sink.format.SchemaStore;
+import io.coffeebeans.connect.azure.blob.sink.manifest.ManifestWriter;
+import io.coffeebeans.connect.azure.blob.sink.metrics.AzureBlobSinkMetrics;
+import io.coffeebeans.connect.azure.blob.sink.offset.CommittedOffsets;
 import io.coffeebeans.connect.azure.blob.sink.partitioner.Partitioner;
 import io.coffeebeans.connect.azure.blob.sink.storage.StorageManager;
+import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
 import java.util.Optional;
@@ -35,6 +39,9 @@ public class AzureBlobSinkConnectorContext {
     private final SinkTaskContext sinkTaskContext;
     private ErrantRecordReporter errantRecordReporter;
     private final RecordWriterProvider recordWriterProvider;
+    private final AzureBlobSinkMetrics metrics;
+    private final ManifestWriter manifestWriter;
+    private final CommittedOffsets committedOffsets;
 
     private final Map<String, String> configProps;
 
@@ -52,6 +59,9 @@ public class AzureBlobSinkConnectorContext {
         this.partitioner = builder.partitioner;
         this.sinkTaskContext = builder.sinkTaskContext;
         this.recordWriterProvider = builder.recordWriterProvider;
+        this.metrics = builder.metrics;
+        this.manifestWriter = builder.manifestWriter;
+        this.committedOffsets = builder.committedOffsets;
 
         if (sinkTaskContext != null) {
             this.errantRecordReporter = this.sinkTaskContext.errantRecordReporter();
@@ -70,6 +80,25 @@ public class AzureBlobSinkConnectorContext {
         loadSchema(configProps, schemaStore);
     }
 
+    /**
+     * Loads the schemas of all the topics having a configured schema url<br>
+     * concurrently, so that the first records do not wait for them. The<br>
+     * topics without schema url are left to {@link #configureSchemaStore()}.
+     */
+    public void preloadSchemaStore() {
+        String topics = configProps.get(TOPICS_CONFIG);
+        if (topics == null) {
+            return;
+        }
+        Map<String, String> schemaUrls = new HashMap<>();
+
+        for (String topic : Splitter.on(',').trimResults().omitEmptyStrings().split(topics)) {
+            getSchemaUrl(configProps, topic)
+                    .ifPresent(schemaUrl -> schemaUrls.put(topic, schemaUrl));
+        }
+        schemaStore.registerAll(schemaUrls);
+    }
+
     /**
      * Get the user configured list of topics, split it and get the configured
      * schema url for that topic.
@@ -183,6 +212,19 @@ public class AzureBlobSinkConnectorContext {
                 .getRecordWriter(outputFileName, kafkaTopic);
     }
 
+    /**
+     * Gives back a committed {@link RecordWriter}, so that it can be<br>
+     * reused for the next files of the topic.
+     *
+     * @param kafkaTopic Kafka topic name
+     * @param recordWriter Committed record writer
+     */
+    public void releaseRecordWriter(String kafkaTopic, RecordWriter recordWriter) {
+
+        this.recordWriterProvider
+                .release(recordWriter, kafkaTopic);
+    }
+
     /**
      * Write the record to the dead letter queue with the thrown exception.
      *
@@ -224,6 +266,33 @@ public class AzureBlobSinkConnectorContext {
         return this.storageManager;
     }
 
+    /**
+     * Returns the metrics of the task.
+     *
+     * @return Metrics, or null if they are not reported
+     */
+    public AzureBlobSinkMetrics getMetrics() {
+        return this.metrics;
+    }
+
+    /**
+     * Returns the writer of the manifests of the committed blobs.
+     *
+     * @return Manifest writer, or null if the manifest is not enabled
+     */
+    public ManifestWriter getManifestWriter() {
+        return this.manifestWriter;
+    }
+
+    /**
+     * Returns the offsets of the committed blobs the partitions are resumed from.
+     *
+     * @return Committed offsets, or null if the offset recovery is not enabled
+     */
+    public CommittedOffsets getCommittedOffsets() {
+        return this.committedOffsets;
+    }
+
     /**
      * Builder method.
      *
@@ -263,6 +332,9 @@ public class AzureBlobSinkConnectorContext {
         private AzureBlobSinkConfig config;
         private SinkTaskContext sinkTaskContext;
         private RecordWriterProvider recordWriterProvider;
+        private AzureBlobSinkMetrics metrics;
+        private ManifestWriter manifestWriter;
+        private CommittedOffsets committedOffsets;
 
         private final Map<String, String> configProps;
 
@@ -336,6 +408,39 @@ public class AzureBlobSinkConnectorContext {
             return this;
         }
 
+        /**
+         * Metrics of the task.
+         *
+         * @param metrics Metrics
+         * @return AzureBlobSinkConnectorContext.Builder Builder class
+         */
+        public Builder withMetrics(AzureBlobSinkMetrics metrics) {
+            this.metrics = metrics;
+            return this;
+        }
+
+        /**
+         * Writer of the manifests of the committed blobs.
+         *
+         * @param manifestWriter Manifest writer
+         * @return AzureBlobSinkConnectorContext.Builder Builder class
+         */
+        public Builder withManifestWriter(ManifestWriter manifestWriter) {
+            this.manifestWriter = manifestWriter;
+            return this;
+        }
+
+        /**
+         * Offsets of the committed blobs the partitions are resumed from.
+         *
+         * @param committedOffsets Committed offsets
+         * @return AzureBlobSinkConnectorContext.Builder Builder class
+         */
+        public Builder withCommittedOffsets(CommittedOffsets committedOffsets) {
+            this.committedOffsets = committedOffsets;
+            return this;
+        }
+
         /**
          * Build and return the new instance of AzureBlobSinkConnectorContext.
          *
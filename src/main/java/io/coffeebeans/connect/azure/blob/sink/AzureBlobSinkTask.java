@@ -2,6 +2,7 @@ package io.coffeebeans.connect.azure.blob.sink;
 
 import io.coffeebeans.connect.azure.blob.sink.config.AzureBlobSinkConfig;
 import io.coffeebeans.connect.azure.blob.sink.config.NullValueBehavior;
+import io.coffeebeans.connect.azure.blob.sink.filter.RecordFilter;
 import io.coffeebeans.connect.azure.blob.sink.format.Format;
 import io.coffeebeans.connect.azure.blob.sink.format.RecordWriterProvider;
 import io.coffeebeans.connect.azure.blob.sink.format.SchemaStore;
@@ -10,20 +11,31 @@ import io.coffeebeans.connect.azure.blob.sink.format.avro.AvroSchemaStore;
 import io.coffeebeans.connect.azure.blob.sink.format.bytearray.ByteArrayRecordWriterProvider;
 import io.coffeebeans.connect.azure.blob.sink.format.json.JsonRecordWriterProvider;
 import io.coffeebeans.connect.azure.blob.sink.format.parquet.ParquetRecordWriterProvider;
+import io.coffeebeans.connect.azure.blob.sink.manifest.ManifestWriter;
+import io.coffeebeans.connect.azure.blob.sink.metrics.AzureBlobSinkMetrics;
+import io.coffeebeans.connect.azure.blob.sink.offset.CommittedOffsets;
 import io.coffeebeans.connect.azure.blob.sink.partitioner.DefaultPartitioner;
 import io.coffeebeans.connect.azure.blob.sink.partitioner.PartitionStrategy;
 import io.coffeebeans.connect.azure.blob.sink.partitioner.Partitioner;
 import io.coffeebeans.connect.azure.blob.sink.partitioner.field.FieldPartitioner;
 import io.coffeebeans.connect.azure.blob.sink.partitioner.time.TimePartitioner;
 import io.coffeebeans.connect.azure.blob.sink.storage.AzureBlobStorageManager;
+import io.coffeebeans.connect.azure.blob.sink.storage.LocalFileStorageManager;
+import io.coffeebeans.connect.azure.blob.sink.storage.MeteredStorageManager;
 import io.coffeebeans.connect.azure.blob.sink.storage.StorageManager;
+import io.coffeebeans.connect.azure.blob.sink.storage.StorageType;
 import io.coffeebeans.connect.azure.blob.util.Version;
 import java.util.Collection;
 import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Locale;
 import java.util.Map;
+import java.util.Set;
 import org.apache.kafka.clients.consumer.OffsetAndMetadata;
 import org.apache.kafka.common.TopicPartition;
+import org.apache.kafka.common.config.ConfigException;
 import org.apache.kafka.connect.errors.ConnectException;
+import org.apache.kafka.connect.runtime.ConnectorConfig;
 import org.apache.kafka.connect.sink.SinkRecord;
 import org.apache.kafka.connect.sink.SinkTask;
 import org.apache.kafka.connect.sink.SinkTaskContext;
@@ -38,12 +50,17 @@ public class AzureBlobSinkTask extends SinkTask {
     private static final Logger log = LoggerFactory.getLogger(AzureBlobSinkTask.class);
 
     private SchemaStore schemaStore;
+    private RecordFilter recordFilter;
     private boolean ignoreNullValues;
     private AzureBlobSinkConfig config;
+    private AzureBlobSinkMetrics metrics;
     private StorageManager storageManager;
     private SinkTaskContext sinkTaskContext;
+    private RecordWriterProvider recordWriterProvider;
     private AzureBlobSinkConnectorContext azureBlobSinkConnectorContext;
     private Map<TopicPartition, TopicPartitionWriter> topicPartitionWriters;
+    private Map<TopicPartition, Long> resumeOffsets;
+    private Set<TopicPartition> seekedPartitions;
 
     /**
      * Get the current version of the connector. Used by the connector cluster to
@@ -68,15 +85,15 @@ public class AzureBlobSinkTask extends SinkTask {
 
         config = new AzureBlobSinkConfig(configProps);
         schemaStore = getSchemaStore(config.getFormat());
-        this.storageManager = getStorage(
-                config.getConnectionString(),
-                config.getContainerName()
+        metrics = new AzureBlobSinkMetrics(
+                configProps.get(ConnectorConfig.NAME_CONFIG), configProps.get(AzureBlobSinkConnector.TASK_ID_CONF)
         );
+        this.storageManager = meter(getStorage(config));
         storageManager.configure(getRetryConfigMap(config));
 
         Partitioner partitioner = getPartitioner(config.getPartitionStrategy());
 
-        RecordWriterProvider recordWriterProvider = getRecordWriterProvider(config.getFormat());
+        recordWriterProvider = getRecordWriterProvider(config.getFormat());
         recordWriterProvider.configure(config);
 
         this.azureBlobSinkConnectorContext = AzureBlobSinkConnectorContext.builder(configProps)
@@ -86,9 +103,17 @@ public class AzureBlobSinkTask extends SinkTask {
                 .withSchemaStore(schemaStore)
                 .withPartitioner(partitioner)
                 .withRecordWriterProvider(recordWriterProvider)
+                .withMetrics(metrics)
+                .withManifestWriter(ManifestWriter.fromConfig(config, storageManager))
+                .withCommittedOffsets(CommittedOffsets.fromConfig(config, storageManager))
                 .build();
 
+        configureSchemaStore(config);
+
         topicPartitionWriters = new HashMap<>();
+        resumeOffsets = new HashMap<>();
+        seekedPartitions = new HashSet<>();
+        recordFilter = RecordFilter.fromConfig(config);
 
         String nullValueBehavior = config.getNullValueBehavior();
         ignoreNullValues = NullValueBehavior.IGNORE.toString()
@@ -111,6 +136,7 @@ public class AzureBlobSinkTask extends SinkTask {
             return;
         }
         log.trace("Received {} records", collection.size());
+        metrics.recordRecords(collection.size());
 
         long startTime = System.currentTimeMillis();
 
@@ -127,6 +153,14 @@ public class AzureBlobSinkTask extends SinkTask {
                 topicPartitionWriter = newTopicPartitionWriter(topicPartition);
                 topicPartitionWriters.put(topicPartition, topicPartitionWriter);
             }
+            if (isBeforeResumeOffset(topicPartition, record)) {
+                topicPartitionWriter.skip(record);
+                continue;
+            }
+            if (recordFilter != null && !recordFilter.test(record)) {
+                topicPartitionWriter.skip(record);
+                continue;
+            }
             topicPartitionWriter.buffer(record);
         }
 
@@ -151,6 +185,16 @@ public class AzureBlobSinkTask extends SinkTask {
     @Override
     public void stop() {
         log.info("Stopping Sink Task ...................");
+
+        if (recordWriterProvider != null) {
+            recordWriterProvider.close();
+        }
+        if (schemaStore != null) {
+            schemaStore.close();
+        }
+        if (metrics != null) {
+            metrics.close();
+        }
     }
 
     /**
@@ -165,13 +209,26 @@ public class AzureBlobSinkTask extends SinkTask {
 
     /**
      * Invoked after starting the task to open any resources.
+     * If the offset recovery is enabled, the partitions whose consumer
+     * is behind the last offset durably written to the committed blobs
+     * are resumed after it.
      *
      * @param topicPartitions collection of topic partitions
      */
     @Override
     public void open(Collection<TopicPartition> topicPartitions) {
+        CommittedOffsets committedOffsets = azureBlobSinkConnectorContext.getCommittedOffsets();
+        Map<TopicPartition, Long> recoveredOffsets = committedOffsets == null
+                ? Map.of()
+                : committedOffsets.getCommittedOffsets(topicPartitions);
+
         for (TopicPartition topicPartition : topicPartitions) {
             topicPartitionWriters.put(topicPartition, newTopicPartitionWriter(topicPartition));
+
+            Long committedOffset = recoveredOffsets.get(topicPartition);
+            if (committedOffset != null) {
+                resumeOffsets.put(topicPartition, committedOffset + 1);
+            }
         }
     }
 
@@ -198,6 +255,8 @@ public class AzureBlobSinkTask extends SinkTask {
      */
     @Override
     public void close(Collection<TopicPartition> topicPartitions) {
+        CommittedOffsets committedOffsets = azureBlobSinkConnectorContext.getCommittedOffsets();
+
         for (TopicPartition topicPartition : topicPartitions) {
             try {
                 topicPartitionWriters.get(topicPartition).close();
@@ -207,7 +266,46 @@ public class AzureBlobSinkTask extends SinkTask {
                         topicPartition.topic(), topicPartition.partition()
                 );
             }
+            resumeOffsets.remove(topicPartition);
+            seekedPartitions.remove(topicPartition);
+
+            if (committedOffsets != null) {
+                committedOffsets.invalidate(topicPartition);
+            }
+        }
+        topicPartitions.stream()
+                .map(TopicPartition::topic)
+                .distinct()
+                .forEach(recordWriterProvider::evict);
+    }
+
+    /**
+     * Checks if the record is already in the committed blobs. The task
+     * cannot read the consumer position, so the first record received
+     * after the partition is opened tells it: the consumer is moved to
+     * the recovered offset only if it is behind it, never rewound.
+     *
+     * @param topicPartition Topic partition of the record
+     * @param record Sink record
+     * @return true if the record is before the recovered offset of its partition
+     */
+    private boolean isBeforeResumeOffset(TopicPartition topicPartition, SinkRecord record) {
+        Long resumeOffset = resumeOffsets.get(topicPartition);
+
+        if (resumeOffset == null) {
+            return false;
+        }
+        if (record.kafkaOffset() >= resumeOffset) {
+            resumeOffsets.remove(topicPartition);
+            seekedPartitions.remove(topicPartition);
+            return false;
+        }
+        if (seekedPartitions.add(topicPartition)) {
+            log.info("Resuming topic: {}, partition: {} from the committed blobs at offset: {}",
+                    topicPartition.topic(), topicPartition.partition(), resumeOffset);
+            sinkTaskContext.offset(topicPartition, resumeOffset);
         }
+        return true;
     }
 
     /**
@@ -273,6 +371,57 @@ public class AzureBlobSinkTask extends SinkTask {
         }
     }
 
+    /**
+     * Preloads the configured schemas and schedules their refresh, for<br>
+     * the file formats writing the records with an Avro schema.
+     *
+     * @param config Connector configuration
+     */
+    private void configureSchemaStore(AzureBlobSinkConfig config) {
+        Format format = Format.valueOf(config.getFormat());
+        if (format != Format.PARQUET && format != Format.AVRO) {
+            return;
+        }
+        azureBlobSinkConnectorContext.preloadSchemaStore();
+
+        if (config.getSchemaRefreshIntervalMs() > 0) {
+            schemaStore.scheduleRefresh(config.getSchemaRefreshIntervalMs());
+        }
+    }
+
+    /**
+     * Returns new storage instance of the configured storage type.
+     *
+     * @param config Connector configuration
+     * @return Storage instance
+     */
+    public StorageManager getStorage(AzureBlobSinkConfig config) {
+        StorageType storageType = StorageType.valueOf(config.getStorageType().toUpperCase(Locale.ROOT));
+
+        if (storageType != StorageType.LOCAL) {
+            return getStorage(config.getConnectionString(), config.getContainerName());
+        }
+        if (config.getStorageLocalRootDir().isEmpty()) {
+            throw new ConfigException(AzureBlobSinkConfig.STORAGE_LOCAL_ROOT_DIR_CONF, "",
+                    "Root directory is required for the LOCAL storage type");
+        }
+        return new LocalFileStorageManager(config.getStorageLocalRootDir(), config.getContainerName());
+    }
+
+    /**
+     * Wraps the storage to record the latency of its requests,<br>
+     * and its retries if it is the Azure storage.
+     *
+     * @param storageManager Storage instance
+     * @return Metered storage instance
+     */
+    private StorageManager meter(StorageManager storageManager) {
+        if (storageManager instanceof AzureBlobStorageManager) {
+            ((AzureBlobStorageManager) storageManager).setRetryListener(metrics::recordRetry);
+        }
+        return new MeteredStorageManager(storageManager, metrics);
+    }
+
     /**
      * Returns new AzureBlobStorage instance.
      *
@@ -6,12 +6,20 @@ import io.coffeebeans.connect.azure.blob.sink.exception.SchemaParseException;
 import io.coffeebeans.connect.azure.blob.sink.format.Format;
 import io.coffeebeans.connect.azure.blob.sink.format.RecordWriter;
 import io.coffeebeans.connect.azure.blob.sink.format.SchemaStore;
+import io.coffeebeans.connect.azure.blob.sink.manifest.ManifestEntry;
+import io.coffeebeans.connect.azure.blob.sink.manifest.ManifestWriter;
+import io.coffeebeans.connect.azure.blob.sink.metrics.AzureBlobSinkMetrics;
+import io.coffeebeans.connect.azure.blob.sink.metrics.AzureBlobSinkMetrics.PartitionMetrics;
+import io.coffeebeans.connect.azure.blob.sink.metrics.AzureBlobSinkMetrics.RotationReason;
+import io.coffeebeans.connect.azure.blob.sink.offset.CommittedOffsets;
 import java.util.ArrayList;
 import java.util.HashMap;
+import java.util.Iterator;
 import java.util.LinkedList;
 import java.util.List;
 import java.util.Map;
 import java.util.Queue;
+import java.util.concurrent.ConcurrentHashMap;
 import org.apache.kafka.common.TopicPartition;
 import org.apache.kafka.connect.errors.RetriableException;
 import org.apache.kafka.connect.sink.SinkRecord;
@@ -25,17 +33,25 @@ import org.slf4j.LoggerFactory;
  */
 public class TopicPartitionWriter {
     private static final Logger log = LoggerFactory.getLogger(TopicPartitionWriter.class);
+    private static final int ROTATE_INTERVAL_WARN_FACTOR = 2;
 
     private final int flushSize;
     private Long lastSuccessfulOffset;
+    private Long lastSkippedOffset;
+    private Long lastWrittenOffset;
     private final long rotationIntervalMs;
     private final Queue<SinkRecord> buffer;
     private final TopicPartition topicPartition;
     private boolean isSchemaStoreConfigurationChecked;
     private final AzureBlobSinkConnectorContext context;
+    private final PartitionMetrics metrics;
+    private final ManifestWriter manifestWriter;
+    private final CommittedOffsets committedOffsets;
 
     private final Map<String, Long> startTimes;
     private final Map<String, Long> recordsCount;
+    private final Map<String, ManifestEntry> entries;
+    private final Map<String, Long> uncommittedStartOffsets;
     private final Map<String, RecordWriter> writers;
 
     /**
@@ -52,6 +68,8 @@ public class TopicPartitionWriter {
         AzureBlobSinkConfig config = azureBlobSinkConnectorContext.getConfig();
 
         this.lastSuccessfulOffset = null;
+        this.lastSkippedOffset = null;
+        this.lastWrittenOffset = null;
         this.buffer = new LinkedList<>();
         this.flushSize = config.getFlushSize();
         this.isSchemaStoreConfigurationChecked = false;
@@ -60,6 +78,15 @@ public class TopicPartitionWriter {
         this.writers = new HashMap<>();
         this.startTimes = new HashMap<>();
         this.recordsCount = new HashMap<>();
+        this.entries = new HashMap<>();
+        this.uncommittedStartOffsets = new ConcurrentHashMap<>();
+        this.manifestWriter = azureBlobSinkConnectorContext.getManifestWriter();
+        this.committedOffsets = azureBlobSinkConnectorContext.getCommittedOffsets();
+
+        AzureBlobSinkMetrics taskMetrics = azureBlobSinkConnectorContext.getMetrics();
+        this.metrics = taskMetrics == null
+                ? null
+                : taskMetrics.registerPartition(topicPartition, writers::size, buffer::size, config.getBlockSize());
     }
 
     /**
@@ -71,6 +98,16 @@ public class TopicPartitionWriter {
         buffer.add(sinkRecord);
     }
 
+    /**
+     * Skips a record filtered out before buffering. Its offset is<br>
+     * committed once the records buffered before it are written.
+     *
+     * @param sinkRecord Record not to be written
+     */
+    public void skip(SinkRecord sinkRecord) {
+        lastSkippedOffset = sinkRecord.kafkaOffset();
+    }
+
     /**
      * It polls records from buffer and write it using RecordWriter.
      * It also checks for rotation before and after record is written.
@@ -109,7 +146,10 @@ public class TopicPartitionWriter {
                      */
                     startTimes.putIfAbsent(encodedPartition, now);
                     recordsCount.put(encodedPartition, recordsCount.getOrDefault(encodedPartition, 0L) + 1);
+                    entries.computeIfAbsent(encodedPartition, partition -> newEntry()).update(record);
+
                     lastSuccessfulOffset = record.kafkaOffset();
+                    lastWrittenOffset = lastSuccessfulOffset;
 
                     rotateIfFlushConditionMet(encodedPartition);
 
@@ -127,6 +167,13 @@ public class TopicPartitionWriter {
 
             }
         }
+        if (lastSkippedOffset != null
+                && (lastSuccessfulOffset == null || lastSkippedOffset > lastSuccessfulOffset)) {
+            lastSuccessfulOffset = lastSkippedOffset;
+            lastWrittenOffset = lastSkippedOffset;
+        }
+        lastSkippedOffset = null;
+
         log.trace("Resuming consumer for topic: {}, partition: {}",
                 topicPartition.topic(), topicPartition.partition());
 
@@ -134,6 +181,17 @@ public class TopicPartitionWriter {
         rotateIfRotateIntervalMsConditionMet(now);
     }
 
+    /**
+     * Returns a new entry, to collect the offsets and timestamps of the<br>
+     * records written to the file of the encoded partition, and the<br>
+     * column statistics of the manifest if it is enabled.
+     *
+     * @return Empty entry
+     */
+    private ManifestEntry newEntry() {
+        return manifestWriter == null ? new ManifestEntry(List.of()) : manifestWriter.newEntry();
+    }
+
     /**
      * Instantiate a new RecordWriter.
      *
@@ -165,8 +223,12 @@ public class TopicPartitionWriter {
      */
     private void rotateIfFlushConditionMet(String encodedPartition) {
         if (isFlushSizeConditionMet(encodedPartition)) {
-            commit(encodedPartition);
-            this.writers.remove(encodedPartition);
+            boolean isCommitted = commit(encodedPartition, RotationReason.FLUSH_SIZE);
+            RecordWriter writer = this.writers.remove(encodedPartition);
+
+            if (isCommitted) {
+                context.releaseRecordWriter(topicPartition.topic(), writer);
+            }
         }
     }
 
@@ -184,16 +246,32 @@ public class TopicPartitionWriter {
         }
 
         List<String> writersToRemove = new ArrayList<>();
-        this.writers.forEach((encodedPartition, writer) -> {
+        List<RecordWriter> writersToRelease = new ArrayList<>();
+        long maxOpenTimeMs = 0L;
+
+        for (Map.Entry<String, RecordWriter> entry : this.writers.entrySet()) {
+            String encodedPartition = entry.getKey();
 
             if (!isRotateIntervalMsConditionMet(encodedPartition, currentTime)) {
-                return;
+                continue;
+            }
+            long startTime = startTimes.get(encodedPartition);
+
+            if (commit(encodedPartition, RotationReason.ROTATE_INTERVAL)) {
+                writersToRelease.add(entry.getValue());
             }
-            commit(encodedPartition);
             writersToRemove.add(encodedPartition);
-        });
+            maxOpenTimeMs = Math.max(maxOpenTimeMs, System.currentTimeMillis() - startTime);
+        }
 
         writersToRemove.forEach(this.writers::remove);
+        writersToRelease.forEach(writer -> context.releaseRecordWriter(topicPartition.topic(), writer));
+
+        if (maxOpenTimeMs > ROTATE_INTERVAL_WARN_FACTOR * rotationIntervalMs) {
+            log.warn("Files of topic: {}, partition: {} were committed up to {} ms after they were opened, "
+                            + "rotate.interval.ms: {} cannot be met under the current load",
+                    topicPartition.topic(), topicPartition.partition(), maxOpenTimeMs, rotationIntervalMs);
+        }
     }
 
     /**
@@ -202,14 +280,18 @@ public class TopicPartitionWriter {
      * from encodedPartition-writer mapping.
      *
      * @param encodedPartition encoded partition
+     * @param reason Reason of the rotation
+     * @return Whether the writer was committed, and can be reused
      */
-    private void commit(String encodedPartition) {
+    private boolean commit(String encodedPartition, RotationReason reason) {
         RecordWriter writer = writers.get(encodedPartition);
         if (writer == null) {
             log.warn("Writer not available to commit. Ignoring");
-            return;
+            return false;
         }
+        boolean isCommitted = false;
         try {
+            Long committedOffset = setBlobMetadata(encodedPartition, writer);
 
             /*
             This method is called for partitioning.
@@ -217,12 +299,138 @@ public class TopicPartitionWriter {
             flag.
              */
             writer.commit();
+            isCommitted = true;
+            onCommitted(encodedPartition, writer, committedOffset, reason);
 
         } catch (RetriableException e) {
             log.error("Failed to commit file with encodedPartition: {}, Removing the writer", encodedPartition);
+            holdBack(writer.getBlobName(), entries.get(encodedPartition));
         }
         startTimes.remove(encodedPartition);
         recordsCount.remove(encodedPartition);
+        entries.remove(encodedPartition);
+
+        return isCommitted;
+    }
+
+    /**
+     * Keeps the committed offset of the file, records its rotation and<br>
+     * freshness, and appends it to the manifest, once its blob is committed<br>
+     * in the storage. The commit is asynchronous: the file is only counted<br>
+     * if it succeeds, and the writer may already write another blob when<br>
+     * it completes.
+     *
+     * @param encodedPartition encoded partition
+     * @param writer Committed writer
+     * @param committedOffset Committed offset of the file, or null
+     * @param reason Reason of the rotation
+     */
+    private void onCommitted(String encodedPartition, RecordWriter writer, Long committedOffset,
+                             RotationReason reason) {
+        ManifestEntry entry = entries.get(encodedPartition);
+        String blobName = writer.getBlobName();
+        long blobSize = writer.getBlobSize();
+        holdBack(blobName, entry);
+
+        writer.whenCommitted().subscribe(
+                null,
+                error -> log.warn("File with encodedPartition: {} was not committed", encodedPartition),
+                () -> {
+                    uncommittedStartOffsets.remove(blobName);
+                    updateCommittedOffset(committedOffset);
+
+                    if (metrics != null) {
+                        metrics.recordRotation(reason);
+                        recordFreshness(encodedPartition, entry);
+                    }
+                    appendToManifest(blobName, blobSize, entry);
+                });
+    }
+
+    /**
+     * Appends the committed file to the manifest, with the statistics<br>
+     * of its records, if the manifest is enabled.
+     *
+     * @param blobName Name of the committed blob
+     * @param blobSize Size of the committed blob in bytes
+     * @param entry Statistics of the records of the file
+     */
+    private void appendToManifest(String blobName, long blobSize, ManifestEntry entry) {
+        if (manifestWriter == null || entry == null) {
+            return;
+        }
+        manifestWriter.append(topicPartition, blobName, blobSize, entry);
+    }
+
+    /**
+     * Holds back the committed offset of the next files at the start<br>
+     * offset of the file, until its blob is committed in the storage.<br>
+     * A blob whose commit fails keeps holding it back, as its records<br>
+     * are not in any committed blob.
+     *
+     * @param blobName Name of the blob
+     * @param entry Statistics of the records of the file
+     */
+    private void holdBack(String blobName, ManifestEntry entry) {
+        if (entry != null) {
+            uncommittedStartOffsets.put(blobName, entry.getStartOffset());
+        }
+    }
+
+    /**
+     * Sets the offsets of the partition in the metadata of the blob:<br>
+     * the offset of its last record, and the offset up to which all the<br>
+     * records of the partition are in committed blobs. The files of the<br>
+     * other encoded partitions still open, and the blobs whose commit is<br>
+     * still in flight or has failed, hold the latter back.
+     *
+     * @param encodedPartition encoded partition
+     * @param writer Writer to be committed
+     * @return Committed offset, or null if no record was written to the file
+     */
+    private Long setBlobMetadata(String encodedPartition, RecordWriter writer) {
+        ManifestEntry entry = entries.get(encodedPartition);
+        if (entry == null || lastWrittenOffset == null) {
+            return null;
+        }
+        long committedOffset = lastWrittenOffset;
+
+        for (Map.Entry<String, ManifestEntry> openEntry : entries.entrySet()) {
+            if (!openEntry.getKey().equals(encodedPartition)) {
+                committedOffset = Math.min(committedOffset, openEntry.getValue().getStartOffset() - 1);
+            }
+        }
+        for (long startOffset : uncommittedStartOffsets.values()) {
+            committedOffset = Math.min(committedOffset, startOffset - 1);
+        }
+        writer.setBlobMetadata(
+                CommittedOffsets.metadata(topicPartition.partition(), entry.getEndOffset(), committedOffset)
+        );
+        return committedOffset;
+    }
+
+    private void updateCommittedOffset(Long committedOffset) {
+        if (committedOffsets != null && committedOffset != null) {
+            committedOffsets.update(topicPartition, committedOffset);
+        }
+    }
+
+    /**
+     * Records the time from the oldest record of the committed file<br>
+     * to its commit, and logs the range of its record timestamps.
+     *
+     * @param encodedPartition encoded partition
+     * @param entry Statistics of the records of the file
+     */
+    private void recordFreshness(String encodedPartition, ManifestEntry entry) {
+        if (entry == null || entry.getMinTimestamp() == null) {
+            return;
+        }
+        long now = System.currentTimeMillis();
+        metrics.recordCommitted(entry.getMinTimestamp(), now);
+
+        log.debug("Committed file with encodedPartition: {}, record lag from {} ms to {} ms",
+                encodedPartition, now - entry.getMaxTimestamp(), now - entry.getMinTimestamp());
     }
 
     /**
@@ -261,7 +469,12 @@ public class TopicPartitionWriter {
      * Invoked to close all the RecordWriters and clear mappings.
      */
     public void close() {
-        for (RecordWriter writer : writers.values()) {
+        Iterator<Map.Entry<String, RecordWriter>> iterator = writers.entrySet().iterator();
+
+        while (iterator.hasNext()) {
+            Map.Entry<String, RecordWriter> entry = iterator.next();
+            RecordWriter writer = entry.getValue();
+            Long committedOffset = setBlobMetadata(entry.getKey(), writer);
 
             /*
             This method is called when connector or
@@ -269,10 +482,20 @@ public class TopicPartitionWriter {
             has to be set.
              */
             writer.commit();
+            onCommitted(entry.getKey(), writer, committedOffset, RotationReason.CLOSE);
+            context.releaseRecordWriter(topicPartition.topic(), writer);
+
+            // The file holds back the offset of the next ones until its blob is committed
+            entries.remove(entry.getKey());
+            iterator.remove();
         }
-        writers.clear();
         startTimes.clear();
         recordsCount.clear();
+        entries.clear();
+
+        if (metrics != null) {
+            metrics.close();
+        }
     }
 
     /**
@@ -8,7 +8,9 @@ import static org.apache.kafka.common.config.ConfigDef.NO_DEFAULT_VALUE;
 import static org.apache.kafka.common.config.ConfigDef.NonEmptyString;
 import static org.apache.kafka.common.config.ConfigDef.Range;
 import static org.apache.kafka.common.config.ConfigDef.Type.BOOLEAN;
+import static org.apache.kafka.common.config.ConfigDef.Type.DOUBLE;
 import static org.apache.kafka.common.config.ConfigDef.Type.INT;
+import static org.apache.kafka.common.config.ConfigDef.Type.LIST;
 import static org.apache.kafka.common.config.ConfigDef.Type.LONG;
 import static org.apache.kafka.common.config.ConfigDef.Type.PASSWORD;
 import static org.apache.kafka.common.config.ConfigDef.Type.STRING;
@@ -22,8 +24,10 @@ import io.coffeebeans.connect.azure.blob.sink.config.validators.format.FormatVal
 import io.coffeebeans.connect.azure.blob.sink.config.validators.format.ParquetCodecValidator;
 import io.coffeebeans.connect.azure.blob.sink.config.validators.partitioner.time.PathFormatValidator;
 import io.coffeebeans.connect.azure.blob.sink.config.validators.partitioner.time.TimezoneValidator;
+import io.coffeebeans.connect.azure.blob.sink.format.bytearray.ByteArrayFraming;
 import io.coffeebeans.connect.azure.blob.sink.partitioner.PartitionStrategy;
 import io.coffeebeans.connect.azure.blob.sink.partitioner.time.extractor.TimestampExtractorStrategy;
+import io.coffeebeans.connect.azure.blob.sink.storage.StorageType;
 import java.util.List;
 import java.util.Map;
 import org.apache.kafka.common.config.AbstractConfig;
@@ -63,6 +67,12 @@ public class AzureBlobSinkConfig extends AbstractConfig {
     public static final String SCHEMA_CACHE_SIZE_DOC = "Size of schema cache for Avro Converter";
     public static final Validator SCHEMA_CACHE_SIZE_VALIDATOR = Range.atLeast(1);
 
+    public static final String SCHEMA_REFRESH_INTERVAL_MS_CONF = "schema.refresh.interval.ms";
+    public static final long SCHEMA_REFRESH_INTERVAL_MS_DEFAULT = 0L;
+    public static final String SCHEMA_REFRESH_INTERVAL_MS_DOC = "Interval in ms at which the schemas configured "
+            + "with <topic>.schema.url are downloaded again in the background. 0 disables the refresh";
+    public static final Validator SCHEMA_REFRESH_INTERVAL_MS_VALIDATOR = Range.atLeast(0L);
+
     public static final String ENHANCED_AVRO_SCHEMA_SUPPORT_CONF = "enhanced.avro.schema.support";
     public static final boolean ENHANCED_AVRO_SCHEMA_SUPPORT_DEFAULT = false;
     public static final String ENHANCED_AVRO_SCHEMA_SUPPORT_DOC = "Enhanced avro schema support. "
@@ -83,6 +93,108 @@ public class AzureBlobSinkConfig extends AbstractConfig {
     public static final String PARQUET_CODEC_DOC = "Compression codec for parquet files";
     public static final Object PARQUET_CODEC_VALIDATOR = new ParquetCodecValidator();
 
+    public static final String PARQUET_ROW_GROUP_SIZE_CONF = "parquet.row.group.size";
+    public static final int PARQUET_ROW_GROUP_SIZE_DEFAULT = 134217728; // 128 mb
+    public static final String PARQUET_ROW_GROUP_SIZE_DOC = "Size in bytes of the row groups buffered "
+            + "in memory before they are flushed to the parquet file";
+    public static final Validator PARQUET_ROW_GROUP_SIZE_VALIDATOR = Range.atLeast(1);
+
+    public static final String PARQUET_ROW_GROUP_ALIGN_BLOCK_SIZE_CONF = "parquet.row.group.align.block.size";
+    public static final boolean PARQUET_ROW_GROUP_ALIGN_BLOCK_SIZE_DEFAULT = false;
+    public static final String PARQUET_ROW_GROUP_ALIGN_BLOCK_SIZE_DOC = "Use azblob.block.size as the row "
+            + "group size instead of parquet.row.group.size";
+
+    public static final String PARQUET_PAGE_SIZE_CONF = "parquet.page.size";
+    public static final int PARQUET_PAGE_SIZE_DEFAULT = 65536; // 64 kb
+    public static final String PARQUET_PAGE_SIZE_DOC = "Size in bytes of the data pages of parquet files";
+    public static final Validator PARQUET_PAGE_SIZE_VALIDATOR = Range.atLeast(1);
+
+    public static final String PARQUET_DICTIONARY_PAGE_SIZE_CONF = "parquet.dictionary.page.size";
+    public static final int PARQUET_DICTIONARY_PAGE_SIZE_DEFAULT = 1048576; // 1 mb
+    public static final String PARQUET_DICTIONARY_PAGE_SIZE_DOC = "Maximum size in bytes of the dictionary "
+            + "page of a column. Columns exceeding it fall back to plain encoding";
+    public static final Validator PARQUET_DICTIONARY_PAGE_SIZE_VALIDATOR = Range.atLeast(1);
+
+    public static final String PARQUET_DICTIONARY_ENABLED_CONF = "parquet.dictionary.enabled";
+    public static final boolean PARQUET_DICTIONARY_ENABLED_DEFAULT = true;
+    public static final String PARQUET_DICTIONARY_ENABLED_DOC = "Enable dictionary encoding for all the columns";
+
+    public static final String PARQUET_DICTIONARY_ENABLED_COLUMNS_CONF = "parquet.dictionary.enabled.columns";
+    public static final String PARQUET_DICTIONARY_ENABLED_COLUMNS_DEFAULT = "";
+    public static final String PARQUET_DICTIONARY_ENABLED_COLUMNS_DOC = "Dot separated paths of the columns "
+            + "for which dictionary encoding is enabled irrespective of parquet.dictionary.enabled";
+
+    public static final String PARQUET_DICTIONARY_DISABLED_COLUMNS_CONF = "parquet.dictionary.disabled.columns";
+    public static final String PARQUET_DICTIONARY_DISABLED_COLUMNS_DEFAULT = "";
+    public static final String PARQUET_DICTIONARY_DISABLED_COLUMNS_DOC = "Dot separated paths of the columns "
+            + "for which dictionary encoding is disabled irrespective of parquet.dictionary.enabled";
+
+    public static final String PARQUET_WRITER_VERSION_CONF = "parquet.writer.version";
+    public static final String PARQUET_WRITER_VERSION_DEFAULT = "v1";
+    public static final String PARQUET_WRITER_VERSION_DOC = "Parquet writer version. v2 writes v2 data pages "
+            + "and uses delta encodings for columns that are not dictionary encoded";
+    public static final Validator PARQUET_WRITER_VERSION_VALIDATOR = CaseInsensitiveValidString
+            .in("v1", "v2");
+
+    public static final String PARQUET_PAGE_ROW_COUNT_LIMIT_CONF = "parquet.page.row.count.limit";
+    public static final int PARQUET_PAGE_ROW_COUNT_LIMIT_DEFAULT = 20000;
+    public static final String PARQUET_PAGE_ROW_COUNT_LIMIT_DOC = "Maximum number of rows in a data page. "
+            + "Smaller pages make the column and offset indexes more selective";
+    public static final Validator PARQUET_PAGE_ROW_COUNT_LIMIT_VALIDATOR = Range.atLeast(1);
+
+    public static final String PARQUET_BLOOM_FILTER_COLUMNS_CONF = "parquet.bloom.filter.columns";
+    public static final String PARQUET_BLOOM_FILTER_COLUMNS_DEFAULT = "";
+    public static final String PARQUET_BLOOM_FILTER_COLUMNS_DOC = "Dot separated paths of the columns for which "
+            + "bloom filters are written, each optionally followed by its expected number of distinct values "
+            + "as column:ndv. Can be overridden per topic with <topic>.parquet.bloom.filter.columns";
+
+    public static final String PARQUET_BLOOM_FILTER_EXPECTED_NDV_CONF = "parquet.bloom.filter.expected.ndv";
+    public static final long PARQUET_BLOOM_FILTER_EXPECTED_NDV_DEFAULT = 100000L;
+    public static final String PARQUET_BLOOM_FILTER_EXPECTED_NDV_DOC = "Expected number of distinct values per "
+            + "row group of the bloom filter columns which do not specify it. Used to size the bloom filters";
+    public static final Validator PARQUET_BLOOM_FILTER_EXPECTED_NDV_VALIDATOR = Range.atLeast(1L);
+
+    public static final String PARQUET_BLOOM_FILTER_FPP_CONF = "parquet.bloom.filter.fpp";
+    public static final double PARQUET_BLOOM_FILTER_FPP_DEFAULT = 0.01;
+    public static final String PARQUET_BLOOM_FILTER_FPP_DOC = "False positive probability of the bloom filters";
+    public static final Validator PARQUET_BLOOM_FILTER_FPP_VALIDATOR = Range.between(0.0001, 0.5);
+
+    public static final String PARQUET_BATCH_SIZE_CONF = "parquet.batch.size";
+    public static final int PARQUET_BATCH_SIZE_DEFAULT = 0;
+    public static final String PARQUET_BATCH_SIZE_DOC = "Number of records buffered in column vectors and "
+            + "encoded one column at a time, for v1 files of records with primitive fields only. The batch is "
+            + "encoded in slices of at most parquet.page.row.count.limit records, so the pages keep their "
+            + "limits. 0 encodes the records one at a time";
+    public static final Validator PARQUET_BATCH_SIZE_VALIDATOR = Range.between(0, 65536);
+
+    public static final String COMPRESSION_THREADS_CONF = "compression.threads";
+    public static final int COMPRESSION_THREADS_DEFAULT = 0;
+    public static final String COMPRESSION_THREADS_DOC = "Number of threads per task compressing the output "
+            + "files off the put() thread, for Parquet, Avro and gzip compressed JSON and bytearray files. "
+            + "0 compresses on the put() thread";
+    public static final Validator COMPRESSION_THREADS_VALIDATOR = Range.between(0, 256);
+
+    public static final String WRITER_POOL_MAX_IDLE_CONF = "writer.pool.max.idle";
+    public static final int WRITER_POOL_MAX_IDLE_DEFAULT = 0;
+    public static final String WRITER_POOL_MAX_IDLE_DOC = "Maximum number of committed record writers kept "
+            + "per topic, to be reset and reused for the next files instead of creating new ones. Each idle "
+            + "writer holds a buffer of azblob.block.size, until the partitions of its topic are closed. "
+            + "Not applicable to Parquet. 0 disables the reuse";
+    public static final Validator WRITER_POOL_MAX_IDLE_VALIDATOR = Range.between(0, 1024);
+
+    public static final String PROJECTION_FIELDS_CONF = "projection.fields";
+    public static final String PROJECTION_FIELDS_DEFAULT = "";
+    public static final String PROJECTION_FIELDS_DOC = "Top level fields of the record values written to the "
+            + "Parquet, Avro and JSON files, the other fields are dropped before serialization. Empty writes all "
+            + "the fields. Can be overridden per topic with <topic>.projection.fields";
+
+    public static final String FILTER_CONDITIONS_CONF = "filter.conditions";
+    public static final String FILTER_CONDITIONS_DEFAULT = "";
+    public static final String FILTER_CONDITIONS_DOC = "Conditions the records must all meet to be written, "
+            + "e.g. status==PAID,amount>=10,header:source,!deleted_at. The other records are skipped and their "
+            + "offsets committed. Empty writes all the records. Can be overridden per topic with "
+            + "<topic>.filter.conditions";
+
 
     // ###################################### Azure parameters ######################################
 
@@ -99,6 +211,16 @@ public class AzureBlobSinkConfig extends AbstractConfig {
     public static final String FORMAT_BYTEARRAY_EXTENSION_DEFAULT = ".bin";
     public static final String FORMAT_BYTEARRAY_EXTENSION_DOC = "Extension for output binary files";
 
+    public static final String FORMAT_BYTEARRAY_FRAMING_CONF = "format.bytearray.framing";
+    public static final String FORMAT_BYTEARRAY_FRAMING_DEFAULT = "NEWLINE";
+    public static final String FORMAT_BYTEARRAY_FRAMING_DOC = "Framing of the record values in output binary files";
+    public static final Validator FORMAT_BYTEARRAY_FRAMING_VALIDATOR = CaseInsensitiveValidString
+            .in(
+                    ByteArrayFraming.NEWLINE.toString(),
+                    ByteArrayFraming.VARINT.toString(),
+                    ByteArrayFraming.FIXED32.toString()
+            );
+
     public static final String BLOCK_SIZE_CONF = "azblob.block.size";
     public static final int BLOCK_SIZE_DEFAULT = 26214400; // 26 mb
     public static final String BLOCK_SIZE_DOC = "Block size of the Block-blob";
@@ -127,8 +249,9 @@ public class AzureBlobSinkConfig extends AbstractConfig {
 
     public static final String COMPRESSION_LEVEL_CONF = "az.compression.level";
     public static final int COMPRESSION_LEVEL_DEFAULT = -1;
-    public static final String COMPRESSION_LEVEL_DOC = "Level of comrpession";
-    public static final Validator COMPRESSION_LEVEL_VALIDATOR = Range.between(-1, 9);
+    public static final String COMPRESSION_LEVEL_DOC = "Level of compression. At most 9 for gzip, 22 for zstd "
+            + "and 17 for lz4. Ignored by snappy";
+    public static final Validator COMPRESSION_LEVEL_VALIDATOR = Range.between(-1, 22);
 
     public static final String RETRY_BACKOFF_MS_CONF = "azblob.retry.backoff.ms";
     public static final long RETRY_BACKOFF_MS_DEFAULT = 4_000L;
@@ -167,6 +290,44 @@ public class AzureBlobSinkConfig extends AbstractConfig {
     public static final String FILE_DELIM_DEFAULT = "+";
     public static final String FILE_DELIM_DOC = "File delimiter";
 
+    public static final String STORAGE_TYPE_CONF = "storage.type";
+    public static final String STORAGE_TYPE_DEFAULT = "AZURE";
+    public static final String STORAGE_TYPE_DOC = "Storage where blobs will be stored. LOCAL writes them as files "
+            + "to a local or mounted directory, for e.g. NFS or blobfuse";
+    public static final Validator STORAGE_TYPE_VALIDATOR = CaseInsensitiveValidString
+            .in(
+                    StorageType.AZURE.toString(),
+                    StorageType.LOCAL.toString()
+            );
+
+    public static final String STORAGE_LOCAL_ROOT_DIR_CONF = "storage.local.root.dir";
+    public static final String STORAGE_LOCAL_ROOT_DIR_DEFAULT = "";
+    public static final String STORAGE_LOCAL_ROOT_DIR_DOC = "Directory where the LOCAL storage writes the blobs, "
+            + "in a sub-directory named after the container";
+
+    public static final String MANIFEST_ENABLED_CONF = "manifest.enabled";
+    public static final boolean MANIFEST_ENABLED_DEFAULT = false;
+    public static final String MANIFEST_ENABLED_DOC = "Append an entry per committed blob to a JSON lines manifest "
+            + "per topic and day, <topics.dir>/<topic>/_manifest/<yyyy-MM-dd>.jsonl, with the blob name, size, "
+            + "record count, offset range, timestamp range and column statistics";
+
+    public static final String MANIFEST_COLUMNS_CONF = "manifest.columns";
+    public static final String MANIFEST_COLUMNS_DEFAULT = "";
+    public static final String MANIFEST_COLUMNS_DOC = "Top level fields of the record values whose minimum and "
+            + "maximum values are written to the manifest, for numbers, strings and timestamps";
+
+    public static final String OFFSET_RECOVERY_ENABLED_CONF = "offset.recovery.enabled";
+    public static final boolean OFFSET_RECOVERY_ENABLED_DEFAULT = false;
+    public static final String OFFSET_RECOVERY_ENABLED_DOC = "Resume the partitions from the offsets written in "
+            + "the metadata of the committed blobs instead of the consumer offsets. The blobs of a partition are "
+            + "listed each time it is opened";
+
+    public static final String OFFSET_RECOVERY_TIMEOUT_MS_CONF = "offset.recovery.timeout.ms";
+    public static final long OFFSET_RECOVERY_TIMEOUT_MS_DEFAULT = 60_000L;
+    public static final String OFFSET_RECOVERY_TIMEOUT_MS_DOC = "Maximum time to list the committed blobs of the "
+            + "partitions opened together, after which the consumer offsets are used";
+    public static final Validator OFFSET_RECOVERY_TIMEOUT_MS_VALIDATOR = Range.atLeast(1L);
+
 
     // ###################################### Partition configurations ######################################
 
@@ -216,6 +377,13 @@ public class AzureBlobSinkConfig extends AbstractConfig {
     public static final String TIMESTAMP_FIELD_DEFAULT = "";
     public static final String TIMESTAMP_FIELD_DOC = "Name of the field from which timestamp should be extracted";
 
+    public static final String PARTITIONER_SHARDS_CONF = "partitioner.shards";
+    public static final int PARTITIONER_SHARDS_DEFAULT = 0;
+    public static final String PARTITIONER_SHARDS_DOC = "Number of hash shards the blobs of a topic are spread "
+            + "across, with a hexadecimal shard directory after the topic, <topics.dir>/<topic>/<shard>/"
+            + "<encodedPartition>, taken from the topic, Kafka partition and encoded partition. 0 disables sharding";
+    public static final Validator PARTITIONER_SHARDS_VALIDATOR = Range.between(0, 4096);
+
     /**
      * Not a configuration. It's a suffix which when concatenated with the topic name, will act
      * as a configuration (dynamic).
@@ -232,19 +400,71 @@ public class AzureBlobSinkConfig extends AbstractConfig {
      */
     public static final String TOPIC_SCHEMA_URL_SUFFIX = ".schema.url";
 
+    /**
+     * Not a configuration. It's a suffix which when concatenated with the topic name, will act
+     * as a configuration (dynamic) overriding {@link #PARQUET_BLOOM_FILTER_COLUMNS_CONF} for that topic.
+     *
+     * <p>For example, alpha.parquet.bloom.filter.columns: id,customer.email:1000000
+     *
+     * <p>Note:
+     * This configuration is not recommended / validated by the connect-runtime.
+     */
+    public static final String TOPIC_PARQUET_BLOOM_FILTER_COLUMNS_SUFFIX = "." + PARQUET_BLOOM_FILTER_COLUMNS_CONF;
+
+    /**
+     * Not a configuration. It's a suffix which when concatenated with the topic name, will act
+     * as a configuration (dynamic) overriding {@link #PROJECTION_FIELDS_CONF} for that topic.
+     *
+     * <p>For example, alpha.projection.fields: id,customer,amount
+     *
+     * <p>Note:
+     * This configuration is not recommended / validated by the connect-runtime.
+     */
+    public static final String TOPIC_PROJECTION_FIELDS_SUFFIX = "." + PROJECTION_FIELDS_CONF;
+
+    /**
+     * Not a configuration. It's a suffix which when concatenated with the topic name, will act
+     * as a configuration (dynamic) overriding {@link #FILTER_CONDITIONS_CONF} for that topic.
+     *
+     * <p>For example, alpha.filter.conditions: status==PAID,amount>=10
+     *
+     * <p>Note:
+     * This configuration is not recommended / validated by the connect-runtime.
+     */
+    public static final String TOPIC_FILTER_CONDITIONS_SUFFIX = "." + FILTER_CONDITIONS_CONF;
+
 
     private final String format;
     private final int flushSize;
     private final long rotateIntervalMs;
     private final int schemaCacheSize;
+    private final long schemaRefreshIntervalMs;
     private final boolean enhancedAvroSchemaSupport;
     private final boolean connectMetaData;
     private final String avroCompressionCodec;
     private final String parquetCompressionCodec;
+    private final int parquetRowGroupSize;
+    private final boolean parquetRowGroupAlignedWithBlockSize;
+    private final int parquetPageSize;
+    private final int parquetDictionaryPageSize;
+    private final boolean parquetDictionaryEnabled;
+    private final List<String> parquetDictionaryEnabledColumns;
+    private final List<String> parquetDictionaryDisabledColumns;
+    private final String parquetWriterVersion;
+    private final int parquetPageRowCountLimit;
+    private final List<String> parquetBloomFilterColumns;
+    private final long parquetBloomFilterExpectedNdv;
+    private final double parquetBloomFilterFpp;
+    private final int parquetBatchSize;
+    private final int compressionThreads;
+    private final int writerPoolMaxIdle;
+    private final List<String> projectionFields;
+    private final List<String> filterConditions;
 
     private final String connectionString;
     private final String containerName;
     private final String binaryFileExtension;
+    private final String binaryFraming;
     private final int blockSize;
     private final String retryType;
     private final int maxRetries;
@@ -258,6 +478,12 @@ public class AzureBlobSinkConfig extends AbstractConfig {
     private final String topicsDir;
     private final String directoryDelim;
     private final String fileDelim;
+    private final String storageType;
+    private final String storageLocalRootDir;
+    private final boolean manifestEnabled;
+    private final List<String> manifestColumns;
+    private final boolean offsetRecoveryEnabled;
+    private final long offsetRecoveryTimeoutMs;
 
     private final String partitionStrategy;
     private final String fieldName;
@@ -265,6 +491,7 @@ public class AzureBlobSinkConfig extends AbstractConfig {
     private final String timezone;
     private final String timestampExtractor;
     private final String timestampField;
+    private final int partitionerShards;
 
     public AzureBlobSinkConfig(Map<String, String> parsedConfig) {
         this(getConfig(), parsedConfig);
@@ -284,14 +511,33 @@ public class AzureBlobSinkConfig extends AbstractConfig {
         this.flushSize = this.getInt(FLUSH_SIZE_CONF);
         this.rotateIntervalMs = this.getLong(ROTATE_INTERVAL_MS_CONF);
         this.schemaCacheSize = this.getInt(SCHEMA_CACHE_SIZE_CONF);
+        this.schemaRefreshIntervalMs = this.getLong(SCHEMA_REFRESH_INTERVAL_MS_CONF);
         this.enhancedAvroSchemaSupport = this.getBoolean(ENHANCED_AVRO_SCHEMA_SUPPORT_CONF);
         this.connectMetaData = this.getBoolean(CONNECT_META_DATA_CONF);
         this.avroCompressionCodec = this.getString(AVRO_CODEC_CONF);
         this.parquetCompressionCodec = this.getString(PARQUET_CODEC_CONF);
+        this.parquetRowGroupSize = this.getInt(PARQUET_ROW_GROUP_SIZE_CONF);
+        this.parquetRowGroupAlignedWithBlockSize = this.getBoolean(PARQUET_ROW_GROUP_ALIGN_BLOCK_SIZE_CONF);
+        this.parquetPageSize = this.getInt(PARQUET_PAGE_SIZE_CONF);
+        this.parquetDictionaryPageSize = this.getInt(PARQUET_DICTIONARY_PAGE_SIZE_CONF);
+        this.parquetDictionaryEnabled = this.getBoolean(PARQUET_DICTIONARY_ENABLED_CONF);
+        this.parquetDictionaryEnabledColumns = this.getList(PARQUET_DICTIONARY_ENABLED_COLUMNS_CONF);
+        this.parquetDictionaryDisabledColumns = this.getList(PARQUET_DICTIONARY_DISABLED_COLUMNS_CONF);
+        this.parquetWriterVersion = this.getString(PARQUET_WRITER_VERSION_CONF);
+        this.parquetPageRowCountLimit = this.getInt(PARQUET_PAGE_ROW_COUNT_LIMIT_CONF);
+        this.parquetBloomFilterColumns = this.getList(PARQUET_BLOOM_FILTER_COLUMNS_CONF);
+        this.parquetBloomFilterExpectedNdv = this.getLong(PARQUET_BLOOM_FILTER_EXPECTED_NDV_CONF);
+        this.parquetBloomFilterFpp = this.getDouble(PARQUET_BLOOM_FILTER_FPP_CONF);
+        this.parquetBatchSize = this.getInt(PARQUET_BATCH_SIZE_CONF);
+        this.compressionThreads = this.getInt(COMPRESSION_THREADS_CONF);
+        this.writerPoolMaxIdle = this.getInt(WRITER_POOL_MAX_IDLE_CONF);
+        this.projectionFields = this.getList(PROJECTION_FIELDS_CONF);
+        this.filterConditions = this.getList(FILTER_CONDITIONS_CONF);
 
         this.connectionString = this.getPassword(CONNECTION_STRING_CONF).value();
         this.containerName = this.getString(CONTAINER_NAME_CONF);
         this.binaryFileExtension = this.getString(FORMAT_BYTEARRAY_EXTENSION_CONF);
+        this.binaryFraming = this.getString(FORMAT_BYTEARRAY_FRAMING_CONF);
         this.blockSize = this.getInt(BLOCK_SIZE_CONF);
         this.retryType = this.getString(RETRY_TYPE_CONF);
         this.maxRetries = this.getInt(RETRIES_CONF);
@@ -305,6 +551,12 @@ public class AzureBlobSinkConfig extends AbstractConfig {
         this.topicsDir = this.getString(TOPICS_DIR_CONF);
         this.directoryDelim = this.getString(DIRECTORY_DELIM_CONF);
         this.fileDelim = this.getString(FILE_DELIM_CONF);
+        this.storageType = this.getString(STORAGE_TYPE_CONF);
+        this.storageLocalRootDir = this.getString(STORAGE_LOCAL_ROOT_DIR_CONF);
+        this.manifestEnabled = this.getBoolean(MANIFEST_ENABLED_CONF);
+        this.manifestColumns = this.getList(MANIFEST_COLUMNS_CONF);
+        this.offsetRecoveryEnabled = this.getBoolean(OFFSET_RECOVERY_ENABLED_CONF);
+        this.offsetRecoveryTimeoutMs = this.getLong(OFFSET_RECOVERY_TIMEOUT_MS_CONF);
 
         this.partitionStrategy = this.getString(PARTITION_STRATEGY_CONF);
         this.fieldName = this.getString(PARTITION_FIELD_NAME_CONF);
@@ -312,6 +564,7 @@ public class AzureBlobSinkConfig extends AbstractConfig {
         this.timezone = this.getString(TIMEZONE_CONF);
         this.timestampExtractor = this.getString(TIMESTAMP_EXTRACTOR_CONF);
         this.timestampField = this.getString(TIMESTAMP_FIELD_CONF);
+        this.partitionerShards = this.getInt(PARTITIONER_SHARDS_CONF);
     }
 
 
@@ -401,6 +654,18 @@ public class AzureBlobSinkConfig extends AbstractConfig {
                         NONE,
                         SCHEMA_CACHE_SIZE_CONF
                 )
+                .define(
+                        SCHEMA_REFRESH_INTERVAL_MS_CONF,
+                        LONG,
+                        SCHEMA_REFRESH_INTERVAL_MS_DEFAULT,
+                        SCHEMA_REFRESH_INTERVAL_MS_VALIDATOR,
+                        LOW,
+                        SCHEMA_REFRESH_INTERVAL_MS_DOC,
+                        CONNECTOR_GROUP,
+                        ++connectorGroupOrder,
+                        NONE,
+                        SCHEMA_REFRESH_INTERVAL_MS_CONF
+                )
                 .define(
                         ENHANCED_AVRO_SCHEMA_SUPPORT_CONF,
                         BOOLEAN,
@@ -449,6 +714,203 @@ public class AzureBlobSinkConfig extends AbstractConfig {
                         PARQUET_CODEC_CONF,
                         (Recommender) PARQUET_CODEC_VALIDATOR
                 )
+                .define(
+                        PARQUET_ROW_GROUP_SIZE_CONF,
+                        INT,
+                        PARQUET_ROW_GROUP_SIZE_DEFAULT,
+                        PARQUET_ROW_GROUP_SIZE_VALIDATOR,
+                        LOW,
+                        PARQUET_ROW_GROUP_SIZE_DOC,
+                        CONNECTOR_GROUP,
+                        ++connectorGroupOrder,
+                        NONE,
+                        PARQUET_ROW_GROUP_SIZE_CONF
+                )
+                .define(
+                        PARQUET_ROW_GROUP_ALIGN_BLOCK_SIZE_CONF,
+                        BOOLEAN,
+                        PARQUET_ROW_GROUP_ALIGN_BLOCK_SIZE_DEFAULT,
+                        LOW,
+                        PARQUET_ROW_GROUP_ALIGN_BLOCK_SIZE_DOC,
+                        CONNECTOR_GROUP,
+                        ++connectorGroupOrder,
+                        NONE,
+                        PARQUET_ROW_GROUP_ALIGN_BLOCK_SIZE_CONF
+                )
+                .define(
+                        PARQUET_PAGE_SIZE_CONF,
+                        INT,
+                        PARQUET_PAGE_SIZE_DEFAULT,
+                        PARQUET_PAGE_SIZE_VALIDATOR,
+                        LOW,
+                        PARQUET_PAGE_SIZE_DOC,
+                        CONNECTOR_GROUP,
+                        ++connectorGroupOrder,
+                        NONE,
+                        PARQUET_PAGE_SIZE_CONF
+                )
+                .define(
+                        PARQUET_DICTIONARY_PAGE_SIZE_CONF,
+                        INT,
+                        PARQUET_DICTIONARY_PAGE_SIZE_DEFAULT,
+                        PARQUET_DICTIONARY_PAGE_SIZE_VALIDATOR,
+                        LOW,
+                        PARQUET_DICTIONARY_PAGE_SIZE_DOC,
+                        CONNECTOR_GROUP,
+                        ++connectorGroupOrder,
+                        NONE,
+                        PARQUET_DICTIONARY_PAGE_SIZE_CONF
+                )
+                .define(
+                        PARQUET_DICTIONARY_ENABLED_CONF,
+                        BOOLEAN,
+                        PARQUET_DICTIONARY_ENABLED_DEFAULT,
+                        LOW,
+                        PARQUET_DICTIONARY_ENABLED_DOC,
+                        CONNECTOR_GROUP,
+                        ++connectorGroupOrder,
+                        NONE,
+                        PARQUET_DICTIONARY_ENABLED_CONF
+                )
+                .define(
+                        PARQUET_DICTIONARY_ENABLED_COLUMNS_CONF,
+                        LIST,
+                        PARQUET_DICTIONARY_ENABLED_COLUMNS_DEFAULT,
+                        LOW,
+                        PARQUET_DICTIONARY_ENABLED_COLUMNS_DOC,
+                        CONNECTOR_GROUP,
+                        ++connectorGroupOrder,
+                        NONE,
+                        PARQUET_DICTIONARY_ENABLED_COLUMNS_CONF
+                )
+                .define(
+                        PARQUET_DICTIONARY_DISABLED_COLUMNS_CONF,
+                        LIST,
+                        PARQUET_DICTIONARY_DISABLED_COLUMNS_DEFAULT,
+                        LOW,
+                        PARQUET_DICTIONARY_DISABLED_COLUMNS_DOC,
+                        CONNECTOR_GROUP,
+                        ++connectorGroupOrder,
+                        NONE,
+                        PARQUET_DICTIONARY_DISABLED_COLUMNS_CONF
+                )
+                .define(
+                        PARQUET_WRITER_VERSION_CONF,
+                        STRING,
+                        PARQUET_WRITER_VERSION_DEFAULT,
+                        PARQUET_WRITER_VERSION_VALIDATOR,
+                        LOW,
+                        PARQUET_WRITER_VERSION_DOC,
+                        CONNECTOR_GROUP,
+                        ++connectorGroupOrder,
+                        NONE,
+                        PARQUET_WRITER_VERSION_CONF
+                )
+                .define(
+                        PARQUET_PAGE_ROW_COUNT_LIMIT_CONF,
+                        INT,
+                        PARQUET_PAGE_ROW_COUNT_LIMIT_DEFAULT,
+                        PARQUET_PAGE_ROW_COUNT_LIMIT_VALIDATOR,
+                        LOW,
+                        PARQUET_PAGE_ROW_COUNT_LIMIT_DOC,
+                        CONNECTOR_GROUP,
+                        ++connectorGroupOrder,
+                        NONE,
+                        PARQUET_PAGE_ROW_COUNT_LIMIT_CONF
+                )
+                .define(
+                        PARQUET_BLOOM_FILTER_COLUMNS_CONF,
+                        LIST,
+                        PARQUET_BLOOM_FILTER_COLUMNS_DEFAULT,
+                        LOW,
+                        PARQUET_BLOOM_FILTER_COLUMNS_DOC,
+                        CONNECTOR_GROUP,
+                        ++connectorGroupOrder,
+                        NONE,
+                        PARQUET_BLOOM_FILTER_COLUMNS_CONF
+                )
+                .define(
+                        PARQUET_BLOOM_FILTER_EXPECTED_NDV_CONF,
+                        LONG,
+                        PARQUET_BLOOM_FILTER_EXPECTED_NDV_DEFAULT,
+                        PARQUET_BLOOM_FILTER_EXPECTED_NDV_VALIDATOR,
+                        LOW,
+                        PARQUET_BLOOM_FILTER_EXPECTED_NDV_DOC,
+                        CONNECTOR_GROUP,
+                        ++connectorGroupOrder,
+                        NONE,
+                        PARQUET_BLOOM_FILTER_EXPECTED_NDV_CONF
+                )
+                .define(
+                        PARQUET_BLOOM_FILTER_FPP_CONF,
+                        DOUBLE,
+                        PARQUET_BLOOM_FILTER_FPP_DEFAULT,
+                        PARQUET_BLOOM_FILTER_FPP_VALIDATOR,
+                        LOW,
+                        PARQUET_BLOOM_FILTER_FPP_DOC,
+                        CONNECTOR_GROUP,
+                        ++connectorGroupOrder,
+                        NONE,
+                        PARQUET_BLOOM_FILTER_FPP_CONF
+                )
+                .define(
+                        PARQUET_BATCH_SIZE_CONF,
+                        INT,
+                        PARQUET_BATCH_SIZE_DEFAULT,
+                        PARQUET_BATCH_SIZE_VALIDATOR,
+                        LOW,
+                        PARQUET_BATCH_SIZE_DOC,
+                        CONNECTOR_GROUP,
+                        ++connectorGroupOrder,
+                        NONE,
+                        PARQUET_BATCH_SIZE_CONF
+                )
+                .define(
+                        COMPRESSION_THREADS_CONF,
+                        INT,
+                        COMPRESSION_THREADS_DEFAULT,
+                        COMPRESSION_THREADS_VALIDATOR,
+                        LOW,
+                        COMPRESSION_THREADS_DOC,
+                        CONNECTOR_GROUP,
+                        ++connectorGroupOrder,
+                        NONE,
+                        COMPRESSION_THREADS_CONF
+                )
+                .define(
+                        WRITER_POOL_MAX_IDLE_CONF,
+                        INT,
+                        WRITER_POOL_MAX_IDLE_DEFAULT,
+                        WRITER_POOL_MAX_IDLE_VALIDATOR,
+                        LOW,
+                        WRITER_POOL_MAX_IDLE_DOC,
+                        CONNECTOR_GROUP,
+                        ++connectorGroupOrder,
+                        NONE,
+                        WRITER_POOL_MAX_IDLE_CONF
+                )
+                .define(
+                        PROJECTION_FIELDS_CONF,
+                        LIST,
+                        PROJECTION_FIELDS_DEFAULT,
+                        MEDIUM,
+                        PROJECTION_FIELDS_DOC,
+                        CONNECTOR_GROUP,
+                        ++connectorGroupOrder,
+                        NONE,
+                        PROJECTION_FIELDS_CONF
+                )
+                .define(
+                        FILTER_CONDITIONS_CONF,
+                        LIST,
+                        FILTER_CONDITIONS_DEFAULT,
+                        MEDIUM,
+                        FILTER_CONDITIONS_DOC,
+                        CONNECTOR_GROUP,
+                        ++connectorGroupOrder,
+                        NONE,
+                        FILTER_CONDITIONS_CONF
+                )
                 .define(
                         CONNECTION_STRING_CONF,
                         PASSWORD,
@@ -484,6 +946,18 @@ public class AzureBlobSinkConfig extends AbstractConfig {
                         NONE,
                         FORMAT_BYTEARRAY_EXTENSION_CONF
                 )
+                .define(
+                        FORMAT_BYTEARRAY_FRAMING_CONF,
+                        STRING,
+                        FORMAT_BYTEARRAY_FRAMING_DEFAULT,
+                        FORMAT_BYTEARRAY_FRAMING_VALIDATOR,
+                        LOW,
+                        FORMAT_BYTEARRAY_FRAMING_DOC,
+                        AZURE_GROUP,
+                        ++azureGroupOrder,
+                        NONE,
+                        FORMAT_BYTEARRAY_FRAMING_CONF
+                )
                 .define(
                         BLOCK_SIZE_CONF,
                         INT,
@@ -628,6 +1102,74 @@ public class AzureBlobSinkConfig extends AbstractConfig {
                         NONE,
                         DIRECTORY_DELIM_CONF
                 )
+                .define(
+                        STORAGE_TYPE_CONF,
+                        STRING,
+                        STORAGE_TYPE_DEFAULT,
+                        STORAGE_TYPE_VALIDATOR,
+                        MEDIUM,
+                        STORAGE_TYPE_DOC,
+                        STORAGE_GROUP,
+                        ++storageGroupOrder,
+                        NONE,
+                        STORAGE_TYPE_CONF
+                )
+                .define(
+                        STORAGE_LOCAL_ROOT_DIR_CONF,
+                        STRING,
+                        STORAGE_LOCAL_ROOT_DIR_DEFAULT,
+                        LOW,
+                        STORAGE_LOCAL_ROOT_DIR_DOC,
+                        STORAGE_GROUP,
+                        ++storageGroupOrder,
+                        NONE,
+                        STORAGE_LOCAL_ROOT_DIR_CONF
+                )
+                .define(
+                        MANIFEST_ENABLED_CONF,
+                        BOOLEAN,
+                        MANIFEST_ENABLED_DEFAULT,
+                        LOW,
+                        MANIFEST_ENABLED_DOC,
+                        STORAGE_GROUP,
+                        ++storageGroupOrder,
+                        NONE,
+                        MANIFEST_ENABLED_CONF
+                )
+                .define(
+                        MANIFEST_COLUMNS_CONF,
+                        LIST,
+                        MANIFEST_COLUMNS_DEFAULT,
+                        LOW,
+                        MANIFEST_COLUMNS_DOC,
+                        STORAGE_GROUP,
+                        ++storageGroupOrder,
+                        NONE,
+                        MANIFEST_COLUMNS_CONF
+                )
+                .define(
+                        OFFSET_RECOVERY_ENABLED_CONF,
+                        BOOLEAN,
+                        OFFSET_RECOVERY_ENABLED_DEFAULT,
+                        LOW,
+                        OFFSET_RECOVERY_ENABLED_DOC,
+                        STORAGE_GROUP,
+                        ++storageGroupOrder,
+                        NONE,
+                        OFFSET_RECOVERY_ENABLED_CONF
+                )
+                .define(
+                        OFFSET_RECOVERY_TIMEOUT_MS_CONF,
+                        LONG,
+                        OFFSET_RECOVERY_TIMEOUT_MS_DEFAULT,
+                        OFFSET_RECOVERY_TIMEOUT_MS_VALIDATOR,
+                        LOW,
+                        OFFSET_RECOVERY_TIMEOUT_MS_DOC,
+                        STORAGE_GROUP,
+                        ++storageGroupOrder,
+                        NONE,
+                        OFFSET_RECOVERY_TIMEOUT_MS_CONF
+                )
                 .define(
                         PARTITION_STRATEGY_CONF,
                         STRING,
@@ -697,7 +1239,18 @@ public class AzureBlobSinkConfig extends AbstractConfig {
                         PARTITIONER_GROUP,
                         ++partitionerGroupOrder,
                         NONE,
-                        TIMESTAMP_FIELD_CONF);
+                        TIMESTAMP_FIELD_CONF)
+                .define(
+                        PARTITIONER_SHARDS_CONF,
+                        INT,
+                        PARTITIONER_SHARDS_DEFAULT,
+                        PARTITIONER_SHARDS_VALIDATOR,
+                        LOW,
+                        PARTITIONER_SHARDS_DOC,
+                        PARTITIONER_GROUP,
+                        ++partitionerGroupOrder,
+                        NONE,
+                        PARTITIONER_SHARDS_CONF);
     }
 
     public String getFormat() {
@@ -716,6 +1269,10 @@ public class AzureBlobSinkConfig extends AbstractConfig {
         return this.schemaCacheSize;
     }
 
+    public long getSchemaRefreshIntervalMs() {
+        return this.schemaRefreshIntervalMs;
+    }
+
     public boolean isEnhancedSchemaSupportEnabled() {
         return this.enhancedAvroSchemaSupport;
     }
@@ -732,6 +1289,74 @@ public class AzureBlobSinkConfig extends AbstractConfig {
         return this.parquetCompressionCodec;
     }
 
+    public int getParquetRowGroupSize() {
+        return this.parquetRowGroupSize;
+    }
+
+    public boolean isParquetRowGroupAlignedWithBlockSize() {
+        return this.parquetRowGroupAlignedWithBlockSize;
+    }
+
+    public int getParquetPageSize() {
+        return this.parquetPageSize;
+    }
+
+    public int getParquetDictionaryPageSize() {
+        return this.parquetDictionaryPageSize;
+    }
+
+    public boolean isParquetDictionaryEnabled() {
+        return this.parquetDictionaryEnabled;
+    }
+
+    public List<String> getParquetDictionaryEnabledColumns() {
+        return this.parquetDictionaryEnabledColumns;
+    }
+
+    public List<String> getParquetDictionaryDisabledColumns() {
+        return this.parquetDictionaryDisabledColumns;
+    }
+
+    public String getParquetWriterVersion() {
+        return this.parquetWriterVersion;
+    }
+
+    public int getParquetPageRowCountLimit() {
+        return this.parquetPageRowCountLimit;
+    }
+
+    public List<String> getParquetBloomFilterColumns() {
+        return this.parquetBloomFilterColumns;
+    }
+
+    public long getParquetBloomFilterExpectedNdv() {
+        return this.parquetBloomFilterExpectedNdv;
+    }
+
+    public double getParquetBloomFilterFpp() {
+        return this.parquetBloomFilterFpp;
+    }
+
+    public int getParquetBatchSize() {
+        return this.parquetBatchSize;
+    }
+
+    public int getCompressionThreads() {
+        return this.compressionThreads;
+    }
+
+    public int getWriterPoolMaxIdle() {
+        return this.writerPoolMaxIdle;
+    }
+
+    public List<String> getProjectionFields() {
+        return this.projectionFields;
+    }
+
+    public List<String> getFilterConditions() {
+        return this.filterConditions;
+    }
+
     public String getConnectionString() {
         return this.connectionString;
     }
@@ -744,6 +1369,10 @@ public class AzureBlobSinkConfig extends AbstractConfig {
         return this.binaryFileExtension;
     }
 
+    public String getBinaryFraming() {
+        return this.binaryFraming;
+    }
+
     public int getBlockSize() {
         return this.blockSize;
     }
@@ -792,6 +1421,30 @@ public class AzureBlobSinkConfig extends AbstractConfig {
         return this.fileDelim;
     }
 
+    public String getStorageType() {
+        return this.storageType;
+    }
+
+    public String getStorageLocalRootDir() {
+        return this.storageLocalRootDir;
+    }
+
+    public boolean isManifestEnabled() {
+        return this.manifestEnabled;
+    }
+
+    public List<String> getManifestColumns() {
+        return this.manifestColumns;
+    }
+
+    public boolean isOffsetRecoveryEnabled() {
+        return this.offsetRecoveryEnabled;
+    }
+
+    public long getOffsetRecoveryTimeoutMs() {
+        return this.offsetRecoveryTimeoutMs;
+    }
+
     public String getPartitionStrategy() {
         return this.partitionStrategy;
     }
@@ -815,4 +1468,8 @@ public class AzureBlobSinkConfig extends AbstractConfig {
     public String getTimestampField() {
         return this.timestampField;
     }
+
+    public int getPartitionerShards() {
+        return this.partitionerShards;
+    }
 }
@@ -0,0 +1,319 @@
+package io.coffeebeans.connect.azure.blob.sink.filter;
+
+import com.fasterxml.jackson.core.JsonFactory;
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonToken;
+import io.coffeebeans.connect.azure.blob.sink.config.AzureBlobSinkConfig;
+import java.io.IOException;
+import java.util.Map;
+import org.apache.kafka.common.cache.Cache;
+import org.apache.kafka.common.cache.LRUCache;
+import org.apache.kafka.common.cache.SynchronizedCache;
+import org.apache.kafka.common.config.ConfigException;
+import org.apache.kafka.connect.data.Field;
+import org.apache.kafka.connect.data.Schema;
+import org.apache.kafka.connect.data.Struct;
+import org.apache.kafka.connect.header.Header;
+import org.apache.kafka.connect.sink.SinkRecord;
+
+/**
+ * A single condition of a {@link RecordFilter}, compiled from its text.
+ *
+ * <p>The path of the condition is resolved to the chain of fields of a
+ * struct schema once, and cached per schema. JSON string values are read
+ * with a streaming parser which skips the other fields and stops once the
+ * field is found, without building the JSON tree.
+ */
+class FilterCondition {
+    private static final String HEADER_PREFIX = "header:";
+    private static final String OPERATOR_CHARS = "=!<>";
+
+    /**
+     * Value of the objects and arrays, only their presence can be tested.
+     */
+    private static final Object PRESENT = new Object();
+
+    /**
+     * Resolved path of the schemas missing one of the fields.
+     */
+    private static final Field[] MISSING = new Field[0];
+
+    private final String text;
+    private final String header;
+    private final String[] path;
+    private final Operator operator;
+    private final String literal;
+    private final Number numericLiteral;
+    private final JsonFactory jsonFactory;
+    private final Cache<Schema, Field[]> resolvedPaths;
+
+    private FilterCondition(String text,
+                            String path,
+                            Operator operator,
+                            String literal,
+                            JsonFactory jsonFactory,
+                            int schemasCacheSize) {
+        this.text = text;
+        this.header = path.startsWith(HEADER_PREFIX) ? path.substring(HEADER_PREFIX.length()) : null;
+        this.path = path.split("\\.");
+        this.operator = operator;
+        this.literal = literal;
+        this.numericLiteral = literal == null ? null : parseNumber(literal);
+        this.jsonFactory = jsonFactory;
+        this.resolvedPaths = new SynchronizedCache<>(new LRUCache<>(schemasCacheSize));
+    }
+
+    /**
+     * Compiles a condition, for e.g. {@code amount>=10}, {@code header:source}<br>
+     * or {@code !deleted_at}.
+     *
+     * @param text Text of the condition
+     * @param jsonFactory Factory of the parsers of the JSON string values
+     * @param schemasCacheSize Maximum number of resolved schemas cached
+     * @return Filter condition
+     * @throws ConfigException If the condition is malformed
+     */
+    static FilterCondition parse(String text, JsonFactory jsonFactory, int schemasCacheSize) {
+        int index = indexOfOperator(text);
+
+        if (index == -1) {
+            return new FilterCondition(text, text, Operator.EXISTS, null, jsonFactory, schemasCacheSize);
+        }
+        if (index == 0 && text.charAt(0) == '!' && indexOfOperator(text.substring(1)) == -1) {
+            return new FilterCondition(
+                    text, text.substring(1), Operator.MISSING, null, jsonFactory, schemasCacheSize
+            );
+        }
+        Operator operator = Operator.of(text, index);
+        String path = text.substring(0, index).trim();
+
+        if (operator == null || path.isEmpty()) {
+            throw new ConfigException(AzureBlobSinkConfig.FILTER_CONDITIONS_CONF, text, "Invalid condition");
+        }
+        String literal = text.substring(index + operator.symbol.length()).trim();
+        return new FilterCondition(text, path, operator, literal, jsonFactory, schemasCacheSize);
+    }
+
+    /**
+     * Evaluates the condition on the record.
+     *
+     * @param record Sink record
+     * @return True if the record meets the condition
+     * @throws IOException If the value is a malformed JSON string
+     */
+    boolean test(SinkRecord record) throws IOException {
+        Object value = header == null ? resolve(record.value()) : resolveHeader(record);
+
+        switch (operator) {
+            case EXISTS: return value != null;
+            case MISSING: return value == null;
+            case EQ: return value != null && value != PRESENT && compare(value) == 0;
+            case NE: return value == null || value == PRESENT || compare(value) != 0;
+            case GT: return value != null && value != PRESENT && compare(value) > 0;
+            case GE: return value != null && value != PRESENT && compare(value) >= 0;
+            case LT: return value != null && value != PRESENT && compare(value) < 0;
+            case LE: return value != null && value != PRESENT && compare(value) <= 0;
+            default: return false;
+        }
+    }
+
+    @Override
+    public String toString() {
+        return text;
+    }
+
+    private Object resolveHeader(SinkRecord record) {
+        Header lastHeader = record.headers().lastWithName(header);
+        return lastHeader == null ? null : toScalar(lastHeader.value());
+    }
+
+    private Object resolve(Object value) throws IOException {
+        if (value instanceof Struct) {
+            return resolveStruct((Struct) value);
+        }
+        if (value instanceof Map) {
+            return resolveMap((Map<?, ?>) value);
+        }
+        if (value instanceof String) {
+            return resolveJson((String) value);
+        }
+        return null;
+    }
+
+    private Object resolveStruct(Struct struct) {
+        Field[] fields = resolvedPaths.get(struct.schema());
+
+        if (fields == null) {
+            fields = resolveFields(struct.schema());
+            resolvedPaths.put(struct.schema(), fields);
+        }
+        if (fields == MISSING) {
+            return null;
+        }
+        Object value = struct;
+
+        for (Field field : fields) {
+            if (value == null) {
+                return null;
+            }
+            value = ((Struct) value).get(field);
+        }
+        return toScalar(value);
+    }
+
+    private Field[] resolveFields(Schema schema) {
+        Field[] fields = new Field[path.length];
+
+        for (int i = 0; i < path.length; i++) {
+            if (schema.type() != Schema.Type.STRUCT) {
+                return MISSING;
+            }
+            fields[i] = schema.field(path[i]);
+            if (fields[i] == null) {
+                return MISSING;
+            }
+            schema = fields[i].schema();
+        }
+        return fields;
+    }
+
+    private Object resolveMap(Map<?, ?> map) {
+        Object value = map;
+
+        for (String key : path) {
+            if (!(value instanceof Map)) {
+                return null;
+            }
+            value = ((Map<?, ?>) value).get(key);
+        }
+        return toScalar(value);
+    }
+
+    private Object resolveJson(String json) throws IOException {
+        try (JsonParser parser = jsonFactory.createParser(json)) {
+            JsonToken token = parser.nextToken();
+
+            for (String key : path) {
+                if (token != JsonToken.START_OBJECT || !moveToField(parser, key)) {
+                    return null;
+                }
+                token = parser.nextToken();
+            }
+            switch (token) {
+                case VALUE_STRING: return parser.getText();
+                case VALUE_NUMBER_INT:
+                case VALUE_NUMBER_FLOAT: return parser.getNumberValue();
+                case VALUE_TRUE:
+                case VALUE_FALSE: return parser.getBooleanValue();
+                case VALUE_NULL: return null;
+                default: return PRESENT;
+            }
+        }
+    }
+
+    /**
+     * Moves the parser to the field of the current object, skipping the<br>
+     * values of the fields before it.
+     *
+     * @return True if the object has the field
+     */
+    private static boolean moveToField(JsonParser parser, String key) throws IOException {
+        while (parser.nextToken() == JsonToken.FIELD_NAME) {
+            if (key.equals(parser.getCurrentName())) {
+                return true;
+            }
+            parser.nextToken();
+            parser.skipChildren();
+        }
+        return false;
+    }
+
+    private static Object toScalar(Object value) {
+        if (value instanceof Struct || value instanceof Map || value instanceof Iterable) {
+            return PRESENT;
+        }
+        return value;
+    }
+
+    private int compare(Object value) {
+        if (value instanceof Number && numericLiteral != null) {
+            Number number = (Number) value;
+
+            if (isIntegral(number) && isIntegral(numericLiteral)) {
+                return Long.compare(number.longValue(), numericLiteral.longValue());
+            }
+            return Double.compare(number.doubleValue(), numericLiteral.doubleValue());
+        }
+        return value.toString().compareTo(literal);
+    }
+
+    private static boolean isIntegral(Number number) {
+        return number instanceof Long
+                || number instanceof Integer
+                || number instanceof Short
+                || number instanceof Byte;
+    }
+
+    /**
+     * Parses the literal once, as a long if it is integral.
+     *
+     * @return Number, or null if the literal is not a number
+     */
+    private static Number parseNumber(String literal) {
+        try {
+            return Long.parseLong(literal);
+
+        } catch (NumberFormatException e) {
+            try {
+                return Double.parseDouble(literal);
+
+            } catch (NumberFormatException ex) {
+                return null;
+            }
+        }
+    }
+
+    private static int indexOfOperator(String text) {
+        for (int i = 0; i < text.length(); i++) {
+            if (OPERATOR_CHARS.indexOf(text.charAt(i)) != -1) {
+                return i;
+            }
+        }
+        return -1;
+    }
+
+    /**
+     * Operators of the conditions.
+     */
+    private enum Operator {
+        EXISTS(""),
+        MISSING("!"),
+        EQ("=="),
+        NE("!="),
+        GE(">="),
+        LE("<="),
+        GT(">"),
+        LT("<");
+
+        private final String symbol;
+
+        Operator(String symbol) {
+            this.symbol = symbol;
+        }
+
+        /**
+         * The comparison operator at the index of the text, the two<br>
+         * characters ones first.
+         *
+         * @return Operator, or null if there is none
+         */
+        private static Operator of(String text, int index) {
+            for (Operator operator : new Operator[] {EQ, NE, GE, LE, GT, LT}) {
+                if (text.startsWith(operator.symbol, index)) {
+                    return operator;
+                }
+            }
+            return null;
+        }
+    }
+}
@@ -0,0 +1,116 @@
+package io.coffeebeans.connect.azure.blob.sink.filter;
+
+import static io.coffeebeans.connect.azure.blob.sink.config.AzureBlobSinkConfig.TOPIC_FILTER_CONDITIONS_SUFFIX;
+
+import com.fasterxml.jackson.core.JsonFactory;
+import io.coffeebeans.connect.azure.blob.sink.config.AzureBlobSinkConfig;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.stream.Collectors;
+import org.apache.kafka.connect.sink.SinkRecord;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Selects the records to write, before they are buffered, with the<br>
+ * conditions configured with {@link AzureBlobSinkConfig#FILTER_CONDITIONS_CONF filter.conditions}<br>
+ * and overridden per topic with {@code <topic>.filter.conditions}.
+ *
+ * <p>The conditions are compiled once, and a record must meet all of
+ * them to be written. A record whose value cannot be read is kept, to
+ * fail or be sent to the dead letter queue when it is written.
+ */
+public class RecordFilter {
+    private static final Logger log = LoggerFactory.getLogger(RecordFilter.class);
+
+    private final List<FilterCondition> conditions;
+    private final Map<String, List<FilterCondition>> topicConditions;
+
+    /**
+     * Constructs {@link RecordFilter}.
+     *
+     * @param conditions Conditions for all the topics, empty to write all the records
+     * @param topicConditions Conditions per topic, overriding the conditions above
+     * @param schemasCacheSize Maximum number of schemas a condition resolves its path for
+     */
+    public RecordFilter(List<String> conditions, Map<String, List<String>> topicConditions, int schemasCacheSize) {
+        JsonFactory jsonFactory = new JsonFactory();
+
+        this.conditions = compile(conditions, jsonFactory, schemasCacheSize);
+        this.topicConditions = new HashMap<>();
+        topicConditions.forEach((topic, topicConditionsText) -> this.topicConditions.put(
+                topic, compile(topicConditionsText, jsonFactory, schemasCacheSize)
+        ));
+    }
+
+    /**
+     * Creates the filter configured by the user.
+     *
+     * @param config Connector configuration
+     * @return Record filter, or null if no condition is configured
+     */
+    public static RecordFilter fromConfig(AzureBlobSinkConfig config) {
+        Map<String, List<String>> topicConditions = new HashMap<>();
+
+        for (Map.Entry<String, String> entry : config.originalsStrings().entrySet()) {
+            if (!entry.getKey().endsWith(TOPIC_FILTER_CONDITIONS_SUFFIX)) {
+                continue;
+            }
+            String topic = entry.getKey().substring(
+                    0, entry.getKey().length() - TOPIC_FILTER_CONDITIONS_SUFFIX.length()
+            );
+            topicConditions.put(topic, Arrays.stream(entry.getValue().split(","))
+                    .map(String::trim)
+                    .filter(condition -> !condition.isEmpty())
+                    .collect(Collectors.toList()));
+        }
+        if (config.getFilterConditions().isEmpty() && topicConditions.isEmpty()) {
+            return null;
+        }
+        return new RecordFilter(config.getFilterConditions(), topicConditions, config.getSchemaCacheSize());
+    }
+
+    /**
+     * Evaluates the conditions of the topic of the record.
+     *
+     * @param record Sink record
+     * @return True if the record has to be written
+     */
+    public boolean test(SinkRecord record) {
+        List<FilterCondition> recordConditions = topicConditions.containsKey(record.topic())
+                ? topicConditions.get(record.topic())
+                : conditions;
+
+        if (recordConditions == null) {
+            return true;
+        }
+        try {
+            for (FilterCondition condition : recordConditions) {
+                if (!condition.test(record)) {
+                    return false;
+                }
+            }
+            return true;
+
+        } catch (IOException e) {
+            log.debug("Failed to filter record with offset: {}, keeping it: {}", record.kafkaOffset(), e.getMessage());
+            return true;
+        }
+    }
+
+    private static List<FilterCondition> compile(List<String> conditions, JsonFactory jsonFactory, int cacheSize) {
+        if (conditions.isEmpty()) {
+            return null;
+        }
+        List<FilterCondition> compiledConditions = new ArrayList<>(conditions.size());
+
+        for (String condition : conditions) {
+            compiledConditions.add(FilterCondition.parse(condition, jsonFactory, cacheSize));
+        }
+        return compiledConditions;
+    }
+}
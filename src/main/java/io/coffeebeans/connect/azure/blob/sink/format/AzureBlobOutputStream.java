@@ -1,5 +1,7 @@
 package io.coffeebeans.connect.azure.blob.sink.format;
 
+import com.azure.core.http.rest.Response;
+import com.azure.storage.blob.models.BlockBlobItem;
 import io.coffeebeans.connect.azure.blob.sink.format.bytearray.ByteArrayRecordWriter;
 import io.coffeebeans.connect.azure.blob.sink.format.json.JsonRecordWriter;
 import io.coffeebeans.connect.azure.blob.sink.storage.StorageManager;
@@ -11,11 +13,13 @@ import java.util.Arrays;
 import java.util.Base64;
 import java.util.LinkedList;
 import java.util.List;
+import java.util.Map;
 import java.util.UUID;
 import org.apache.kafka.connect.errors.RetriableException;
 import org.apache.parquet.io.PositionOutputStream;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
+import reactor.core.publisher.Mono;
 
 /**
  * This output stream maintains a buffer of data.
@@ -26,16 +30,20 @@ public class AzureBlobOutputStream extends PositionOutputStream {
     private static final Logger log = LoggerFactory.getLogger(AzureBlobOutputStream.class);
 
     private long position;
+    private String blobName;
     private boolean isClosed;
     private int compressionLevel;
     private boolean shouldThrowException;
+    private List<String> base64BlockIds;
+    private List<Mono<Response<Void>>> stagings;
+    private Map<String, String> metadata;
+    private Mono<Void> committed;
     private OutputStream compressionFilter;
+    private CompressionPool compressionPool;
     private CompressionType compressionType;
 
     private final int blockSize;
-    private final String blobName;
     private final ByteBuffer buffer;
-    private final List<String> base64BlockIds;
     private final StorageManager storageManager;
     private final Base64.Encoder base64Encoder;
 
@@ -54,15 +62,71 @@ public class AzureBlobOutputStream extends PositionOutputStream {
 
         this.blockSize = blockSize;
         this.blobName = blobName;
+        this.metadata = Map.of();
+        this.committed = Mono.empty();
         this.storageManager = storageManager;
 
         this.buffer = ByteBuffer.allocate(blockSize);
         this.base64BlockIds = new LinkedList<>();
+        this.stagings = new LinkedList<>();
         this.base64Encoder = Base64.getEncoder();
 
         log.debug("Configured output stream with part size: {}, for blob: {}", blockSize, blobName);
     }
 
+    /**
+     * Opens the committed stream again on a new blob, reusing its buffer.<br>
+     * The compression filter of the previous blob is dropped, it has to<br>
+     * be wrapped again with {@link #wrapForCompression()}.
+     *
+     * @param blobName Name of the new blob
+     * @return This output stream
+     */
+    public AzureBlobOutputStream reset(String blobName) {
+        this.position = 0L;
+        this.isClosed = false;
+        this.shouldThrowException = false;
+        this.blobName = blobName;
+        this.metadata = Map.of();
+        this.committed = Mono.empty();
+
+        // The previous list may still be read by an in-flight commit
+        this.base64BlockIds = new LinkedList<>();
+        this.stagings = new LinkedList<>();
+        this.compressionFilter = null;
+        buffer.clear();
+
+        log.debug("Reset output stream for blob: {}", blobName);
+        return this;
+    }
+
+    public String getBlobName() {
+        return blobName;
+    }
+
+    /**
+     * Sets the metadata of the blob, written when it is committed.
+     *
+     * @param metadata Metadata of the blob
+     * @return This output stream
+     */
+    public AzureBlobOutputStream setMetadata(Map<String, String> metadata) {
+        this.metadata = metadata;
+        return this;
+    }
+
+    /**
+     * Returns the completion of the commit of the blob: it completes<br>
+     * once the block list is committed in the storage, and fails if<br>
+     * the commit failed. The commit is asynchronous, the stream may<br>
+     * already be reset on another blob when it completes.
+     *
+     * @return Completion of the commit
+     */
+    public Mono<Void> whenCommitted() {
+        return committed;
+    }
+
     @Override
     public long getPos() {
         return position;
@@ -186,7 +250,7 @@ public class AzureBlobOutputStream extends PositionOutputStream {
      */
     public OutputStream wrapForCompression() {
         if (compressionFilter == null) {
-            compressionFilter = compressionType.wrapForOutput(this, compressionLevel);
+            compressionFilter = compressionType.wrapForOutput(this, compressionLevel, compressionPool);
         }
         return compressionFilter;
     }
@@ -206,6 +270,13 @@ public class AzureBlobOutputStream extends PositionOutputStream {
     }
 
     private void stageBlock(final int partSize, boolean shouldCommit) {
+        /*
+        The stream may be reset on another blob before the
+        asynchronous operations of this one complete.
+         */
+        final String blobName = this.blobName;
+        final List<String> base64BlockIds = this.base64BlockIds;
+        final List<Mono<Response<Void>>> stagings = this.stagings;
         try {
             /*
             Adding block id to the list before the staging operation is complete
@@ -213,28 +284,35 @@ public class AzureBlobOutputStream extends PositionOutputStream {
             corrupt or incorrect files.
              */
             String blockId = generateBase64RandomBlockId();
-            this.base64BlockIds.add(blockId);
+            base64BlockIds.add(blockId);
 
             log.debug("Initiated staging block of id: {} for blob: {}", blockId, blobName);
 
             byte[] slicedBuf = Arrays.copyOfRange(buffer.array(), 0, partSize);
 
-            this.storageManager.stageBlockAsync(blobName, blockId, slicedBuf)
-                    .subscribe(
-                            success -> log.debug("Staging for block id: {} on blob: {} was successful",
-                                    blockId, blobName),
-                            error -> {
-                                /*
-                                Error is raised only after timeout and
-                                exhausting all the retries. If still it encounters
-                                error, there is something really wrong with the
-                                external system.
-
-                                Setting this flag to true so that,
-                                Exception can be thrown on the main thread.
-                                 */
-                                this.shouldThrowException = true;
-                            });
+            Mono<Response<Void>> staging = this.storageManager.stageBlockAsync(blobName, blockId, slicedBuf)
+                    .cache();
+            stagings.add(staging);
+
+            staging.subscribe(
+                    success -> log.debug("Staging for block id: {} on blob: {} was successful",
+                            blockId, blobName),
+                    error -> {
+                        if (!blobName.equals(this.blobName)) {
+                            log.error("Staging failed for committed blob: {}", blobName);
+                            return;
+                        }
+                        /*
+                        Error is raised only after timeout and
+                        exhausting all the retries. If still it encounters
+                        error, there is something really wrong with the
+                        external system.
+
+                        Setting this flag to true so that,
+                        Exception can be thrown on the main thread.
+                         */
+                        this.shouldThrowException = true;
+                    });
 
             /*
             Commit will be invoked when closing the file.
@@ -243,10 +321,23 @@ public class AzureBlobOutputStream extends PositionOutputStream {
                 return;
             }
 
-            this.storageManager.commitBlockIdsAsync(blobName, base64BlockIds, false)
-                    .subscribe(
-                            success -> log.info("Commit successful for blob: {}", blobName),
-                            error -> log.error("Commit failed for blob: {}", blobName));
+            /*
+            The block list is committed once all the blocks are staged,
+            the storage would reject the blocks still in flight.
+             */
+            Mono<BlockBlobItem> commit = this.metadata.isEmpty()
+                    ? this.storageManager.commitBlockIdsAsync(blobName, base64BlockIds, false)
+                    : this.storageManager.commitBlockIdsAsync(blobName, base64BlockIds, false, this.metadata);
+
+            this.committed = Mono.when(stagings)
+                    .then(commit)
+                    .then()
+                    .cache();
+
+            this.committed.subscribe(
+                    null,
+                    error -> log.error("Commit failed for blob: {}", blobName),
+                    () -> log.info("Commit successful for blob: {}", blobName));
 
         } catch (Exception e) {
             throw new RetriableException("Failed staging for blob: " + blobName, e);
@@ -277,4 +368,9 @@ public class AzureBlobOutputStream extends PositionOutputStream {
         this.compressionLevel = compressionLevel;
         return this;
     }
+
+    public AzureBlobOutputStream setCompressionPool(CompressionPool compressionPool) {
+        this.compressionPool = compressionPool;
+        return this;
+    }
 }
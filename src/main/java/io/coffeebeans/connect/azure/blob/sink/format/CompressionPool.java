@@ -0,0 +1,86 @@
+package io.coffeebeans.connect.azure.blob.sink.format;
+
+import java.io.Closeable;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.Callable;
+import java.util.concurrent.Future;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Bounded pool of threads used by the record writers to compress<br>
+ * data off the put() thread. One pool is shared by all the writers<br>
+ * of a task.
+ *
+ * <p>The queue of pending tasks is bounded. Once it is full, the task
+ * is run on the submitting thread, which throttles the writers to the
+ * speed of the pool instead of buffering unbounded amounts of data.
+ */
+public class CompressionPool implements Closeable {
+    private static final int QUEUED_TASKS_PER_THREAD = 4;
+    private static final AtomicInteger POOL_NUMBER = new AtomicInteger();
+
+    private final int threads;
+    private final ThreadPoolExecutor executor;
+
+    /**
+     * Constructs {@link CompressionPool}.
+     *
+     * @param threads Number of compression threads
+     */
+    public CompressionPool(int threads) {
+        this.threads = threads;
+        this.executor = new ThreadPoolExecutor(
+                threads,
+                threads,
+                0L,
+                TimeUnit.MILLISECONDS,
+                new ArrayBlockingQueue<>(threads * QUEUED_TASKS_PER_THREAD),
+                newThreadFactory(),
+                (task, pool) -> {
+                    if (pool.isShutdown()) {
+                        throw new RejectedExecutionException("Compression pool is closed");
+                    }
+                    task.run();
+                }
+        );
+    }
+
+    /**
+     * Submits a compression task to the pool.
+     *
+     * @param task Compression task
+     * @param <T> Type of the result of the task
+     * @return Future of the result
+     * @throws RejectedExecutionException If the pool is closed
+     */
+    public <T> Future<T> submit(Callable<T> task) {
+        return executor.submit(task);
+    }
+
+    public int getThreads() {
+        return threads;
+    }
+
+    /**
+     * Stops the compression threads once the pending tasks are done.
+     */
+    @Override
+    public void close() {
+        executor.shutdown();
+    }
+
+    private static ThreadFactory newThreadFactory() {
+        String prefix = "azure-blob-compression-" + POOL_NUMBER.incrementAndGet() + "-";
+        AtomicInteger threadNumber = new AtomicInteger();
+
+        return runnable -> {
+            Thread thread = new Thread(runnable, prefix + threadNumber.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        };
+    }
+}
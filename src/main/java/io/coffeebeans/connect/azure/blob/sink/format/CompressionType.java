@@ -1,5 +1,9 @@
 package io.coffeebeans.connect.azure.blob.sink.format;
 
+import static io.coffeebeans.connect.azure.blob.sink.config.AzureBlobSinkConfig.COMPRESSION_LEVEL_CONF;
+
+import com.github.luben.zstd.ZstdInputStream;
+import com.github.luben.zstd.ZstdOutputStream;
 import java.io.IOException;
 import java.io.InputStream;
 import java.io.OutputStream;
@@ -7,7 +11,15 @@ import java.util.zip.Deflater;
 import java.util.zip.DeflaterOutputStream;
 import java.util.zip.GZIPInputStream;
 import java.util.zip.GZIPOutputStream;
+import net.jpountz.lz4.LZ4Compressor;
+import net.jpountz.lz4.LZ4Factory;
+import net.jpountz.lz4.LZ4FrameInputStream;
+import net.jpountz.lz4.LZ4FrameOutputStream;
+import net.jpountz.xxhash.XXHashFactory;
+import org.apache.kafka.common.config.ConfigException;
 import org.apache.kafka.connect.errors.ConnectException;
+import org.xerial.snappy.SnappyFramedInputStream;
+import org.xerial.snappy.SnappyFramedOutputStream;
 
 /**
  * Supported compression types for JSON and Binary format.
@@ -15,7 +27,7 @@ import org.apache.kafka.connect.errors.ConnectException;
 public enum CompressionType {
 
     NONE("none", ""),
-    GZIP("gzip", ".gz") {
+    GZIP("gzip", ".gz", Deflater.BEST_COMPRESSION) {
 
         @Override
         public OutputStream wrapForOutput(OutputStream out) {
@@ -36,6 +48,14 @@ public enum CompressionType {
             }
         }
 
+        @Override
+        public OutputStream wrapForOutput(OutputStream out, int level, CompressionPool pool) {
+            if (pool == null) {
+                return wrapForOutput(out, level);
+            }
+            return new ParallelGzipOutputStream(out, level, pool);
+        }
+
         @Override
         public InputStream wrapForInput(InputStream in) {
             try {
@@ -47,6 +67,14 @@ public enum CompressionType {
 
         @Override
         public void finalize(OutputStream compressionFilter) {
+            if (compressionFilter instanceof ParallelGzipOutputStream) {
+                try {
+                    ((ParallelGzipOutputStream) compressionFilter).finish();
+                } catch (IOException e) {
+                    throw new ConnectException(e);
+                }
+                return;
+            }
             if (compressionFilter instanceof DeflaterOutputStream) {
                 try {
                     ((DeflaterOutputStream) compressionFilter).finish();
@@ -57,16 +85,116 @@ public enum CompressionType {
             }
             throw new ConnectException("Compression filter is not an instance of DeflaterOutputStream");
         }
+    },
+    ZSTD("zstd", ".zst", 22) {
+
+        @Override
+        public OutputStream wrapForOutput(OutputStream out) {
+            return wrapForOutput(out, Deflater.DEFAULT_COMPRESSION);
+        }
+
+        @Override
+        public OutputStream wrapForOutput(OutputStream out, int level) {
+            int zstdLevel = level == Deflater.DEFAULT_COMPRESSION ? ZSTD_DEFAULT_LEVEL : level;
+
+            return FinishableOutputStream.wrap(out, target -> new ZstdOutputStream(target, zstdLevel));
+        }
+
+        @Override
+        public InputStream wrapForInput(InputStream in) {
+            try {
+                return new ZstdInputStream(in);
+            } catch (Exception e) {
+                throw new ConnectException(e);
+            }
+        }
+
+        @Override
+        public void finalize(OutputStream compressionFilter) {
+            FinishableOutputStream.finish(compressionFilter);
+        }
+    },
+    LZ4("lz4", ".lz4", 17) {
+
+        @Override
+        public OutputStream wrapForOutput(OutputStream out) {
+            return wrapForOutput(out, Deflater.DEFAULT_COMPRESSION);
+        }
+
+        /**
+         * Levels up to 0 use the fast compressor, higher levels the<br>
+         * high compression one.
+         */
+        @Override
+        public OutputStream wrapForOutput(OutputStream out, int level) {
+            LZ4Compressor compressor = level > 0
+                    ? LZ4Factory.fastestInstance().highCompressor(level)
+                    : LZ4Factory.fastestInstance().fastCompressor();
+
+            return FinishableOutputStream.wrap(out, target -> new LZ4FrameOutputStream(
+                    target,
+                    LZ4FrameOutputStream.BLOCKSIZE.SIZE_64KB,
+                    -1L,
+                    compressor,
+                    XXHashFactory.fastestInstance().hash32(),
+                    LZ4FrameOutputStream.FLG.Bits.BLOCK_INDEPENDENCE
+            ));
+        }
+
+        @Override
+        public InputStream wrapForInput(InputStream in) {
+            try {
+                return new LZ4FrameInputStream(in);
+            } catch (Exception e) {
+                throw new ConnectException(e);
+            }
+        }
+
+        @Override
+        public void finalize(OutputStream compressionFilter) {
+            FinishableOutputStream.finish(compressionFilter);
+        }
+    },
+    SNAPPY("snappy", ".sz") {
+
+        @Override
+        public OutputStream wrapForOutput(OutputStream out) {
+            return FinishableOutputStream.wrap(out, SnappyFramedOutputStream::new);
+        }
+
+        @Override
+        public InputStream wrapForInput(InputStream in) {
+            try {
+                return new SnappyFramedInputStream(in);
+            } catch (Exception e) {
+                throw new ConnectException(e);
+            }
+        }
+
+        @Override
+        public void finalize(OutputStream compressionFilter) {
+            FinishableOutputStream.finish(compressionFilter);
+        }
     };
 
     private static final int GZIP_BUFFER_SIZE_BYTES = 8 * 1024;
+    private static final int ZSTD_DEFAULT_LEVEL = 3;
 
     public final String name;
     public final String extension;
+    private final int maxLevel;
 
+    /**
+     * Compression type ignoring the compression level.
+     */
     CompressionType(String name, String extension) {
+        this(name, extension, Integer.MAX_VALUE);
+    }
+
+    CompressionType(String name, String extension, int maxLevel) {
         this.name = name;
         this.extension = extension;
+        this.maxLevel = maxLevel;
     }
 
     /**
@@ -76,14 +204,24 @@ public enum CompressionType {
      * @return CompressionType
      */
     public static CompressionType forName(String name) {
-        if (NONE.name.equalsIgnoreCase(name)) {
-            return NONE;
-
-        } else if (GZIP.name.equalsIgnoreCase(name)) {
-            return GZIP;
+        for (CompressionType type : values()) {
+            if (type.name.equalsIgnoreCase(name)) {
+                return type;
+            }
+        }
+        throw new IllegalArgumentException("Unknown compression name: " + name);
+    }
 
-        } else {
-            throw new IllegalArgumentException("Unknown compression name: " + name);
+    /**
+     * Checks the configured compression level is supported by this CompressionType.
+     *
+     * @param level the compression level
+     * @throws ConfigException if the level is above the maximum level of this CompressionType
+     */
+    public void ensureValidLevel(int level) {
+        if (level > maxLevel) {
+            throw new ConfigException(COMPRESSION_LEVEL_CONF, level,
+                    "Must be at most " + maxLevel + " for " + name + " compression");
         }
     }
 
@@ -109,6 +247,19 @@ public enum CompressionType {
         return wrapForOutput(out);
     }
 
+    /**
+     * Wrap {@code out} with a filter that will compress data with this CompressionType at the
+     * given compression level, using the threads of the given pool (optional operation).
+     *
+     * @param out the {@link OutputStream} to wrap
+     * @param level the compression level for this compression type
+     * @param pool the pool to compress on, or null to compress on the calling thread
+     * @return a wrapped version of {@code out} that will apply compression at the given level
+     */
+    public OutputStream wrapForOutput(OutputStream out, int level, CompressionPool pool) {
+        return wrapForOutput(out, level);
+    }
+
     /**
      * Wrap {@code in} with a filter that will decompress data with this CompressionType.
      *
@@ -0,0 +1,276 @@
+package io.coffeebeans.connect.azure.blob.sink.format;
+
+import static io.coffeebeans.connect.azure.blob.sink.config.AzureBlobSinkConfig.TOPIC_PROJECTION_FIELDS_SUFFIX;
+
+import com.fasterxml.jackson.core.JsonFactory;
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonToken;
+import io.coffeebeans.connect.azure.blob.sink.config.AzureBlobSinkConfig;
+import java.io.IOException;
+import java.io.StringWriter;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.stream.Collectors;
+import org.apache.kafka.common.cache.Cache;
+import org.apache.kafka.common.cache.LRUCache;
+import org.apache.kafka.common.cache.SynchronizedCache;
+import org.apache.kafka.connect.data.Field;
+import org.apache.kafka.connect.data.Schema;
+import org.apache.kafka.connect.data.SchemaBuilder;
+import org.apache.kafka.connect.data.Struct;
+
+/**
+ * Selects the top level fields of the record values written to the<br>
+ * output files, configured with {@link AzureBlobSinkConfig#PROJECTION_FIELDS_CONF projection.fields}<br>
+ * and overridden per topic with {@code <topic>.projection.fields}.
+ *
+ * <p>The projected schema of a struct is computed once per source schema
+ * and cached. JSON strings are projected with a streaming parse, the
+ * fields which are not selected are skipped without being parsed. The
+ * selected fields missing from a value are left out.
+ */
+public class FieldProjection {
+
+    private final int schemasCacheSize;
+    private final JsonFactory jsonFactory;
+    private final Set<String> fields;
+    private final Map<String, Set<String>> topicFields;
+    private final Map<String, Cache<Schema, Schema>> projectedSchemas;
+
+    /**
+     * Constructs {@link FieldProjection}.
+     *
+     * @param fields Fields selected for all the topics, empty to select all of them
+     * @param topicFields Fields selected per topic, overriding the fields above
+     * @param schemasCacheSize Maximum number of projected schemas cached per topic
+     */
+    public FieldProjection(List<String> fields, Map<String, List<String>> topicFields, int schemasCacheSize) {
+        this.fields = fields.isEmpty() ? null : new LinkedHashSet<>(fields);
+        this.topicFields = new HashMap<>();
+        topicFields.forEach((topic, selectedFields) -> this.topicFields.put(
+                topic, selectedFields.isEmpty() ? null : new LinkedHashSet<>(selectedFields)
+        ));
+
+        this.schemasCacheSize = schemasCacheSize;
+        this.jsonFactory = new JsonFactory();
+        this.projectedSchemas = new ConcurrentHashMap<>();
+    }
+
+    /**
+     * Creates the projection configured by the user.
+     *
+     * @param config Connector configuration
+     * @return Field projection, or null if no projection is configured
+     */
+    public static FieldProjection fromConfig(AzureBlobSinkConfig config) {
+        Map<String, List<String>> topicFields = new HashMap<>();
+
+        for (Map.Entry<String, String> entry : config.originalsStrings().entrySet()) {
+            if (!entry.getKey().endsWith(TOPIC_PROJECTION_FIELDS_SUFFIX)) {
+                continue;
+            }
+            String topic = entry.getKey().substring(
+                    0, entry.getKey().length() - TOPIC_PROJECTION_FIELDS_SUFFIX.length()
+            );
+            topicFields.put(topic, Arrays.stream(entry.getValue().split(","))
+                    .map(String::trim)
+                    .filter(field -> !field.isEmpty())
+                    .collect(Collectors.toList()));
+        }
+        if (config.getProjectionFields().isEmpty() && topicFields.isEmpty()) {
+            return null;
+        }
+        return new FieldProjection(config.getProjectionFields(), topicFields, config.getSchemaCacheSize());
+    }
+
+    /**
+     * Whether the fields of the topic are projected.
+     *
+     * @param topic Kafka topic
+     * @return True if only some fields are selected
+     */
+    public boolean isEnabled(String topic) {
+        return getFields(topic) != null;
+    }
+
+    /**
+     * Projects a Connect struct schema. Other schemas are returned as is.
+     *
+     * @param topic Kafka topic
+     * @param schema Schema of the record values
+     * @return Projected schema
+     */
+    public Schema projectSchema(String topic, Schema schema) {
+        Set<String> selectedFields = getFields(topic);
+        if (selectedFields == null || schema == null || schema.type() != Schema.Type.STRUCT) {
+            return schema;
+        }
+        Cache<Schema, Schema> cache = projectedSchemas.computeIfAbsent(
+                topic, key -> new SynchronizedCache<>(new LRUCache<>(schemasCacheSize))
+        );
+        Schema projectedSchema = cache.get(schema);
+
+        if (projectedSchema == null) {
+            projectedSchema = projectStructSchema(schema, selectedFields);
+            cache.put(schema, projectedSchema);
+        }
+        return projectedSchema;
+    }
+
+    /**
+     * Copies the selected fields of the struct.
+     *
+     * @param value Record value
+     * @param projectedSchema Schema returned by {@link #projectSchema(String, Schema)}
+     * @return Projected struct, or the value itself if it is not a struct
+     */
+    public Object projectValue(Object value, Schema projectedSchema) {
+        if (!(value instanceof Struct) || ((Struct) value).schema() == projectedSchema) {
+            return value;
+        }
+        Struct struct = (Struct) value;
+        Struct projectedStruct = new Struct(projectedSchema);
+
+        for (Field field : projectedSchema.fields()) {
+            projectedStruct.put(field, struct.get(field.name()));
+        }
+        return projectedStruct;
+    }
+
+    /**
+     * Projects a struct or a schemaless value. Other values are returned as is.
+     *
+     * @param topic Kafka topic
+     * @param value Record value
+     * @return Projected value
+     */
+    public Object project(String topic, Object value) {
+        if (value instanceof Struct) {
+            return projectValue(value, projectSchema(topic, ((Struct) value).schema()));
+        }
+        if (value instanceof Map) {
+            return projectMap(topic, (Map<?, ?>) value);
+        }
+        return value;
+    }
+
+    /**
+     * Keeps the selected entries of a schemaless value.
+     *
+     * @param topic Kafka topic
+     * @param value Record value
+     * @return Projected map
+     */
+    public Map<?, ?> projectMap(String topic, Map<?, ?> value) {
+        Set<String> selectedFields = getFields(topic);
+        if (selectedFields == null) {
+            return value;
+        }
+        Map<Object, Object> projectedValue = new LinkedHashMap<>();
+
+        for (String field : selectedFields) {
+            if (value.containsKey(field)) {
+                projectedValue.put(field, value.get(field));
+            }
+        }
+        return projectedValue;
+    }
+
+    /**
+     * Projects an Avro record schema, for e.g. one of the schema store.
+     *
+     * @param topic Kafka topic
+     * @param schema Avro schema of the record values
+     * @return Projected Avro schema
+     */
+    public org.apache.avro.Schema projectAvroSchema(String topic, org.apache.avro.Schema schema) {
+        Set<String> selectedFields = getFields(topic);
+        if (selectedFields == null || schema == null || schema.getType() != org.apache.avro.Schema.Type.RECORD) {
+            return schema;
+        }
+        List<org.apache.avro.Schema.Field> projectedFields = new ArrayList<>();
+
+        for (String fieldName : selectedFields) {
+            org.apache.avro.Schema.Field field = schema.getField(fieldName);
+            if (field != null) {
+                projectedFields.add(new org.apache.avro.Schema.Field(field, field.schema()));
+            }
+        }
+        return org.apache.avro.Schema.createRecord(
+                schema.getName(), schema.getDoc(), schema.getNamespace(), schema.isError(), projectedFields
+        );
+    }
+
+    /**
+     * Projects a JSON object while parsing it. The values of the fields<br>
+     * which are not selected are skipped. Other JSON values are returned as is.
+     *
+     * @param topic Kafka topic
+     * @param json JSON string
+     * @return Projected JSON string
+     * @throws IOException If the JSON string is malformed
+     */
+    public String projectJson(String topic, String json) throws IOException {
+        Set<String> selectedFields = getFields(topic);
+        if (selectedFields == null) {
+            return json;
+        }
+        StringWriter writer = new StringWriter(json.length() / 2);
+
+        try (JsonParser parser = jsonFactory.createParser(json);
+                JsonGenerator generator = jsonFactory.createGenerator(writer)) {
+
+            if (parser.nextToken() != JsonToken.START_OBJECT) {
+                return json;
+            }
+            generator.writeStartObject();
+
+            while (parser.nextToken() == JsonToken.FIELD_NAME) {
+                String fieldName = parser.getCurrentName();
+                parser.nextToken();
+
+                if (selectedFields.contains(fieldName)) {
+                    generator.writeFieldName(fieldName);
+                    generator.copyCurrentStructure(parser);
+                } else {
+                    parser.skipChildren();
+                }
+            }
+            generator.writeEndObject();
+        }
+        return writer.toString();
+    }
+
+    private Set<String> getFields(String topic) {
+        return topicFields.containsKey(topic) ? topicFields.get(topic) : fields;
+    }
+
+    private static Schema projectStructSchema(Schema schema, Set<String> selectedFields) {
+        SchemaBuilder builder = SchemaBuilder.struct()
+                .name(schema.name())
+                .version(schema.version())
+                .doc(schema.doc());
+
+        if (schema.parameters() != null) {
+            builder.parameters(schema.parameters());
+        }
+        if (schema.isOptional()) {
+            builder.optional();
+        }
+        for (String fieldName : selectedFields) {
+            Field field = schema.field(fieldName);
+            if (field != null) {
+                builder.field(field.name(), field.schema());
+            }
+        }
+        return builder.build();
+    }
+}
@@ -0,0 +1,115 @@
+package io.coffeebeans.connect.azure.blob.sink.format;
+
+import java.io.FilterOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import org.apache.kafka.connect.errors.ConnectException;
+
+/**
+ * Wraps a compressing stream which can only end its last frame<br>
+ * when closed, so that it can be finished without closing the<br>
+ * {@link AzureBlobOutputStream} before it is committed.
+ */
+class FinishableOutputStream extends FilterOutputStream {
+
+    private final OutputStream target;
+    private boolean finished;
+
+    private FinishableOutputStream(OutputStream compressor, OutputStream target) {
+        super(compressor);
+        this.target = target;
+    }
+
+    /**
+     * Wraps the target with the compressing stream created by the encoder.
+     *
+     * @param target Stream the compressed data is written to
+     * @param encoder Creates the compressing stream
+     * @return Compressing stream which can be finished
+     */
+    static OutputStream wrap(OutputStream target, Encoder encoder) {
+        try {
+            return new FinishableOutputStream(encoder.wrap(new UnclosableOutputStream(target)), target);
+        } catch (IOException e) {
+            throw new ConnectException(e);
+        }
+    }
+
+    /**
+     * Ends the last frame of the compression filter without<br>
+     * closing the underlying stream.
+     *
+     * @param compressionFilter Compression filter
+     */
+    static void finish(OutputStream compressionFilter) {
+        if (!(compressionFilter instanceof FinishableOutputStream)) {
+            throw new ConnectException("Compression filter is not an instance of FinishableOutputStream");
+        }
+        try {
+            ((FinishableOutputStream) compressionFilter).finish();
+        } catch (IOException e) {
+            throw new ConnectException(e);
+        }
+    }
+
+    @Override
+    public void write(byte[] b, int off, int len) throws IOException {
+        if (finished) {
+            throw new IOException("Stream is already finished");
+        }
+        out.write(b, off, len);
+    }
+
+    @Override
+    public void write(int b) throws IOException {
+        if (finished) {
+            throw new IOException("Stream is already finished");
+        }
+        out.write(b);
+    }
+
+    private void finish() throws IOException {
+        if (finished) {
+            return;
+        }
+        finished = true;
+        out.close();
+    }
+
+    @Override
+    public void close() throws IOException {
+        try {
+            finish();
+        } finally {
+            target.close();
+        }
+    }
+
+    /**
+     * Creates the compressing stream.
+     */
+    @FunctionalInterface
+    interface Encoder {
+        OutputStream wrap(OutputStream out) throws IOException;
+    }
+
+    /**
+     * Passes the writes through, but not the close.
+     */
+    private static class UnclosableOutputStream extends FilterOutputStream {
+
+        private UnclosableOutputStream(OutputStream out) {
+            super(out);
+        }
+
+        @Override
+        public void write(byte[] b, int off, int len) throws IOException {
+            out.write(b, off, len);
+        }
+
+        @Override
+        public void close() throws IOException {
+            out.flush();
+        }
+    }
+}
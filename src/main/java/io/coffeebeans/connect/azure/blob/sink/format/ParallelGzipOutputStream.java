@@ -0,0 +1,194 @@
+package io.coffeebeans.connect.azure.blob.sink.format;
+
+import java.io.ByteArrayOutputStream;
+import java.io.FilterOutputStream;
+import java.io.IOException;
+import java.io.InterruptedIOException;
+import java.io.OutputStream;
+import java.util.ArrayDeque;
+import java.util.Arrays;
+import java.util.Deque;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Future;
+import java.util.zip.GZIPOutputStream;
+
+/**
+ * Gzip output stream compressing fixed size chunks of the data<br>
+ * concurrently on a {@link CompressionPool}.
+ *
+ * <p>Every chunk is compressed into an independent gzip member, and the
+ * members are written to the underlying stream in order. The output is
+ * a multi-member gzip file (RFC 1952), which any standard gunzip reads
+ * back as the concatenation of the chunks. The cost is a slightly worse
+ * compression ratio, as no chunk can refer to the data of the previous one.
+ */
+public class ParallelGzipOutputStream extends FilterOutputStream {
+    public static final int DEFAULT_CHUNK_SIZE = 1024 * 1024;
+
+    private static final int PENDING_CHUNKS_PER_THREAD = 2;
+    private static final int GZIP_BUFFER_SIZE_BYTES = 8 * 1024;
+
+    private final int level;
+    private final byte[] chunk;
+    private final CompressionPool pool;
+    private final Deque<Future<byte[]>> pendingChunks;
+
+    private int chunkLength;
+    private boolean finished;
+    private boolean membersWritten;
+
+    /**
+     * Constructs {@link ParallelGzipOutputStream}.
+     *
+     * @param out Underlying output stream
+     * @param level Deflate compression level
+     * @param pool Pool the chunks are compressed on
+     */
+    public ParallelGzipOutputStream(OutputStream out, int level, CompressionPool pool) {
+        this(out, level, pool, DEFAULT_CHUNK_SIZE);
+    }
+
+    /**
+     * Constructs {@link ParallelGzipOutputStream}.
+     *
+     * @param out Underlying output stream
+     * @param level Deflate compression level
+     * @param pool Pool the chunks are compressed on
+     * @param chunkSize Size in bytes of the uncompressed chunks
+     */
+    public ParallelGzipOutputStream(OutputStream out, int level, CompressionPool pool, int chunkSize) {
+        super(out);
+        this.level = level;
+        this.pool = pool;
+        this.chunk = new byte[chunkSize];
+        this.pendingChunks = new ArrayDeque<>();
+    }
+
+    @Override
+    public void write(int b) throws IOException {
+        ensureOpen();
+        chunk[chunkLength++] = (byte) b;
+
+        if (chunkLength == chunk.length) {
+            submitChunk();
+        }
+    }
+
+    @Override
+    public void write(byte[] b, int off, int len) throws IOException {
+        ensureOpen();
+
+        while (len > 0) {
+            int length = Math.min(len, chunk.length - chunkLength);
+            System.arraycopy(b, off, chunk, chunkLength, length);
+
+            chunkLength += length;
+            off += length;
+            len -= length;
+
+            if (chunkLength == chunk.length) {
+                submitChunk();
+            }
+        }
+    }
+
+    /**
+     * Writes the chunks compressed so far. The current chunk stays<br>
+     * buffered, flushing it would produce a small gzip member.
+     *
+     * @throws IOException If a chunk fails to compress or write
+     */
+    @Override
+    public void flush() throws IOException {
+        writeCompressedChunks(false);
+        out.flush();
+    }
+
+    /**
+     * Compresses the buffered data and writes all the members to the<br>
+     * underlying stream, without closing it. Nothing can be written<br>
+     * after.
+     *
+     * @throws IOException If a chunk fails to compress or write
+     */
+    public void finish() throws IOException {
+        if (finished) {
+            return;
+        }
+        if (chunkLength > 0 || (!membersWritten && pendingChunks.isEmpty())) {
+            // An empty file still needs a gzip member to be a valid gzip file
+            submitChunk();
+        }
+        writeCompressedChunks(true);
+        out.flush();
+        finished = true;
+    }
+
+    @Override
+    public void close() throws IOException {
+        try {
+            finish();
+        } finally {
+            out.close();
+        }
+    }
+
+    private void submitChunk() throws IOException {
+        byte[] data = Arrays.copyOf(chunk, chunkLength);
+        chunkLength = 0;
+
+        pendingChunks.add(pool.submit(() -> compress(data)));
+        writeCompressedChunks(false);
+    }
+
+    /**
+     * Writes the compressed chunks at the head of the queue. Waits for<br>
+     * the head only when all the chunks are requested or too many of<br>
+     * them are pending.
+     *
+     * @param all Whether all the pending chunks have to be written
+     * @throws IOException If a chunk fails to compress or write
+     */
+    private void writeCompressedChunks(boolean all) throws IOException {
+        int maxPendingChunks = pool.getThreads() * PENDING_CHUNKS_PER_THREAD;
+
+        while (!pendingChunks.isEmpty()
+                && (all || pendingChunks.peek().isDone() || pendingChunks.size() > maxPendingChunks)) {
+
+            out.write(await(pendingChunks.poll()));
+            membersWritten = true;
+        }
+    }
+
+    private byte[] compress(byte[] data) throws IOException {
+        ByteArrayOutputStream member = new ByteArrayOutputStream(data.length / 2 + GZIP_BUFFER_SIZE_BYTES);
+
+        try (GZIPOutputStream gzip = new GZIPOutputStream(member, GZIP_BUFFER_SIZE_BYTES) {
+            {
+                def.setLevel(level);
+            }
+        }) {
+            gzip.write(data);
+        }
+        return member.toByteArray();
+    }
+
+    private void ensureOpen() throws IOException {
+        if (finished) {
+            throw new IOException("Stream is already finished");
+        }
+    }
+
+    private static byte[] await(Future<byte[]> future) throws IOException {
+        try {
+            return future.get();
+
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new InterruptedIOException("Interrupted while waiting for the chunk compression");
+
+        } catch (ExecutionException e) {
+            throw new IOException("Failed to compress the chunk", e.getCause());
+        }
+    }
+}
@@ -1,7 +1,9 @@
 package io.coffeebeans.connect.azure.blob.sink.format;
 
+import java.util.Map;
 import org.apache.kafka.connect.errors.RetriableException;
 import org.apache.kafka.connect.sink.SinkRecord;
+import reactor.core.publisher.Mono;
 
 /**
  * RecordWriter is responsible for writing the record value
@@ -14,4 +16,37 @@ public interface RecordWriter {
     void close() throws RetriableException;
 
     void commit() throws RetriableException;
+
+    /**
+     * Returns the name of the blob written, with extension.
+     *
+     * @return Blob name
+     */
+    String getBlobName();
+
+    /**
+     * Returns the number of bytes written to the blob, once compressed.<br>
+     * After a commit, it is the size of the committed blob.
+     *
+     * @return Blob size in bytes
+     */
+    long getBlobSize();
+
+    /**
+     * Sets the metadata written on the blob when it is committed.<br>
+     * It must be set before the commit.
+     *
+     * @param metadata Metadata of the blob
+     */
+    void setBlobMetadata(Map<String, String> metadata);
+
+    /**
+     * Returns the completion of the last commit: it completes once<br>
+     * the blob is committed in the storage, and fails if the commit<br>
+     * failed. It must be taken before the writer is released to the<br>
+     * {@link RecordWriterProvider}, which may reset it.
+     *
+     * @return Completion of the commit
+     */
+    Mono<Void> whenCommitted();
 }
@@ -0,0 +1,87 @@
+package io.coffeebeans.connect.azure.blob.sink.format;
+
+import java.util.ArrayDeque;
+import java.util.Deque;
+import java.util.HashMap;
+import java.util.Map;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Idle {@link ResettableRecordWriter}s of a {@link RecordWriterProvider}, kept<br>
+ * per Kafka topic to be reset on the next blob instead of creating new ones.
+ *
+ * <p>The writers keep their converters, encoders and the block buffer of
+ * their output stream, which is what rotating a file used to allocate
+ * again. At most {@code maxIdle} writers are kept per topic, the others
+ * are left to the garbage collector. The idle writers of a topic are
+ * evicted when its partitions are closed.
+ */
+public class RecordWriterPool {
+    private static final Logger log = LoggerFactory.getLogger(RecordWriterPool.class);
+
+    private final int maxIdle;
+    private final Map<String, Deque<ResettableRecordWriter>> idleWriters;
+
+    /**
+     * Constructs {@link RecordWriterPool}.
+     *
+     * @param maxIdle Maximum number of idle writers per topic
+     */
+    public RecordWriterPool(int maxIdle) {
+        this.maxIdle = maxIdle;
+        this.idleWriters = new HashMap<>();
+    }
+
+    /**
+     * Takes an idle writer of the topic and resets it on the blob.
+     *
+     * @param blobName Name of the blob, with extension
+     * @param kafkaTopic Kafka topic
+     * @return Record writer, or null if none is idle
+     */
+    public synchronized RecordWriter borrow(String blobName, String kafkaTopic) {
+        Deque<ResettableRecordWriter> writers = idleWriters.get(kafkaTopic);
+        ResettableRecordWriter writer = writers == null ? null : writers.pollFirst();
+
+        if (writer != null) {
+            writer.reset(blobName);
+            log.debug("Reusing record writer for blob: {}", blobName);
+        }
+        return writer;
+    }
+
+    /**
+     * Keeps the committed writer, unless it cannot be reset or the<br>
+     * topic has enough idle writers.
+     *
+     * @param recordWriter Committed record writer
+     * @param kafkaTopic Kafka topic
+     */
+    public synchronized void release(RecordWriter recordWriter, String kafkaTopic) {
+        if (!(recordWriter instanceof ResettableRecordWriter)) {
+            return;
+        }
+        Deque<ResettableRecordWriter> writers = idleWriters.computeIfAbsent(kafkaTopic, topic -> new ArrayDeque<>());
+
+        if (writers.size() < maxIdle) {
+            writers.offerFirst((ResettableRecordWriter) recordWriter);
+        }
+    }
+
+    /**
+     * Drops the idle writers of the topic.
+     *
+     * @param kafkaTopic Kafka topic
+     */
+    public synchronized void evict(String kafkaTopic) {
+        idleWriters.remove(kafkaTopic);
+    }
+
+    /**
+     * Drops all the idle writers.
+     */
+    public synchronized void clear() {
+        idleWriters.clear();
+    }
+}
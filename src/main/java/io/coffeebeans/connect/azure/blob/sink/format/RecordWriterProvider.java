@@ -11,4 +11,31 @@ public interface RecordWriterProvider {
     void configure(AzureBlobSinkConfig config);
 
     RecordWriter getRecordWriter(String blobName, String kafkaTopic);
+
+    /**
+     * Gives back a committed record writer, which the provider may reset<br>
+     * and return again from {@link #getRecordWriter(String, String)}.<br>
+     * The writer must not be used by the caller anymore.
+     *
+     * @param recordWriter Committed record writer
+     * @param kafkaTopic Kafka topic the writer was created for
+     */
+    default void release(RecordWriter recordWriter, String kafkaTopic) {
+    }
+
+    /**
+     * Drops the writers kept for the topic, if any. Invoked when<br>
+     * partitions of the topic are closed.
+     *
+     * @param kafkaTopic Kafka topic
+     */
+    default void evict(String kafkaTopic) {
+    }
+
+    /**
+     * Releases the resources shared by the record writers, for e.g.
+     * the compression threads. Invoked when the task is stopped.
+     */
+    default void close() {
+    }
 }
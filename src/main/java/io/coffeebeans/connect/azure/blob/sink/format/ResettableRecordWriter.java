@@ -0,0 +1,16 @@
+package io.coffeebeans.connect.azure.blob.sink.format;
+
+/**
+ * RecordWriter which can be opened again on a new blob once committed,<br>
+ * keeping its converters, encoders and buffers. Only these writers are<br>
+ * kept by the {@link RecordWriterPool} to be reused across files.
+ */
+public interface ResettableRecordWriter extends RecordWriter {
+
+    /**
+     * Opens the committed writer again on a new blob.
+     *
+     * @param blobName Name of the new blob, with extension
+     */
+    void reset(String blobName);
+}
@@ -1,6 +1,7 @@
 package io.coffeebeans.connect.azure.blob.sink.format;
 
 import io.coffeebeans.connect.azure.blob.sink.exception.SchemaParseException;
+import java.util.Map;
 
 /**
  * Schema store will load, parse and store the topics and their respective
@@ -10,7 +11,29 @@ public interface SchemaStore {
 
     void register(String topic, String schemaFileUrl) throws SchemaParseException;
 
+    /**
+     * Registers the schemas of several topics at once, loading them<br>
+     * concurrently. A schema failing to load is not registered, so that<br>
+     * {@link #register(String, String)} reports the error when needed.
+     *
+     * @param schemaFileUrls Map of topic and its schema URL
+     */
+    void registerAll(Map<String, String> schemaFileUrls);
+
+    /**
+     * Loads the registered schemas again at a fixed interval, in the<br>
+     * background, until the store is closed.
+     *
+     * @param intervalMs Interval in ms between two refreshes
+     */
+    void scheduleRefresh(long intervalMs);
+
     Object getSchema(String topic);
 
     void clear();
+
+    /**
+     * Stops the background refresh, if any, and clears the store.
+     */
+    void close();
 }
@@ -2,7 +2,9 @@ package io.coffeebeans.connect.azure.blob.sink.format.avro;
 
 import com.fasterxml.jackson.databind.ObjectMapper;
 import io.coffeebeans.connect.azure.blob.sink.format.AzureBlobOutputStream;
-import io.coffeebeans.connect.azure.blob.sink.format.RecordWriter;
+import io.coffeebeans.connect.azure.blob.sink.format.CompressionPool;
+import io.coffeebeans.connect.azure.blob.sink.format.FieldProjection;
+import io.coffeebeans.connect.azure.blob.sink.format.ResettableRecordWriter;
 import io.coffeebeans.connect.azure.blob.sink.format.SchemaStore;
 import io.coffeebeans.connect.azure.blob.sink.storage.StorageManager;
 import io.confluent.connect.avro.AvroData;
@@ -18,26 +20,30 @@ import org.apache.kafka.connect.errors.RetriableException;
 import org.apache.kafka.connect.sink.SinkRecord;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
+import reactor.core.publisher.Mono;
 import tech.allegro.schema.json2avro.converter.JsonAvroConverter;
 
 /**
  * Writes data from {@link SinkRecord#value()} to blob storage in Avro format.
  */
-public class AvroRecordWriter implements RecordWriter {
+public class AvroRecordWriter implements ResettableRecordWriter {
     private static final Logger log = LoggerFactory.getLogger(AvroRecordWriter.class);
 
+    private AvroSink writer;
+    private String blobName;
     private Schema kafkaValueSchema;
     private AzureBlobOutputStream outputStream;
     private final DataFileWriter<Object> dataFileWriter;
 
     private final int blockSize;
-    private final String blobName;
     private final AvroData avroData;
     private final String kafkaTopic;
     private final ObjectMapper mapper;
     private final SchemaStore schemaStore;
     private final CodecFactory codecFactory;
     private final StorageManager storageManager;
+    private final CompressionPool compressionPool;
+    private final FieldProjection projection;
     private org.apache.avro.Schema avroValueSchema;
     private final JsonAvroConverter jsonAvroConverter;
 
@@ -49,6 +55,10 @@ public class AvroRecordWriter implements RecordWriter {
      * @param blockSize Part size or buffer size
      * @param blobName Name of the blob
      * @param kafkaTopic Kafka topic name
+     * @param codecFactory Compression codec of the blocks
+     * @param compressionPool Pool to compress the blocks on, or null to compress on the calling thread
+     * @param avroData AvroData
+     * @param projection Fields to write, or null to write all of them
      */
     public AvroRecordWriter(StorageManager storageManager,
                             SchemaStore schemaStore,
@@ -56,7 +66,9 @@ public class AvroRecordWriter implements RecordWriter {
                             String blobName,
                             String kafkaTopic,
                             CodecFactory codecFactory,
-                            AvroData avroData) {
+                            CompressionPool compressionPool,
+                            AvroData avroData,
+                            FieldProjection projection) {
 
         this.blockSize = blockSize;
         this.blobName = blobName;
@@ -65,6 +77,8 @@ public class AvroRecordWriter implements RecordWriter {
         this.schemaStore = schemaStore;
         this.codecFactory = codecFactory;
         this.storageManager = storageManager;
+        this.compressionPool = compressionPool;
+        this.projection = projection;
 
         this.mapper = new ObjectMapper();
         this.jsonAvroConverter = new JsonAvroConverter();
@@ -78,16 +92,18 @@ public class AvroRecordWriter implements RecordWriter {
                 /*
                 For Json string values
                  */
-                write((String) kafkaRecord.value());
+                String value = (String) kafkaRecord.value();
+                write(projection != null ? projection.projectJson(kafkaTopic, value) : value);
                 return;
 
             } else if (kafkaRecord.value() instanceof Map) {
                 /*
                 For Json without embedded schema or schema registry
                  */
+                Map<?, ?> value = (Map<?, ?>) kafkaRecord.value();
                 String jsonString = mapper
                         .writeValueAsString(
-                                kafkaRecord.value()
+                                projection != null ? projection.projectMap(kafkaTopic, value) : value
                         );
                 write(jsonString);
                 return;
@@ -96,25 +112,21 @@ public class AvroRecordWriter implements RecordWriter {
             if (kafkaValueSchema == null) {
                 log.debug("Opening Avro record writer for blob: {}", blobName);
 
-                kafkaValueSchema = kafkaRecord.valueSchema();
+                kafkaValueSchema = projection != null
+                        ? projection.projectSchema(kafkaTopic, kafkaRecord.valueSchema())
+                        : kafkaRecord.valueSchema();
                 avroValueSchema = avroData
                         .fromConnectSchema(kafkaValueSchema);
 
-                outputStream = new AzureBlobOutputStream(
-                        storageManager,
-                        blobName,
-                        blockSize
-                );
-                dataFileWriter.setCodec(codecFactory);
-                dataFileWriter.create(avroValueSchema, outputStream);
+                open(avroValueSchema);
             }
             Object value = avroData
-                    .fromConnectData(kafkaValueSchema, kafkaRecord.value());
+                    .fromConnectData(kafkaValueSchema, projectValue(kafkaRecord.value()));
 
             if (value instanceof NonRecordContainer) {
                 value = ((NonRecordContainer) value).getValue();
             }
-            dataFileWriter.append(value);
+            writer.append(value);
 
         } catch (Exception e) {
             throw new RetriableException(e);
@@ -127,25 +139,56 @@ public class AvroRecordWriter implements RecordWriter {
 
             avroValueSchema = (org.apache.avro.Schema) schemaStore
                     .getSchema(kafkaTopic);
+            if (projection != null) {
+                avroValueSchema = projection.projectAvroSchema(kafkaTopic, avroValueSchema);
+            }
+
+            open(avroValueSchema);
+        }
+        Object record = jsonAvroConverter
+                .convertToGenericDataRecord(value.getBytes(StandardCharsets.UTF_8), avroValueSchema);
+
+        writer.append(record);
+    }
+
+    private Object projectValue(Object value) {
+        return projection != null ? projection.projectValue(value, kafkaValueSchema) : value;
+    }
 
+    /**
+     * Opens the output stream and writes the header of the Avro file.<br>
+     * The blocks are compressed on the compression pool when one is<br>
+     * configured, otherwise by the {@link DataFileWriter}.
+     *
+     * @param schema Avro schema of the records
+     * @throws IOException If the header fails to write
+     */
+    private void open(org.apache.avro.Schema schema) throws IOException {
+        if (outputStream == null) {
             outputStream = new AzureBlobOutputStream(
                     storageManager,
                     blobName,
                     blockSize
             );
-            dataFileWriter.setCodec(codecFactory);
-            dataFileWriter.create(avroValueSchema, outputStream);
+        } else {
+            outputStream.reset(blobName);
         }
-        Object record = jsonAvroConverter
-                .convertToGenericDataRecord(value.getBytes(StandardCharsets.UTF_8), avroValueSchema);
 
-        dataFileWriter.append(record);
+        if (compressionPool != null) {
+            writer = new ParallelDataFileWriter(schema, codecFactory, outputStream, compressionPool);
+            return;
+        }
+        dataFileWriter.setCodec(codecFactory);
+        dataFileWriter.create(schema, outputStream);
+        writer = AvroSink.of(dataFileWriter);
     }
 
     @Override
     public void close() throws RetriableException {
         try {
-            dataFileWriter.close();
+            if (writer != null) {
+                writer.close();
+            }
 
         } catch (IOException e) {
             throw new RetriableException(e);
@@ -155,12 +198,50 @@ public class AvroRecordWriter implements RecordWriter {
     @Override
     public void commit() throws RetriableException {
         try {
-            dataFileWriter.flush();
+            writer.flush();
             outputStream.commit();
-            dataFileWriter.close();
+            writer.close();
 
         } catch (IOException e) {
             throw new RetriableException(e);
         }
     }
+
+    /**
+     * Opens the committed writer on a new blob of the same topic. The<br>
+     * converters, the {@link DataFileWriter} and the buffer of the output<br>
+     * stream are reused. The schema is taken again from the first record,<br>
+     * as it may have evolved.
+     *
+     * @param blobName Name of the new blob, with extension
+     */
+    @Override
+    public void reset(String blobName) {
+        this.blobName = blobName;
+        this.writer = null;
+        this.kafkaValueSchema = null;
+        this.avroValueSchema = null;
+    }
+
+    @Override
+    public String getBlobName() {
+        return blobName;
+    }
+
+    @Override
+    public long getBlobSize() {
+        return outputStream == null ? 0L : outputStream.getPos();
+    }
+
+    @Override
+    public void setBlobMetadata(Map<String, String> metadata) {
+        if (outputStream != null) {
+            outputStream.setMetadata(metadata);
+        }
+    }
+
+    @Override
+    public Mono<Void> whenCommitted() {
+        return outputStream == null ? Mono.empty() : outputStream.whenCommitted();
+    }
 }
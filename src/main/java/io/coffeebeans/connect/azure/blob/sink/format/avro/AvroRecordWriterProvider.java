@@ -5,7 +5,10 @@ import static io.confluent.connect.avro.AvroDataConfig.ENHANCED_AVRO_SCHEMA_SUPP
 import static io.confluent.connect.avro.AvroDataConfig.SCHEMAS_CACHE_SIZE_CONFIG;
 
 import io.coffeebeans.connect.azure.blob.sink.config.AzureBlobSinkConfig;
+import io.coffeebeans.connect.azure.blob.sink.format.CompressionPool;
+import io.coffeebeans.connect.azure.blob.sink.format.FieldProjection;
 import io.coffeebeans.connect.azure.blob.sink.format.RecordWriter;
+import io.coffeebeans.connect.azure.blob.sink.format.RecordWriterPool;
 import io.coffeebeans.connect.azure.blob.sink.format.RecordWriterProvider;
 import io.coffeebeans.connect.azure.blob.sink.format.SchemaStore;
 import io.coffeebeans.connect.azure.blob.sink.storage.StorageManager;
@@ -29,6 +32,9 @@ public class AvroRecordWriterProvider implements RecordWriterProvider {
     private int blockSize;
     private AvroData avroData;
     private CodecFactory codecFactory;
+    private FieldProjection projection;
+    private CompressionPool compressionPool;
+    private RecordWriterPool writerPool;
     private final SchemaStore schemaStore;
     private final StorageManager storageManager;
 
@@ -54,13 +60,22 @@ public class AvroRecordWriterProvider implements RecordWriterProvider {
     public void configure(AzureBlobSinkConfig config) {
 
         this.blockSize = config.getBlockSize();
+        this.projection = FieldProjection.fromConfig(config);
 
         configureAvroData(config);
         configureCodecFactory(config);
+
+        if (config.getCompressionThreads() > 0 && !isNullCodec(config.getAvroCompressionCodec())) {
+            this.compressionPool = new CompressionPool(config.getCompressionThreads());
+            log.debug("Configured {} compression threads", config.getCompressionThreads());
+        }
+        if (config.getWriterPoolMaxIdle() > 0) {
+            this.writerPool = new RecordWriterPool(config.getWriterPoolMaxIdle());
+        }
     }
 
     /**
-     * Instantiates and return instance of {@link AvroRecordWriter}.
+     * Returns an idle {@link AvroRecordWriter} reset on the blob, or a new one.
      *
      * @param blobName Blob name
      * @param kafkaTopic Kafka topic
@@ -71,6 +86,12 @@ public class AvroRecordWriterProvider implements RecordWriterProvider {
 
         String blobNameWithExtension = blobName + getExtension();
 
+        if (writerPool != null) {
+            RecordWriter recordWriter = writerPool.borrow(blobNameWithExtension, kafkaTopic);
+            if (recordWriter != null) {
+                return recordWriter;
+            }
+        }
         return new AvroRecordWriter(
                 storageManager,
                 schemaStore,
@@ -78,10 +99,51 @@ public class AvroRecordWriterProvider implements RecordWriterProvider {
                 blobNameWithExtension,
                 kafkaTopic,
                 codecFactory,
-                avroData
+                compressionPool,
+                avroData,
+                projection
         );
     }
 
+    /**
+     * Keeps the committed record writer to be reused, if enabled with<br>
+     * {@link AzureBlobSinkConfig#WRITER_POOL_MAX_IDLE_CONF writer.pool.max.idle}.
+     *
+     * @param recordWriter Committed record writer
+     * @param kafkaTopic Kafka topic
+     */
+    @Override
+    public void release(RecordWriter recordWriter, String kafkaTopic) {
+        if (writerPool != null) {
+            writerPool.release(recordWriter, kafkaTopic);
+        }
+    }
+
+    /**
+     * Drops the idle writers of the topic, if the reuse is enabled.
+     *
+     * @param kafkaTopic Kafka topic
+     */
+    @Override
+    public void evict(String kafkaTopic) {
+        if (writerPool != null) {
+            writerPool.evict(kafkaTopic);
+        }
+    }
+
+    /**
+     * Stops the compression threads, if any, and drops the idle writers.
+     */
+    @Override
+    public void close() {
+        if (compressionPool != null) {
+            compressionPool.close();
+        }
+        if (writerPool != null) {
+            writerPool.clear();
+        }
+    }
+
     /**
      * Configures the {@link AvroData} with below properties.<br>
      * <br>
@@ -149,6 +211,10 @@ public class AvroRecordWriterProvider implements RecordWriterProvider {
         log.debug("Configured Avro compression codec: {}", config.getAvroCompressionCodec());
     }
 
+    private static boolean isNullCodec(String codec) {
+        return codec == null || AvroCodecs.NULL.name().equalsIgnoreCase(codec);
+    }
+
     /**
      * Extension of the Avro files.
      *
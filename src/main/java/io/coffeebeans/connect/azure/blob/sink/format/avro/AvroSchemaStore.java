@@ -7,8 +7,17 @@ import java.io.IOException;
 import java.io.InputStream;
 import java.net.MalformedURLException;
 import java.net.URL;
+import java.util.ArrayList;
 import java.util.HashMap;
+import java.util.List;
 import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.TimeUnit;
 import org.apache.avro.Schema;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
@@ -16,19 +25,26 @@ import org.slf4j.LoggerFactory;
 /**
  * Stores the topic and its respective Avro schema.<br>
  * It can download the schema data from URL and store it after parsing it.
+ *
+ * <p>The store is safe to use from several threads. The parsed schemas
+ * are shared by all the writers, which look them up when opening a file.
+ * A refreshed schema therefore applies from the next file.
  */
 public class AvroSchemaStore implements SchemaStore {
     private static final Logger log = LoggerFactory.getLogger(AvroSchemaStore.class);
+    private static final int MAX_LOADING_THREADS = 8;
 
-    private final Schema.Parser schemaParser;
     private final Map<String, Schema> schemaMap;
+    private final Map<String, String> schemaUrls;
+
+    private ScheduledExecutorService refreshExecutor;
 
     /**
      * Constructs a {@link AvroSchemaStore}.
      */
     public AvroSchemaStore() {
-        schemaParser = new Schema.Parser();
-        schemaMap = new HashMap<>();
+        schemaMap = new ConcurrentHashMap<>();
+        schemaUrls = new ConcurrentHashMap<>();
     }
 
     /**
@@ -68,7 +84,8 @@ public class AvroSchemaStore implements SchemaStore {
         }
         try {
             Schema schema = loadFromUrl(schemaFileUrl);
-            schemaMap.put(topic, schema);
+            schemaUrls.put(topic, schemaFileUrl);
+            schemaMap.putIfAbsent(topic, schema);
 
         } catch (IOException e) {
             log.error("Failed to register schema for topic: {} from {}", topic, schemaFileUrl);
@@ -76,6 +93,77 @@ public class AvroSchemaStore implements SchemaStore {
         }
     }
 
+    /**
+     * Downloads the schemas of all the topics concurrently, on at most<br>
+     * {@value #MAX_LOADING_THREADS} threads, and waits for them. The topics<br>
+     * already registered are skipped.
+     *
+     * @param schemaFileUrls Map of topic and its schema URL
+     */
+    @Override
+    public void registerAll(Map<String, String> schemaFileUrls) {
+        Map<String, String> topicsToLoad = new HashMap<>(schemaFileUrls);
+        topicsToLoad.keySet().removeAll(schemaMap.keySet());
+
+        if (topicsToLoad.isEmpty()) {
+            return;
+        }
+        ExecutorService executor = Executors.newFixedThreadPool(
+                Math.min(topicsToLoad.size(), MAX_LOADING_THREADS),
+                newThreadFactory("schema-store-loader")
+        );
+        try {
+            List<CompletableFuture<Void>> futures = new ArrayList<>();
+            topicsToLoad.forEach((topic, schemaFileUrl) -> futures.add(
+                    CompletableFuture.runAsync(() -> register(topic, schemaFileUrl), executor)
+                            .exceptionally(e -> {
+                                log.warn("Failed to preload schema for topic: {}", topic, e);
+                                return null;
+                            })
+            ));
+            CompletableFuture.allOf(futures.toArray(new CompletableFuture[0]))
+                    .join();
+
+        } finally {
+            executor.shutdown();
+        }
+        log.info("Loaded schemas of {} topics", topicsToLoad.size());
+    }
+
+    /**
+     * Schedules the refresh of the registered schemas. A schema failing<br>
+     * to load keeps its previous version.
+     *
+     * @param intervalMs Interval in ms between two refreshes
+     */
+    @Override
+    public synchronized void scheduleRefresh(long intervalMs) {
+        if (refreshExecutor != null) {
+            return;
+        }
+        refreshExecutor = Executors.newSingleThreadScheduledExecutor(newThreadFactory("schema-store-refresh"));
+        refreshExecutor.scheduleWithFixedDelay(this::refresh, intervalMs, intervalMs, TimeUnit.MILLISECONDS);
+
+        log.info("Scheduled refresh of the schemas every {} ms", intervalMs);
+    }
+
+    /**
+     * Loads every registered schema again, replacing the stored one if it changed.
+     */
+    void refresh() {
+        schemaUrls.forEach((topic, schemaFileUrl) -> {
+            try {
+                Schema schema = loadFromUrl(schemaFileUrl);
+
+                if (!schema.equals(schemaMap.put(topic, schema))) {
+                    log.info("Refreshed schema for topic: {}", topic);
+                }
+            } catch (Exception e) {
+                log.warn("Failed to refresh schema for topic: {} from {}", topic, schemaFileUrl, e);
+            }
+        });
+    }
+
     /**
      * Fetch the schema from the given url and parse it as an Avro schema.
      * <br>
@@ -111,8 +199,13 @@ public class AvroSchemaStore implements SchemaStore {
      */
     public Schema loadFromUrl(URL url) throws IOException {
 
-        InputStream inputStream = getInputStream(url);
-        return schemaParser.parse(inputStream);
+        /*
+        A parser is not thread safe, and refuses to parse
+        again a named type it has already defined.
+         */
+        try (InputStream inputStream = getInputStream(url)) {
+            return new Schema.Parser().parse(inputStream);
+        }
     }
 
     /**
@@ -146,5 +239,26 @@ public class AvroSchemaStore implements SchemaStore {
     @Override
     public void clear() {
         schemaMap.clear();
+        schemaUrls.clear();
+    }
+
+    /**
+     * Stops the background refresh, if any, and clears the store.
+     */
+    @Override
+    public synchronized void close() {
+        if (refreshExecutor != null) {
+            refreshExecutor.shutdownNow();
+            refreshExecutor = null;
+        }
+        clear();
+    }
+
+    private static ThreadFactory newThreadFactory(String name) {
+        return runnable -> {
+            Thread thread = new Thread(runnable, name);
+            thread.setDaemon(true);
+            return thread;
+        };
     }
 }
@@ -0,0 +1,47 @@
+package io.coffeebeans.connect.azure.blob.sink.format.avro;
+
+import java.io.Closeable;
+import java.io.IOException;
+import org.apache.avro.file.DataFileWriter;
+
+/**
+ * Writes records to a single Avro container file. It lets<br>
+ * {@link AvroRecordWriter} use either the standard {@link DataFileWriter}<br>
+ * or the {@link ParallelDataFileWriter}.
+ */
+interface AvroSink extends Closeable {
+
+    void append(Object datum) throws IOException;
+
+    /**
+     * Writes all the appended records to the output stream.
+     *
+     * @throws IOException If the records fail to write
+     */
+    void flush() throws IOException;
+
+    /**
+     * Adapts the standard {@link DataFileWriter}.
+     *
+     * @param writer Data file writer, already created
+     * @return Avro sink writing through the given writer
+     */
+    static AvroSink of(DataFileWriter<Object> writer) {
+        return new AvroSink() {
+            @Override
+            public void append(Object datum) throws IOException {
+                writer.append(datum);
+            }
+
+            @Override
+            public void flush() throws IOException {
+                writer.flush();
+            }
+
+            @Override
+            public void close() throws IOException {
+                writer.close();
+            }
+        };
+    }
+}
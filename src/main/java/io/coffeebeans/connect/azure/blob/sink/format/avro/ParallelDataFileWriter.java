@@ -0,0 +1,260 @@
+package io.coffeebeans.connect.azure.blob.sink.format.avro;
+
+import io.coffeebeans.connect.azure.blob.sink.format.CompressionPool;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InterruptedIOException;
+import java.io.OutputStream;
+import java.nio.ByteBuffer;
+import java.util.ArrayDeque;
+import java.util.Arrays;
+import java.util.Deque;
+import java.util.Queue;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Future;
+import org.apache.avro.Schema;
+import org.apache.avro.file.CodecFactory;
+import org.apache.avro.file.DataFileConstants;
+import org.apache.avro.file.DataFileWriter;
+import org.apache.avro.generic.GenericDatumWriter;
+import org.apache.avro.io.BinaryEncoder;
+import org.apache.avro.io.DatumWriter;
+import org.apache.avro.io.EncoderFactory;
+
+/**
+ * Writes an Avro container file like {@link DataFileWriter}, but compresses<br>
+ * the blocks on a {@link CompressionPool} instead of the calling thread.
+ *
+ * <p>Records are encoded on the calling thread into the current block.
+ * Once the block reaches the sync interval, it is handed to the pool and
+ * a new block is started. Compressed blocks are written to the output
+ * stream on the calling thread, in the order they were filled, each one
+ * followed by the sync marker of the file. So the output is a standard
+ * Avro container file.
+ *
+ * <p>Blocks are compressed by {@link DataFileWriter} instances created
+ * with the same schema, codec and sync marker, which append the already
+ * encoded records. They are reused across the blocks of the file.
+ */
+class ParallelDataFileWriter implements AvroSink {
+    private static final int INITIAL_RECORDS_PER_BLOCK = 256;
+    private static final int PENDING_BLOCKS_PER_THREAD = 2;
+
+    private final Schema schema;
+    private final byte[] sync;
+    private final int syncInterval;
+    private final CompressionPool pool;
+    private final OutputStream outputStream;
+    private final CodecFactory codecFactory;
+    private final DatumWriter<Object> datumWriter;
+    private final Deque<Future<byte[]>> pendingBlocks;
+    private final Queue<BlockCompressor> compressors;
+    private final BlockBuffer block;
+    private final BinaryEncoder encoder;
+
+    private boolean closed;
+    private int recordCount;
+    private int[] recordEnds;
+
+    /**
+     * Constructs {@link ParallelDataFileWriter} and writes the header of the file.
+     *
+     * @param schema Avro schema of the records
+     * @param codecFactory Compression codec of the blocks
+     * @param outputStream Output stream of the file
+     * @param pool Pool the blocks are compressed on
+     * @throws IOException If the header fails to write
+     */
+    ParallelDataFileWriter(Schema schema,
+                           CodecFactory codecFactory,
+                           OutputStream outputStream,
+                           CompressionPool pool) throws IOException {
+
+        this.schema = schema;
+        this.pool = pool;
+        this.codecFactory = codecFactory;
+        this.outputStream = outputStream;
+        this.sync = generateSync();
+        this.syncInterval = DataFileConstants.DEFAULT_SYNC_INTERVAL;
+
+        this.datumWriter = new GenericDatumWriter<>(schema);
+        this.pendingBlocks = new ArrayDeque<>();
+        this.compressors = new ConcurrentLinkedQueue<>();
+
+        this.recordEnds = new int[INITIAL_RECORDS_PER_BLOCK];
+        this.block = new BlockBuffer(syncInterval + syncInterval / 4);
+        this.encoder = EncoderFactory.get().directBinaryEncoder(block, null);
+
+        BlockCompressor compressor = new BlockCompressor();
+        outputStream.write(compressor.header);
+        compressors.offer(compressor);
+    }
+
+    /**
+     * Encodes the record into the current block. A record failing<br>
+     * to encode is dropped from the block.
+     *
+     * @param datum Record
+     * @throws IOException If the record fails to encode or a block fails to write
+     */
+    @Override
+    public void append(Object datum) throws IOException {
+        int recordStart = block.size();
+        try {
+            datumWriter.write(datum, encoder);
+
+        } catch (IOException | RuntimeException e) {
+            block.truncate(recordStart);
+            throw e;
+        }
+
+        if (recordCount == recordEnds.length) {
+            recordEnds = Arrays.copyOf(recordEnds, recordCount * 2);
+        }
+        recordEnds[recordCount++] = block.size();
+
+        if (block.size() >= syncInterval) {
+            submitBlock();
+            writeCompressedBlocks(false);
+        }
+    }
+
+    @Override
+    public void flush() throws IOException {
+        submitBlock();
+        writeCompressedBlocks(true);
+        outputStream.flush();
+    }
+
+    /**
+     * Writes the remaining blocks and closes the output stream.
+     *
+     * @throws IOException If a block fails to write or the stream fails to close
+     */
+    @Override
+    public void close() throws IOException {
+        if (closed) {
+            return;
+        }
+        flush();
+        outputStream.close();
+        closed = true;
+    }
+
+    private void submitBlock() {
+        if (recordCount == 0) {
+            return;
+        }
+        byte[] data = block.toByteArray();
+        int[] ends = Arrays.copyOf(recordEnds, recordCount);
+
+        block.reset();
+        recordCount = 0;
+
+        pendingBlocks.add(pool.submit(() -> compress(data, ends)));
+    }
+
+    /**
+     * Writes the compressed blocks at the head of the queue. Waits<br>
+     * for the head only when all the blocks are requested or too many<br>
+     * of them are pending, so that the calling thread keeps encoding<br>
+     * while the pool compresses.
+     *
+     * @param all Whether all the pending blocks have to be written
+     * @throws IOException If a block fails to compress or write
+     */
+    private void writeCompressedBlocks(boolean all) throws IOException {
+        int maxPendingBlocks = pool.getThreads() * PENDING_BLOCKS_PER_THREAD;
+
+        while (!pendingBlocks.isEmpty()
+                && (all || pendingBlocks.peek().isDone() || pendingBlocks.size() > maxPendingBlocks)) {
+
+            outputStream.write(await(pendingBlocks.poll()));
+        }
+    }
+
+    private byte[] compress(byte[] data, int[] ends) throws IOException {
+        BlockCompressor compressor = compressors.poll();
+        if (compressor == null) {
+            compressor = new BlockCompressor();
+        }
+        // A compressor which failed is not reused, its writer may hold a partial block
+        byte[] compressed = compressor.compress(data, ends);
+        compressors.offer(compressor);
+
+        return compressed;
+    }
+
+    private static byte[] await(Future<byte[]> future) throws IOException {
+        try {
+            return future.get();
+
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new InterruptedIOException("Interrupted while waiting for the block compression");
+
+        } catch (ExecutionException e) {
+            throw new IOException("Failed to compress the block", e.getCause());
+        }
+    }
+
+    private static byte[] generateSync() {
+        UUID uuid = UUID.randomUUID();
+
+        return ByteBuffer.allocate(DataFileConstants.SYNC_SIZE)
+                .putLong(uuid.getMostSignificantBits())
+                .putLong(uuid.getLeastSignificantBits())
+                .array();
+    }
+
+    /**
+     * {@link DataFileWriter} writing to memory, used to compress<br>
+     * blocks of already encoded records.
+     */
+    private class BlockCompressor {
+
+        private final byte[] header;
+        private final ByteArrayOutputStream buffer;
+        private final DataFileWriter<Object> writer;
+
+        private BlockCompressor() throws IOException {
+            this.buffer = new ByteArrayOutputStream();
+            this.writer = new DataFileWriter<>(new GenericDatumWriter<>())
+                    .setCodec(codecFactory)
+                    .setSyncInterval(syncInterval);
+
+            writer.create(schema, buffer, sync);
+            this.header = buffer.toByteArray();
+            buffer.reset();
+        }
+
+        private byte[] compress(byte[] data, int[] ends) throws IOException {
+            int start = 0;
+            for (int end : ends) {
+                writer.appendEncoded(ByteBuffer.wrap(data, start, end - start));
+                start = end;
+            }
+            writer.flush();
+
+            byte[] compressed = buffer.toByteArray();
+            buffer.reset();
+            return compressed;
+        }
+    }
+
+    /**
+     * Block buffer which can drop a partially encoded record.
+     */
+    private static class BlockBuffer extends ByteArrayOutputStream {
+
+        private BlockBuffer(int size) {
+            super(size);
+        }
+
+        private void truncate(int size) {
+            count = size;
+        }
+    }
+}
@@ -0,0 +1,169 @@
+package io.coffeebeans.connect.azure.blob.sink.format.bytearray;
+
+import java.io.ByteArrayOutputStream;
+import java.io.DataInputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.util.Locale;
+
+/**
+ * Framing of the records in the byte array files. It decides how
+ * consecutive record values are delimited in the output file.
+ *
+ * <ul>
+ *     <li>NEWLINE: Every value is followed by a '\n' byte</li>
+ *     <li>VARINT: Every value is prefixed with its length as an unsigned varint</li>
+ *     <li>FIXED32: Every value is prefixed with its length as a 4-byte big-endian integer</li>
+ * </ul>
+ *
+ * <p>The length prefixed framings are safe for binary payloads containing
+ * newline bytes, and they let readers split the records without scanning them.
+ */
+public enum ByteArrayFraming {
+
+    NEWLINE {
+        @Override
+        public void writeFrame(OutputStream outputStream, byte[] bytes, int offset, int length) throws IOException {
+            outputStream.write(bytes, offset, length);
+            outputStream.write(NEWLINE_BYTES);
+        }
+
+        @Override
+        public byte[] readFrame(DataInputStream inputStream) throws IOException {
+            ByteArrayOutputStream record = new ByteArrayOutputStream();
+
+            int b;
+            while ((b = inputStream.read()) != -1 && b != '\n') {
+                record.write(b);
+            }
+            if (b == -1 && record.size() == 0) {
+                return null;
+            }
+            return record.toByteArray();
+        }
+    },
+
+    VARINT {
+        @Override
+        public void writeFrame(OutputStream outputStream, byte[] bytes, int offset, int length) throws IOException {
+            byte[] header = new byte[MAX_VARINT_BYTES];
+            int headerLength = 0;
+            int remaining = length;
+
+            while ((remaining & ~0x7F) != 0) {
+                header[headerLength++] = (byte) ((remaining & 0x7F) | 0x80);
+                remaining >>>= 7;
+            }
+            header[headerLength++] = (byte) remaining;
+
+            outputStream.write(header, 0, headerLength);
+            outputStream.write(bytes, offset, length);
+        }
+
+        @Override
+        public byte[] readFrame(DataInputStream inputStream) throws IOException {
+            int b = inputStream.read();
+            if (b == -1) {
+                return null;
+            }
+            int length = 0;
+            int shift = 0;
+
+            while ((b & 0x80) != 0) {
+                length |= (b & 0x7F) << shift;
+                shift += 7;
+
+                if (shift >= MAX_VARINT_BYTES * 7) {
+                    throw new IOException("Malformed varint length prefix");
+                }
+                b = inputStream.readUnsignedByte();
+            }
+            length |= b << shift;
+            return readFully(inputStream, length);
+        }
+    },
+
+    FIXED32 {
+        @Override
+        public void writeFrame(OutputStream outputStream, byte[] bytes, int offset, int length) throws IOException {
+            byte[] header = new byte[] {
+                (byte) (length >>> 24),
+                (byte) (length >>> 16),
+                (byte) (length >>> 8),
+                (byte) length
+            };
+            outputStream.write(header);
+            outputStream.write(bytes, offset, length);
+        }
+
+        @Override
+        public byte[] readFrame(DataInputStream inputStream) throws IOException {
+            int b = inputStream.read();
+            if (b == -1) {
+                return null;
+            }
+            int length = (b << 24)
+                    | (inputStream.readUnsignedByte() << 16)
+                    | (inputStream.readUnsignedByte() << 8)
+                    | inputStream.readUnsignedByte();
+
+            return readFully(inputStream, length);
+        }
+    };
+
+    private static final int MAX_VARINT_BYTES = 5;
+    private static final byte[] NEWLINE_BYTES = new byte[] {'\n'};
+
+    /**
+     * Writes a single framed record value to the output stream.
+     *
+     * @param outputStream Output stream
+     * @param bytes Record value
+     * @param offset Offset of the value in the array
+     * @param length Length of the value
+     * @throws IOException If the output stream fails to write
+     */
+    public abstract void writeFrame(OutputStream outputStream, byte[] bytes, int offset, int length)
+            throws IOException;
+
+    /**
+     * Reads the next framed record value from the input stream.
+     *
+     * @param inputStream Input stream positioned at the start of a frame
+     * @return Record value or null if the end of the stream has been reached
+     * @throws IOException If the input stream fails to read or the frame is truncated
+     */
+    public abstract byte[] readFrame(DataInputStream inputStream) throws IOException;
+
+    /**
+     * Writes a single framed record value to the output stream.
+     *
+     * @param outputStream Output stream
+     * @param bytes Record value
+     * @throws IOException If the output stream fails to write
+     */
+    public void writeFrame(OutputStream outputStream, byte[] bytes) throws IOException {
+        writeFrame(outputStream, bytes, 0, bytes.length);
+    }
+
+    /**
+     * Returns the framing with the given name (case-insensitive).
+     *
+     * @param name Name of the framing
+     * @return Framing
+     * @throws IllegalArgumentException If no framing exists with the given name
+     */
+    public static ByteArrayFraming forName(String name) {
+        return ByteArrayFraming.valueOf(name.toUpperCase(Locale.ROOT));
+    }
+
+    private static byte[] readFully(DataInputStream inputStream, int length) throws IOException {
+        if (length < 0) {
+            throw new IOException("Invalid record length: " + length);
+        }
+        byte[] record = new byte[length];
+        inputStream.readFully(record);
+
+        return record;
+    }
+}
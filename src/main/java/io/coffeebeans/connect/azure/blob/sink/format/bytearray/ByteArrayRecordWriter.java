@@ -1,11 +1,13 @@
 package io.coffeebeans.connect.azure.blob.sink.format.bytearray;
 
 import io.coffeebeans.connect.azure.blob.sink.format.AzureBlobOutputStream;
+import io.coffeebeans.connect.azure.blob.sink.format.CompressionPool;
 import io.coffeebeans.connect.azure.blob.sink.format.CompressionType;
-import io.coffeebeans.connect.azure.blob.sink.format.RecordWriter;
+import io.coffeebeans.connect.azure.blob.sink.format.ResettableRecordWriter;
 import io.coffeebeans.connect.azure.blob.sink.storage.StorageManager;
+import java.io.IOException;
 import java.io.OutputStream;
-import java.nio.charset.StandardCharsets;
+import java.nio.ByteBuffer;
 import java.util.HashMap;
 import java.util.Map;
 import org.apache.kafka.connect.converters.ByteArrayConverter;
@@ -13,19 +15,20 @@ import org.apache.kafka.connect.errors.RetriableException;
 import org.apache.kafka.connect.sink.SinkRecord;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
+import reactor.core.publisher.Mono;
 
 /**
  * Writes data from {@link SinkRecord#value()} to blob storage in byte array format.
  */
-public class ByteArrayRecordWriter implements RecordWriter {
+public class ByteArrayRecordWriter implements ResettableRecordWriter {
     private static final Logger log = LoggerFactory.getLogger(ByteArrayRecordWriter.class);
-    private static final byte[] LINE_SEPARATOR_BYTES = System.lineSeparator()
-            .getBytes(StandardCharsets.UTF_8);
+
+    private OutputStream outputStreamCompressionWrapper;
 
     private final String kafkaTopic;
+    private final ByteArrayFraming framing;
     private final AzureBlobOutputStream outputStream;
     private final ByteArrayConverter byteArrayConverter;
-    private final OutputStream outputStreamCompressionWrapper;
 
     /**
      * Constructs {@link ByteArrayRecordWriter}.
@@ -33,21 +36,27 @@ public class ByteArrayRecordWriter implements RecordWriter {
      * @param storageManager Storage manager to interact with Azure blob storage
      * @param compressionType Compression type
      * @param compressionLevel Level of compression
+     * @param compressionPool Pool to compress on, null to compress on the calling thread
      * @param blockSize Block size
      * @param blobName Blob name
      * @param kafkaTopic Kafka topic
+     * @param framing Framing of the record values in the output file
      */
     public ByteArrayRecordWriter(StorageManager storageManager,
                                  CompressionType compressionType,
                                  int compressionLevel,
+                                 CompressionPool compressionPool,
                                  int blockSize,
                                  String blobName,
-                                 String kafkaTopic) {
+                                 String kafkaTopic,
+                                 ByteArrayFraming framing) {
 
+        this.framing = framing;
         this.kafkaTopic = kafkaTopic;
 
         this.outputStream = new AzureBlobOutputStream(storageManager, blobName, blockSize)
                 .setCompressionLevel(compressionLevel)
+                .setCompressionPool(compressionPool)
                 .setCompressionType(compressionType);
 
         this.outputStreamCompressionWrapper = this.outputStream
@@ -60,22 +69,54 @@ public class ByteArrayRecordWriter implements RecordWriter {
         log.debug("Opened ByteArray record writer for blob name: {}", blobName);
     }
 
+    /**
+     * Writes the record value as a single frame. Values of type byte[]
+     * and {@link ByteBuffer} are written as is, without going through
+     * the converter.
+     *
+     * @param kafkaRecord Record to be written
+     */
     @Override
     public void write(SinkRecord kafkaRecord) {
         try {
+            Object value = kafkaRecord.value();
+
+            if (value instanceof byte[]) {
+                framing.writeFrame(outputStreamCompressionWrapper, (byte[]) value);
+                return;
+            }
+            if (value instanceof ByteBuffer) {
+                writeByteBuffer((ByteBuffer) value);
+                return;
+            }
             byte[] bytes = byteArrayConverter.fromConnectData(
                     kafkaTopic,
                     kafkaRecord.valueSchema(),
-                    kafkaRecord.value()
+                    value
             );
-            this.outputStreamCompressionWrapper.write(bytes);
-            this.outputStreamCompressionWrapper.write(LINE_SEPARATOR_BYTES);
+            framing.writeFrame(outputStreamCompressionWrapper, bytes);
 
         } catch (Exception e) {
             throw new RetriableException(e);
         }
     }
 
+    private void writeByteBuffer(ByteBuffer buffer) throws IOException {
+        if (buffer.hasArray()) {
+            framing.writeFrame(
+                    outputStreamCompressionWrapper,
+                    buffer.array(),
+                    buffer.arrayOffset() + buffer.position(),
+                    buffer.remaining()
+            );
+            return;
+        }
+        byte[] bytes = new byte[buffer.remaining()];
+        buffer.duplicate().get(bytes);
+
+        framing.writeFrame(outputStreamCompressionWrapper, bytes);
+    }
+
     @Override
     public void close() {
     }
@@ -90,4 +131,37 @@ public class ByteArrayRecordWriter implements RecordWriter {
             throw new RetriableException(e);
         }
     }
+
+    /**
+     * Opens the committed writer on a new blob of the same topic,<br>
+     * reusing the converter and the buffer of the output stream.
+     *
+     * @param blobName Name of the new blob, with extension
+     */
+    @Override
+    public void reset(String blobName) {
+        this.outputStream.reset(blobName);
+        this.outputStreamCompressionWrapper = this.outputStream
+                .wrapForCompression();
+    }
+
+    @Override
+    public String getBlobName() {
+        return outputStream.getBlobName();
+    }
+
+    @Override
+    public long getBlobSize() {
+        return outputStream.getPos();
+    }
+
+    @Override
+    public void setBlobMetadata(Map<String, String> metadata) {
+        outputStream.setMetadata(metadata);
+    }
+
+    @Override
+    public Mono<Void> whenCommitted() {
+        return outputStream.whenCommitted();
+    }
 }
@@ -1,8 +1,10 @@
 package io.coffeebeans.connect.azure.blob.sink.format.bytearray;
 
 import io.coffeebeans.connect.azure.blob.sink.config.AzureBlobSinkConfig;
+import io.coffeebeans.connect.azure.blob.sink.format.CompressionPool;
 import io.coffeebeans.connect.azure.blob.sink.format.CompressionType;
 import io.coffeebeans.connect.azure.blob.sink.format.RecordWriter;
+import io.coffeebeans.connect.azure.blob.sink.format.RecordWriterPool;
 import io.coffeebeans.connect.azure.blob.sink.format.RecordWriterProvider;
 import io.coffeebeans.connect.azure.blob.sink.storage.StorageManager;
 import org.slf4j.Logger;
@@ -17,7 +19,10 @@ public class ByteArrayRecordWriterProvider implements RecordWriterProvider {
 
     private int blockSize;
     private String extension;
+    private ByteArrayFraming framing;
     private int compressionLevel;
+    private CompressionPool compressionPool;
+    private RecordWriterPool writerPool;
     private CompressionType compressionType;
     private final StorageManager storageManager;
 
@@ -41,15 +46,25 @@ public class ByteArrayRecordWriterProvider implements RecordWriterProvider {
 
         this.blockSize = config.getBlockSize();
         this.extension = config.getBinaryFileExtension();
+        this.framing = ByteArrayFraming.forName(config.getBinaryFraming());
         this.compressionLevel = config.getCompressionLevel();
 
         configureCompressionType(
                 config.getCompressionType()
         );
+        compressionType.ensureValidLevel(compressionLevel);
+
+        if (config.getCompressionThreads() > 0 && compressionType == CompressionType.GZIP) {
+            this.compressionPool = new CompressionPool(config.getCompressionThreads());
+            log.debug("Configured {} compression threads", config.getCompressionThreads());
+        }
+        if (config.getWriterPoolMaxIdle() > 0) {
+            this.writerPool = new RecordWriterPool(config.getWriterPoolMaxIdle());
+        }
     }
 
     /**
-     * Instantiates and return an instance of {@link ByteArrayRecordWriter}.
+     * Returns an idle {@link ByteArrayRecordWriter} reset on the blob, or a new one.
      *
      * @param blobName Blob name
      * @param kafkaTopic Kafka topic
@@ -61,13 +76,59 @@ public class ByteArrayRecordWriterProvider implements RecordWriterProvider {
 
         String blobNameWithExtension = blobName + extension + compressionType.extension;
 
+        if (writerPool != null) {
+            RecordWriter recordWriter = writerPool.borrow(blobNameWithExtension, kafkaTopic);
+            if (recordWriter != null) {
+                return recordWriter;
+            }
+        }
         return new ByteArrayRecordWriter(
                 storageManager,
                 compressionType,
                 compressionLevel,
-                blockSize, blobNameWithExtension, kafkaTopic);
+                compressionPool,
+                blockSize, blobNameWithExtension, kafkaTopic, framing);
+    }
+
+
+    /**
+     * Keeps the committed record writer to be reused, if enabled with<br>
+     * {@link AzureBlobSinkConfig#WRITER_POOL_MAX_IDLE_CONF writer.pool.max.idle}.
+     *
+     * @param recordWriter Committed record writer
+     * @param kafkaTopic Kafka topic
+     */
+    @Override
+    public void release(RecordWriter recordWriter, String kafkaTopic) {
+        if (writerPool != null) {
+            writerPool.release(recordWriter, kafkaTopic);
+        }
+    }
+
+    /**
+     * Drops the idle writers of the topic, if the reuse is enabled.
+     *
+     * @param kafkaTopic Kafka topic
+     */
+    @Override
+    public void evict(String kafkaTopic) {
+        if (writerPool != null) {
+            writerPool.evict(kafkaTopic);
+        }
     }
 
+    /**
+     * Stops the compression threads, if any, and drops the idle writers.
+     */
+    @Override
+    public void close() {
+        if (compressionPool != null) {
+            compressionPool.close();
+        }
+        if (writerPool != null) {
+            writerPool.clear();
+        }
+    }
 
     /**
      * Configures the {@link CompressionType}.<br>
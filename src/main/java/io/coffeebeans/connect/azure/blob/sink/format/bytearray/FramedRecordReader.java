@@ -0,0 +1,49 @@
+package io.coffeebeans.connect.azure.blob.sink.format.bytearray;
+
+import java.io.BufferedInputStream;
+import java.io.Closeable;
+import java.io.DataInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+
+/**
+ * Splits a byte array file written by {@link ByteArrayRecordWriter} back into
+ * the record values. Meant to be used by downstream jobs reading the blobs.
+ *
+ * <p>Compressed blobs have to be unwrapped before, for e.g. with
+ * {@link io.coffeebeans.connect.azure.blob.sink.format.CompressionType#wrapForInput(InputStream)
+ * CompressionType#wrapForInput}.
+ */
+public class FramedRecordReader implements Closeable {
+
+    private final ByteArrayFraming framing;
+    private final DataInputStream inputStream;
+
+    /**
+     * Constructs {@link FramedRecordReader}.
+     *
+     * @param inputStream Input stream of the blob content
+     * @param framing Framing the blob was written with
+     */
+    public FramedRecordReader(InputStream inputStream, ByteArrayFraming framing) {
+        this.framing = framing;
+        this.inputStream = new DataInputStream(
+                new BufferedInputStream(inputStream)
+        );
+    }
+
+    /**
+     * Reads the next record value.
+     *
+     * @return Record value or null if there are no more records
+     * @throws IOException If the stream fails to read or the last frame is truncated
+     */
+    public byte[] next() throws IOException {
+        return framing.readFrame(inputStream);
+    }
+
+    @Override
+    public void close() throws IOException {
+        inputStream.close();
+    }
+}
@@ -1,36 +1,38 @@
 package io.coffeebeans.connect.azure.blob.sink.format.json;
 
+import com.fasterxml.jackson.core.JsonFactory;
 import com.fasterxml.jackson.core.JsonGenerator;
 import com.fasterxml.jackson.databind.ObjectMapper;
 import io.coffeebeans.connect.azure.blob.sink.format.AzureBlobOutputStream;
+import io.coffeebeans.connect.azure.blob.sink.format.CompressionPool;
 import io.coffeebeans.connect.azure.blob.sink.format.CompressionType;
-import io.coffeebeans.connect.azure.blob.sink.format.RecordWriter;
+import io.coffeebeans.connect.azure.blob.sink.format.FieldProjection;
+import io.coffeebeans.connect.azure.blob.sink.format.ResettableRecordWriter;
 import io.coffeebeans.connect.azure.blob.sink.storage.StorageManager;
 import java.io.IOException;
 import java.io.OutputStream;
-import java.nio.charset.StandardCharsets;
-import java.util.HashMap;
 import java.util.Map;
 import org.apache.kafka.connect.data.Struct;
 import org.apache.kafka.connect.errors.RetriableException;
-import org.apache.kafka.connect.json.JsonConverter;
 import org.apache.kafka.connect.sink.SinkRecord;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
+import reactor.core.publisher.Mono;
 
 /**
  * Write data from {@link SinkRecord#value()} to blob storage in JSON format.
  */
-public class JsonRecordWriter implements RecordWriter {
+public class JsonRecordWriter implements ResettableRecordWriter {
     private static final Logger log = LoggerFactory.getLogger(JsonRecordWriter.class);
     private static final String LINE_SEPARATOR = System.lineSeparator();
-    private static final byte[] LINE_SEPARATOR_BYTES = System.lineSeparator()
-            .getBytes(StandardCharsets.UTF_8);
 
-    private final JsonConverter jsonConverter;
-    private final JsonGenerator jsonGenerator;
+    private JsonGenerator jsonGenerator;
+    private OutputStream outputStreamCompressionWrapper;
+
+    private final JsonFactory jsonFactory;
+    private final FieldProjection projection;
+    private final StructJsonSerializer structSerializer;
     private final AzureBlobOutputStream outputStream;
-    private final OutputStream outputStreamCompressionWrapper;
 
     /**
      * Constructs {@link JsonRecordWriter}.
@@ -38,65 +40,63 @@ public class JsonRecordWriter implements RecordWriter {
      * @param storageManager Storage manager to interact with Azure blob storage.
      * @param compressionType Compression type
      * @param compressionLevel Level of compression
+     * @param compressionPool Pool to compress on, null to compress on the calling thread
      * @param blockSize Block size
      * @param blobName Blob name
-     * @param schemasCacheSize Schema cache size
+     * @param structSerializer Serializer for {@link Struct} values
+     * @param projection Fields to write, or null to write all of them
      * @throws IOException Throws if encounters any error while opening record
      *      writer or while writing the record.
      */
     public JsonRecordWriter(StorageManager storageManager,
                             CompressionType compressionType,
                             int compressionLevel,
+                            CompressionPool compressionPool,
                             int blockSize,
                             String blobName,
-                            int schemasCacheSize) {
+                            StructJsonSerializer structSerializer,
+                            FieldProjection projection) {
 
-        this.jsonConverter = new JsonConverter();
+        this.projection = projection;
+        this.structSerializer = structSerializer;
+        this.jsonFactory = new ObjectMapper().getFactory();
 
         this.outputStream = new AzureBlobOutputStream(storageManager, blobName, blockSize)
                 .setCompressionLevel(compressionLevel)
+                .setCompressionPool(compressionPool)
                 .setCompressionType(compressionType);
 
+        open();
+        log.debug("Opened JSON record writer for blob name: {}", blobName);
+    }
+
+    private void open() {
         this.outputStreamCompressionWrapper = this.outputStream
                 .wrapForCompression();
 
         try {
-            this.jsonGenerator = new ObjectMapper()
-                    .getFactory()
+            this.jsonGenerator = jsonFactory
                     .createGenerator(outputStreamCompressionWrapper)
                     .setRootValueSeparator(null);
 
         } catch (IOException e) {
             throw new RetriableException(e);
         }
-
-        Map<String, String> converterConfig = new HashMap<>() {
-            {
-                put("schemas.enable", "false");
-                put("schemas.cache.size", String.valueOf(schemasCacheSize));
-            }
-        };
-        this.jsonConverter.configure(converterConfig, false);
-        log.debug("Opened JSON record writer for blob name: {}", blobName);
     }
 
     @Override
     public void write(SinkRecord kafkaRecord) {
         try {
             Object value = kafkaRecord.value();
+            if (projection != null) {
+                value = projection.project(kafkaRecord.topic(), value);
+            }
 
             if (value instanceof Struct) {
-                byte[] rawJson = jsonConverter.fromConnectData(
-                        kafkaRecord.topic(),
-                        kafkaRecord.valueSchema(),
-                        value
-                );
-                outputStreamCompressionWrapper.write(rawJson);
-                outputStreamCompressionWrapper.write(LINE_SEPARATOR_BYTES);
-                return;
+                structSerializer.serialize(jsonGenerator, (Struct) value);
+            } else {
+                jsonGenerator.writeObject(value);
             }
-
-            jsonGenerator.writeObject(value);
             jsonGenerator.writeRaw(LINE_SEPARATOR);
 
         } catch (Exception e) {
@@ -125,4 +125,37 @@ public class JsonRecordWriter implements RecordWriter {
             throw new RetriableException(e);
         }
     }
+
+    /**
+     * Opens the committed writer on a new blob. The mapper and the<br>
+     * buffer of the output stream are reused, only the compression<br>
+     * filter and the generator are created again.
+     *
+     * @param blobName Name of the new blob, with extension
+     */
+    @Override
+    public void reset(String blobName) {
+        outputStream.reset(blobName);
+        open();
+    }
+
+    @Override
+    public String getBlobName() {
+        return outputStream.getBlobName();
+    }
+
+    @Override
+    public long getBlobSize() {
+        return outputStream.getPos();
+    }
+
+    @Override
+    public void setBlobMetadata(Map<String, String> metadata) {
+        outputStream.setMetadata(metadata);
+    }
+
+    @Override
+    public Mono<Void> whenCommitted() {
+        return outputStream.whenCommitted();
+    }
 }
@@ -1,8 +1,11 @@
 package io.coffeebeans.connect.azure.blob.sink.format.json;
 
 import io.coffeebeans.connect.azure.blob.sink.config.AzureBlobSinkConfig;
+import io.coffeebeans.connect.azure.blob.sink.format.CompressionPool;
 import io.coffeebeans.connect.azure.blob.sink.format.CompressionType;
+import io.coffeebeans.connect.azure.blob.sink.format.FieldProjection;
 import io.coffeebeans.connect.azure.blob.sink.format.RecordWriter;
+import io.coffeebeans.connect.azure.blob.sink.format.RecordWriterPool;
 import io.coffeebeans.connect.azure.blob.sink.format.RecordWriterProvider;
 import io.coffeebeans.connect.azure.blob.sink.storage.StorageManager;
 import org.slf4j.Logger;
@@ -17,10 +20,13 @@ public class JsonRecordWriterProvider implements RecordWriterProvider {
     private static final String EXTENSION = ".json";
 
     private int partSize;
-    private int schemasCacheSize;
     private int compressionLevel;
+    private CompressionPool compressionPool;
+    private RecordWriterPool writerPool;
     private CompressionType compressionType;
     private final StorageManager storageManager;
+    private StructJsonSerializer structSerializer;
+    private FieldProjection projection;
 
     /**
      * Constructs {@link JsonRecordWriterProvider}.
@@ -41,16 +47,26 @@ public class JsonRecordWriterProvider implements RecordWriterProvider {
     public void configure(AzureBlobSinkConfig config) {
 
         this.partSize = config.getBlockSize();
-        this.schemasCacheSize = config.getSchemaCacheSize();
+        this.structSerializer = new StructJsonSerializer(config.getSchemaCacheSize());
         this.compressionLevel = config.getCompressionLevel();
+        this.projection = FieldProjection.fromConfig(config);
 
         configureCompressionType(
                 config.getCompressionType()
         );
+        compressionType.ensureValidLevel(compressionLevel);
+
+        if (config.getCompressionThreads() > 0 && compressionType == CompressionType.GZIP) {
+            this.compressionPool = new CompressionPool(config.getCompressionThreads());
+            log.debug("Configured {} compression threads", config.getCompressionThreads());
+        }
+        if (config.getWriterPoolMaxIdle() > 0) {
+            this.writerPool = new RecordWriterPool(config.getWriterPoolMaxIdle());
+        }
     }
 
     /**
-     * Instantiates and returns a new instance of {@link JsonRecordWriter}.
+     * Returns an idle {@link JsonRecordWriter} reset on the blob, or a new one.
      *
      * @param blobName Blob name
      * @param kafkaTopic Kafka topic
@@ -61,11 +77,57 @@ public class JsonRecordWriterProvider implements RecordWriterProvider {
 
         String blobNameWithExtension = blobName + EXTENSION + compressionType.extension;
 
+        if (writerPool != null) {
+            RecordWriter recordWriter = writerPool.borrow(blobNameWithExtension, kafkaTopic);
+            if (recordWriter != null) {
+                return recordWriter;
+            }
+        }
         return new JsonRecordWriter(
                 storageManager,
                 compressionType,
                 compressionLevel,
-                partSize, blobNameWithExtension, schemasCacheSize);
+                compressionPool,
+                partSize, blobNameWithExtension, structSerializer, projection);
+    }
+
+    /**
+     * Keeps the committed record writer to be reused, if enabled with<br>
+     * {@link AzureBlobSinkConfig#WRITER_POOL_MAX_IDLE_CONF writer.pool.max.idle}.
+     *
+     * @param recordWriter Committed record writer
+     * @param kafkaTopic Kafka topic
+     */
+    @Override
+    public void release(RecordWriter recordWriter, String kafkaTopic) {
+        if (writerPool != null) {
+            writerPool.release(recordWriter, kafkaTopic);
+        }
+    }
+
+    /**
+     * Drops the idle writers of the topic, if the reuse is enabled.
+     *
+     * @param kafkaTopic Kafka topic
+     */
+    @Override
+    public void evict(String kafkaTopic) {
+        if (writerPool != null) {
+            writerPool.evict(kafkaTopic);
+        }
+    }
+
+    /**
+     * Stops the compression threads, if any, and drops the idle writers.
+     */
+    @Override
+    public void close() {
+        if (compressionPool != null) {
+            compressionPool.close();
+        }
+        if (writerPool != null) {
+            writerPool.clear();
+        }
     }
 
     /**
@@ -0,0 +1,226 @@
+package io.coffeebeans.connect.azure.blob.sink.format.json;
+
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.core.io.SerializedString;
+import java.io.IOException;
+import java.math.BigDecimal;
+import java.nio.ByteBuffer;
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+import org.apache.kafka.common.cache.Cache;
+import org.apache.kafka.common.cache.LRUCache;
+import org.apache.kafka.common.cache.SynchronizedCache;
+import org.apache.kafka.connect.data.Date;
+import org.apache.kafka.connect.data.Decimal;
+import org.apache.kafka.connect.data.Field;
+import org.apache.kafka.connect.data.Schema;
+import org.apache.kafka.connect.data.Struct;
+import org.apache.kafka.connect.data.Time;
+import org.apache.kafka.connect.data.Timestamp;
+import org.apache.kafka.connect.errors.DataException;
+
+/**
+ * Serializes Connect {@link Struct} values by walking the struct against its
+ * {@link Schema} and emitting tokens straight into a {@link JsonGenerator}.
+ *
+ * <p>The output is the same as {@link org.apache.kafka.connect.json.JsonConverter}
+ * with schemas disabled, but no intermediate JsonNode tree or byte array is
+ * created per record. The escaped field names of every struct schema are cached
+ * so that they are encoded only once.
+ */
+public class StructJsonSerializer {
+
+    private final Cache<Schema, SerializedString[]> fieldNamesCache;
+
+    /**
+     * Constructs {@link StructJsonSerializer}.
+     *
+     * @param schemasCacheSize Maximum number of struct schemas whose field names are cached
+     */
+    public StructJsonSerializer(int schemasCacheSize) {
+        this.fieldNamesCache = new SynchronizedCache<>(
+                new LRUCache<>(schemasCacheSize)
+        );
+    }
+
+    /**
+     * Writes the struct as a JSON object to the generator.
+     *
+     * @param generator Json generator
+     * @param struct Struct to serialize
+     * @throws IOException If the generator fails to write
+     * @throws DataException If the struct does not conform to its schema
+     */
+    public void serialize(JsonGenerator generator, Struct struct) throws IOException {
+        writeValue(generator, struct.schema(), struct);
+    }
+
+    private void writeValue(JsonGenerator generator, Schema schema, Object value) throws IOException {
+        if (value == null) {
+            writeNull(generator, schema);
+            return;
+        }
+        if (schema.name() != null && writeLogicalValue(generator, schema, value)) {
+            return;
+        }
+
+        switch (schema.type()) {
+            case INT8:
+            case INT16:
+            case INT32:
+                generator.writeNumber(((Number) value).intValue());
+                return;
+            case INT64:
+                generator.writeNumber(((Number) value).longValue());
+                return;
+            case FLOAT32:
+                generator.writeNumber((Float) value);
+                return;
+            case FLOAT64:
+                generator.writeNumber((Double) value);
+                return;
+            case BOOLEAN:
+                generator.writeBoolean((Boolean) value);
+                return;
+            case STRING:
+                generator.writeString((String) value);
+                return;
+            case BYTES:
+                writeBytes(generator, value);
+                return;
+            case ARRAY:
+                writeArray(generator, schema, (Collection<?>) value);
+                return;
+            case MAP:
+                writeMap(generator, schema, (Map<?, ?>) value);
+                return;
+            case STRUCT:
+                writeStruct(generator, schema, (Struct) value);
+                return;
+            default:
+                throw new DataException("Couldn't convert " + value + " to JSON, unsupported type: " + schema.type());
+        }
+    }
+
+    /**
+     * Writes the value of the Connect logical types the same way
+     * JsonConverter does.
+     *
+     * @return True if the schema is a known logical type and the value has been written
+     */
+    private boolean writeLogicalValue(JsonGenerator generator, Schema schema, Object value) throws IOException {
+        switch (schema.name()) {
+            case Decimal.LOGICAL_NAME:
+                generator.writeBinary(Decimal.fromLogical(schema, (BigDecimal) value));
+                return true;
+            case Date.LOGICAL_NAME:
+                generator.writeNumber(Date.fromLogical(schema, (java.util.Date) value));
+                return true;
+            case Time.LOGICAL_NAME:
+                generator.writeNumber(Time.fromLogical(schema, (java.util.Date) value));
+                return true;
+            case Timestamp.LOGICAL_NAME:
+                generator.writeNumber(Timestamp.fromLogical(schema, (java.util.Date) value));
+                return true;
+            default:
+                return false;
+        }
+    }
+
+    private void writeNull(JsonGenerator generator, Schema schema) throws IOException {
+        if (schema.defaultValue() != null) {
+            writeValue(generator, schema, schema.defaultValue());
+            return;
+        }
+        if (!schema.isOptional()) {
+            throw new DataException("Conversion error: null value for field that is required and has no default value");
+        }
+        generator.writeNull();
+    }
+
+    private void writeBytes(JsonGenerator generator, Object value) throws IOException {
+        if (value instanceof byte[]) {
+            generator.writeBinary((byte[]) value);
+            return;
+        }
+        ByteBuffer buffer = (ByteBuffer) value;
+
+        if (buffer.hasArray()) {
+            generator.writeBinary(buffer.array(), buffer.arrayOffset() + buffer.position(), buffer.remaining());
+            return;
+        }
+        byte[] bytes = new byte[buffer.remaining()];
+        buffer.duplicate().get(bytes);
+        generator.writeBinary(bytes);
+    }
+
+    private void writeArray(JsonGenerator generator, Schema schema, Collection<?> values) throws IOException {
+        Schema valueSchema = schema.valueSchema();
+
+        generator.writeStartArray();
+        for (Object element : values) {
+            writeValue(generator, valueSchema, element);
+        }
+        generator.writeEndArray();
+    }
+
+    /**
+     * Maps with string keys are written as JSON objects, every other key type
+     * is written as an array of [key, value] pairs.
+     */
+    private void writeMap(JsonGenerator generator, Schema schema, Map<?, ?> map) throws IOException {
+        Schema keySchema = schema.keySchema();
+        Schema valueSchema = schema.valueSchema();
+
+        if (keySchema.type() == Schema.Type.STRING) {
+            generator.writeStartObject();
+            for (Map.Entry<?, ?> entry : map.entrySet()) {
+                generator.writeFieldName((String) entry.getKey());
+                writeValue(generator, valueSchema, entry.getValue());
+            }
+            generator.writeEndObject();
+            return;
+        }
+
+        generator.writeStartArray();
+        for (Map.Entry<?, ?> entry : map.entrySet()) {
+            generator.writeStartArray();
+            writeValue(generator, keySchema, entry.getKey());
+            writeValue(generator, valueSchema, entry.getValue());
+            generator.writeEndArray();
+        }
+        generator.writeEndArray();
+    }
+
+    private void writeStruct(JsonGenerator generator, Schema schema, Struct struct) throws IOException {
+        SerializedString[] fieldNames = getFieldNames(schema);
+
+        generator.writeStartObject();
+        for (Field field : schema.fields()) {
+            generator.writeFieldName(fieldNames[field.index()]);
+            writeValue(generator, field.schema(), struct.get(field));
+        }
+        generator.writeEndObject();
+    }
+
+    /**
+     * Returns the pre-encoded field names of the struct schema, indexed
+     * by the field index.
+     */
+    private SerializedString[] getFieldNames(Schema schema) {
+        SerializedString[] fieldNames = fieldNamesCache.get(schema);
+
+        if (fieldNames != null) {
+            return fieldNames;
+        }
+        List<Field> fields = schema.fields();
+        fieldNames = new SerializedString[fields.size()];
+
+        for (Field field : fields) {
+            fieldNames[field.index()] = new SerializedString(field.name());
+        }
+        fieldNamesCache.put(schema, fieldNames);
+        return fieldNames;
+    }
+}
@@ -0,0 +1,353 @@
+package io.coffeebeans.connect.azure.blob.sink.format.parquet;
+
+import java.nio.ByteBuffer;
+import java.util.ArrayList;
+import java.util.List;
+import org.apache.avro.Schema;
+import org.apache.avro.generic.GenericFixed;
+import org.apache.avro.generic.GenericRecord;
+import org.apache.parquet.column.ColumnDescriptor;
+import org.apache.parquet.column.ColumnWriteStore;
+import org.apache.parquet.column.ColumnWriter;
+import org.apache.parquet.io.api.Binary;
+import org.apache.parquet.schema.MessageType;
+
+/**
+ * Buffers the records in one primitive vector per column, and encodes<br>
+ * the batch one column at a time instead of one record at a time.
+ *
+ * <p>The values of a record are copied into the vectors when it is added,
+ * so the record itself is not retained. Encoding a column is a loop over
+ * its vector, writing straight to its {@link ColumnWriter} without going
+ * through the record consumer. Every column writer counts the rows of its
+ * own pages, so the pages still start on record boundaries.
+ *
+ * <p>The column write store only checks the size and the row count of the
+ * pages when a record ends. The batch is encoded in slices of at most the
+ * page row count limit and the minimum row count between two page size
+ * checks, ending their records before the next slice, so the pages are cut
+ * like the ones of the records encoded one at a time.
+ *
+ * <p>Only records made of primitive fields, optionally nullable, can be
+ * batched. Their columns have no repetition and a definition level of at
+ * most 1.
+ */
+class ColumnBatch {
+
+    private final int capacity;
+    private final int sliceSize;
+    private final List<ColumnVector> vectors;
+
+    private int size;
+
+    private ColumnBatch(int capacity, int sliceSize, List<ColumnVector> vectors) {
+        this.capacity = capacity;
+        this.sliceSize = sliceSize;
+        this.vectors = vectors;
+    }
+
+    /**
+     * Creates a batch for the records of the given schema.
+     *
+     * @param avroSchema Avro schema of the records
+     * @param schema Parquet schema converted from the Avro schema
+     * @param capacity Number of records of the batch
+     * @param sliceSize Number of records encoded before their records end
+     * @return Column batch, or null if the schema has non primitive fields
+     */
+    static ColumnBatch create(Schema avroSchema, MessageType schema, int capacity, int sliceSize) {
+        List<ColumnVector> vectors = new ArrayList<>();
+
+        for (Schema.Field field : avroSchema.getFields()) {
+            Schema fieldSchema = nonNullType(field.schema());
+            if (fieldSchema == null) {
+                return null;
+            }
+            ColumnDescriptor descriptor = schema.getColumnDescription(new String[] {field.name()});
+            ColumnVector vector = newVector(fieldSchema.getType(), field.pos(), descriptor, capacity);
+            if (vector == null) {
+                return null;
+            }
+            vectors.add(vector);
+        }
+        return new ColumnBatch(capacity, Math.max(1, Math.min(sliceSize, capacity)), vectors);
+    }
+
+    /**
+     * Copies the values of the record into the vectors. A record failing<br>
+     * to copy is not added, its values are overwritten by the next one.
+     *
+     * @param record Record
+     */
+    void add(GenericRecord record) {
+        for (ColumnVector vector : vectors) {
+            vector.add(size, record.get(vector.fieldIndex));
+        }
+        ++size;
+    }
+
+    boolean isFull() {
+        return size == capacity;
+    }
+
+    /**
+     * Encodes the batched records column by column into the store, one<br>
+     * slice at a time, and empties the batch.
+     *
+     * @param store Column write store of the current row group
+     */
+    void writeTo(ColumnWriteStore store) {
+        for (int from = 0; from < size; from += sliceSize) {
+            int to = Math.min(from + sliceSize, size);
+
+            for (ColumnVector vector : vectors) {
+                vector.writeTo(store.getColumnWriter(vector.descriptor), from, to);
+            }
+            for (int row = from; row < to; row++) {
+                store.endRecord();
+            }
+        }
+        size = 0;
+    }
+
+    /**
+     * Type of a field, unwrapping the nullable unions.
+     *
+     * @param schema Schema of the field
+     * @return The non null type, or null if the union has several of them
+     */
+    private static Schema nonNullType(Schema schema) {
+        if (schema.getType() != Schema.Type.UNION) {
+            return schema;
+        }
+        List<Schema> types = schema.getTypes();
+        if (types.size() != 2) {
+            return null;
+        }
+        if (types.get(0).getType() == Schema.Type.NULL) {
+            return types.get(1);
+        }
+        return types.get(1).getType() == Schema.Type.NULL ? types.get(0) : null;
+    }
+
+    private static ColumnVector newVector(Schema.Type type,
+                                          int fieldIndex,
+                                          ColumnDescriptor descriptor,
+                                          int capacity) {
+        switch (type) {
+            case BOOLEAN: return new BooleanVector(fieldIndex, descriptor, capacity);
+            case INT: return new IntVector(fieldIndex, descriptor, capacity);
+            case LONG: return new LongVector(fieldIndex, descriptor, capacity);
+            case FLOAT: return new FloatVector(fieldIndex, descriptor, capacity);
+            case DOUBLE: return new DoubleVector(fieldIndex, descriptor, capacity);
+            case STRING:
+            case ENUM:
+            case BYTES:
+            case FIXED: return new BinaryVector(fieldIndex, descriptor, capacity);
+            default: return null;
+        }
+    }
+
+    /**
+     * Values of a single column.
+     */
+    private abstract static class ColumnVector {
+
+        protected final int fieldIndex;
+        protected final int maxDefinitionLevel;
+        protected final boolean[] nulls;
+        private final ColumnDescriptor descriptor;
+
+        private ColumnVector(int fieldIndex, ColumnDescriptor descriptor, int capacity) {
+            this.fieldIndex = fieldIndex;
+            this.descriptor = descriptor;
+            this.maxDefinitionLevel = descriptor.getMaxDefinitionLevel();
+            this.nulls = new boolean[capacity];
+        }
+
+        private void add(int row, Object value) {
+            if (value == null) {
+                if (maxDefinitionLevel == 0) {
+                    throw new NullPointerException("Null value for required field: " + descriptor);
+                }
+                nulls[row] = true;
+                return;
+            }
+            nulls[row] = false;
+            set(row, value);
+        }
+
+        protected abstract void set(int row, Object value);
+
+        protected abstract void writeTo(ColumnWriter writer, int from, int to);
+    }
+
+    private static class BooleanVector extends ColumnVector {
+        private final boolean[] values;
+
+        private BooleanVector(int fieldIndex, ColumnDescriptor descriptor, int capacity) {
+            super(fieldIndex, descriptor, capacity);
+            this.values = new boolean[capacity];
+        }
+
+        @Override
+        protected void set(int row, Object value) {
+            values[row] = (Boolean) value;
+        }
+
+        @Override
+        protected void writeTo(ColumnWriter writer, int from, int to) {
+            for (int row = from; row < to; row++) {
+                if (nulls[row]) {
+                    writer.writeNull(0, 0);
+                } else {
+                    writer.write(values[row], 0, maxDefinitionLevel);
+                }
+            }
+        }
+    }
+
+    private static class IntVector extends ColumnVector {
+        private final int[] values;
+
+        private IntVector(int fieldIndex, ColumnDescriptor descriptor, int capacity) {
+            super(fieldIndex, descriptor, capacity);
+            this.values = new int[capacity];
+        }
+
+        @Override
+        protected void set(int row, Object value) {
+            values[row] = ((Number) value).intValue();
+        }
+
+        @Override
+        protected void writeTo(ColumnWriter writer, int from, int to) {
+            for (int row = from; row < to; row++) {
+                if (nulls[row]) {
+                    writer.writeNull(0, 0);
+                } else {
+                    writer.write(values[row], 0, maxDefinitionLevel);
+                }
+            }
+        }
+    }
+
+    private static class LongVector extends ColumnVector {
+        private final long[] values;
+
+        private LongVector(int fieldIndex, ColumnDescriptor descriptor, int capacity) {
+            super(fieldIndex, descriptor, capacity);
+            this.values = new long[capacity];
+        }
+
+        @Override
+        protected void set(int row, Object value) {
+            values[row] = ((Number) value).longValue();
+        }
+
+        @Override
+        protected void writeTo(ColumnWriter writer, int from, int to) {
+            for (int row = from; row < to; row++) {
+                if (nulls[row]) {
+                    writer.writeNull(0, 0);
+                } else {
+                    writer.write(values[row], 0, maxDefinitionLevel);
+                }
+            }
+        }
+    }
+
+    private static class FloatVector extends ColumnVector {
+        private final float[] values;
+
+        private FloatVector(int fieldIndex, ColumnDescriptor descriptor, int capacity) {
+            super(fieldIndex, descriptor, capacity);
+            this.values = new float[capacity];
+        }
+
+        @Override
+        protected void set(int row, Object value) {
+            values[row] = ((Number) value).floatValue();
+        }
+
+        @Override
+        protected void writeTo(ColumnWriter writer, int from, int to) {
+            for (int row = from; row < to; row++) {
+                if (nulls[row]) {
+                    writer.writeNull(0, 0);
+                } else {
+                    writer.write(values[row], 0, maxDefinitionLevel);
+                }
+            }
+        }
+    }
+
+    private static class DoubleVector extends ColumnVector {
+        private final double[] values;
+
+        private DoubleVector(int fieldIndex, ColumnDescriptor descriptor, int capacity) {
+            super(fieldIndex, descriptor, capacity);
+            this.values = new double[capacity];
+        }
+
+        @Override
+        protected void set(int row, Object value) {
+            values[row] = ((Number) value).doubleValue();
+        }
+
+        @Override
+        protected void writeTo(ColumnWriter writer, int from, int to) {
+            for (int row = from; row < to; row++) {
+                if (nulls[row]) {
+                    writer.writeNull(0, 0);
+                } else {
+                    writer.write(values[row], 0, maxDefinitionLevel);
+                }
+            }
+        }
+    }
+
+    /**
+     * Strings, enums, bytes and fixed values. The bytes are copied, as<br>
+     * the buffers of the record may be reused once it is added.
+     */
+    private static class BinaryVector extends ColumnVector {
+        private final Binary[] values;
+
+        private BinaryVector(int fieldIndex, ColumnDescriptor descriptor, int capacity) {
+            super(fieldIndex, descriptor, capacity);
+            this.values = new Binary[capacity];
+        }
+
+        @Override
+        protected void set(int row, Object value) {
+            if (value instanceof ByteBuffer) {
+                ByteBuffer buffer = ((ByteBuffer) value).duplicate();
+                byte[] bytes = new byte[buffer.remaining()];
+                buffer.get(bytes);
+                values[row] = Binary.fromConstantByteArray(bytes);
+
+            } else if (value instanceof GenericFixed) {
+                values[row] = Binary.fromConstantByteArray(((GenericFixed) value).bytes().clone());
+
+            } else if (value instanceof byte[]) {
+                values[row] = Binary.fromConstantByteArray(((byte[]) value).clone());
+
+            } else {
+                values[row] = Binary.fromString(value.toString());
+            }
+        }
+
+        @Override
+        protected void writeTo(ColumnWriter writer, int from, int to) {
+            for (int row = from; row < to; row++) {
+                if (nulls[row]) {
+                    writer.writeNull(0, 0);
+                } else {
+                    writer.write(values[row], 0, maxDefinitionLevel);
+                }
+                values[row] = null;
+            }
+        }
+    }
+}
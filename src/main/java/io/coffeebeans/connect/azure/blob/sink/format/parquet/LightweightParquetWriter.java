@@ -0,0 +1,218 @@
+package io.coffeebeans.connect.azure.blob.sink.format.parquet;
+
+import io.coffeebeans.connect.azure.blob.sink.format.CompressionPool;
+import java.io.IOException;
+import java.util.HashMap;
+import java.util.Map;
+import org.apache.avro.Schema;
+import org.apache.avro.generic.GenericData;
+import org.apache.avro.generic.GenericRecord;
+import org.apache.hadoop.conf.Configuration;
+import org.apache.parquet.avro.AvroSchemaConverter;
+import org.apache.parquet.avro.AvroWriteSupport;
+import org.apache.parquet.column.ColumnWriteStore;
+import org.apache.parquet.column.ParquetProperties;
+import org.apache.parquet.hadoop.ParquetFileWriter;
+import org.apache.parquet.hadoop.api.WriteSupport;
+import org.apache.parquet.hadoop.metadata.CompressionCodecName;
+import org.apache.parquet.io.ColumnIOFactory;
+import org.apache.parquet.io.MessageColumnIO;
+import org.apache.parquet.io.OutputFile;
+import org.apache.parquet.io.api.RecordConsumer;
+import org.apache.parquet.schema.MessageType;
+
+/**
+ * Writes Avro records to a Parquet file like {@link org.apache.parquet.hadoop.ParquetWriter},<br>
+ * but assembles the column chunks itself, with the {@link PageCompressor}s<br>
+ * instead of the Hadoop codecs. It does not go through the Hadoop output<br>
+ * format, so it does not need the Hadoop MapReduce classes.
+ *
+ * <p>Records are encoded into the column writers on the calling thread.
+ * When a {@link CompressionPool} is given, every page they cut is handed
+ * to the pool, so by the time the row group is flushed most of the
+ * compression is already done. The flush only waits for the remaining
+ * pages and writes the column chunks in order to the file, which stays
+ * a standard Parquet file with column and offset indexes.
+ *
+ * <p>With a batch size, records of primitive fields are buffered in a
+ * {@link ColumnBatch} and encoded one column at a time.
+ */
+class LightweightParquetWriter implements ParquetSink {
+    private static final int MINIMUM_RECORD_COUNT_FOR_CHECK = 100;
+    private static final int MAXIMUM_RECORD_COUNT_FOR_CHECK = 10000;
+
+    private final MessageType schema;
+    private final long rowGroupSize;
+    private final ColumnBatch batch;
+    private final CompressionPool pool;
+    private final CompressionCodecName codec;
+    private final ParquetWriterResources resources;
+    private final ParquetFileWriter fileWriter;
+    private final Map<String, String> extraMetaData;
+    private final ParquetProperties parquetProperties;
+    private final WriteSupport<GenericRecord> writeSupport;
+
+    private boolean closed;
+    private long recordCount;
+    private long lastRowGroupEndPos;
+    private long recordCountForNextMemCheck;
+    private RecordConsumer recordConsumer;
+    private ColumnWriteStore columnStore;
+    private ParallelPageWriteStore pageStore;
+
+    /**
+     * Constructs {@link LightweightParquetWriter} and writes the header of the file.
+     *
+     * @param outputFile Parquet output file
+     * @param avroSchema Avro schema of the records
+     * @param conf Configuration of the Avro write support
+     * @param parquetProperties Encoding properties of the column writers
+     * @param codec Compression codec of the pages
+     * @param rowGroupSize Row group size in bytes
+     * @param batchSize Number of records encoded column by column, 0 to encode them one at a time
+     * @param pool Pool the pages are compressed on, or null to compress on the calling thread
+     * @param resources Shared resources providing the compressors
+     * @throws IOException If the header fails to write
+     */
+    LightweightParquetWriter(OutputFile outputFile,
+                             Schema avroSchema,
+                             Configuration conf,
+                             ParquetProperties parquetProperties,
+                             CompressionCodecName codec,
+                             long rowGroupSize,
+                             int batchSize,
+                             CompressionPool pool,
+                             ParquetWriterResources resources) throws IOException {
+
+        this.writeSupport = new AvroWriteSupport<>(
+                new AvroSchemaConverter(conf).convert(avroSchema), avroSchema, GenericData.get()
+        );
+        WriteSupport.WriteContext writeContext = writeSupport.init(conf);
+
+        this.schema = writeContext.getSchema();
+        this.extraMetaData = writeContext.getExtraMetaData();
+        this.batch = batchSize > 0
+                ? ColumnBatch.create(avroSchema, schema, batchSize, sliceSize(parquetProperties))
+                : null;
+        this.parquetProperties = parquetProperties;
+        this.rowGroupSize = rowGroupSize;
+        this.codec = codec;
+        this.pool = pool;
+        this.resources = resources;
+
+        this.fileWriter = new ParquetFileWriter(
+                outputFile, schema, ParquetFileWriter.Mode.OVERWRITE, rowGroupSize, 0
+        );
+        fileWriter.start();
+
+        this.recordCountForNextMemCheck = parquetProperties.getMinRowCountForPageSizeCheck();
+        initStore();
+    }
+
+    @Override
+    public void write(GenericRecord record) throws IOException {
+        if (batch == null) {
+            writeSupport.write(record);
+            ++recordCount;
+            checkBlockSizeReached();
+            return;
+        }
+        batch.add(record);
+        ++recordCount;
+
+        if (batch.isFull()) {
+            batch.writeTo(columnStore);
+            checkBlockSizeReached();
+        }
+    }
+
+    @Override
+    public long getDataSize() {
+        return lastRowGroupEndPos + columnStore.getBufferedSize();
+    }
+
+    /**
+     * Flushes the last row group and writes the footer of the file.
+     *
+     * @throws IOException If the row group or the footer fails to write
+     */
+    @Override
+    public void close() throws IOException {
+        if (closed) {
+            return;
+        }
+        flushRowGroup();
+
+        Map<String, String> metaData = new HashMap<>(extraMetaData);
+        metaData.putAll(writeSupport.finalizeWrite().getExtraMetaData());
+
+        fileWriter.end(metaData);
+        closed = true;
+    }
+
+    /**
+     * The store checks the pages when a record ends: the batch ends its<br>
+     * records at least as often as the store would check them.
+     *
+     * @param parquetProperties Encoding properties of the column writers
+     * @return Number of records of a batch encoded before their records end
+     */
+    private static int sliceSize(ParquetProperties parquetProperties) {
+        return Math.min(parquetProperties.getPageRowCountLimit(), parquetProperties.getMinRowCountForPageSizeCheck());
+    }
+
+    private void initStore() {
+        pageStore = new ParallelPageWriteStore(schema, codec, pool, resources);
+        columnStore = parquetProperties.newColumnWriteStore(schema, pageStore, pageStore);
+
+        MessageColumnIO columnIo = new ColumnIOFactory(false).getColumnIO(schema);
+        recordConsumer = columnIo.getRecordWriter(columnStore);
+        writeSupport.prepareForWrite(recordConsumer);
+    }
+
+    /**
+     * Same heuristic as the standard Parquet writer: the buffered size is<br>
+     * checked only every few records, estimating from the average record<br>
+     * size when the row group will be full.
+     *
+     * @throws IOException If the row group fails to write
+     */
+    private void checkBlockSizeReached() throws IOException {
+        if (recordCount < recordCountForNextMemCheck) {
+            return;
+        }
+        long memSize = columnStore.getBufferedSize();
+        long recordSize = memSize / recordCount;
+
+        if (memSize > (rowGroupSize - 2 * recordSize)) {
+            flushRowGroup();
+            initStore();
+            recordCountForNextMemCheck = Math.min(
+                    Math.max(MINIMUM_RECORD_COUNT_FOR_CHECK, recordCount / 2),
+                    MAXIMUM_RECORD_COUNT_FOR_CHECK
+            );
+        } else {
+            recordCountForNextMemCheck = Math.min(
+                    Math.max(MINIMUM_RECORD_COUNT_FOR_CHECK,
+                            (recordCount + (long) (rowGroupSize / ((float) recordSize))) / 2),
+                    recordCount + MAXIMUM_RECORD_COUNT_FOR_CHECK
+            );
+        }
+    }
+
+    private void flushRowGroup() throws IOException {
+        if (batch != null) {
+            batch.writeTo(columnStore);
+        }
+        recordConsumer.flush();
+
+        if (recordCount > 0) {
+            fileWriter.startBlock(recordCount);
+            columnStore.flush();
+            pageStore.flushToFileWriter(fileWriter);
+            recordCount = 0;
+            fileWriter.endBlock();
+        }
+        lastRowGroupEndPos = fileWriter.getPos();
+    }
+}
@@ -0,0 +1,171 @@
+package io.coffeebeans.connect.azure.blob.sink.format.parquet;
+
+import com.github.luben.zstd.Zstd;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.util.Arrays;
+import java.util.zip.CRC32;
+import java.util.zip.Deflater;
+import org.apache.parquet.bytes.BytesInput;
+import org.apache.parquet.hadoop.CodecFactory;
+import org.apache.parquet.hadoop.metadata.CompressionCodecName;
+import org.xerial.snappy.Snappy;
+
+/**
+ * Compresses the pages of a column chunk. A compressor is used by a<br>
+ * single thread at a time, and the bytes it returns are not reused<br>
+ * for the next page.
+ *
+ * <p>GZIP, SNAPPY and ZSTD pages are compressed without the Hadoop
+ * codecs, producing the same format as the Parquet codecs: a gzip
+ * member, a raw Snappy block and a Zstandard frame respectively.
+ */
+interface PageCompressor {
+
+    int ZSTD_DEFAULT_LEVEL = 3;
+
+    BytesInput compress(BytesInput bytes) throws IOException;
+
+    CompressionCodecName getCodecName();
+
+    /**
+     * Releases the resources held by the compressor, which cannot<br>
+     * be used anymore.
+     */
+    void release();
+
+    /**
+     * Creates a compressor not depending on Hadoop.
+     *
+     * @param codec Compression codec
+     * @return Compressor, or null if the codec needs the Hadoop codecs
+     */
+    static PageCompressor create(CompressionCodecName codec) {
+        switch (codec) {
+            case GZIP: return new GzipPageCompressor();
+            case SNAPPY: return new SnappyPageCompressor();
+            case ZSTD: return new ZstdPageCompressor();
+            default: return null;
+        }
+    }
+
+    /**
+     * Adapts a compressor of the Parquet {@link CodecFactory}.
+     *
+     * @param compressor Hadoop based compressor
+     * @return Compressor
+     */
+    static PageCompressor of(CodecFactory.BytesCompressor compressor) {
+        return new PageCompressor() {
+            @Override
+            public BytesInput compress(BytesInput bytes) throws IOException {
+                // The compressor reuses its output buffer for the next page
+                return BytesInput.copy(compressor.compress(bytes));
+            }
+
+            @Override
+            public CompressionCodecName getCodecName() {
+                return compressor.getCodecName();
+            }
+
+            @Override
+            public void release() {
+                compressor.release();
+            }
+        };
+    }
+
+    /**
+     * Writes every page as a single gzip member, reusing the {@link Deflater}.
+     */
+    class GzipPageCompressor implements PageCompressor {
+        private static final int HEADER_SIZE = 10;
+        private static final int TRAILER_SIZE = 8;
+        private static final byte[] HEADER = {0x1f, (byte) 0x8b, Deflater.DEFLATED, 0, 0, 0, 0, 0, 0, 0};
+
+        private final CRC32 crc;
+        private final Deflater deflater;
+
+        private GzipPageCompressor() {
+            this.crc = new CRC32();
+            this.deflater = new Deflater(Deflater.DEFAULT_COMPRESSION, true);
+        }
+
+        @Override
+        public BytesInput compress(BytesInput bytes) throws IOException {
+            byte[] input = bytes.toByteArray();
+
+            crc.reset();
+            crc.update(input);
+            deflater.reset();
+            deflater.setInput(input);
+            deflater.finish();
+
+            byte[] output = new byte[HEADER_SIZE + input.length + input.length / 1000 + 64 + TRAILER_SIZE];
+            System.arraycopy(HEADER, 0, output, 0, HEADER_SIZE);
+
+            int length = HEADER_SIZE;
+            while (!deflater.finished()) {
+                if (length == output.length - TRAILER_SIZE) {
+                    output = Arrays.copyOf(output, output.length * 2);
+                }
+                length += deflater.deflate(output, length, output.length - TRAILER_SIZE - length);
+            }
+            ByteBuffer.wrap(output, length, TRAILER_SIZE)
+                    .order(ByteOrder.LITTLE_ENDIAN)
+                    .putInt((int) crc.getValue())
+                    .putInt(input.length);
+
+            return BytesInput.from(output, 0, length + TRAILER_SIZE);
+        }
+
+        @Override
+        public CompressionCodecName getCodecName() {
+            return CompressionCodecName.GZIP;
+        }
+
+        @Override
+        public void release() {
+            deflater.end();
+        }
+    }
+
+    /**
+     * Writes every page as a raw Snappy block.
+     */
+    class SnappyPageCompressor implements PageCompressor {
+
+        @Override
+        public BytesInput compress(BytesInput bytes) throws IOException {
+            return BytesInput.from(Snappy.compress(bytes.toByteArray()));
+        }
+
+        @Override
+        public CompressionCodecName getCodecName() {
+            return CompressionCodecName.SNAPPY;
+        }
+
+        @Override
+        public void release() {}
+    }
+
+    /**
+     * Writes every page as a Zstandard frame.
+     */
+    class ZstdPageCompressor implements PageCompressor {
+
+        @Override
+        public BytesInput compress(BytesInput bytes) {
+            return BytesInput.from(Zstd.compress(bytes.toByteArray(), ZSTD_DEFAULT_LEVEL));
+        }
+
+        @Override
+        public CompressionCodecName getCodecName() {
+            return CompressionCodecName.ZSTD;
+        }
+
+        @Override
+        public void release() {}
+    }
+}
@@ -0,0 +1,352 @@
+package io.coffeebeans.connect.azure.blob.sink.format.parquet;
+
+import io.coffeebeans.connect.azure.blob.sink.format.CompressionPool;
+import java.io.IOException;
+import java.io.InterruptedIOException;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.Callable;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicLong;
+import org.apache.parquet.bytes.BytesInput;
+import org.apache.parquet.column.ColumnDescriptor;
+import org.apache.parquet.column.Encoding;
+import org.apache.parquet.column.page.DictionaryPage;
+import org.apache.parquet.column.page.PageWriteStore;
+import org.apache.parquet.column.page.PageWriter;
+import org.apache.parquet.column.statistics.Statistics;
+import org.apache.parquet.column.values.bloomfilter.BloomFilter;
+import org.apache.parquet.column.values.bloomfilter.BloomFilterWriteStore;
+import org.apache.parquet.column.values.bloomfilter.BloomFilterWriter;
+import org.apache.parquet.hadoop.ParquetFileWriter;
+import org.apache.parquet.hadoop.metadata.CompressionCodecName;
+import org.apache.parquet.schema.MessageType;
+
+/**
+ * {@link PageWriteStore} which compresses the pages on a {@link CompressionPool}<br>
+ * as soon as the column writers hand them over. The compressed pages are<br>
+ * buffered until the row group is flushed, then the column chunks are<br>
+ * written to the {@link ParquetFileWriter} in the order of the schema.
+ *
+ * <p>Without a pool, the pages are compressed on the calling thread as
+ * soon as they are handed over.
+ *
+ * <p>Compressors are not thread safe, so every page borrows a compressor
+ * from the {@link ParquetWriterResources} for the time of its compression.
+ */
+class ParallelPageWriteStore implements PageWriteStore, BloomFilterWriteStore {
+
+    private final Map<ColumnDescriptor, ColumnChunkWriter> writers;
+
+    /**
+     * Constructs {@link ParallelPageWriteStore}.
+     *
+     * @param schema Parquet schema of the file
+     * @param codec Compression codec of the pages
+     * @param pool Pool the pages are compressed on, or null to compress on the calling thread
+     * @param resources Shared resources providing the compressors
+     */
+    ParallelPageWriteStore(MessageType schema,
+                           CompressionCodecName codec,
+                           CompressionPool pool,
+                           ParquetWriterResources resources) {
+        this.writers = new LinkedHashMap<>();
+
+        for (ColumnDescriptor path : schema.getColumns()) {
+            writers.put(path, new ColumnChunkWriter(path, codec, pool, resources));
+        }
+    }
+
+    @Override
+    public PageWriter getPageWriter(ColumnDescriptor path) {
+        return writers.get(path);
+    }
+
+    @Override
+    public BloomFilterWriter getBloomFilterWriter(ColumnDescriptor path) {
+        return writers.get(path);
+    }
+
+    /**
+     * Waits for the pages of the row group to be compressed and writes<br>
+     * the column chunks to the file writer.
+     *
+     * @param fileWriter Parquet file writer, with a started block
+     * @throws IOException If a page fails to compress or write
+     */
+    void flushToFileWriter(ParquetFileWriter fileWriter) throws IOException {
+        for (ColumnChunkWriter writer : writers.values()) {
+            writer.flushToFileWriter(fileWriter);
+        }
+    }
+
+    /**
+     * Buffers the compressed pages of a single column chunk.
+     */
+    private static class ColumnChunkWriter implements PageWriter, BloomFilterWriter {
+        private static final int UNKNOWN_ROW_COUNT = -1;
+
+        private final ColumnDescriptor path;
+        private final CompressionPool pool;
+        private final CompressionCodecName codec;
+        private final AtomicLong bufferedSize;
+        private final ParquetWriterResources resources;
+        private final List<Future<CompressedDataPage>> dataPages;
+
+        private long totalValueCount;
+        private BloomFilter bloomFilter;
+        private Future<DictionaryPage> dictionaryPage;
+
+        private ColumnChunkWriter(ColumnDescriptor path,
+                                  CompressionCodecName codec,
+                                  CompressionPool pool,
+                                  ParquetWriterResources resources) {
+            this.path = path;
+            this.pool = pool;
+            this.codec = codec;
+            this.resources = resources;
+            this.bufferedSize = new AtomicLong();
+            this.dataPages = new ArrayList<>();
+        }
+
+        @Override
+        @Deprecated
+        public void writePage(BytesInput bytesInput, int valueCount, Statistics<?> statistics,
+                              Encoding rlEncoding, Encoding dlEncoding, Encoding valuesEncoding) throws IOException {
+
+            // Every value of a column without repetition is a row, the
+            // rows of a repeated column are unknown and skip its indexes
+            int rowCount = path.getMaxRepetitionLevel() > 0 ? UNKNOWN_ROW_COUNT : valueCount;
+            writePage(bytesInput, valueCount, rowCount, statistics, rlEncoding, dlEncoding, valuesEncoding);
+        }
+
+        @Override
+        public void writePage(BytesInput bytesInput, int valueCount, int rowCount, Statistics<?> statistics,
+                              Encoding rlEncoding, Encoding dlEncoding, Encoding valuesEncoding) throws IOException {
+
+            // The column writer reuses its buffers once the page is handed over
+            BytesInput bytes = BytesInput.copy(bytesInput);
+            int uncompressedSize = Math.toIntExact(bytes.size());
+            bufferedSize.addAndGet(uncompressedSize);
+
+            dataPages.add(submit(() -> new CompressedDataPage(
+                    compress(bytes, uncompressedSize),
+                    uncompressedSize,
+                    valueCount,
+                    rowCount,
+                    statistics,
+                    rlEncoding,
+                    dlEncoding,
+                    valuesEncoding
+            )));
+            totalValueCount += valueCount;
+        }
+
+        /**
+         * Writes the page as a v1 data page. The levels of a v1 page are<br>
+         * prefixed with their length, and left out when the maximum level<br>
+         * is 0. The values keep their v2 encoding.
+         */
+        @Override
+        public void writePageV2(int rowCount, int nullCount, int valueCount,
+                                BytesInput repetitionLevels, BytesInput definitionLevels,
+                                Encoding dataEncoding, BytesInput data, Statistics<?> statistics) throws IOException {
+
+            writePage(
+                    BytesInput.concat(
+                            levels(repetitionLevels, path.getMaxRepetitionLevel()),
+                            levels(definitionLevels, path.getMaxDefinitionLevel()),
+                            data
+                    ),
+                    valueCount,
+                    rowCount,
+                    statistics,
+                    levelsEncoding(path.getMaxRepetitionLevel()),
+                    levelsEncoding(path.getMaxDefinitionLevel()),
+                    dataEncoding
+            );
+        }
+
+        @Override
+        public void writeDictionaryPage(DictionaryPage page) throws IOException {
+            DictionaryPage copy = page.copy();
+            int uncompressedSize = copy.getUncompressedSize();
+            bufferedSize.addAndGet(uncompressedSize);
+
+            dictionaryPage = submit(() -> new DictionaryPage(
+                    compress(copy.getBytes(), uncompressedSize),
+                    uncompressedSize,
+                    copy.getDictionarySize(),
+                    copy.getEncoding()
+            ));
+        }
+
+        @Override
+        public void writeBloomFilter(BloomFilter bloomFilter) {
+            this.bloomFilter = bloomFilter;
+        }
+
+        @Override
+        public long getMemSize() {
+            return bufferedSize.get();
+        }
+
+        @Override
+        public long allocatedSize() {
+            return bufferedSize.get();
+        }
+
+        @Override
+        public String memUsageString(String prefix) {
+            return prefix + " ColumnChunkWriter " + path + " buffered: " + bufferedSize.get();
+        }
+
+        private static BytesInput levels(BytesInput levels, int maxLevel) {
+            if (maxLevel == 0) {
+                return BytesInput.empty();
+            }
+            return BytesInput.concat(BytesInput.fromInt(Math.toIntExact(levels.size())), levels);
+        }
+
+        private static Encoding levelsEncoding(int maxLevel) {
+            return maxLevel == 0 ? Encoding.BIT_PACKED : Encoding.RLE;
+        }
+
+        private <T> Future<T> submit(Callable<T> task) {
+            if (pool != null) {
+                return pool.submit(task);
+            }
+            try {
+                return CompletableFuture.completedFuture(task.call());
+
+            } catch (Exception e) {
+                return CompletableFuture.failedFuture(e);
+            }
+        }
+
+        private BytesInput compress(BytesInput bytes, int uncompressedSize) throws IOException {
+            if (codec == CompressionCodecName.UNCOMPRESSED) {
+                return bytes;
+            }
+            PageCompressor compressor = resources.borrowCompressor(codec);
+            BytesInput compressed;
+            try {
+                compressed = compressor.compress(bytes);
+
+            } catch (IOException | RuntimeException e) {
+                // A compressor which failed is not given back, it may hold a partial page
+                compressor.release();
+                throw e;
+            }
+            resources.releaseCompressor(compressor);
+            bufferedSize.addAndGet(compressed.size() - uncompressedSize);
+            return compressed;
+        }
+
+        /**
+         * Writes the column chunk. A page handed over without its row count,<br>
+         * by the deprecated writePage of a repeated column, is written without<br>
+         * it as well: the file writer then skips the column and offset indexes<br>
+         * of the chunk, as parquet-hadoop does for its own page writers.
+         *
+         * @param fileWriter Parquet file writer, with a started block
+         * @throws IOException If a page fails to compress or write
+         */
+        @SuppressWarnings("deprecation")
+        private void flushToFileWriter(ParquetFileWriter fileWriter) throws IOException {
+            fileWriter.startColumn(path, totalValueCount, codec);
+
+            if (dictionaryPage != null) {
+                fileWriter.writeDictionaryPage(await(dictionaryPage));
+            }
+            for (Future<CompressedDataPage> future : dataPages) {
+                CompressedDataPage page = await(future);
+
+                if (page.rowCount == UNKNOWN_ROW_COUNT) {
+                    // Switches the column and offset index builders of the column to no-op ones
+                    fileWriter.writeDataPage(
+                            page.valueCount,
+                            page.uncompressedSize,
+                            page.bytes,
+                            page.statistics,
+                            page.rlEncoding,
+                            page.dlEncoding,
+                            page.valuesEncoding
+                    );
+                    continue;
+                }
+                fileWriter.writeDataPage(
+                        page.valueCount,
+                        page.uncompressedSize,
+                        page.bytes,
+                        page.statistics,
+                        page.rowCount,
+                        page.rlEncoding,
+                        page.dlEncoding,
+                        page.valuesEncoding
+                );
+            }
+            if (bloomFilter != null) {
+                fileWriter.addBloomFilter(String.join(".", path.getPath()), bloomFilter);
+            }
+            fileWriter.endColumn();
+
+            dataPages.clear();
+            dictionaryPage = null;
+            bloomFilter = null;
+            totalValueCount = 0;
+            bufferedSize.set(0);
+        }
+
+        private static <T> T await(Future<T> future) throws IOException {
+            try {
+                return future.get();
+
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                throw new InterruptedIOException("Interrupted while waiting for the page compression");
+
+            } catch (ExecutionException e) {
+                throw new IOException("Failed to compress the page", e.getCause());
+            }
+        }
+    }
+
+    /**
+     * Compressed data page along with the details needed by the file writer.
+     */
+    private static class CompressedDataPage {
+
+        private final BytesInput bytes;
+        private final int uncompressedSize;
+        private final int valueCount;
+        private final int rowCount;
+        private final Statistics<?> statistics;
+        private final Encoding rlEncoding;
+        private final Encoding dlEncoding;
+        private final Encoding valuesEncoding;
+
+        private CompressedDataPage(BytesInput bytes,
+                                   int uncompressedSize,
+                                   int valueCount,
+                                   int rowCount,
+                                   Statistics<?> statistics,
+                                   Encoding rlEncoding,
+                                   Encoding dlEncoding,
+                                   Encoding valuesEncoding) {
+
+            this.bytes = bytes;
+            this.uncompressedSize = uncompressedSize;
+            this.valueCount = valueCount;
+            this.rowCount = rowCount;
+            this.statistics = statistics;
+            this.rlEncoding = rlEncoding;
+            this.dlEncoding = dlEncoding;
+            this.valuesEncoding = valuesEncoding;
+        }
+    }
+}
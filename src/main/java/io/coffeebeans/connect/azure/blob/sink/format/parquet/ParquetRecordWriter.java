@@ -1,6 +1,8 @@
 package io.coffeebeans.connect.azure.blob.sink.format.parquet;
 
 import com.fasterxml.jackson.databind.ObjectMapper;
+import io.coffeebeans.connect.azure.blob.sink.format.CompressionPool;
+import io.coffeebeans.connect.azure.blob.sink.format.FieldProjection;
 import io.coffeebeans.connect.azure.blob.sink.format.RecordWriter;
 import io.coffeebeans.connect.azure.blob.sink.format.SchemaStore;
 import io.coffeebeans.connect.azure.blob.sink.format.avro.AvroSchemaStore;
@@ -19,10 +21,9 @@ import org.apache.kafka.connect.sink.SinkRecord;
 import org.apache.parquet.avro.AvroParquetWriter;
 import org.apache.parquet.avro.AvroWriteSupport;
 import org.apache.parquet.hadoop.ParquetFileWriter;
-import org.apache.parquet.hadoop.ParquetWriter;
-import org.apache.parquet.hadoop.metadata.CompressionCodecName;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
+import reactor.core.publisher.Mono;
 import tech.allegro.schema.json2avro.converter.JsonAvroConverter;
 
 /**
@@ -30,12 +31,11 @@ import tech.allegro.schema.json2avro.converter.JsonAvroConverter;
  */
 public class ParquetRecordWriter implements RecordWriter {
     private static final Logger log = LoggerFactory.getLogger(ParquetRecordWriter.class);
-    private static final int PAGE_SIZE = 64 * 1024;
 
     private final String topic;
     private final int blockSize;
     private Schema kafkaSchema;
-    private ParquetWriter writer;
+    private ParquetSink writer;
     private final String blobName;
     private final AvroData avroData;
     private final ObjectMapper mapper;
@@ -44,7 +44,10 @@ public class ParquetRecordWriter implements RecordWriter {
     private ParquetOutputFile outputFile;
     private final StorageManager storageManager;
     private org.apache.avro.Schema avroSchema;
-    private final CompressionCodecName compressionCodec;
+    private final CompressionPool compressionPool;
+    private final FieldProjection projection;
+    private final ParquetWriterProperties properties;
+    private final ParquetWriterResources resources;
 
     /**
      * Constructs {@link ParquetRecordWriter}.
@@ -54,16 +57,22 @@ public class ParquetRecordWriter implements RecordWriter {
      * @param blockSize Block size
      * @param blobName Blob name
      * @param kafkaTopic Kafka topic
-     * @param codec Compression codec
+     * @param properties Tuning properties of the Parquet writer
+     * @param resources Configuration and compressors shared by the Parquet writers
+     * @param compressionPool Pool to compress the pages on, or null to compress on the calling thread
      * @param avroData AvroData
+     * @param projection Fields to write, or null to write all of them
      */
     public ParquetRecordWriter(StorageManager storageManager,
                                SchemaStore schemaStore,
                                int blockSize,
                                String blobName,
                                String kafkaTopic,
-                               CompressionCodecName codec,
-                               AvroData avroData) {
+                               ParquetWriterProperties properties,
+                               ParquetWriterResources resources,
+                               CompressionPool compressionPool,
+                               AvroData avroData,
+                               FieldProjection projection) {
 
         this.kafkaSchema = null;
         this.avroSchema = null;
@@ -74,7 +83,10 @@ public class ParquetRecordWriter implements RecordWriter {
         this.avroData = avroData;
         this.schemaStore = schemaStore;
         this.storageManager = storageManager;
-        this.compressionCodec = codec;
+        this.properties = properties;
+        this.resources = resources;
+        this.compressionPool = compressionPool;
+        this.projection = projection;
 
         this.mapper = new ObjectMapper();
     }
@@ -99,16 +111,18 @@ public class ParquetRecordWriter implements RecordWriter {
                 /*
                 For Json string values
                  */
-                write((String) kafkaRecord.value());
+                String value = (String) kafkaRecord.value();
+                write(projection != null ? projection.projectJson(topic, value) : value);
                 return;
 
             } else if (kafkaRecord.value() instanceof Map) {
                 /*
                 For Json without embedded schema or schema registry
                  */
+                Map<?, ?> value = (Map<?, ?>) kafkaRecord.value();
                 String jsonString = mapper
                         .writeValueAsString(
-                                kafkaRecord.value()
+                                projection != null ? projection.projectMap(topic, value) : value
                         );
                 write(jsonString);
                 return;
@@ -117,22 +131,13 @@ public class ParquetRecordWriter implements RecordWriter {
             if (kafkaSchema == null || writer == null) {
                 log.debug("Opening parquet record writer for blob: {}", blobName);
 
-                kafkaSchema = kafkaRecord.valueSchema();
+                kafkaSchema = projection != null
+                        ? projection.projectSchema(topic, kafkaRecord.valueSchema())
+                        : kafkaRecord.valueSchema();
                 org.apache.avro.Schema avroSchema = avroData.fromConnectSchema(kafkaSchema);
+                boolean arrayOfOptionalItems = schemaHasArrayOfOptionalItems(kafkaSchema, /*seenSchemas=*/null);
 
-                outputFile = new ParquetOutputFile(
-                        this.storageManager,
-                        this.blobName,
-                        this.blockSize
-                );
-                AvroParquetWriter.Builder<GenericRecord> builder = AvroParquetWriter.<GenericRecord>builder(outputFile)
-                        .withSchema(avroSchema)
-                        .withWriteMode(ParquetFileWriter.Mode.OVERWRITE)
-                        .withDictionaryEncoding(true)
-                        .withCompressionCodec(compressionCodec)
-                        .withPageSize(PAGE_SIZE);
-
-                if (schemaHasArrayOfOptionalItems(kafkaSchema, /*seenSchemas=*/null)) {
+                if (arrayOfOptionalItems) {
                     // If the schema contains an array of optional items, then
                     // it is possible that the array may have null items during the
                     // writing process.  In this case, we set a flag so as not to
@@ -142,13 +147,15 @@ public class ParquetRecordWriter implements RecordWriter {
                                     + "\" to false because the schema contains an array "
                                     + "with optional items"
                     );
-                    builder.config(AvroWriteSupport.WRITE_OLD_LIST_STRUCTURE, "false");
                 }
-                writer = builder.build();
+                writer = newWriter(avroSchema, arrayOfOptionalItems);
             }
 
-            Object value = avroData.fromConnectData(kafkaSchema, kafkaRecord.value());
-            writer.write(value);
+            Object value = projection != null
+                    ? projection.projectValue(kafkaRecord.value(), kafkaSchema)
+                    : kafkaRecord.value();
+            value = avroData.fromConnectData(kafkaSchema, value);
+            writer.write((GenericRecord) value);
 
         } catch (Exception e) {
             throw new RetriableException(e);
@@ -172,24 +179,56 @@ public class ParquetRecordWriter implements RecordWriter {
             log.debug("Opening parquet record writer for blob: {}", blobName);
 
             avroSchema = (org.apache.avro.Schema) schemaStore.getSchema(topic);
+            if (projection != null) {
+                avroSchema = projection.projectAvroSchema(topic, avroSchema);
+            }
+            writer = newWriter(avroSchema, false);
+        }
+        GenericRecord record = convertToGenericDataRecord(value);
+        writer.write(record);
+    }
 
-            outputFile = new ParquetOutputFile(
-                    this.storageManager,
-                    this.blobName,
-                    this.blockSize
+    /**
+     * Initializes the {@link ParquetOutputFile} and opens a writer configured<br>
+     * with the {@link ParquetWriterProperties}. v1 data pages are written by<br>
+     * the {@link LightweightParquetWriter}, on the compression pool when one<br>
+     * is configured. v2 data pages are written by the standard Parquet writer.
+     *
+     * @param avroSchema Avro schema of the records
+     * @param arrayOfOptionalItems Whether the schema has an array of optional items
+     * @return Parquet sink
+     * @throws IOException If the writer fails to open
+     */
+    private ParquetSink newWriter(org.apache.avro.Schema avroSchema, boolean arrayOfOptionalItems)
+            throws IOException {
+
+        outputFile = new ParquetOutputFile(
+                this.storageManager,
+                this.blobName,
+                this.blockSize
+        );
+
+        if (properties.supportsLightweightWriter()) {
+            return new LightweightParquetWriter(
+                    outputFile,
+                    avroSchema,
+                    resources.getConfiguration(arrayOfOptionalItems),
+                    properties.toParquetProperties(topic),
+                    properties.getCompressionCodec(),
+                    properties.getRowGroupSize(),
+                    properties.getBatchSize(),
+                    compressionPool,
+                    resources
             );
-            AvroParquetWriter.Builder<GenericData.Record> builder =
-                    AvroParquetWriter.<GenericData.Record>builder(outputFile)
-                            .withSchema(avroSchema)
-                            .withWriteMode(ParquetFileWriter.Mode.OVERWRITE)
-                            .withDictionaryEncoding(false)
-                            .withCompressionCodec(compressionCodec)
-                            .withPageSize(PAGE_SIZE);
-
-            writer = builder.build();
         }
-        Object record = convertToGenericDataRecord(value);
-        writer.write(record);
+
+        AvroParquetWriter.Builder<GenericRecord> builder = AvroParquetWriter.<GenericRecord>builder(outputFile)
+                .withConf(resources.getConfiguration(arrayOfOptionalItems))
+                .withSchema(avroSchema)
+                .withWriteMode(ParquetFileWriter.Mode.OVERWRITE);
+
+        properties.configure(builder, topic);
+        return ParquetSink.of(builder.build());
     }
 
     /**
@@ -278,6 +317,28 @@ public class ParquetRecordWriter implements RecordWriter {
         }
     }
 
+    @Override
+    public String getBlobName() {
+        return blobName;
+    }
+
+    @Override
+    public long getBlobSize() {
+        return outputFile == null ? 0L : outputFile.getOutputStream().getPos();
+    }
+
+    @Override
+    public void setBlobMetadata(Map<String, String> metadata) {
+        if (outputFile != null) {
+            outputFile.getOutputStream().setMetadata(metadata);
+        }
+    }
+
+    @Override
+    public Mono<Void> whenCommitted() {
+        return outputFile == null ? Mono.empty() : outputFile.getOutputStream().whenCommitted();
+    }
+
     /**
      * The amount of data that has been written by the ParquetWriter till now.
      *
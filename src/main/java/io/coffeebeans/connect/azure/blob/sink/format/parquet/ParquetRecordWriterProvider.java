@@ -5,6 +5,8 @@ import static io.confluent.connect.avro.AvroDataConfig.ENHANCED_AVRO_SCHEMA_SUPP
 import static io.confluent.connect.avro.AvroDataConfig.SCHEMAS_CACHE_SIZE_CONFIG;
 
 import io.coffeebeans.connect.azure.blob.sink.config.AzureBlobSinkConfig;
+import io.coffeebeans.connect.azure.blob.sink.format.CompressionPool;
+import io.coffeebeans.connect.azure.blob.sink.format.FieldProjection;
 import io.coffeebeans.connect.azure.blob.sink.format.RecordWriter;
 import io.coffeebeans.connect.azure.blob.sink.format.RecordWriterProvider;
 import io.coffeebeans.connect.azure.blob.sink.format.SchemaStore;
@@ -13,7 +15,6 @@ import io.confluent.connect.avro.AvroData;
 import io.confluent.connect.avro.AvroDataConfig;
 import java.util.HashMap;
 import java.util.Map;
-import org.apache.parquet.hadoop.metadata.CompressionCodecName;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
@@ -29,7 +30,10 @@ public class ParquetRecordWriterProvider implements RecordWriterProvider {
     private AvroData avroData;
     private final SchemaStore schemaStore;
     private final StorageManager storageManager;
-    private CompressionCodecName compressionCodec;
+    private CompressionPool compressionPool;
+    private FieldProjection projection;
+    private ParquetWriterProperties properties;
+    private ParquetWriterResources resources;
 
     /**
      * Constructs {@link ParquetRecordWriterProvider}.
@@ -52,9 +56,16 @@ public class ParquetRecordWriterProvider implements RecordWriterProvider {
     public void configure(AzureBlobSinkConfig config) {
 
         this.blockSize = config.getBlockSize();
+        this.projection = FieldProjection.fromConfig(config);
 
         configureAvroData(config);
-        configureCompressionCodec(config);
+        configureWriterProperties(config);
+        this.resources = new ParquetWriterResources();
+
+        if (config.getCompressionThreads() > 0) {
+            this.compressionPool = new CompressionPool(config.getCompressionThreads());
+            log.debug("Configured {} compression threads", config.getCompressionThreads());
+        }
     }
 
     /**
@@ -67,7 +78,7 @@ public class ParquetRecordWriterProvider implements RecordWriterProvider {
     public RecordWriter getRecordWriter(String blobName, String kafkaTopic) {
 
         String blobNameWithExtension = blobName
-                + this.compressionCodec.getExtension()
+                + this.properties.getCompressionCodec().getExtension()
                 + getExtension();
 
         return new ParquetRecordWriter(
@@ -76,11 +87,28 @@ public class ParquetRecordWriterProvider implements RecordWriterProvider {
                 blockSize,
                 blobNameWithExtension,
                 kafkaTopic,
-                compressionCodec,
-                avroData
+                properties,
+                resources,
+                compressionPool,
+                avroData,
+                projection
         );
     }
 
+    /**
+     * Stops the compression threads, if any, and releases the<br>
+     * pooled compressors.
+     */
+    @Override
+    public void close() {
+        if (compressionPool != null) {
+            compressionPool.close();
+        }
+        if (resources != null) {
+            resources.close();
+        }
+    }
+
     /**
      * Configures the {@link AvroData} with below properties.<br>
      * <br>
@@ -133,20 +161,24 @@ public class ParquetRecordWriterProvider implements RecordWriterProvider {
     }
 
     /**
-     * Configures the {@link CompressionCodecName}.<br>
-     * It configures it based on the {@link AzureBlobSinkConfig#PARQUET_CODEC_CONF parquet.codec}<br>
-     * property configured by the user.
+     * Configures the {@link ParquetWriterProperties}.<br>
+     * It configures the compression codec, row group size, page sizes,<br>
+     * dictionary encoding and writer version based on the parquet.*<br>
+     * properties configured by the user.
      * <br>
      *
      * @param config Connector configuration
      */
-    private void configureCompressionCodec(AzureBlobSinkConfig config) {
+    private void configureWriterProperties(AzureBlobSinkConfig config) {
 
-        this.compressionCodec = CompressionCodecName.fromConf(
-                config.getParquetCompressionCodec()
-        );
+        this.properties = new ParquetWriterProperties(config);
 
-        log.debug("Configured compression codec: {}", config.getParquetCompressionCodec());
+        log.debug("Configured compression codec: {}, row group size: {}, page size: {}, writer version: {}",
+                properties.getCompressionCodec(),
+                properties.getRowGroupSize(),
+                properties.getPageSize(),
+                properties.getWriterVersion()
+        );
     }
 
     /**
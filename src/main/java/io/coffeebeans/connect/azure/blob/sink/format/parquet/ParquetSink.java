@@ -0,0 +1,48 @@
+package io.coffeebeans.connect.azure.blob.sink.format.parquet;
+
+import java.io.Closeable;
+import java.io.IOException;
+import org.apache.avro.generic.GenericRecord;
+import org.apache.parquet.hadoop.ParquetWriter;
+
+/**
+ * Writes Avro records to a single Parquet file. It lets<br>
+ * {@link ParquetRecordWriter} use either the standard {@link ParquetWriter}<br>
+ * or the {@link LightweightParquetWriter}.
+ */
+interface ParquetSink extends Closeable {
+
+    void write(GenericRecord record) throws IOException;
+
+    /**
+     * The amount of data written so far, including the buffered row group.
+     *
+     * @return amount of data written so far
+     */
+    long getDataSize();
+
+    /**
+     * Adapts the standard {@link ParquetWriter}.
+     *
+     * @param writer Parquet writer
+     * @return Parquet sink writing through the given writer
+     */
+    static ParquetSink of(ParquetWriter<GenericRecord> writer) {
+        return new ParquetSink() {
+            @Override
+            public void write(GenericRecord record) throws IOException {
+                writer.write(record);
+            }
+
+            @Override
+            public long getDataSize() {
+                return writer.getDataSize();
+            }
+
+            @Override
+            public void close() throws IOException {
+                writer.close();
+            }
+        };
+    }
+}
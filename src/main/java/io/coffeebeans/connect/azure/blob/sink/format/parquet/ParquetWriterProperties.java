@@ -0,0 +1,276 @@
+package io.coffeebeans.connect.azure.blob.sink.format.parquet;
+
+import static io.coffeebeans.connect.azure.blob.sink.config.AzureBlobSinkConfig.TOPIC_PARQUET_BLOOM_FILTER_COLUMNS_SUFFIX;
+
+import io.coffeebeans.connect.azure.blob.sink.config.AzureBlobSinkConfig;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.stream.Collectors;
+import org.apache.kafka.common.config.ConfigException;
+import org.apache.parquet.column.ParquetProperties;
+import org.apache.parquet.column.ParquetProperties.WriterVersion;
+import org.apache.parquet.column.values.bloomfilter.BlockSplitBloomFilter;
+import org.apache.parquet.hadoop.ParquetWriter;
+import org.apache.parquet.hadoop.metadata.CompressionCodecName;
+
+/**
+ * Tuning properties of the Parquet writers, derived from the<br>
+ * connector configuration. Shared by all the {@link ParquetRecordWriter}<br>
+ * instances of a task.
+ *
+ * <p>Bloom filter columns can be configured per topic, other properties
+ * apply to all the topics. Column and offset indexes are always written
+ * by the Parquet file writer, their granularity is controlled by the
+ * page size and the page row count limit.
+ */
+public class ParquetWriterProperties {
+
+    private static final String NDV_SEPARATOR = ":";
+    private static final String HADOOP_OUTPUT_FORMAT_CLASS = "org.apache.hadoop.mapreduce.lib.output.FileOutputFormat";
+
+    private final int pageSize;
+    private final int batchSize;
+    private final int pageRowCountLimit;
+    private final double bloomFilterFpp;
+    private final int rowGroupSize;
+    private final int dictionaryPageSize;
+    private final boolean dictionaryEnabled;
+    private final WriterVersion writerVersion;
+    private final List<String> dictionaryEnabledColumns;
+    private final List<String> dictionaryDisabledColumns;
+    private final CompressionCodecName compressionCodec;
+    private final Map<String, Long> bloomFilterColumns;
+    private final Map<String, Map<String, Long>> topicBloomFilterColumns;
+
+    /**
+     * Constructs {@link ParquetWriterProperties}.
+     *
+     * @param config Connector configuration
+     */
+    public ParquetWriterProperties(AzureBlobSinkConfig config) {
+        this.pageSize = config.getParquetPageSize();
+        this.pageRowCountLimit = config.getParquetPageRowCountLimit();
+        this.batchSize = config.getParquetBatchSize();
+        this.rowGroupSize = config.isParquetRowGroupAlignedWithBlockSize()
+                ? config.getBlockSize()
+                : config.getParquetRowGroupSize();
+
+        this.dictionaryPageSize = config.getParquetDictionaryPageSize();
+        this.dictionaryEnabled = config.isParquetDictionaryEnabled();
+        this.dictionaryEnabledColumns = config.getParquetDictionaryEnabledColumns();
+        this.dictionaryDisabledColumns = config.getParquetDictionaryDisabledColumns();
+
+        this.writerVersion = WriterVersion.fromString(
+                config.getParquetWriterVersion().toLowerCase(Locale.ROOT)
+        );
+        this.compressionCodec = CompressionCodecName.fromConf(
+                config.getParquetCompressionCodec()
+        );
+        if (!supportsLightweightWriter()) {
+            requireStandardWriterClass(HADOOP_OUTPUT_FORMAT_CLASS);
+        }
+
+        this.bloomFilterFpp = config.getParquetBloomFilterFpp();
+        this.bloomFilterColumns = parseBloomFilterColumns(
+                config.getParquetBloomFilterColumns(), config.getParquetBloomFilterExpectedNdv()
+        );
+        this.topicBloomFilterColumns = new HashMap<>();
+
+        for (Map.Entry<String, String> entry : config.originalsStrings().entrySet()) {
+            if (!entry.getKey().endsWith(TOPIC_PARQUET_BLOOM_FILTER_COLUMNS_SUFFIX)) {
+                continue;
+            }
+            String topic = entry.getKey().substring(
+                    0, entry.getKey().length() - TOPIC_PARQUET_BLOOM_FILTER_COLUMNS_SUFFIX.length()
+            );
+            List<String> columns = Arrays.stream(entry.getValue().split(","))
+                    .map(String::trim)
+                    .filter(column -> !column.isEmpty())
+                    .collect(Collectors.toList());
+
+            topicBloomFilterColumns.put(
+                    topic, parseBloomFilterColumns(columns, config.getParquetBloomFilterExpectedNdv())
+            );
+        }
+    }
+
+    /**
+     * The standard Parquet writer goes through the Hadoop output format,<br>
+     * from hadoop-mapreduce-client-core. The dependency is optional and<br>
+     * left out of the lightweight package, so the writer version needing<br>
+     * it is rejected when it is missing, instead of failing every file.
+     *
+     * @param className Class needed by the standard Parquet writer
+     * @throws ConfigException If the class is not on the class path
+     */
+    static void requireStandardWriterClass(String className) {
+        try {
+            Class.forName(className, false, ParquetWriterProperties.class.getClassLoader());
+
+        } catch (ClassNotFoundException | LinkageError e) {
+            throw new ConfigException(AzureBlobSinkConfig.PARQUET_WRITER_VERSION_CONF, "v2",
+                    "The v2 writer version needs hadoop-mapreduce-client-core on the plugin path, "
+                            + "it is not part of the lightweight package");
+        }
+    }
+
+    /**
+     * Applies the properties to the builder of the Parquet writer.
+     *
+     * @param builder Parquet writer builder
+     * @param topic Kafka topic of the records written by the writer
+     * @param <T> Type of the records written by the writer
+     */
+    public <T> void configure(ParquetWriter.Builder<T, ?> builder, String topic) {
+        builder.withCompressionCodec(compressionCodec)
+                .withRowGroupSize(rowGroupSize)
+                .withPageSize(pageSize)
+                .withPageRowCountLimit(pageRowCountLimit)
+                .withDictionaryPageSize(dictionaryPageSize)
+                .withDictionaryEncoding(dictionaryEnabled)
+                .withWriterVersion(writerVersion);
+
+        for (String column : dictionaryEnabledColumns) {
+            builder.withDictionaryEncoding(column, true);
+        }
+        for (String column : dictionaryDisabledColumns) {
+            builder.withDictionaryEncoding(column, false);
+        }
+        for (Map.Entry<String, Long> column : getBloomFilterColumns(topic).entrySet()) {
+            builder.withBloomFilterEnabled(column.getKey(), true)
+                    .withBloomFilterNDV(column.getKey(), sizingNdv(column.getValue()));
+        }
+    }
+
+    /**
+     * Parquet 1.12 sizes the bloom filters for a fixed false positive<br>
+     * probability of {@link BlockSplitBloomFilter#DEFAULT_FPP}. The bits<br>
+     * needed grow linearly with the number of distinct values, so the<br>
+     * configured probability is honoured by scaling the expected number<br>
+     * of distinct values handed to the writer.
+     *
+     * @param ndv Expected number of distinct values
+     * @return Number of distinct values to size the bloom filter with
+     */
+    long sizingNdv(long ndv) {
+        double scale = Math.log(1 - Math.pow(BlockSplitBloomFilter.DEFAULT_FPP, 1.0 / 8))
+                / Math.log(1 - Math.pow(bloomFilterFpp, 1.0 / 8));
+
+        return (long) Math.ceil(ndv * scale);
+    }
+
+    /**
+     * Builds the encoding properties of the column writers, used when<br>
+     * the column chunks are assembled by {@link LightweightParquetWriter}.
+     *
+     * @param topic Kafka topic of the records written by the writer
+     * @return Parquet encoding properties
+     */
+    public ParquetProperties toParquetProperties(String topic) {
+        ParquetProperties.Builder builder = ParquetProperties.builder()
+                .withPageSize(pageSize)
+                .withPageRowCountLimit(pageRowCountLimit)
+                .withDictionaryPageSize(dictionaryPageSize)
+                .withDictionaryEncoding(dictionaryEnabled)
+                .withWriterVersion(writerVersion);
+
+        for (String column : dictionaryEnabledColumns) {
+            builder.withDictionaryEncoding(column, true);
+        }
+        for (String column : dictionaryDisabledColumns) {
+            builder.withDictionaryEncoding(column, false);
+        }
+        for (Map.Entry<String, Long> column : getBloomFilterColumns(topic).entrySet()) {
+            builder.withBloomFilterEnabled(column.getKey(), true)
+                    .withBloomFilterNDV(column.getKey(), sizingNdv(column.getValue()));
+        }
+        return builder.build();
+    }
+
+    /**
+     * {@link LightweightParquetWriter} writes v1 data pages only. v2 data<br>
+     * pages are written by the standard Parquet writer.
+     *
+     * @return whether the lightweight writer is supported
+     */
+    public boolean supportsLightweightWriter() {
+        return writerVersion == WriterVersion.PARQUET_1_0;
+    }
+
+    /**
+     * Returns the bloom filter columns of the given topic mapped to their<br>
+     * expected number of distinct values. Topics without an override get<br>
+     * the columns of {@link AzureBlobSinkConfig#PARQUET_BLOOM_FILTER_COLUMNS_CONF}.
+     *
+     * @param topic Kafka topic
+     * @return Bloom filter columns
+     */
+    public Map<String, Long> getBloomFilterColumns(String topic) {
+        return topicBloomFilterColumns.getOrDefault(topic, bloomFilterColumns);
+    }
+
+    /**
+     * Parses the column[:ndv] entries of the bloom filter columns configuration.
+     *
+     * @param columns Configured entries
+     * @param defaultNdv Expected number of distinct values of the entries without one
+     * @return Column paths mapped to their expected number of distinct values
+     * @throws ConfigException If an entry has an invalid number of distinct values
+     */
+    private static Map<String, Long> parseBloomFilterColumns(List<String> columns, long defaultNdv) {
+        Map<String, Long> parsed = new LinkedHashMap<>();
+
+        for (String column : columns) {
+            int separator = column.lastIndexOf(NDV_SEPARATOR);
+            if (separator < 0) {
+                parsed.put(column, defaultNdv);
+                continue;
+            }
+            long ndv = parseNdv(column.substring(separator + 1).trim());
+            if (ndv < 1) {
+                throw new ConfigException("Invalid expected number of distinct values for bloom filter column: "
+                        + column);
+            }
+            parsed.put(column.substring(0, separator).trim(), ndv);
+        }
+        return Collections.unmodifiableMap(parsed);
+    }
+
+    private static long parseNdv(String ndv) {
+        try {
+            return Long.parseLong(ndv);
+
+        } catch (NumberFormatException e) {
+            return -1L;
+        }
+    }
+
+    public CompressionCodecName getCompressionCodec() {
+        return compressionCodec;
+    }
+
+    public int getRowGroupSize() {
+        return rowGroupSize;
+    }
+
+    public int getPageSize() {
+        return pageSize;
+    }
+
+    public int getPageRowCountLimit() {
+        return pageRowCountLimit;
+    }
+
+    public WriterVersion getWriterVersion() {
+        return writerVersion;
+    }
+
+    public int getBatchSize() {
+        return batchSize;
+    }
+}
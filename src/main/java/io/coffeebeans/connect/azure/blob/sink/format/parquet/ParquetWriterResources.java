@@ -0,0 +1,123 @@
+package io.coffeebeans.connect.azure.blob.sink.format.parquet;
+
+import java.io.Closeable;
+import java.util.Map;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import org.apache.hadoop.conf.Configuration;
+import org.apache.parquet.avro.AvroWriteSupport;
+import org.apache.parquet.column.ParquetProperties;
+import org.apache.parquet.hadoop.CodecFactory;
+import org.apache.parquet.hadoop.metadata.CompressionCodecName;
+
+/**
+ * Resources shared by all the Parquet writers of a task, so that<br>
+ * rotating a file does not pay for them again.
+ *
+ * <p>The Hadoop {@link Configuration} is created once, without loading
+ * the default XML resources, and must not be modified once built. The
+ * compressors used by the {@link ParallelPageWriteStore} are pooled, a
+ * compressor is used by a single thread at a time. The Hadoop codecs are
+ * only loaded for the codecs {@link PageCompressor} does not support.
+ */
+public class ParquetWriterResources implements Closeable {
+
+    private final Configuration configuration;
+    private final Configuration newListStructureConfiguration;
+    private final Map<CompressionCodecName, Queue<PageCompressor>> idleCompressors;
+
+    private volatile CompressorFactory compressorFactory;
+
+    /**
+     * Constructs {@link ParquetWriterResources}.
+     */
+    public ParquetWriterResources() {
+        this.configuration = new Configuration(false);
+
+        this.newListStructureConfiguration = new Configuration(configuration);
+        newListStructureConfiguration.setBoolean(AvroWriteSupport.WRITE_OLD_LIST_STRUCTURE, false);
+
+        this.idleCompressors = new ConcurrentHashMap<>();
+    }
+
+    /**
+     * Shared configuration of the writers. The list structure of Parquet<br>
+     * has to be used when the schema has an array of optional items, as<br>
+     * the old one cannot hold null items.
+     *
+     * @param arrayOfOptionalItems Whether the schema has an array of optional items
+     * @return Configuration, not to be modified
+     */
+    public Configuration getConfiguration(boolean arrayOfOptionalItems) {
+        return arrayOfOptionalItems ? newListStructureConfiguration : configuration;
+    }
+
+    /**
+     * Takes an idle compressor of the codec from the pool, or creates one.
+     *
+     * @param codec Compression codec
+     * @return Compressor, to be given back with {@link #releaseCompressor(PageCompressor)}
+     */
+    PageCompressor borrowCompressor(CompressionCodecName codec) {
+        PageCompressor compressor = idleCompressors(codec).poll();
+        if (compressor != null) {
+            return compressor;
+        }
+        compressor = PageCompressor.create(codec);
+
+        return compressor != null ? compressor : PageCompressor.of(compressorFactory().newCompressor(codec));
+    }
+
+    /**
+     * Gives back a compressor to the pool.
+     *
+     * @param compressor Compressor taken with {@link #borrowCompressor(CompressionCodecName)}
+     */
+    void releaseCompressor(PageCompressor compressor) {
+        idleCompressors(compressor.getCodecName()).offer(compressor);
+    }
+
+    /**
+     * Releases the pooled compressors.
+     */
+    @Override
+    public void close() {
+        for (Queue<PageCompressor> compressors : idleCompressors.values()) {
+            PageCompressor compressor;
+            while ((compressor = compressors.poll()) != null) {
+                compressor.release();
+            }
+        }
+    }
+
+    private Queue<PageCompressor> idleCompressors(CompressionCodecName codec) {
+        return idleCompressors.computeIfAbsent(codec, key -> new ConcurrentLinkedQueue<>());
+    }
+
+    private CompressorFactory compressorFactory() {
+        if (compressorFactory == null) {
+            synchronized (this) {
+                if (compressorFactory == null) {
+                    compressorFactory = new CompressorFactory(configuration);
+                }
+            }
+        }
+        return compressorFactory;
+    }
+
+    /**
+     * {@link CodecFactory} caches a single compressor per codec, this one<br>
+     * creates a new compressor on every call.
+     */
+    private static class CompressorFactory extends CodecFactory {
+
+        private CompressorFactory(Configuration configuration) {
+            super(configuration, ParquetProperties.DEFAULT_PAGE_SIZE);
+        }
+
+        private BytesCompressor newCompressor(CompressionCodecName codec) {
+            return createCompressor(codec);
+        }
+    }
+}
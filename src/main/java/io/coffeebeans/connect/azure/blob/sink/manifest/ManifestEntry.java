@@ -0,0 +1,191 @@
+package io.coffeebeans.connect.azure.blob.sink.manifest;
+
+import com.fasterxml.jackson.core.JsonGenerator;
+import java.io.IOException;
+import java.math.BigDecimal;
+import java.util.Date;
+import java.util.List;
+import java.util.Map;
+import org.apache.kafka.connect.data.Field;
+import org.apache.kafka.connect.data.Struct;
+import org.apache.kafka.connect.sink.SinkRecord;
+
+/**
+ * Statistics of the records written to a blob, collected incrementally<br>
+ * as they are written: record count, offset and timestamp ranges, and<br>
+ * the minimum and maximum values of the configured columns.
+ *
+ * <p>The columns are read from the top level fields of {@link Struct}
+ * and {@link Map} values. Numbers, strings and timestamps are compared,
+ * the other values are ignored, as are the values of a column whose
+ * type changes within the blob.
+ */
+public class ManifestEntry {
+    private final List<String> columns;
+    private final Object[] minValues;
+    private final Object[] maxValues;
+
+    private long recordCount;
+    private long startOffset;
+    private long endOffset;
+    private Long minTimestamp;
+    private Long maxTimestamp;
+
+    /**
+     * Constructs {@link ManifestEntry}.
+     *
+     * @param columns Top level fields whose minimum and maximum values are collected
+     */
+    public ManifestEntry(List<String> columns) {
+        this.columns = columns;
+        this.minValues = new Object[columns.size()];
+        this.maxValues = new Object[columns.size()];
+    }
+
+    /**
+     * Adds a record written to the blob.
+     *
+     * @param record Record written
+     */
+    public void update(SinkRecord record) {
+        if (recordCount++ == 0) {
+            startOffset = record.kafkaOffset();
+        }
+        endOffset = record.kafkaOffset();
+
+        Long timestamp = record.timestamp();
+        if (timestamp != null) {
+            minTimestamp = minTimestamp == null ? timestamp : Math.min(minTimestamp, timestamp);
+            maxTimestamp = maxTimestamp == null ? timestamp : Math.max(maxTimestamp, timestamp);
+        }
+
+        for (int i = 0; i < columns.size(); i++) {
+            Object value = normalize(fieldValue(record.value(), columns.get(i)));
+            if (value == null) {
+                continue;
+            }
+            if (minValues[i] == null || isLower(value, minValues[i])) {
+                minValues[i] = value;
+            }
+            if (maxValues[i] == null || isLower(maxValues[i], value)) {
+                maxValues[i] = value;
+            }
+        }
+    }
+
+    public long getRecordCount() {
+        return recordCount;
+    }
+
+    public long getStartOffset() {
+        return startOffset;
+    }
+
+    public long getEndOffset() {
+        return endOffset;
+    }
+
+    public Long getMinTimestamp() {
+        return minTimestamp;
+    }
+
+    public Long getMaxTimestamp() {
+        return maxTimestamp;
+    }
+
+    /**
+     * Writes the statistics as fields of the current JSON object.
+     *
+     * @param generator JSON generator, inside an object
+     * @throws IOException If the generator fails to write
+     */
+    public void writeFields(JsonGenerator generator) throws IOException {
+        generator.writeNumberField("records", recordCount);
+        generator.writeNumberField("start_offset", startOffset);
+        generator.writeNumberField("end_offset", endOffset);
+
+        if (minTimestamp != null) {
+            generator.writeNumberField("min_timestamp", minTimestamp);
+            generator.writeNumberField("max_timestamp", maxTimestamp);
+        }
+        if (columns.isEmpty()) {
+            return;
+        }
+        generator.writeObjectFieldStart("columns");
+
+        for (int i = 0; i < columns.size(); i++) {
+            if (minValues[i] == null) {
+                continue;
+            }
+            generator.writeObjectFieldStart(columns.get(i));
+            writeValue(generator, "min", minValues[i]);
+            writeValue(generator, "max", maxValues[i]);
+            generator.writeEndObject();
+        }
+        generator.writeEndObject();
+    }
+
+    private static Object fieldValue(Object value, String column) {
+        if (value instanceof Struct) {
+            Struct struct = (Struct) value;
+            Field field = struct.schema().field(column);
+
+            return field == null ? null : struct.get(field);
+        }
+        if (value instanceof Map) {
+            return ((Map<?, ?>) value).get(column);
+        }
+        return null;
+    }
+
+    /**
+     * Converts the value to a type compared and written the same way<br>
+     * whatever its schema: integers to long, floating points to double<br>
+     * and timestamps to epoch milliseconds. NaN and infinite values,<br>
+     * which cannot be written in JSON, are not compared.
+     *
+     * @param value Value of a column
+     * @return Normalized value, or null if the value is not compared
+     */
+    private static Object normalize(Object value) {
+        if (value instanceof Long || value instanceof Integer || value instanceof Short || value instanceof Byte) {
+            return ((Number) value).longValue();
+        }
+        if (value instanceof Double || value instanceof Float) {
+            double doubleValue = ((Number) value).doubleValue();
+            return Double.isFinite(doubleValue) ? doubleValue : null;
+        }
+        if (value instanceof Date) {
+            return ((Date) value).getTime();
+        }
+        if (value instanceof String || value instanceof BigDecimal) {
+            return value;
+        }
+        return null;
+    }
+
+    @SuppressWarnings("unchecked")
+    private static boolean isLower(Object value, Object other) {
+        if (value.getClass() == other.getClass()) {
+            return ((Comparable<Object>) value).compareTo(other) < 0;
+        }
+        if (value instanceof Number && other instanceof Number) {
+            return ((Number) value).doubleValue() < ((Number) other).doubleValue();
+        }
+        return false;
+    }
+
+    private static void writeValue(JsonGenerator generator, String name, Object value) throws IOException {
+        generator.writeFieldName(name);
+
+        if (value instanceof Long) {
+            generator.writeNumber((Long) value);
+        } else if (value instanceof Double) {
+            generator.writeNumber((Double) value);
+        } else if (value instanceof BigDecimal) {
+            generator.writeNumber((BigDecimal) value);
+        } else {
+            generator.writeString((String) value);
+        }
+    }
+}
@@ -0,0 +1,148 @@
+package io.coffeebeans.connect.azure.blob.sink.manifest;
+
+import com.fasterxml.jackson.core.JsonFactory;
+import com.fasterxml.jackson.core.JsonGenerator;
+import io.coffeebeans.connect.azure.blob.sink.config.AzureBlobSinkConfig;
+import io.coffeebeans.connect.azure.blob.sink.storage.StorageManager;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.time.Instant;
+import java.time.ZoneOffset;
+import java.time.format.DateTimeFormatter;
+import java.util.List;
+import org.apache.kafka.common.TopicPartition;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Appends an entry per committed blob to a JSON lines manifest per<br>
+ * topic and day, enabled with {@link AzureBlobSinkConfig#MANIFEST_ENABLED_CONF manifest.enabled}.
+ *
+ * <pre>
+ *     &lt;topics.dir&gt;/&lt;topic&gt;/_manifest/&lt;yyyy-MM-dd&gt;.jsonl
+ * </pre>
+ *
+ * <p>The manifests are append blobs, so that the tasks writing the
+ * partitions of a topic can append to the same manifest. Readers can
+ * prune the blobs with the offset, timestamp and column ranges of the
+ * entries instead of listing the container. An entry is appended once
+ * the blob is committed, asynchronously, and a failed append is only
+ * logged: it does not fail the blob.
+ */
+public class ManifestWriter {
+    private static final Logger log = LoggerFactory.getLogger(ManifestWriter.class);
+
+    public static final String MANIFEST_DIR = "_manifest";
+    public static final String MANIFEST_EXTENSION = ".jsonl";
+    private static final DateTimeFormatter DATE_FORMATTER = DateTimeFormatter.ISO_LOCAL_DATE
+            .withZone(ZoneOffset.UTC);
+
+    private final StorageManager storageManager;
+    private final String topicsDir;
+    private final String directoryDelim;
+    private final List<String> columns;
+    private final JsonFactory jsonFactory;
+
+    /**
+     * Constructs {@link ManifestWriter}.
+     *
+     * @param storageManager Storage the manifests are appended to
+     * @param topicsDir Parent directory of the topics
+     * @param directoryDelim Directory delimiter
+     * @param columns Top level fields whose minimum and maximum values are written
+     */
+    public ManifestWriter(StorageManager storageManager, String topicsDir, String directoryDelim,
+                          List<String> columns) {
+
+        this.storageManager = storageManager;
+        this.topicsDir = topicsDir;
+        this.directoryDelim = directoryDelim;
+        this.columns = List.copyOf(columns);
+        this.jsonFactory = new JsonFactory();
+    }
+
+    /**
+     * Creates the manifest writer configured by the user.
+     *
+     * @param config Connector configuration
+     * @param storageManager Storage the manifests are appended to
+     * @return Manifest writer, or null if the manifest is not enabled
+     */
+    public static ManifestWriter fromConfig(AzureBlobSinkConfig config, StorageManager storageManager) {
+        if (!config.isManifestEnabled()) {
+            return null;
+        }
+        return new ManifestWriter(
+                storageManager, config.getTopicsDir(), config.getDirectoryDelim(), config.getManifestColumns()
+        );
+    }
+
+    /**
+     * Returns a new entry, to collect the statistics of a blob.
+     *
+     * @return Empty manifest entry
+     */
+    public ManifestEntry newEntry() {
+        return new ManifestEntry(columns);
+    }
+
+    /**
+     * Appends the entry of a committed blob to the manifest of its topic<br>
+     * and day, without waiting for the append to complete.
+     *
+     * @param topicPartition Topic partition of the records of the blob
+     * @param blobName Name of the committed blob
+     * @param blobSize Size of the committed blob in bytes
+     * @param entry Statistics of the records of the blob
+     */
+    public void append(TopicPartition topicPartition, String blobName, long blobSize, ManifestEntry entry) {
+        long commitTime = System.currentTimeMillis();
+        String manifestBlobName = manifestBlobName(topicPartition.topic(), commitTime);
+        byte[] line;
+
+        try {
+            line = toJsonLine(topicPartition, blobName, blobSize, commitTime, entry);
+
+        } catch (IOException e) {
+            log.error("Failed to serialize the manifest entry of blob: {}", blobName, e);
+            return;
+        }
+        storageManager.appendAsync(manifestBlobName, line)
+                .subscribe(
+                        success -> log.debug("Appended blob: {} to manifest: {}", blobName, manifestBlobName),
+                        error -> log.error("Failed to append blob: {} to manifest: {} with message: {}",
+                                blobName, manifestBlobName, error.getMessage())
+                );
+    }
+
+    /**
+     * Returns the name of the manifest of a topic, for the day of a time.
+     *
+     * @param topic Kafka topic
+     * @param timeMs Time in epoch milliseconds, in UTC
+     * @return Manifest blob name
+     */
+    public String manifestBlobName(String topic, long timeMs) {
+        return topicsDir + directoryDelim + topic + directoryDelim + MANIFEST_DIR + directoryDelim
+                + DATE_FORMATTER.format(Instant.ofEpochMilli(timeMs)) + MANIFEST_EXTENSION;
+    }
+
+    private byte[] toJsonLine(TopicPartition topicPartition, String blobName, long blobSize, long commitTime,
+                              ManifestEntry entry) throws IOException {
+
+        ByteArrayOutputStream outputStream = new ByteArrayOutputStream(256);
+
+        try (JsonGenerator generator = jsonFactory.createGenerator(outputStream)) {
+            generator.writeStartObject();
+            generator.writeStringField("blob", blobName);
+            generator.writeNumberField("size", blobSize);
+            generator.writeStringField("topic", topicPartition.topic());
+            generator.writeNumberField("partition", topicPartition.partition());
+            generator.writeNumberField("committed_at", commitTime);
+            entry.writeFields(generator);
+            generator.writeEndObject();
+        }
+        outputStream.write('\n');
+        return outputStream.toByteArray();
+    }
+}
@@ -0,0 +1,355 @@
+package io.coffeebeans.connect.azure.blob.sink.metrics;
+
+import com.azure.storage.blob.models.BlobStorageException;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.IntSupplier;
+import org.apache.kafka.common.MetricName;
+import org.apache.kafka.common.TopicPartition;
+import org.apache.kafka.common.metrics.Gauge;
+import org.apache.kafka.common.metrics.JmxReporter;
+import org.apache.kafka.common.metrics.KafkaMetricsContext;
+import org.apache.kafka.common.metrics.MetricConfig;
+import org.apache.kafka.common.metrics.Metrics;
+import org.apache.kafka.common.metrics.Sensor;
+import org.apache.kafka.common.metrics.stats.Avg;
+import org.apache.kafka.common.metrics.stats.CumulativeCount;
+import org.apache.kafka.common.metrics.stats.Max;
+import org.apache.kafka.common.metrics.stats.Meter;
+import org.apache.kafka.common.metrics.stats.Percentile;
+import org.apache.kafka.common.metrics.stats.Percentiles;
+import org.apache.kafka.common.metrics.stats.Percentiles.BucketSizing;
+import org.apache.kafka.common.utils.Time;
+
+/**
+ * Metrics of a sink task, registered with Kafka {@link Metrics} and<br>
+ * exposed through JMX under the {@value #JMX_PREFIX} domain.
+ *
+ * <ul>
+ *     <li>{@value #TASK_GROUP}: records put and bytes sent per second</li>
+ *     <li>{@value #PARTITION_GROUP}: open writers, buffered records,
+ *     block buffers and rotations by reason, per topic partition</li>
+ *     <li>{@value #TOPIC_GROUP}: time from the oldest record of a file
+ *     to its commit, per topic</li>
+ *     <li>{@value #STORAGE_GROUP}: stage and commit latencies, blocks
+ *     in flight, retries and throttling</li>
+ * </ul>
+ *
+ * <p>The records are counted once per batch and the storage calls once
+ * per block, the records themselves are not measured.
+ */
+public class AzureBlobSinkMetrics implements AutoCloseable {
+    public static final String JMX_PREFIX = "kafka.connect.azure.blob";
+    public static final String TASK_GROUP = "sink-task-metrics";
+    public static final String PARTITION_GROUP = "sink-partition-metrics";
+    public static final String TOPIC_GROUP = "sink-topic-metrics";
+    public static final String STORAGE_GROUP = "storage-metrics";
+
+    private static final int HISTOGRAM_SIZE_BYTES = 4096;
+    private static final double MAX_LATENCY_MS = 120_000;
+    private static final double MAX_FRESHNESS_LAG_MS = 3_600_000;
+    private static final int SERVER_BUSY = 503;
+    private static final int TOO_MANY_REQUESTS = 429;
+
+    private final Metrics metrics;
+    private final Map<String, String> tags;
+    private final AtomicInteger inFlightBlocks;
+
+    private final Sensor records;
+    private final Sensor bytes;
+    private final Sensor stageLatency;
+    private final Sensor commitLatency;
+    private final Sensor retries;
+    private final Sensor throttles;
+
+    /**
+     * Constructs {@link AzureBlobSinkMetrics} reported through JMX.
+     *
+     * @param connectorName Name of the connector of the task
+     * @param taskId Id of the task among the tasks of the connector
+     */
+    public AzureBlobSinkMetrics(String connectorName, String taskId) {
+        this(connectorName, taskId, new Metrics(
+                new MetricConfig(), List.of(new JmxReporter()), Time.SYSTEM, new KafkaMetricsContext(JMX_PREFIX)
+        ));
+    }
+
+    /**
+     * Constructs {@link AzureBlobSinkMetrics}.
+     *
+     * @param connectorName Name of the connector of the task
+     * @param taskId Id of the task among the tasks of the connector
+     * @param metrics Registry of the metrics
+     */
+    public AzureBlobSinkMetrics(String connectorName, String taskId, Metrics metrics) {
+        this.metrics = metrics;
+        this.tags = new HashMap<>();
+        this.tags.put("connector", String.valueOf(connectorName));
+        this.tags.put("task", String.valueOf(taskId));
+        this.inFlightBlocks = new AtomicInteger();
+
+        this.records = metrics.sensor(sensorName("records"));
+        this.records.add(new Meter(
+                name("record-rate", TASK_GROUP, "Records put to the task per second", tags),
+                name("record-total", TASK_GROUP, "Records put to the task", tags)
+        ));
+        this.bytes = metrics.sensor(sensorName("bytes"));
+        this.bytes.add(new Meter(
+                name("byte-rate", TASK_GROUP, "Bytes sent to the storage per second", tags),
+                name("byte-total", TASK_GROUP, "Bytes sent to the storage", tags)
+        ));
+
+        this.stageLatency = latencySensor("stage", "staging of a block");
+        this.commitLatency = latencySensor("commit", "commit of a block list");
+
+        this.retries = metrics.sensor(sensorName("retries"));
+        this.retries.add(
+                name("retry-total", STORAGE_GROUP, "Storage requests retried", tags), new CumulativeCount()
+        );
+        this.throttles = metrics.sensor(sensorName("throttles"));
+        this.throttles.add(
+                name("throttle-total", STORAGE_GROUP, "Storage requests throttled, with status 429 or 503", tags),
+                new CumulativeCount()
+        );
+        metrics.addMetric(
+                name("blocks-in-flight", STORAGE_GROUP, "Blocks being staged", tags),
+                (Gauge<Integer>) (config, now) -> inFlightBlocks.get()
+        );
+    }
+
+    /**
+     * Records the records of a batch put to the task.
+     *
+     * @param count Number of records
+     */
+    public void recordRecords(int count) {
+        records.record(count);
+    }
+
+    /**
+     * Records the data sent to the storage.
+     *
+     * @param count Number of bytes
+     */
+    public void recordBytes(long count) {
+        bytes.record(count);
+    }
+
+    /**
+     * Records a block sent to the storage, until {@link #recordStaged(long)}.
+     */
+    public void recordStaging() {
+        inFlightBlocks.incrementAndGet();
+    }
+
+    /**
+     * Records a block staged, successfully or not.
+     *
+     * @param latencyMs Time taken to stage the block, negative if it failed
+     */
+    public void recordStaged(long latencyMs) {
+        inFlightBlocks.decrementAndGet();
+
+        if (latencyMs >= 0) {
+            stageLatency.record(latencyMs);
+        }
+    }
+
+    /**
+     * Records a block list committed.
+     *
+     * @param latencyMs Time taken to commit the block list
+     */
+    public void recordCommit(long latencyMs) {
+        commitLatency.record(latencyMs);
+    }
+
+    /**
+     * Records a storage request retried.
+     *
+     * @param failure Failure of the request
+     */
+    public void recordRetry(Throwable failure) {
+        retries.record();
+
+        if (failure instanceof BlobStorageException) {
+            int statusCode = ((BlobStorageException) failure).getStatusCode();
+
+            if (statusCode == SERVER_BUSY || statusCode == TOO_MANY_REQUESTS) {
+                throttles.record();
+            }
+        }
+    }
+
+    /**
+     * Registers the metrics of a topic partition.
+     *
+     * @param topicPartition Topic partition
+     * @param openWriters Number of open writers
+     * @param bufferedRecords Number of records buffered, not written yet
+     * @param blockSize Size of the block buffer of a writer
+     * @return Metrics of the topic partition
+     */
+    public PartitionMetrics registerPartition(TopicPartition topicPartition, IntSupplier openWriters,
+                                              IntSupplier bufferedRecords, int blockSize) {
+
+        return new PartitionMetrics(topicPartition, openWriters, bufferedRecords, blockSize);
+    }
+
+    /**
+     * Unregisters all the metrics.
+     */
+    @Override
+    public void close() {
+        metrics.close();
+    }
+
+    private Sensor latencySensor(String operation, String description) {
+        Sensor sensor = metrics.sensor(sensorName(operation + "-latency"));
+
+        sensor.add(name(operation + "-latency-avg", STORAGE_GROUP, "Average time of the " + description, tags),
+                new Avg());
+        sensor.add(name(operation + "-latency-max", STORAGE_GROUP, "Maximum time of the " + description, tags),
+                new Max());
+        sensor.add(new Percentiles(HISTOGRAM_SIZE_BYTES, MAX_LATENCY_MS, BucketSizing.LINEAR,
+                new Percentile(name(operation + "-latency-p50", STORAGE_GROUP,
+                        "Median time of the " + description, tags), 50),
+                new Percentile(name(operation + "-latency-p99", STORAGE_GROUP,
+                        "99th percentile of the time of the " + description, tags), 99)
+        ));
+        return sensor;
+    }
+
+    /**
+     * Returns the freshness sensor of a topic, shared by its partitions.
+     *
+     * @param topic Topic
+     * @return Freshness sensor
+     */
+    private Sensor freshnessSensor(String topic) {
+        String sensorName = sensorName(topic + ".freshness");
+        Sensor sensor = metrics.getSensor(sensorName);
+        if (sensor != null) {
+            return sensor;
+        }
+        Map<String, String> topicTags = new HashMap<>(tags);
+        topicTags.put("topic", topic);
+
+        sensor = metrics.sensor(sensorName);
+        sensor.add(name("freshness-lag-avg", TOPIC_GROUP, "Average time from the oldest record of a file "
+                + "to its commit", topicTags), new Avg());
+        sensor.add(name("freshness-lag-max", TOPIC_GROUP, "Maximum time from the oldest record of a file "
+                + "to its commit, the worst case lag", topicTags), new Max());
+        sensor.add(new Percentiles(HISTOGRAM_SIZE_BYTES, MAX_FRESHNESS_LAG_MS, BucketSizing.LINEAR,
+                new Percentile(name("freshness-lag-p50", TOPIC_GROUP, "Median time from the oldest record "
+                        + "of a file to its commit", topicTags), 50),
+                new Percentile(name("freshness-lag-p99", TOPIC_GROUP, "99th percentile of the time from the "
+                        + "oldest record of a file to its commit", topicTags), 99)
+        ));
+        return sensor;
+    }
+
+    private String sensorName(String name) {
+        return tags.get("connector") + "." + tags.get("task") + "." + name;
+    }
+
+    private MetricName name(String name, String group, String description, Map<String, String> tags) {
+        return metrics.metricName(name, group, description, tags);
+    }
+
+    /**
+     * Metrics of a topic partition, unregistered when it is closed<br>
+     * or registered again.
+     */
+    public class PartitionMetrics implements AutoCloseable {
+        private final String sensorPrefix;
+        private final Map<String, String> partitionTags;
+        private final Map<RotationReason, Sensor> rotations;
+        private final List<MetricName> gauges;
+        private final Sensor freshness;
+
+        private PartitionMetrics(TopicPartition topicPartition, IntSupplier openWriters,
+                                 IntSupplier bufferedRecords, int blockSize) {
+
+            this.sensorPrefix = sensorName(topicPartition.toString());
+            this.partitionTags = new HashMap<>(tags);
+            this.partitionTags.put("topic", topicPartition.topic());
+            this.partitionTags.put("partition", String.valueOf(topicPartition.partition()));
+
+            this.gauges = List.of(
+                    name("open-writers", PARTITION_GROUP, "Writers with an open file", partitionTags),
+                    name("buffered-records", PARTITION_GROUP, "Records buffered, not written yet", partitionTags),
+                    name("block-buffer-bytes", PARTITION_GROUP, "Bytes allocated to the block buffers of the "
+                            + "open writers", partitionTags)
+            );
+            // A partition opened again replaces the metrics of its previous writer
+            close();
+
+            metrics.addMetric(gauges.get(0), (Gauge<Integer>) (config, now) -> openWriters.getAsInt());
+            metrics.addMetric(gauges.get(1), (Gauge<Integer>) (config, now) -> bufferedRecords.getAsInt());
+            metrics.addMetric(gauges.get(2), (Gauge<Long>) (config, now) -> (long) openWriters.getAsInt() * blockSize);
+
+            this.rotations = new HashMap<>();
+            for (RotationReason reason : RotationReason.values()) {
+                Sensor sensor = metrics.sensor(sensorPrefix + "." + reason.metricPrefix);
+                sensor.add(name(reason.metricPrefix + "-rotation-total", PARTITION_GROUP,
+                        "Files committed on " + reason.description, partitionTags), new CumulativeCount());
+
+                rotations.put(reason, sensor);
+            }
+            this.freshness = freshnessSensor(topicPartition.topic());
+        }
+
+        /**
+         * Records a file committed.
+         *
+         * @param reason Reason of the commit
+         */
+        public void recordRotation(RotationReason reason) {
+            rotations.get(reason).record();
+        }
+
+        /**
+         * Records a file committed, with the timestamp of its oldest record.<br>
+         * Records with a timestamp ahead of the commit count as a lag of zero.
+         *
+         * @param oldestTimestamp Timestamp of the oldest record of the file
+         * @param commitTime Time at which the file was committed
+         */
+        public void recordCommitted(long oldestTimestamp, long commitTime) {
+            freshness.record(Math.max(0L, commitTime - oldestTimestamp), commitTime);
+        }
+
+        /**
+         * Unregisters the metrics of the topic partition.<br>
+         * The metrics of the topic are kept for its other partitions.
+         */
+        @Override
+        public void close() {
+            gauges.forEach(metrics::removeMetric);
+
+            for (RotationReason reason : RotationReason.values()) {
+                metrics.removeSensor(sensorPrefix + "." + reason.metricPrefix);
+            }
+        }
+    }
+
+    /**
+     * Reasons for which a file is committed.
+     */
+    public enum RotationReason {
+        FLUSH_SIZE("flush-size", "reaching flush.size"),
+        ROTATE_INTERVAL("rotate-interval", "reaching rotate.interval.ms"),
+        CLOSE("close", "closing the topic partition");
+
+        private final String metricPrefix;
+        private final String description;
+
+        RotationReason(String metricPrefix, String description) {
+            this.metricPrefix = metricPrefix;
+            this.description = description;
+        }
+    }
+}
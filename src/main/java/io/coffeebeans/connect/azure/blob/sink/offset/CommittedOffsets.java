@@ -0,0 +1,253 @@
+package io.coffeebeans.connect.azure.blob.sink.offset;
+
+import io.coffeebeans.connect.azure.blob.sink.config.AzureBlobSinkConfig;
+import io.coffeebeans.connect.azure.blob.sink.partitioner.BlobShards;
+import io.coffeebeans.connect.azure.blob.sink.partitioner.DefaultPartitioner;
+import io.coffeebeans.connect.azure.blob.sink.partitioner.PartitionStrategy;
+import io.coffeebeans.connect.azure.blob.sink.storage.StorageManager;
+import java.time.Duration;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.stream.Collectors;
+import org.apache.kafka.common.TopicPartition;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import reactor.core.publisher.Flux;
+
+/**
+ * Offsets of the records durably written to the committed blobs.
+ *
+ * <p>Each blob is committed with the offsets of its partition in its
+ * metadata. The committed offset of a blob is the offset up to which all
+ * the records of the partition are in committed blobs: the files of the
+ * other encoded partitions still open hold it back, as their records
+ * interleave with the records of the blob.
+ *
+ * <p>When the recovery is enabled with {@link AzureBlobSinkConfig#OFFSET_RECOVERY_ENABLED_CONF
+ * offset.recovery.enabled}, the blobs of a partition are listed when it is opened,
+ * and the offset found is kept up to date with the blobs committed afterwards
+ * by the task until the partition is closed. Another task may commit blobs of
+ * the partition once it is revoked, so it is listed again on the next open.
+ *
+ * <p>With the default partitioner, only the directory of the partition is
+ * listed. The other partitioners encode the partitions from the records, so
+ * the whole topic is listed, its shards concurrently. The listing gives up
+ * after {@link AzureBlobSinkConfig#OFFSET_RECOVERY_TIMEOUT_MS_CONF offset.recovery.timeout.ms}.
+ */
+public class CommittedOffsets {
+    private static final Logger log = LoggerFactory.getLogger(CommittedOffsets.class);
+    private static final int MAX_CONCURRENT_LISTINGS = 16;
+
+    public static final String PARTITION_METADATA = "kafka_partition";
+    public static final String END_OFFSET_METADATA = "kafka_end_offset";
+    public static final String COMMITTED_OFFSET_METADATA = "kafka_committed_offset";
+
+    private final StorageManager storageManager;
+    private final String topicsDir;
+    private final String directoryDelim;
+    private final BlobShards shards;
+    private final boolean partitionDirectories;
+    private final Duration timeout;
+    private final Map<TopicPartition, Long> offsets;
+    private final Set<TopicPartition> listed;
+
+    /**
+     * Constructs {@link CommittedOffsets}.
+     *
+     * @param storageManager Storage the blobs are listed from
+     * @param topicsDir Parent directory of the topics
+     * @param directoryDelim Directory delimiter
+     * @param shards Shards of the blob names
+     * @param partitionDirectories true if the blobs of a partition are in its own directory
+     * @param timeout Maximum time of a listing
+     */
+    public CommittedOffsets(StorageManager storageManager, String topicsDir, String directoryDelim,
+                            BlobShards shards, boolean partitionDirectories, Duration timeout) {
+
+        this.storageManager = storageManager;
+        this.topicsDir = topicsDir;
+        this.directoryDelim = directoryDelim;
+        this.shards = shards;
+        this.partitionDirectories = partitionDirectories;
+        this.timeout = timeout;
+        this.offsets = new HashMap<>();
+        this.listed = new HashSet<>();
+    }
+
+    /**
+     * Creates the committed offsets configured by the user.
+     *
+     * @param config Connector configuration
+     * @param storageManager Storage the blobs are listed from
+     * @return Committed offsets, or null if the offset recovery is not enabled
+     */
+    public static CommittedOffsets fromConfig(AzureBlobSinkConfig config, StorageManager storageManager) {
+        if (!config.isOffsetRecoveryEnabled()) {
+            return null;
+        }
+        return new CommittedOffsets(
+                storageManager, config.getTopicsDir(), config.getDirectoryDelim(),
+                new BlobShards(config.getPartitionerShards()),
+                PartitionStrategy.valueOf(config.getPartitionStrategy()) == PartitionStrategy.DEFAULT,
+                Duration.ofMillis(config.getOffsetRecoveryTimeoutMs())
+        );
+    }
+
+    /**
+     * Returns the metadata of a committed blob.
+     *
+     * @param partition Kafka partition of the records of the blob
+     * @param endOffset Offset of the last record of the blob
+     * @param committedOffset Offset up to which the records of the partition are committed
+     * @return Blob metadata
+     */
+    public static Map<String, String> metadata(int partition, long endOffset, long committedOffset) {
+        return Map.of(
+                PARTITION_METADATA, String.valueOf(partition),
+                END_OFFSET_METADATA, String.valueOf(endOffset),
+                COMMITTED_OFFSET_METADATA, String.valueOf(committedOffset)
+        );
+    }
+
+    /**
+     * Returns the offset up to which the records of the partition<br>
+     * are in committed blobs.
+     *
+     * @param topicPartition Topic partition
+     * @return Committed offset, or null if no blob of the partition has it
+     * @see #getCommittedOffsets(Collection)
+     */
+    public Long getCommittedOffset(TopicPartition topicPartition) {
+        return getCommittedOffsets(Set.of(topicPartition)).get(topicPartition);
+    }
+
+    /**
+     * Returns the offsets up to which the records of the partitions<br>
+     * are in committed blobs. The blobs of the partitions not listed<br>
+     * since they were opened are listed, the others are answered from<br>
+     * the offsets kept.
+     *
+     * @param topicPartitions Topic partitions
+     * @return Committed offset per partition, without the partitions no blob has it for
+     */
+    public synchronized Map<TopicPartition, Long> getCommittedOffsets(Collection<TopicPartition> topicPartitions) {
+        Map<String, Set<Integer>> unlisted = topicPartitions.stream()
+                .filter(topicPartition -> !listed.contains(topicPartition))
+                .collect(Collectors.groupingBy(
+                        TopicPartition::topic,
+                        Collectors.mapping(TopicPartition::partition, Collectors.toSet())
+                ));
+
+        for (Map.Entry<String, Set<Integer>> topic : unlisted.entrySet()) {
+            Map<Integer, Long> topicOffsets = list(topic.getKey(), prefixes(topic.getKey(), topic.getValue()));
+            if (topicOffsets == null) {
+                continue;
+            }
+            for (Integer partition : topic.getValue()) {
+                TopicPartition topicPartition = new TopicPartition(topic.getKey(), partition);
+                listed.add(topicPartition);
+
+                Long committedOffset = topicOffsets.get(partition);
+                if (committedOffset != null) {
+                    offsets.put(topicPartition, committedOffset);
+                }
+            }
+        }
+
+        Map<TopicPartition, Long> committedOffsets = new HashMap<>();
+        for (TopicPartition topicPartition : topicPartitions) {
+            Long committedOffset = offsets.get(topicPartition);
+            if (committedOffset != null) {
+                committedOffsets.put(topicPartition, committedOffset);
+            }
+        }
+        return committedOffsets;
+    }
+
+    /**
+     * Keeps the offset of a blob committed by the task, if the<br>
+     * blobs of its partition have been listed.
+     *
+     * @param topicPartition Topic partition
+     * @param committedOffset Offset up to which the records of the partition are committed
+     */
+    public synchronized void update(TopicPartition topicPartition, long committedOffset) {
+        if (listed.contains(topicPartition)) {
+            offsets.merge(topicPartition, committedOffset, Math::max);
+        }
+    }
+
+    /**
+     * Drops the offset kept for the partition, once it is closed.<br>
+     * The blobs of the partition are listed again on the next open.
+     *
+     * @param topicPartition Topic partition
+     */
+    public synchronized void invalidate(TopicPartition topicPartition) {
+        listed.remove(topicPartition);
+        offsets.remove(topicPartition);
+    }
+
+    /**
+     * Returns the prefixes to list to find the blobs of the partitions:<br>
+     * their directories with the default partitioner, else the whole topic.
+     *
+     * @param topic Kafka topic
+     * @param partitions Kafka partitions of the topic
+     * @return Prefixes of the blob names
+     */
+    private List<String> prefixes(String topic, Set<Integer> partitions) {
+        if (!partitionDirectories) {
+            return shards.prefixes(topicsDir, topic, directoryDelim);
+        }
+        return partitions.stream()
+                .map(partition -> shards.prefix(topicsDir, topic, partition,
+                        DefaultPartitioner.encodeKafkaPartition(partition), directoryDelim))
+                .collect(Collectors.toList());
+    }
+
+    /**
+     * Lists the blobs under the prefixes and reduces their metadata to<br>
+     * the highest committed offset per partition. The blobs without the<br>
+     * metadata, like the manifests, are ignored.
+     *
+     * @param topic Kafka topic
+     * @param prefixes Prefixes of the blob names, listed concurrently
+     * @return Committed offset per partition, or null if the listing failed or timed out
+     */
+    private Map<Integer, Long> list(String topic, List<String> prefixes) {
+        Map<Integer, Long> topicOffsets = new HashMap<>();
+
+        try {
+            Flux.fromIterable(prefixes)
+                    .flatMap(storageManager::listMetadataAsync, MAX_CONCURRENT_LISTINGS)
+                    .filter(metadata -> metadata.containsKey(PARTITION_METADATA)
+                            && metadata.containsKey(COMMITTED_OFFSET_METADATA))
+                    .doOnNext(metadata -> add(topicOffsets, metadata))
+                    .blockLast(timeout);
+
+        } catch (Exception e) {
+            log.warn("Failed to list the committed offsets of topic: {}, falling back to the consumer offsets",
+                    topic, e);
+            return null;
+        }
+        log.info("Listed the committed offsets of topic: {}, offsets: {}", topic, topicOffsets);
+        return topicOffsets;
+    }
+
+    private static void add(Map<Integer, Long> topicOffsets, Map<String, String> metadata) {
+        try {
+            topicOffsets.merge(
+                    Integer.parseInt(metadata.get(PARTITION_METADATA)),
+                    Long.parseLong(metadata.get(COMMITTED_OFFSET_METADATA)),
+                    Math::max
+            );
+        } catch (NumberFormatException e) {
+            log.warn("Ignoring blob with invalid offset metadata: {}", metadata);
+        }
+    }
+}
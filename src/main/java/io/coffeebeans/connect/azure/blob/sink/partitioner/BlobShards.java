@@ -0,0 +1,106 @@
+package io.coffeebeans.connect.azure.blob.sink.partitioner;
+
+import io.coffeebeans.connect.azure.blob.sink.config.AzureBlobSinkConfig;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+import org.apache.kafka.common.utils.Utils;
+
+/**
+ * Hash shards of the blob names, enabled with {@link AzureBlobSinkConfig#PARTITIONER_SHARDS_CONF
+ * partitioner.shards}.
+ *
+ * <p>The storage range-partitions the blobs by name, so the sequential
+ * names of a topic are served by the same partition server. A shard
+ * directory after the topic spreads them over as many ranges:
+ * <pre>
+ *     &lt;prefix&gt;/&lt;kafkaTopic&gt;/&lt;shard&gt;/&lt;encodedPartition&gt;
+ * </pre>
+ *
+ * <p>The shard is the murmur2 hash of the topic, Kafka partition and
+ * encoded partition, so the files of an encoded partition stay in the
+ * same directory. It is written in hexadecimal with a fixed width.
+ * Readers find the blobs in the manifest, or list the shard prefixes
+ * of a topic given by {@link #prefixes(String, String, String)}, or the
+ * directory of an encoded partition given by
+ * {@link #prefix(String, String, int, String, String)}.
+ */
+public class BlobShards {
+    private final int shards;
+    private final int width;
+
+    /**
+     * Constructs {@link BlobShards}.
+     *
+     * @param shards Number of shards, 0 to disable sharding
+     */
+    public BlobShards(int shards) {
+        this.shards = shards;
+        this.width = shards <= 1 ? 1 : Integer.toHexString(shards - 1).length();
+    }
+
+    public boolean isEnabled() {
+        return shards > 0;
+    }
+
+    /**
+     * Returns the shard of the files of an encoded partition.
+     *
+     * @param topic Kafka topic
+     * @param partition Kafka partition
+     * @param encodedPartition encoded partition
+     * @return Hexadecimal shard, or null if sharding is disabled
+     */
+    public String shard(String topic, int partition, String encodedPartition) {
+        if (!isEnabled()) {
+            return null;
+        }
+        byte[] key = (topic + "/" + partition + "/" + encodedPartition).getBytes(StandardCharsets.UTF_8);
+        int shard = Utils.toPositive(Utils.murmur2(key)) % shards;
+
+        return String.format("%0" + width + "x", shard);
+    }
+
+    /**
+     * Returns the prefixes to list to find all the blobs of a topic:<br>
+     * one per shard, which can be listed concurrently, or the directory<br>
+     * of the topic if sharding is disabled.
+     *
+     * @param prefix Parent directory of the topics
+     * @param topic Kafka topic
+     * @param directoryDelim Directory delimiter
+     * @return Prefixes of the blob names, ending with the delimiter
+     */
+    public List<String> prefixes(String prefix, String topic, String directoryDelim) {
+        String topicPrefix = prefix + directoryDelim + topic + directoryDelim;
+        if (!isEnabled()) {
+            return List.of(topicPrefix);
+        }
+        List<String> prefixes = new ArrayList<>(shards);
+
+        for (int shard = 0; shard < shards; shard++) {
+            prefixes.add(topicPrefix + String.format("%0" + width + "x", shard) + directoryDelim);
+        }
+        return prefixes;
+    }
+
+    /**
+     * Returns the prefix to list to find the blobs of an encoded<br>
+     * partition: its directory, in its shard if sharding is enabled.
+     *
+     * @param prefix Parent directory of the topics
+     * @param topic Kafka topic
+     * @param partition Kafka partition
+     * @param encodedPartition encoded partition
+     * @param directoryDelim Directory delimiter
+     * @return Prefix of the blob names, ending with the delimiter
+     */
+    public String prefix(String prefix, String topic, int partition, String encodedPartition,
+                         String directoryDelim) {
+        String shard = shard(topic, partition, encodedPartition);
+
+        return prefix + directoryDelim + topic + directoryDelim
+                + (shard == null ? "" : shard + directoryDelim)
+                + encodedPartition + directoryDelim;
+    }
+}
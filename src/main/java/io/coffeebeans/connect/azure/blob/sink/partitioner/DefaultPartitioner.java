@@ -16,6 +16,7 @@ public class DefaultPartitioner implements Partitioner {
     protected String prefix;
     public String fileDelim;
     public String directoryDelim;
+    protected BlobShards shards;
 
     /**
      * Constructs {@link DefaultPartitioner}.
@@ -27,6 +28,7 @@ public class DefaultPartitioner implements Partitioner {
         this.prefix = config.getTopicsDir();
         this.fileDelim = config.getFileDelim();
         this.directoryDelim = config.getDirectoryDelim();
+        this.shards = new BlobShards(config.getPartitionerShards());
     }
 
     /**
@@ -44,8 +46,18 @@ public class DefaultPartitioner implements Partitioner {
      */
     @Override
     public String encodePartition(SinkRecord sinkRecord) {
+        return encodeKafkaPartition(sinkRecord.kafkaPartition());
+    }
+
+    /**
+     * Returns the encoded partition of the records of a Kafka partition.
+     *
+     * @param kafkaPartition Kafka partition
+     * @return encoded partition string
+     */
+    public static String encodeKafkaPartition(int kafkaPartition) {
         // partition=<kafkaPartition>/
-        return KAFKA_PARTITION_PROPERTY + "=" + sinkRecord.kafkaPartition();
+        return KAFKA_PARTITION_PROPERTY + "=" + kafkaPartition;
     }
 
     /**
@@ -96,12 +108,13 @@ public class DefaultPartitioner implements Partitioner {
 
     /**
      * It generates only the folder path and does not include the file name.
-     * The folder path includes encoded partition
+     * The folder path includes encoded partition, after the shard if
+     * sharding is enabled.
      *
      * <pre>
      *     <code>
      *
-     *         &lt;prefix&gt;/&lt;kafkaTopic&gt;/&lt;encodedPartition&gt;
+     *         &lt;prefix&gt;/&lt;kafkaTopic&gt;/[&lt;shard&gt;/]&lt;encodedPartition&gt;
      *     </code>
      * </pre>
      *
@@ -110,22 +123,17 @@ public class DefaultPartitioner implements Partitioner {
      */
     @Override
     public String generateFolderPath(SinkRecord sinkRecord) {
-        return prefix + directoryDelim // <prefix>/
-
-                // <kafkaTopic>/
-                + sinkRecord.topic() + directoryDelim
-
-                // <encodedPartition>
-                + encodePartition(sinkRecord);
+        return generateFolderPath(sinkRecord, encodePartition(sinkRecord));
     }
 
     /**
      * It generates only the folder path and does not include the file name.
-     * The folder path includes encoded partition
+     * The folder path includes encoded partition, after the shard if
+     * sharding is enabled.
      * <pre>
      *     <code>
      *
-     *         &lt;prefix&gt;/&lt;kafkaTopic&gt;/&lt;encodedPartition&gt;
+     *         &lt;prefix&gt;/&lt;kafkaTopic&gt;/[&lt;shard&gt;/]&lt;encodedPartition&gt;
      *     </code>
      * </pre>
      *
@@ -135,11 +143,16 @@ public class DefaultPartitioner implements Partitioner {
      */
     @Override
     public String generateFolderPath(SinkRecord sinkRecord, String encodedPartition) {
+        String shard = shards.shard(sinkRecord.topic(), sinkRecord.kafkaPartition(), encodedPartition);
+
         return prefix + directoryDelim // <prefix>/
 
                 // <kafkaTopic>/
                 + sinkRecord.topic() + directoryDelim
 
+                // <shard>/
+                + (shard == null ? "" : shard + directoryDelim)
+
                 // <encodedPartition>
                 + encodedPartition;
     }
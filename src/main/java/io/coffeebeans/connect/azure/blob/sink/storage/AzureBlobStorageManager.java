@@ -7,7 +7,10 @@ import com.azure.storage.blob.BlobContainerClient;
 import com.azure.storage.blob.BlobContainerClientBuilder;
 import com.azure.storage.blob.models.AppendBlobItem;
 import com.azure.storage.blob.models.AppendBlobRequestConditions;
+import com.azure.storage.blob.models.BlobListDetails;
+import com.azure.storage.blob.models.BlobRequestConditions;
 import com.azure.storage.blob.models.BlockBlobItem;
+import com.azure.storage.blob.models.ListBlobsOptions;
 import com.azure.storage.blob.options.AppendBlobCreateOptions;
 import com.azure.storage.blob.specialized.AppendBlobAsyncClient;
 import com.azure.storage.blob.specialized.AppendBlobClient;
@@ -25,6 +28,7 @@ import java.time.Duration;
 import java.time.LocalTime;
 import java.util.List;
 import java.util.Map;
+import java.util.function.Consumer;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import reactor.core.Exceptions;
@@ -48,6 +52,7 @@ public class AzureBlobStorageManager implements StorageManager {
     private long retryMaxBackoffMs;
     private long connectionTimeoutMs;
     private String retryType;
+    private Consumer<Throwable> retryListener;
 
     /**
      * Constructs {@link AzureBlobStorageManager}.
@@ -65,6 +70,19 @@ public class AzureBlobStorageManager implements StorageManager {
                 .connectionString(connectionString)
                 .containerName(containerName)
                 .buildAsyncClient();
+
+        this.retryListener = failure -> { };
+    }
+
+    /**
+     * Sets the listener notified of the failure of every request retried.
+     *
+     * @param retryListener Listener of the retries
+     * @return This storage manager
+     */
+    public AzureBlobStorageManager setRetryListener(Consumer<Throwable> retryListener) {
+        this.retryListener = retryListener;
+        return this;
     }
 
     @Override
@@ -266,6 +284,60 @@ public class AzureBlobStorageManager implements StorageManager {
                 .onErrorMap(e -> handleErrorForCommittingBlock(e, blobName));
     }
 
+    /**
+     * Commits the pre-staged blocks to the blob and sets its metadata.<br>
+     * Without overwrite, the commit fails if the blob already exists.
+     *
+     * @param blobName Blob Name of the blob
+     * @param base64BlockIds List of base64 encoded block ids
+     * @param overwrite Whether to overwrite block or not
+     * @param metadata Metadata of the blob
+     * @return Mono of response signalling success or error
+     */
+    @Override
+    public Mono<BlockBlobItem> commitBlockIdsAsync(String blobName, List<String> base64BlockIds, boolean overwrite,
+                                                   Map<String, String> metadata) {
+
+        BlockBlobAsyncClient blockBlobAsyncClient = containerAsyncClient
+                .getBlobAsyncClient(blobName)
+                .getBlockBlobAsyncClient();
+
+        BlobRequestConditions requestConditions = overwrite
+                ? null
+                : new BlobRequestConditions().setIfNoneMatch("*"); // To disable overwrite
+
+        return blockBlobAsyncClient
+                .commitBlockListWithResponse(base64BlockIds, null, metadata, null, requestConditions)
+                .map(Response::getValue)
+                .timeout(
+                        Duration.ofMillis(this.connectionTimeoutMs),
+                        Mono.error(() -> new BlobStorageException("Timeout while committing block"))
+                )
+                .retryWhen(getRetryBackoffSpec())
+                .onErrorMap(e -> handleErrorForCommittingBlock(e, blobName));
+    }
+
+    /**
+     * Lists the blobs whose name starts with the prefix, with their metadata.<br>
+     * The pages of the listing are requested as they are consumed, and a<br>
+     * retried listing starts again from the first page.
+     *
+     * @param prefix Prefix of the blob names, including the folder path
+     * @return Flux of the metadata of the blobs, empty for a blob without metadata
+     */
+    @Override
+    public Flux<Map<String, String>> listMetadataAsync(String prefix) {
+        ListBlobsOptions options = new ListBlobsOptions()
+                .setPrefix(prefix)
+                .setDetails(new BlobListDetails().setRetrieveMetadata(true));
+
+        return containerAsyncClient.listBlobs(options)
+                .map(blobItem -> blobItem.getMetadata() == null ? Map.<String, String>of() : blobItem.getMetadata())
+                .retryWhen(getRetryBackoffSpec())
+                .onErrorMap(e -> new BlobStorageException("LISTING: Failed to list blobs with prefix: "
+                        + prefix + " with error message: " + e.getMessage()));
+    }
+
     /**
      * Synchronously create append blob if it does not exist.
      *
@@ -340,6 +412,7 @@ public class AzureBlobStorageManager implements StorageManager {
         if (isRetryTypeFixed) {
 
             return Retry.fixedDelay(this.retries, Duration.ofMillis(this.retryBackoffMs))
+                    .doBeforeRetry(retrySignal -> retryListener.accept(retrySignal.failure()))
                     .doAfterRetry(retrySignal ->
                             log.info("CREATE: Retrying at " + LocalTime.now()
                                     + ", attempt: " + retrySignal.totalRetries())
@@ -353,6 +426,7 @@ public class AzureBlobStorageManager implements StorageManager {
         return Retry.backoff(this.retries, Duration.ofMillis(this.retryBackoffMs))
                 .maxBackoff(Duration.ofMillis(this.retryMaxBackoffMs))
                 .jitter(0.5d)
+                .doBeforeRetry(retrySignal -> retryListener.accept(retrySignal.failure()))
                 .doAfterRetry(retrySignal ->
                         log.info("CREATE: Retrying at " + LocalTime.now()
                                 + ", attempt: " + retrySignal.totalRetries())
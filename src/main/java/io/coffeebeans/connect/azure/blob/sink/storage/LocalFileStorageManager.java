@@ -0,0 +1,469 @@
+package io.coffeebeans.connect.azure.blob.sink.storage;
+
+import static java.nio.file.StandardOpenOption.APPEND;
+import static java.nio.file.StandardOpenOption.CREATE;
+import static java.nio.file.StandardOpenOption.CREATE_NEW;
+import static java.nio.file.StandardOpenOption.READ;
+import static java.nio.file.StandardOpenOption.WRITE;
+
+import com.azure.core.http.HttpHeaders;
+import com.azure.core.http.rest.Response;
+import com.azure.core.http.rest.SimpleResponse;
+import com.azure.storage.blob.models.AppendBlobItem;
+import com.azure.storage.blob.models.BlockBlobItem;
+import io.coffeebeans.connect.azure.blob.sink.exception.BlobStorageException;
+import java.io.File;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.FileAlreadyExistsException;
+import java.nio.file.FileSystemException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.attribute.UserDefinedFileAttributeView;
+import java.time.OffsetDateTime;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.stream.Stream;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import reactor.core.scheduler.Schedulers;
+
+/**
+ * Stores the blobs as files in a local or mounted directory, for e.g.<br>
+ * an NFS share or a blobfuse mount, under a directory named after the container.
+ *
+ * <p>The blocks of a block blob are written with positional writes to a
+ * staging file, in the order they are staged, and the block list is
+ * committed by renaming the staging file atomically. If the block list is
+ * not in the staged order, the blocks are first transferred, channel to
+ * channel, to a new file in the order of the list.
+ */
+public class LocalFileStorageManager implements StorageManager {
+    private static final Logger log = LoggerFactory.getLogger(LocalFileStorageManager.class);
+    private static final String STAGING_DIR = ".staging";
+
+    private final Path rootDir;
+    private final Path stagingDir;
+    private final Map<String, StagedBlob> stagedBlobs;
+
+    /**
+     * Constructs {@link LocalFileStorageManager}.
+     *
+     * @param rootDir Directory where the blobs will be stored
+     * @param containerName Container name, the directory of the blobs in the root directory
+     */
+    public LocalFileStorageManager(String rootDir, String containerName) {
+        this.rootDir = Paths.get(rootDir, containerName)
+                .toAbsolutePath()
+                .normalize();
+        this.stagingDir = this.rootDir.resolve(STAGING_DIR);
+        this.stagedBlobs = new ConcurrentHashMap<>();
+    }
+
+    /**
+     * The files are written without timeout nor retries,<br>
+     * the configuration is ignored.
+     *
+     * @param configProps Retry configuration
+     */
+    @Override
+    public void configure(Map<String, Object> configProps) {
+        log.info("Storing blobs in directory: {}", rootDir);
+    }
+
+    /**
+     * Appends the data to the file of the blob, creating it if it does not exist.
+     *
+     * @param blobName Blob name (including the complete folder path)
+     * @param data Data as byte array
+     */
+    @Override
+    public void append(String blobName, byte[] data) {
+        append(blobName, -1, data);
+    }
+
+    /**
+     * Appends the data to the file of the blob, creating it if it does not exist.
+     *
+     * @param blobName Blob name (including the complete folder path)
+     * @param maxBlobSize Maximum size up to which the blob will grow
+     * @param data Data as byte array
+     */
+    @Override
+    public void append(String blobName, long maxBlobSize, byte[] data) {
+        Path file = resolve(blobName);
+
+        try {
+            Files.createDirectories(file.getParent());
+
+            try (FileChannel channel = FileChannel.open(file, CREATE, WRITE, APPEND)) {
+                if (maxBlobSize > 0 && channel.size() + data.length > maxBlobSize) {
+                    throw new BlobStorageException("APPEND: Max blob size exceeded for blob: " + blobName);
+                }
+                ByteBuffer buffer = ByteBuffer.wrap(data);
+                while (buffer.hasRemaining()) {
+                    channel.write(buffer);
+                }
+            }
+        } catch (IOException e) {
+            throw new BlobStorageException("APPEND: Failed to append block in blob: "
+                    + blobName + " with error message: " + e.getMessage());
+        }
+    }
+
+    /**
+     * Asynchronously append the data to the provided blob.
+     *
+     * @param blobName Name of the blob
+     * @param data Data to be appended
+     * @return Mono of response signalling success or error
+     */
+    @Override
+    public Mono<Response<AppendBlobItem>> appendAsync(String blobName, byte[] data) {
+        return Mono.<Response<AppendBlobItem>>fromCallable(() -> {
+            append(blobName, data);
+            return new SimpleResponse<>(null, 201, new HttpHeaders(), null);
+
+        }).subscribeOn(Schedulers.boundedElastic());
+    }
+
+    /**
+     * Writes the data to the file of the blob, replacing it atomically if it exists.
+     *
+     * @param blobName Blob name (including the complete folder path)
+     * @param data Data as byte array
+     */
+    @Override
+    public void upload(String blobName, byte[] data) {
+        upload(blobName, -1, data);
+    }
+
+    /**
+     * Writes the data to the file of the blob, replacing it atomically if it exists.
+     *
+     * @param blobName Blob name (including the complete folder path)
+     * @param maxBlobSize Maximum size up to which the blob will grow
+     * @param data Data as byte array
+     */
+    @Override
+    public void upload(String blobName, long maxBlobSize, byte[] data) {
+        if (maxBlobSize > 0 && data.length > maxBlobSize) {
+            throw new BlobStorageException("UPLOAD: Max blob size exceeded for blob: " + blobName);
+        }
+        Path file = resolve(blobName);
+        Path tempFile = newStagingFile();
+
+        try {
+            Files.createDirectories(stagingDir);
+
+            try (FileChannel channel = FileChannel.open(tempFile, CREATE_NEW, WRITE)) {
+                writeFully(channel, ByteBuffer.wrap(data), 0L);
+            }
+            move(tempFile, file, true);
+
+        } catch (IOException e) {
+            deleteQuietly(tempFile);
+            throw new BlobStorageException("UPLOAD: Failed to upload blob: "
+                    + blobName + " with error message: " + e.getMessage());
+        }
+    }
+
+    /**
+     * Writes the block to the staging file of the blob, at the position<br>
+     * following the blocks staged before it. The position is reserved<br>
+     * when this method is invoked, so the writes can complete in any order.
+     *
+     * @param blobName Name of the blob
+     * @param base64BlockId Base64 encoded block id
+     * @param data byte array of the data to be uploaded
+     * @return Mono of response
+     */
+    @Override
+    public Mono<Response<Void>> stageBlockAsync(String blobName, String base64BlockId, byte[] data) {
+        StagedBlob stagedBlob = stagedBlobs.computeIfAbsent(blobName, name -> new StagedBlob(newStagingFile()));
+        long position = stagedBlob.reserve(base64BlockId, data.length);
+
+        return Mono.<Response<Void>>fromCallable(() -> {
+            try {
+                writeFully(stagedBlob.channel(), ByteBuffer.wrap(data), position);
+                return new SimpleResponse<>(null, 201, new HttpHeaders(), null);
+
+            } catch (IOException e) {
+                throw new BlobStorageException("STAGING: Failed to stage block in blob: "
+                        + blobName + " with error message: " + e.getMessage());
+            }
+        }).subscribeOn(Schedulers.boundedElastic());
+    }
+
+    /**
+     * Commits the staged blocks to the blob by renaming its staging file,<br>
+     * or a file assembled from the staged blocks in the order of the list.
+     *
+     * @param blobName Blob Name of the blob
+     * @param base64BlockIds List of base64 encoded block ids
+     * @param overwrite Whether to overwrite block or not
+     * @return Mono of response signalling success or error
+     */
+    @Override
+    public Mono<BlockBlobItem> commitBlockIdsAsync(String blobName, List<String> base64BlockIds, boolean overwrite) {
+        return commitBlockIdsAsync(blobName, base64BlockIds, overwrite, Map.of());
+    }
+
+    /**
+     * Commits the staged blocks to the blob, with its metadata written<br>
+     * as user defined attributes of the file before it is moved into<br>
+     * place. The metadata is dropped if the file system does not support them.
+     *
+     * @param blobName Blob Name of the blob
+     * @param base64BlockIds List of base64 encoded block ids
+     * @param overwrite Whether to overwrite block or not
+     * @param metadata Metadata of the blob
+     * @return Mono of response signalling success or error
+     */
+    @Override
+    public Mono<BlockBlobItem> commitBlockIdsAsync(String blobName, List<String> base64BlockIds, boolean overwrite,
+                                                   Map<String, String> metadata) {
+        return Mono.fromCallable(() -> {
+            StagedBlob stagedBlob = stagedBlobs.remove(blobName);
+            if (stagedBlob == null) {
+                throw new BlobStorageException("COMMITTING: No block staged for blob: " + blobName);
+            }
+            try {
+                Path file = resolve(blobName);
+                commit(stagedBlob, file, base64BlockIds, overwrite, metadata);
+                return new BlockBlobItem(UUID.randomUUID().toString(), OffsetDateTime.now(), null, false, null);
+
+            } catch (IOException e) {
+                throw new BlobStorageException("COMMITTING: Failed to commit blocks in blob: "
+                        + blobName + " with error message: " + e.getMessage());
+            } finally {
+                stagedBlob.close();
+                deleteQuietly(stagedBlob.file);
+            }
+        }).subscribeOn(Schedulers.boundedElastic());
+    }
+
+    /**
+     * Lists the files whose path, relative to the container directory,<br>
+     * starts with the prefix, with the metadata in their attributes.
+     *
+     * @param prefix Prefix of the blob names, including the folder path
+     * @return Flux of the metadata of the blobs, empty for a blob without metadata
+     */
+    @Override
+    public Flux<Map<String, String>> listMetadataAsync(String prefix) {
+        return Flux.defer(() -> {
+            Path prefixPath = rootDir.resolve(prefix).normalize();
+            Path dir = prefix.endsWith("/") ? prefixPath : prefixPath.getParent();
+
+            if (dir == null || !dir.startsWith(rootDir) || !Files.isDirectory(dir)) {
+                return Flux.empty();
+            }
+            return Flux.using(() -> Files.walk(dir), Flux::fromStream, Stream::close)
+                    .filter(file -> Files.isRegularFile(file) && !file.startsWith(stagingDir))
+                    .filter(file -> rootDir.relativize(file).toString()
+                            .replace(File.separatorChar, '/')
+                            .startsWith(prefix))
+                    .map(LocalFileStorageManager::readMetadata);
+
+        }).subscribeOn(Schedulers.boundedElastic());
+    }
+
+    private void commit(StagedBlob stagedBlob, Path file, List<String> base64BlockIds, boolean overwrite,
+                        Map<String, String> metadata) throws IOException {
+
+        FileChannel channel = stagedBlob.channel();
+
+        if (stagedBlob.isStagedInOrder(base64BlockIds)) {
+            channel.force(false);
+            stagedBlob.close();
+            writeMetadata(stagedBlob.file, metadata);
+            move(stagedBlob.file, file, overwrite);
+            return;
+        }
+        Path assembledFile = newStagingFile();
+
+        try (FileChannel assembledChannel = FileChannel.open(assembledFile, CREATE_NEW, WRITE)) {
+            for (String blockId : base64BlockIds) {
+                long[] block = stagedBlob.get(blockId);
+                if (block == null) {
+                    throw new IOException("Block: " + blockId + " is not staged");
+                }
+                transferFully(channel, block[0], block[1], assembledChannel);
+            }
+            assembledChannel.force(false);
+            writeMetadata(assembledFile, metadata);
+            move(assembledFile, file, overwrite);
+
+        } catch (IOException e) {
+            deleteQuietly(assembledFile);
+            throw e;
+        }
+    }
+
+    private static void writeMetadata(Path file, Map<String, String> metadata) {
+        if (metadata.isEmpty()) {
+            return;
+        }
+        UserDefinedFileAttributeView view = Files.getFileAttributeView(file, UserDefinedFileAttributeView.class);
+        if (view == null) {
+            log.warn("Failed to write the metadata of file: {}, user defined attributes are not supported", file);
+            return;
+        }
+        try {
+            for (Map.Entry<String, String> entry : metadata.entrySet()) {
+                view.write(entry.getKey(), StandardCharsets.UTF_8.encode(entry.getValue()));
+            }
+        } catch (IOException e) {
+            log.warn("Failed to write the metadata of file: {} with message: {}", file, e.getMessage());
+        }
+    }
+
+    private static Map<String, String> readMetadata(Path file) {
+        UserDefinedFileAttributeView view = Files.getFileAttributeView(file, UserDefinedFileAttributeView.class);
+        if (view == null) {
+            return Map.of();
+        }
+        Map<String, String> metadata = new HashMap<>();
+        try {
+            for (String name : view.list()) {
+                ByteBuffer buffer = ByteBuffer.allocate(view.size(name));
+                view.read(name, buffer);
+                buffer.flip();
+                metadata.put(name, StandardCharsets.UTF_8.decode(buffer).toString());
+            }
+        } catch (IOException | UnsupportedOperationException e) {
+            log.debug("Failed to read the metadata of file: {} with message: {}", file, e.getMessage());
+            return Map.of();
+        }
+        return metadata;
+    }
+
+    private Path resolve(String blobName) {
+        Path file = rootDir.resolve(blobName).normalize();
+
+        if (!file.startsWith(rootDir) || file.startsWith(stagingDir) || file.equals(rootDir)) {
+            throw new BlobStorageException("Invalid blob name: " + blobName);
+        }
+        return file;
+    }
+
+    private Path newStagingFile() {
+        return stagingDir.resolve(UUID.randomUUID().toString());
+    }
+
+    /**
+     * Moves the file into place. An atomic rename replaces the target,<br>
+     * so without overwrite the file is hard linked to the target instead,<br>
+     * which fails atomically if it exists. On file systems without hard<br>
+     * links, the target is checked by the rename itself, not atomically.
+     */
+    private static void move(Path source, Path target, boolean overwrite) throws IOException {
+        Files.createDirectories(target.getParent());
+
+        if (overwrite) {
+            Files.move(source, target, StandardCopyOption.ATOMIC_MOVE);
+            return;
+        }
+        try {
+            Files.createLink(target, source);
+
+        } catch (FileAlreadyExistsException e) {
+            throw e;
+
+        } catch (UnsupportedOperationException | FileSystemException e) {
+            log.debug("Failed to link file: {} with message: {}, renaming it", target, e.getMessage());
+            Files.move(source, target);
+            return;
+        }
+        Files.delete(source);
+    }
+
+    private static void writeFully(FileChannel channel, ByteBuffer buffer, long position) throws IOException {
+        while (buffer.hasRemaining()) {
+            position += channel.write(buffer, position);
+        }
+    }
+
+    private static void transferFully(FileChannel source, long position, long count, FileChannel target)
+            throws IOException {
+
+        while (count > 0) {
+            long transferred = source.transferTo(position, count, target);
+            position += transferred;
+            count -= transferred;
+        }
+    }
+
+    private static void deleteQuietly(Path file) {
+        try {
+            Files.deleteIfExists(file);
+
+        } catch (IOException e) {
+            log.warn("Failed to delete file: {} with message: {}", file, e.getMessage());
+        }
+    }
+
+    /**
+     * Staging file of a blob, and the position and length of its blocks.
+     */
+    private static class StagedBlob {
+        private final Path file;
+        private final Map<String, long[]> blocks;
+
+        private long size;
+        private FileChannel channel;
+
+        private StagedBlob(Path file) {
+            this.file = file;
+            this.blocks = new LinkedHashMap<>();
+        }
+
+        private synchronized long reserve(String blockId, int length) {
+            long position = size;
+            blocks.put(blockId, new long[] {position, length});
+            size += length;
+
+            return position;
+        }
+
+        private synchronized long[] get(String blockId) {
+            return blocks.get(blockId);
+        }
+
+        private synchronized boolean isStagedInOrder(List<String> blockIds) {
+            return new ArrayList<>(blocks.keySet()).equals(blockIds);
+        }
+
+        private synchronized FileChannel channel() throws IOException {
+            if (channel == null) {
+                Files.createDirectories(file.getParent());
+                channel = FileChannel.open(file, CREATE_NEW, READ, WRITE);
+            }
+            return channel;
+        }
+
+        private synchronized void close() {
+            if (channel == null) {
+                return;
+            }
+            try {
+                channel.close();
+
+            } catch (IOException e) {
+                log.warn("Failed to close staging file: {} with message: {}", file, e.getMessage());
+            }
+        }
+    }
+}
@@ -0,0 +1,140 @@
+package io.coffeebeans.connect.azure.blob.sink.storage;
+
+import com.azure.core.http.rest.Response;
+import com.azure.storage.blob.models.AppendBlobItem;
+import com.azure.storage.blob.models.BlockBlobItem;
+import io.coffeebeans.connect.azure.blob.sink.metrics.AzureBlobSinkMetrics;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+/**
+ * Records the data sent, the latency and the blocks in flight of<br>
+ * the requests of a {@link StorageManager} in {@link AzureBlobSinkMetrics}.
+ */
+public class MeteredStorageManager implements StorageManager {
+    private final StorageManager storageManager;
+    private final AzureBlobSinkMetrics metrics;
+
+    /**
+     * Constructs {@link MeteredStorageManager}.
+     *
+     * @param storageManager Storage manager sending the requests
+     * @param metrics Metrics of the task
+     */
+    public MeteredStorageManager(StorageManager storageManager, AzureBlobSinkMetrics metrics) {
+        this.storageManager = storageManager;
+        this.metrics = metrics;
+    }
+
+    @Override
+    public void configure(Map<String, Object> configProps) {
+        storageManager.configure(configProps);
+    }
+
+    @Override
+    public void append(String blobName, byte[] data) {
+        storageManager.append(blobName, data);
+        metrics.recordBytes(data.length);
+    }
+
+    @Override
+    public void append(String blobName, long maxBlobSize, byte[] data) {
+        storageManager.append(blobName, maxBlobSize, data);
+        metrics.recordBytes(data.length);
+    }
+
+    @Override
+    public Mono<Response<AppendBlobItem>> appendAsync(String blobName, byte[] data) {
+        return storageManager.appendAsync(blobName, data)
+                .doOnSuccess(response -> metrics.recordBytes(data.length));
+    }
+
+    @Override
+    public void upload(String blobName, byte[] data) {
+        storageManager.upload(blobName, data);
+        metrics.recordBytes(data.length);
+    }
+
+    @Override
+    public void upload(String blobName, long maxBlobSize, byte[] data) {
+        storageManager.upload(blobName, maxBlobSize, data);
+        metrics.recordBytes(data.length);
+    }
+
+    /**
+     * Stages the block, timing it from the subscription<br>
+     * to the response, retries included.
+     *
+     * @param blobName Name of the blob
+     * @param base64BlockId Base64 encoded block id
+     * @param data byte array of the data to be uploaded
+     * @return Mono of response
+     */
+    @Override
+    public Mono<Response<Void>> stageBlockAsync(String blobName, String base64BlockId, byte[] data) {
+        Mono<Response<Void>> staging = storageManager.stageBlockAsync(blobName, base64BlockId, data);
+
+        return Mono.defer(() -> {
+            long start = System.nanoTime();
+            metrics.recordStaging();
+
+            return staging
+                    .doOnSuccess(response -> {
+                        metrics.recordStaged(elapsedMs(start));
+                        metrics.recordBytes(data.length);
+                    })
+                    .doOnError(error -> metrics.recordStaged(-1L))
+                    .doOnCancel(() -> metrics.recordStaged(-1L));
+        });
+    }
+
+    /**
+     * Commits the block list, timing it from the subscription<br>
+     * to the response, retries included.
+     *
+     * @param blobName Blob Name of the blob
+     * @param base64BlockIds List of base64 encoded block ids
+     * @param overwrite Whether to overwrite block or not
+     * @return Mono of response signalling success or error
+     */
+    @Override
+    public Mono<BlockBlobItem> commitBlockIdsAsync(String blobName, List<String> base64BlockIds, boolean overwrite) {
+        return timeCommit(storageManager.commitBlockIdsAsync(blobName, base64BlockIds, overwrite));
+    }
+
+    /**
+     * Commits the block list with the metadata of the blob, timing it<br>
+     * from the subscription to the response, retries included.
+     *
+     * @param blobName Blob Name of the blob
+     * @param base64BlockIds List of base64 encoded block ids
+     * @param overwrite Whether to overwrite block or not
+     * @param metadata Metadata of the blob
+     * @return Mono of response signalling success or error
+     */
+    @Override
+    public Mono<BlockBlobItem> commitBlockIdsAsync(String blobName, List<String> base64BlockIds, boolean overwrite,
+                                                   Map<String, String> metadata) {
+        return timeCommit(storageManager.commitBlockIdsAsync(blobName, base64BlockIds, overwrite, metadata));
+    }
+
+    @Override
+    public Flux<Map<String, String>> listMetadataAsync(String prefix) {
+        return storageManager.listMetadataAsync(prefix);
+    }
+
+    private Mono<BlockBlobItem> timeCommit(Mono<BlockBlobItem> commit) {
+        return Mono.defer(() -> {
+            long start = System.nanoTime();
+
+            return commit.doOnSuccess(response -> metrics.recordCommit(elapsedMs(start)));
+        });
+    }
+
+    private static long elapsedMs(long start) {
+        return TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start);
+    }
+}
@@ -5,6 +5,7 @@ import com.azure.storage.blob.models.AppendBlobItem;
 import com.azure.storage.blob.models.BlockBlobItem;
 import java.util.List;
 import java.util.Map;
+import reactor.core.publisher.Flux;
 import reactor.core.publisher.Mono;
 
 /**
@@ -90,4 +91,25 @@ public interface StorageManager {
      * @return Mono of response signalling success or error
      */
     Mono<BlockBlobItem> commitBlockIdsAsync(String blobName, List<String> base64BlockIds, boolean overwrite);
+
+    /**
+     * Commits the pre-staged blocks to the blob, like<br>
+     * {@link #commitBlockIdsAsync(String, List, boolean)}, and sets its metadata.
+     *
+     * @param blobName Blob Name of the blob
+     * @param base64BlockIds List of base64 encoded block ids
+     * @param overwrite Whether to overwrite block or not
+     * @param metadata Metadata of the blob
+     * @return Mono of response signalling success or error
+     */
+    Mono<BlockBlobItem> commitBlockIdsAsync(String blobName, List<String> base64BlockIds, boolean overwrite,
+                                            Map<String, String> metadata);
+
+    /**
+     * Lists the metadata of the blobs whose name starts with the prefix.
+     *
+     * @param prefix Prefix of the blob names, including the folder path
+     * @return Flux of the metadata of the blobs, empty for a blob without metadata
+     */
+    Flux<Map<String, String>> listMetadataAsync(String prefix);
 }
@@ -0,0 +1,9 @@
+package io.coffeebeans.connect.azure.blob.sink.storage;
+
+/**
+ * Storages where the blobs can be stored.
+ */
+public enum StorageType {
+    AZURE,
+    LOCAL
+}
@@ -0,0 +1,393 @@
+package io.coffeebeans.connect.azure.blob.integration;
+
+import static io.coffeebeans.connect.azure.blob.sink.config.AzureBlobSinkConfig.BLOCK_SIZE_CONF;
+import static io.coffeebeans.connect.azure.blob.sink.config.AzureBlobSinkConfig.CONNECTION_STRING_CONF;
+import static io.coffeebeans.connect.azure.blob.sink.config.AzureBlobSinkConfig.CONTAINER_NAME_CONF;
+import static io.coffeebeans.connect.azure.blob.sink.config.AzureBlobSinkConfig.FLUSH_SIZE_CONF;
+import static io.coffeebeans.connect.azure.blob.sink.config.AzureBlobSinkConfig.FORMAT_CONF;
+import static io.coffeebeans.connect.azure.blob.sink.config.AzureBlobSinkConfig.STORAGE_LOCAL_ROOT_DIR_CONF;
+import static io.coffeebeans.connect.azure.blob.sink.config.AzureBlobSinkConfig.STORAGE_TYPE_CONF;
+import static org.apache.kafka.connect.runtime.ConnectorConfig.CONNECTOR_CLASS_CONFIG;
+import static org.apache.kafka.connect.runtime.ConnectorConfig.KEY_CONVERTER_CLASS_CONFIG;
+import static org.apache.kafka.connect.runtime.ConnectorConfig.TASKS_MAX_CONFIG;
+import static org.apache.kafka.connect.runtime.ConnectorConfig.VALUE_CONVERTER_CLASS_CONFIG;
+import static org.apache.kafka.connect.runtime.SinkConnectorConfig.TOPICS_CONFIG;
+
+import io.coffeebeans.connect.azure.blob.sink.AzureBlobSinkConnector;
+import io.coffeebeans.connect.azure.blob.sink.storage.StorageType;
+import io.coffeebeans.connect.azure.blob.util.EmbeddedConnectUtils;
+import java.io.IOException;
+import java.lang.management.GarbageCollectorMXBean;
+import java.lang.management.ManagementFactory;
+import java.lang.management.MemoryPoolMXBean;
+import java.lang.management.MemoryType;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.LockSupport;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+import org.apache.kafka.clients.producer.KafkaProducer;
+import org.apache.kafka.clients.producer.Producer;
+import org.apache.kafka.clients.producer.ProducerConfig;
+import org.apache.kafka.clients.producer.ProducerRecord;
+import org.apache.kafka.common.serialization.ByteArraySerializer;
+import org.apache.kafka.connect.data.Schema;
+import org.apache.kafka.connect.data.SchemaBuilder;
+import org.apache.kafka.connect.data.Struct;
+import org.apache.kafka.connect.json.JsonConverter;
+import org.apache.kafka.test.TestUtils;
+import org.junit.jupiter.api.DynamicTest;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.TestFactory;
+import org.junit.jupiter.api.condition.EnabledIfSystemProperty;
+import org.junit.jupiter.api.io.TempDir;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Measures the connector end to end, on the embedded Connect cluster,<br>
+ * writing to the local storage so that the network is left out.
+ *
+ * <p>For every combination of the swept formats, flush sizes and block
+ * sizes, the records are produced to a new topic and the time at which
+ * each file is committed is recorded. It reports the sustained records
+ * per second, the p50 and p99 latency from the production of a record to
+ * the commit of its file, and the peak heap and the GC time of the JVM,
+ * which the broker and the worker share. The results are appended to
+ * {@value #RESULTS_FILE}.
+ *
+ * <p>Only run when {@code -Dthroughput=true} is given, the run is set
+ * with the {@code throughput.*} system properties.
+ */
+@Tag("IntegrationTest")
+@EnabledIfSystemProperty(named = "throughput", matches = "true")
+public class ThroughputIntegrationTest extends BaseConnectorIntegrationTest {
+    private static final Logger log = LoggerFactory.getLogger(ThroughputIntegrationTest.class);
+
+    private static final String CONNECTOR_NAME = "blob-sink-throughput";
+    private static final String CONTAINER_NAME = "throughput";
+    private static final String RESULTS_FILE = "target/throughput-results.csv";
+    private static final String CONNECTION_STRING = "AccountName=devstoreaccount1;"
+            + "AccountKey=Eby8vdM02xNOcqFlqUwJPLlmEtlCDXJ1OUzFT50uSRZ6IFsuFq2UVErCz4I6tq/K1SZFPTOtr/KBHBeksoGMGw==;"
+            + "DefaultEndpointsProtocol=http;BlobEndpoint=http://localhost:10000/devstoreaccount1;";
+
+    private static final long SEED = 42L;
+    private static final int VALUES_PER_SIZE = 64;
+    private static final long POLL_INTERVAL_MS = 10L;
+    private static final long COMMIT_TIMEOUT_MS = TimeUnit.MINUTES.toMillis(10);
+    private static final Pattern FILE_NAME_PATTERN = Pattern.compile("\\+(\\d+)\\+(\\d+)\\.");
+
+    private static final int PARTITIONS = Integer.getInteger("throughput.partitions", 6);
+    private static final int RECORDS_PER_PARTITION = Integer.getInteger("throughput.records", 100_000);
+    private static final long RATE = Long.getLong("throughput.rate", 0L);
+    private static final String MIX = System.getProperty("throughput.mix", "100:0.7,1000:0.25,10000:0.05");
+    private static final List<String> FORMATS = sweep("throughput.formats", "JSON,AVRO,PARQUET");
+    private static final List<String> FLUSH_SIZES = sweep("throughput.flush.sizes", "1000,10000");
+    private static final List<String> BLOCK_SIZES = sweep("throughput.block.sizes", "5242880,26214400");
+
+    @TempDir
+    Path rootDir;
+
+    private int runs;
+
+    /**
+     * Runs the connector for every combination of the swept configurations.
+     *
+     * @return A run per combination
+     */
+    @TestFactory
+    public Stream<DynamicTest> throughput() {
+        List<DynamicTest> tests = new ArrayList<>();
+
+        for (String format : FORMATS) {
+            for (String flushSize : FLUSH_SIZES) {
+                for (String blockSize : BLOCK_SIZES) {
+                    tests.add(DynamicTest.dynamicTest(
+                            String.format("%s, flush.size=%s, azblob.block.size=%s", format, flushSize, blockSize),
+                            () -> run(format, Integer.parseInt(flushSize), Integer.parseInt(blockSize))
+                    ));
+                }
+            }
+        }
+        return tests.stream();
+    }
+
+    private void run(String format, int flushSize, int blockSize) throws Exception {
+        int filesPerPartition = RECORDS_PER_PARTITION / flushSize;
+        if (filesPerPartition == 0) {
+            throw new IllegalArgumentException("throughput.records is less than flush.size: " + flushSize);
+        }
+        String topic = "throughput-" + runs++;
+        connect.kafka().createTopic(topic, PARTITIONS);
+
+        connect.configureConnector(CONNECTOR_NAME, connectorProps(topic, format, flushSize, blockSize));
+        EmbeddedConnectUtils.waitForConnectorToStart(connect, CONNECTOR_NAME, Math.min(PARTITIONS, MAX_TASKS));
+
+        Map<String, Long> commitTimes = new ConcurrentHashMap<>();
+        ScheduledExecutorService poller = Executors.newSingleThreadScheduledExecutor();
+        poller.scheduleAtFixedRate(
+                () -> pollCommittedFiles(topic, commitTimes), 0, POLL_INTERVAL_MS, TimeUnit.MILLISECONDS
+        );
+        long[][] sendTimes = new long[PARTITIONS][RECORDS_PER_PARTITION];
+
+        try {
+            resetPeakHeap();
+            long gcTimeMs = gcTimeMs();
+            long start = System.nanoTime();
+
+            produce(topic, sendTimes, start);
+
+            TestUtils.waitForCondition(
+                    () -> commitTimes.size() >= PARTITIONS * filesPerPartition,
+                    COMMIT_TIMEOUT_MS,
+                    "Files were not committed in time."
+            );
+            report(new Result(
+                    format, flushSize, blockSize, start, commitTimes, sendTimes,
+                    peakHeapBytes(), gcTimeMs() - gcTimeMs
+            ));
+        } finally {
+            poller.shutdownNow();
+            connect.deleteConnector(CONNECTOR_NAME);
+            EmbeddedConnectUtils.waitForConnectorToStop(connect, CONNECTOR_NAME);
+        }
+    }
+
+    private Map<String, String> connectorProps(String topic, String format, int flushSize, int blockSize) {
+        Map<String, String> props = new HashMap<>();
+        props.put(CONNECTOR_CLASS_CONFIG, AzureBlobSinkConnector.class.getName());
+        props.put(TASKS_MAX_CONFIG, Integer.toString(MAX_TASKS));
+        props.put(KEY_CONVERTER_CLASS_CONFIG, JsonConverter.class.getName());
+        props.put(VALUE_CONVERTER_CLASS_CONFIG, JsonConverter.class.getName());
+        props.put(TOPICS_CONFIG, topic);
+
+        props.put(CONNECTION_STRING_CONF, CONNECTION_STRING);
+        props.put(CONTAINER_NAME_CONF, CONTAINER_NAME);
+        props.put(STORAGE_TYPE_CONF, StorageType.LOCAL.toString());
+        props.put(STORAGE_LOCAL_ROOT_DIR_CONF, rootDir.toString());
+        props.put(FORMAT_CONF, format);
+        props.put(FLUSH_SIZE_CONF, String.valueOf(flushSize));
+        props.put(BLOCK_SIZE_CONF, String.valueOf(blockSize));
+
+        return props;
+    }
+
+    /**
+     * Produces the records to the partitions in turn, at {@link #RATE}<br>
+     * records per second if set. The offset of a record is its index in<br>
+     * its partition, as the topic is new and the producer idempotent.
+     */
+    private void produce(String topic, long[][] sendTimes, long start) {
+        List<byte[]> values = values(topic);
+        Random random = new Random(SEED);
+
+        Map<String, Object> producerProps = new HashMap<>();
+        producerProps.put(ProducerConfig.BOOTSTRAP_SERVERS_CONFIG, connect.kafka().bootstrapServers());
+        producerProps.put(ProducerConfig.KEY_SERIALIZER_CLASS_CONFIG, ByteArraySerializer.class.getName());
+        producerProps.put(ProducerConfig.VALUE_SERIALIZER_CLASS_CONFIG, ByteArraySerializer.class.getName());
+        producerProps.put(ProducerConfig.LINGER_MS_CONFIG, 5);
+
+        try (Producer<byte[], byte[]> producer = new KafkaProducer<>(producerProps)) {
+            long sent = 0;
+
+            for (int offset = 0; offset < RECORDS_PER_PARTITION; offset++) {
+                for (int partition = 0; partition < PARTITIONS; partition++) {
+                    if (RATE > 0) {
+                        long sendAt = start + sent * TimeUnit.SECONDS.toNanos(1) / RATE;
+                        while (System.nanoTime() < sendAt) {
+                            LockSupport.parkNanos(sendAt - System.nanoTime());
+                        }
+                    }
+                    byte[] value = values.get(random.nextInt(values.size()));
+                    sendTimes[partition][offset] = System.nanoTime();
+                    producer.send(new ProducerRecord<>(topic, partition, null, value));
+                    sent++;
+                }
+            }
+            producer.flush();
+        }
+    }
+
+    /**
+     * Serializes the values of the record mix, {@link #VALUES_PER_SIZE} per<br>
+     * payload size, in proportion to the weight of the size.
+     */
+    private static List<byte[]> values(String topic) {
+        Schema schema = SchemaBuilder.struct()
+                .field("id", Schema.INT64_SCHEMA)
+                .field("created_at", Schema.INT64_SCHEMA)
+                .field("status", Schema.STRING_SCHEMA)
+                .field("payload", Schema.STRING_SCHEMA)
+                .build();
+
+        JsonConverter converter = new JsonConverter();
+        converter.configure(Map.of("schemas.enable", "true", "converter.type", "value"));
+
+        Random random = new Random(SEED);
+        List<byte[]> values = new ArrayList<>();
+
+        for (String sizeAndWeight : MIX.split(",")) {
+            String[] parts = sizeAndWeight.trim().split(":");
+            int size = Integer.parseInt(parts[0]);
+            int count = (int) Math.max(1, Math.round(Double.parseDouble(parts[1]) * VALUES_PER_SIZE));
+
+            for (int i = 0; i < count; i++) {
+                char[] payload = new char[size];
+                for (int j = 0; j < size; j++) {
+                    payload[j] = (char) ('a' + random.nextInt(16));
+                }
+                Struct value = new Struct(schema)
+                        .put("id", random.nextLong())
+                        .put("created_at", System.currentTimeMillis())
+                        .put("status", random.nextBoolean() ? "PAID" : "NEW")
+                        .put("payload", new String(payload));
+
+                values.add(converter.fromConnectData(topic, schema, value));
+            }
+        }
+        return values;
+    }
+
+    private void pollCommittedFiles(String topic, Map<String, Long> commitTimes) {
+        Path topicDir = rootDir.resolve(CONTAINER_NAME).resolve("topics").resolve(topic);
+        if (!Files.isDirectory(topicDir)) {
+            return;
+        }
+        long now = System.nanoTime();
+
+        try (Stream<Path> files = Files.walk(topicDir)) {
+            files.filter(Files::isRegularFile)
+                    .forEach(file -> commitTimes.putIfAbsent(file.getFileName().toString(), now));
+
+        } catch (IOException e) {
+            log.debug("Failed to list committed files: {}", e.getMessage());
+        }
+    }
+
+    private static void report(Result result) throws IOException {
+        log.info("{}, flush.size={}, azblob.block.size={}: {} records/s, p50: {} ms, p99: {} ms, "
+                        + "heap peak: {} MB, GC time: {} ms",
+                result.format, result.flushSize, result.blockSize, Math.round(result.recordsPerSecond),
+                result.p50Ms, result.p99Ms, result.peakHeapBytes >> 20, result.gcTimeMs);
+
+        Path resultsFile = Paths.get(RESULTS_FILE);
+        List<String> lines = new ArrayList<>();
+
+        if (!Files.exists(resultsFile)) {
+            Files.createDirectories(resultsFile.getParent());
+            lines.add("format,flush_size,block_size,partitions,records,rate,mix,records_per_second,"
+                    + "p50_ms,p99_ms,peak_heap_bytes,gc_time_ms");
+        }
+        lines.add(String.join(",",
+                result.format, String.valueOf(result.flushSize), String.valueOf(result.blockSize),
+                String.valueOf(PARTITIONS), String.valueOf(result.records), String.valueOf(RATE),
+                "\"" + MIX + "\"", String.valueOf(Math.round(result.recordsPerSecond)),
+                String.valueOf(result.p50Ms), String.valueOf(result.p99Ms),
+                String.valueOf(result.peakHeapBytes), String.valueOf(result.gcTimeMs)
+        ));
+        Files.write(resultsFile, lines, StandardCharsets.UTF_8, StandardOpenOption.CREATE, StandardOpenOption.APPEND);
+    }
+
+    private static void resetPeakHeap() {
+        for (MemoryPoolMXBean pool : ManagementFactory.getMemoryPoolMXBeans()) {
+            if (pool.getType() == MemoryType.HEAP) {
+                pool.resetPeakUsage();
+            }
+        }
+    }
+
+    private static long peakHeapBytes() {
+        return ManagementFactory.getMemoryPoolMXBeans()
+                .stream()
+                .filter(pool -> pool.getType() == MemoryType.HEAP)
+                .mapToLong(pool -> pool.getPeakUsage().getUsed())
+                .sum();
+    }
+
+    private static long gcTimeMs() {
+        return ManagementFactory.getGarbageCollectorMXBeans()
+                .stream()
+                .mapToLong(GarbageCollectorMXBean::getCollectionTime)
+                .filter(time -> time > 0)
+                .sum();
+    }
+
+    private static List<String> sweep(String property, String defaultValue) {
+        return Arrays.stream(System.getProperty(property, defaultValue).split(","))
+                .map(String::trim)
+                .collect(Collectors.toList());
+    }
+
+    /**
+     * Measures of a run, computed from the time at which each file was committed.
+     */
+    private static class Result {
+        private final String format;
+        private final int flushSize;
+        private final int blockSize;
+        private final long records;
+        private final double recordsPerSecond;
+        private final long p50Ms;
+        private final long p99Ms;
+        private final long peakHeapBytes;
+        private final long gcTimeMs;
+
+        private Result(String format, int flushSize, int blockSize, long start, Map<String, Long> commitTimes,
+                       long[][] sendTimes, long peakHeapBytes, long gcTimeMs) {
+
+            this.format = format;
+            this.flushSize = flushSize;
+            this.blockSize = blockSize;
+            this.peakHeapBytes = peakHeapBytes;
+            this.gcTimeMs = gcTimeMs;
+
+            long[] latencies = new long[commitTimes.size() * flushSize];
+            long lastCommit = start;
+            int records = 0;
+
+            for (Map.Entry<String, Long> commit : commitTimes.entrySet()) {
+                Matcher matcher = FILE_NAME_PATTERN.matcher(commit.getKey());
+                if (!matcher.find()) {
+                    continue;
+                }
+                int partition = Integer.parseInt(matcher.group(1));
+                int startOffset = Integer.parseInt(matcher.group(2));
+
+                for (int offset = startOffset; offset < startOffset + flushSize; offset++) {
+                    latencies[records++] = commit.getValue() - sendTimes[partition][offset];
+                }
+                lastCommit = Math.max(lastCommit, commit.getValue());
+            }
+            latencies = Arrays.copyOf(latencies, records);
+            Arrays.sort(latencies);
+
+            this.records = records;
+            this.recordsPerSecond = records / ((lastCommit - start) / (double) TimeUnit.SECONDS.toNanos(1));
+            this.p50Ms = TimeUnit.NANOSECONDS.toMillis(percentile(latencies, 0.50));
+            this.p99Ms = TimeUnit.NANOSECONDS.toMillis(percentile(latencies, 0.99));
+        }
+
+        private static long percentile(long[] sortedValues, double percentile) {
+            if (sortedValues.length == 0) {
+                return 0L;
+            }
+            int index = (int) Math.ceil(percentile * sortedValues.length) - 1;
+            return sortedValues[Math.max(0, index)];
+        }
+    }
+}
@@ -1,5 +1,7 @@
 package io.coffeebeans.connect.azure.blob.sink;
 
+import java.util.List;
+import java.util.Map;
 import org.apache.kafka.connect.connector.Connector;
 import org.junit.jupiter.api.Assertions;
 import org.junit.jupiter.api.Test;
@@ -21,4 +23,18 @@ public class AzureBlobSinkConnectorTest {
         Connector connector = new AzureBlobSinkConnector();
         Assertions.assertTrue(AzureBlobSinkConnector.class.isAssignableFrom(connector.getClass()));
     }
+
+    @Test
+    public void taskConfigs() {
+        AzureBlobSinkConnector connector = new AzureBlobSinkConnector();
+        connector.start(Map.of("name", "test-connector"));
+
+        List<Map<String, String>> configs = connector.taskConfigs(2);
+        Assertions.assertEquals(2, configs.size());
+
+        for (int i = 0; i < configs.size(); i++) {
+            Assertions.assertEquals("test-connector", configs.get(i).get("name"));
+            Assertions.assertEquals(String.valueOf(i), configs.get(i).get(AzureBlobSinkConnector.TASK_ID_CONF));
+        }
+    }
 }
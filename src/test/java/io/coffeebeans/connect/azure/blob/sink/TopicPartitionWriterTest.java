@@ -2,19 +2,29 @@ package io.coffeebeans.connect.azure.blob.sink;
 
 import static org.junit.jupiter.api.Assertions.assertDoesNotThrow;
 import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
 import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
 import static org.mockito.Mockito.any;
 import static org.mockito.Mockito.anyLong;
 import static org.mockito.Mockito.anyString;
 import static org.mockito.Mockito.doNothing;
 import static org.mockito.Mockito.doThrow;
+import static org.mockito.Mockito.eq;
 import static org.mockito.Mockito.times;
 import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 
 import io.coffeebeans.connect.azure.blob.sink.config.AzureBlobSinkConfig;
 import io.coffeebeans.connect.azure.blob.sink.format.RecordWriter;
+import io.coffeebeans.connect.azure.blob.sink.manifest.ManifestEntry;
+import io.coffeebeans.connect.azure.blob.sink.manifest.ManifestWriter;
+import io.coffeebeans.connect.azure.blob.sink.metrics.AzureBlobSinkMetrics;
+import io.coffeebeans.connect.azure.blob.sink.offset.CommittedOffsets;
+import java.util.List;
 import org.apache.kafka.common.TopicPartition;
+import org.apache.kafka.common.metrics.Metrics;
+import org.apache.kafka.common.record.TimestampType;
 import org.apache.kafka.connect.errors.RetriableException;
 import org.apache.kafka.connect.sink.SinkRecord;
 import org.junit.jupiter.api.BeforeEach;
@@ -25,6 +35,7 @@ import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
 import org.mockito.junit.jupiter.MockitoSettings;
 import org.mockito.quality.Strictness;
+import reactor.core.publisher.Mono;
 
 
 /**
@@ -45,6 +56,12 @@ public class TopicPartitionWriterTest {
     @Mock
     private AzureBlobSinkConnectorContext context;
 
+    @Mock
+    private CommittedOffsets committedOffsets;
+
+    @Mock
+    private ManifestWriter manifestWriter;
+
     private TopicPartitionWriter topicPartitionWriter;
 
     /**
@@ -71,6 +88,12 @@ public class TopicPartitionWriterTest {
         when(context.getRecordWriter(anyString(), anyString()))
                 .thenReturn(recordWriter);
 
+        // Mocking the completion of the commits
+        when(recordWriter.getBlobName())
+                .thenReturn("topic/env=test/blob.json");
+        when(recordWriter.whenCommitted())
+                .thenReturn(Mono.empty());
+
         // Mocking sending data to dead letter queue
         // provided sink record and the throwable
         doNothing()
@@ -499,4 +522,270 @@ public class TopicPartitionWriterTest {
                 topicPartitionWriter.getLastSuccessfulOffset()
         );
     }
+
+    /**
+     * <b>Method: {@link TopicPartitionWriter#getLastSuccessfulOffset()}</b>.<br>
+     * The offset of a skipped record should be committed once the records buffered before it are written.
+     */
+    @Test
+    @DisplayName("Given skipped record after a buffered one, getLastSuccessfulOffset should return the skipped offset")
+    void getLastSuccessfulOffset_givenSkippedRecordAfterABufferedOne_shouldReturnTheSkippedOffset() {
+
+        SinkRecord firstSinkRecord = new SinkRecord(
+                "TEST-TOPIC", 0, null, null,
+                null, "TEST-VALUE", 1L
+        );
+
+        SinkRecord secondSinkRecord = new SinkRecord(
+                "TEST-TOPIC", 0, null, null,
+                null, "TEST-VALUE", 2L
+        );
+
+        topicPartitionWriter.buffer(firstSinkRecord);
+        topicPartitionWriter.skip(secondSinkRecord);
+
+        assertNull(topicPartitionWriter.getLastSuccessfulOffset());
+        assertDoesNotThrow(topicPartitionWriter::write);
+
+        verify(recordWriter, times(1))
+                .write(firstSinkRecord);
+        assertEquals(
+                secondSinkRecord.kafkaOffset(),
+                topicPartitionWriter.getLastSuccessfulOffset()
+        );
+        assertNull(topicPartitionWriter.getLastSuccessfulOffset());
+    }
+
+    /**
+     * <b>Method: {@link TopicPartitionWriter#write()}</b>.<br>
+     * The committed writer should be given back to be reused for the next files.
+     */
+    @Test
+    @DisplayName("Given flush size condition met, write should release the committed writer")
+    void write_givenFlushSizeConditionMet_shouldReleaseTheCommittedWriter() {
+
+        topicPartitionWriter.buffer(new SinkRecord(
+                "TEST-TOPIC", 0, null, null,
+                null, "TEST-VALUE", 1L
+        ));
+
+        assertDoesNotThrow(topicPartitionWriter::write);
+        verify(context, times(1))
+                .releaseRecordWriter(TOPIC, recordWriter);
+    }
+
+    /**
+     * <b>Method: {@link TopicPartitionWriter#write()}</b>.<br>
+     * A writer failing to commit is in an unknown state and must not be reused.
+     */
+    @Test
+    @DisplayName("Given commit failure, write should not release the writer")
+    void write_givenCommitFailure_shouldNotReleaseTheWriter() {
+
+        doThrow(RetriableException.class)
+                .when(recordWriter)
+                .commit();
+
+        topicPartitionWriter.buffer(new SinkRecord(
+                "TEST-TOPIC", 0, null, null,
+                null, "TEST-VALUE", 1L
+        ));
+
+        assertDoesNotThrow(topicPartitionWriter::write);
+        verify(context, times(0))
+                .releaseRecordWriter(anyString(), any());
+    }
+
+    /**
+     * <b>Method: {@link TopicPartitionWriter#write()}</b>.<br>
+     */
+    @Test
+    @DisplayName("Given metrics, write should record the freshness of the committed file")
+    void write_givenMetrics_shouldRecordTheFreshnessOfTheCommittedFile() {
+
+        Metrics registry = new Metrics();
+        when(context.getMetrics())
+                .thenReturn(new AzureBlobSinkMetrics("test-connector", "0", registry));
+
+        topicPartitionWriter = new TopicPartitionWriter(new TopicPartition(TOPIC, PARTITION), context);
+        long timestamp = System.currentTimeMillis() - 60_000L;
+
+        topicPartitionWriter.buffer(new SinkRecord(TOPIC, PARTITION, null, null,
+                null, "TEST-VALUE", 1L, timestamp, TimestampType.CREATE_TIME));
+        topicPartitionWriter.write();
+
+        double worstLag = (double) registry.metrics().entrySet().stream()
+                .filter(entry -> entry.getKey().name().equals("freshness-lag-max"))
+                .findFirst()
+                .orElseThrow()
+                .getValue()
+                .metricValue();
+
+        assertTrue(worstLag >= 60_000.0);
+        registry.close();
+    }
+
+    /**
+     * <b>Method: {@link TopicPartitionWriter#write()}</b>.<br>
+     * The file is only counted once its block list is committed in the storage.
+     */
+    @Test
+    @DisplayName("Given failed block list commit, write should not record the freshness of the file")
+    void write_givenFailedBlockListCommit_shouldNotRecordTheFreshnessOfTheFile() {
+
+        Metrics registry = new Metrics();
+        when(context.getMetrics())
+                .thenReturn(new AzureBlobSinkMetrics("test-connector", "0", registry));
+        when(recordWriter.whenCommitted())
+                .thenReturn(Mono.error(new RuntimeException("Commit failed")));
+
+        topicPartitionWriter = new TopicPartitionWriter(new TopicPartition(TOPIC, PARTITION), context);
+
+        topicPartitionWriter.buffer(new SinkRecord(TOPIC, PARTITION, null, null,
+                null, "TEST-VALUE", 1L, System.currentTimeMillis(), TimestampType.CREATE_TIME));
+        topicPartitionWriter.write();
+
+        double rotations = (double) registry.metrics().entrySet().stream()
+                .filter(entry -> entry.getKey().name().equals("flush-size-rotation-total"))
+                .findFirst()
+                .orElseThrow()
+                .getValue()
+                .metricValue();
+
+        assertEquals(0.0, rotations);
+        registry.close();
+    }
+
+    /**
+     * <b>Method: {@link TopicPartitionWriter#write()}</b>.<br>
+     * The manifest only lists the blobs whose block list is committed in the storage.
+     */
+    @Test
+    @DisplayName("Given failed block list commit, write should not append the file to the manifest")
+    void write_givenFailedBlockListCommit_shouldNotAppendTheFileToTheManifest() {
+
+        when(context.getManifestWriter())
+                .thenReturn(manifestWriter);
+        when(manifestWriter.newEntry())
+                .thenAnswer(invocation -> new ManifestEntry(List.of()));
+        when(recordWriter.getBlobName())
+                .thenReturn("topic/env=test/blob-1.json", "topic/env=test/blob-2.json");
+        when(recordWriter.whenCommitted())
+                .thenReturn(Mono.error(new RuntimeException("Commit failed")), Mono.empty());
+
+        TopicPartition topicPartition = new TopicPartition(TOPIC, PARTITION);
+        topicPartitionWriter = new TopicPartitionWriter(topicPartition, context);
+
+        for (long offset = 1L; offset <= 2L; offset++) {
+            topicPartitionWriter.buffer(new SinkRecord(TOPIC, PARTITION, null, null,
+                    null, "TEST-VALUE", offset));
+        }
+        topicPartitionWriter.write();
+
+        verify(manifestWriter, times(1))
+                .append(eq(topicPartition), anyString(), anyLong(), any());
+        verify(manifestWriter, times(1))
+                .append(eq(topicPartition), eq("topic/env=test/blob-2.json"), anyLong(), any());
+    }
+
+    /**
+     * <b>Method: {@link TopicPartitionWriter#write()}</b>.<br>
+     * The committed offset of a blob is held back by the files of<br>
+     * the other encoded partitions still open.
+     */
+    @Test
+    @DisplayName("Given interleaved encoded partitions, write and close should set the committed offset of the blobs")
+    void write_givenInterleavedEncodedPartitions_shouldSetTheCommittedOffsetOfTheBlobs() {
+
+        when(config.getFlushSize())
+                .thenReturn(2);
+        when(context.encodePartition(any()))
+                .thenAnswer(invocation -> ((SinkRecord) invocation.getArgument(0)).kafkaOffset() == 11L
+                        ? "country=US"
+                        : "country=FR");
+        when(context.getCommittedOffsets())
+                .thenReturn(committedOffsets);
+
+        TopicPartition topicPartition = new TopicPartition(TOPIC, PARTITION);
+        topicPartitionWriter = new TopicPartitionWriter(topicPartition, context);
+
+        for (long offset = 10L; offset <= 12L; offset++) {
+            topicPartitionWriter.buffer(new SinkRecord(TOPIC, PARTITION, null, null,
+                    null, "TEST-VALUE", offset));
+        }
+        topicPartitionWriter.write();
+
+        verify(recordWriter, times(1))
+                .setBlobMetadata(CommittedOffsets.metadata(PARTITION, 12L, 10L));
+        verify(committedOffsets, times(1))
+                .update(topicPartition, 10L);
+
+        topicPartitionWriter.close();
+
+        verify(recordWriter, times(1))
+                .setBlobMetadata(CommittedOffsets.metadata(PARTITION, 11L, 12L));
+        verify(committedOffsets, times(1))
+                .update(topicPartition, 12L);
+    }
+
+    /**
+     * <b>Method: {@link TopicPartitionWriter#write()}</b>.<br>
+     * The offset of a blob is only kept once its block list is committed in the storage.
+     */
+    @Test
+    @DisplayName("Given failed block list commit, write should not update the committed offset")
+    void write_givenFailedBlockListCommit_shouldNotUpdateTheCommittedOffset() {
+
+        when(context.getCommittedOffsets())
+                .thenReturn(committedOffsets);
+        when(recordWriter.whenCommitted())
+                .thenReturn(Mono.error(new RuntimeException("Commit failed")));
+
+        TopicPartition topicPartition = new TopicPartition(TOPIC, PARTITION);
+        topicPartitionWriter = new TopicPartitionWriter(topicPartition, context);
+
+        topicPartitionWriter.buffer(new SinkRecord(TOPIC, PARTITION, null, null,
+                null, "TEST-VALUE", 10L));
+        topicPartitionWriter.write();
+
+        verify(recordWriter, times(1))
+                .setBlobMetadata(CommittedOffsets.metadata(PARTITION, 10L, 10L));
+        verify(committedOffsets, times(0))
+                .update(any(), anyLong());
+    }
+
+    /**
+     * <b>Method: {@link TopicPartitionWriter#write()}</b>.<br>
+     * The committed offset of a blob is held back by the blobs<br>
+     * committed before it whose commit is still in flight.
+     */
+    @Test
+    @DisplayName("Given block list commit in flight, write should hold back the committed offset of the next blobs")
+    void write_givenBlockListCommitInFlight_shouldHoldBackTheCommittedOffsetOfTheNextBlobs() {
+
+        when(context.getCommittedOffsets())
+                .thenReturn(committedOffsets);
+        when(recordWriter.getBlobName())
+                .thenReturn("topic/env=test/blob-1.json", "topic/env=test/blob-2.json");
+        when(recordWriter.whenCommitted())
+                .thenReturn(Mono.never(), Mono.empty());
+
+        TopicPartition topicPartition = new TopicPartition(TOPIC, PARTITION);
+        topicPartitionWriter = new TopicPartitionWriter(topicPartition, context);
+
+        for (long offset = 10L; offset <= 11L; offset++) {
+            topicPartitionWriter.buffer(new SinkRecord(TOPIC, PARTITION, null, null,
+                    null, "TEST-VALUE", offset));
+            topicPartitionWriter.write();
+        }
+
+        verify(recordWriter, times(1))
+                .setBlobMetadata(CommittedOffsets.metadata(PARTITION, 10L, 10L));
+        verify(recordWriter, times(1))
+                .setBlobMetadata(CommittedOffsets.metadata(PARTITION, 11L, 9L));
+        verify(committedOffsets, times(1))
+                .update(topicPartition, 9L);
+        verify(committedOffsets, times(0))
+                .update(topicPartition, 10L);
+    }
 }
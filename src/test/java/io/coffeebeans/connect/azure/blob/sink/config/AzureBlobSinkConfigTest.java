@@ -3,6 +3,7 @@ package io.coffeebeans.connect.azure.blob.sink.config;
 import static org.junit.jupiter.api.Assertions.assertEquals;
 
 import java.util.HashMap;
+import java.util.List;
 import java.util.Map;
 
 import org.junit.jupiter.api.Assertions;
@@ -453,6 +454,315 @@ public class AzureBlobSinkConfigTest {
         );
     }
 
+    /**
+     * <b>Configuration: {@link AzureBlobSinkConfig#FORMAT_BYTEARRAY_FRAMING_CONF format.bytearray.framing}</b>
+     */
+    @Test
+    @DisplayName("Configuration => format.bytearray.framing")
+    void byteArrayFraming_config() {
+        String value = "VARINT";
+        Assertions.assertEquals(
+                AzureBlobSinkConfig.FORMAT_BYTEARRAY_FRAMING_DEFAULT, getConfig(parsedConfig).getBinaryFraming()
+        );
+        parsedConfig.put(AzureBlobSinkConfig.FORMAT_BYTEARRAY_FRAMING_CONF, value);
+        assertEquals(
+                value, getConfig(parsedConfig).getBinaryFraming()
+        );
+    }
+
+    /**
+     * <b>Configuration: {@link AzureBlobSinkConfig#PARQUET_ROW_GROUP_SIZE_CONF parquet.row.group.size}</b>
+     */
+    @Test
+    @DisplayName("Configuration => parquet.row.group.size")
+    void parquetRowGroupSize_config() {
+        int value = 8388608;
+        Assertions.assertEquals(
+                AzureBlobSinkConfig.PARQUET_ROW_GROUP_SIZE_DEFAULT, getConfig(parsedConfig).getParquetRowGroupSize()
+        );
+        parsedConfig.put(AzureBlobSinkConfig.PARQUET_ROW_GROUP_SIZE_CONF, String.valueOf(value));
+        assertEquals(
+                value, getConfig(parsedConfig).getParquetRowGroupSize()
+        );
+    }
+
+    /**
+     * <b>Configuration: {@link AzureBlobSinkConfig#PARQUET_ROW_GROUP_ALIGN_BLOCK_SIZE_CONF
+     * parquet.row.group.align.block.size}</b>
+     */
+    @Test
+    @DisplayName("Configuration => parquet.row.group.align.block.size")
+    void parquetRowGroupAlignBlockSize_config() {
+        boolean value = true;
+        Assertions.assertEquals(
+                AzureBlobSinkConfig.PARQUET_ROW_GROUP_ALIGN_BLOCK_SIZE_DEFAULT,
+                getConfig(parsedConfig).isParquetRowGroupAlignedWithBlockSize()
+        );
+        parsedConfig.put(AzureBlobSinkConfig.PARQUET_ROW_GROUP_ALIGN_BLOCK_SIZE_CONF, String.valueOf(value));
+        assertEquals(
+                value, getConfig(parsedConfig).isParquetRowGroupAlignedWithBlockSize()
+        );
+    }
+
+    /**
+     * <b>Configuration: {@link AzureBlobSinkConfig#PARQUET_PAGE_SIZE_CONF parquet.page.size}</b>
+     */
+    @Test
+    @DisplayName("Configuration => parquet.page.size")
+    void parquetPageSize_config() {
+        int value = 1048576;
+        Assertions.assertEquals(
+                AzureBlobSinkConfig.PARQUET_PAGE_SIZE_DEFAULT, getConfig(parsedConfig).getParquetPageSize()
+        );
+        parsedConfig.put(AzureBlobSinkConfig.PARQUET_PAGE_SIZE_CONF, String.valueOf(value));
+        assertEquals(
+                value, getConfig(parsedConfig).getParquetPageSize()
+        );
+    }
+
+    /**
+     * <b>Configuration: {@link AzureBlobSinkConfig#PARQUET_DICTIONARY_PAGE_SIZE_CONF parquet.dictionary.page.size}</b>
+     */
+    @Test
+    @DisplayName("Configuration => parquet.dictionary.page.size")
+    void parquetDictionaryPageSize_config() {
+        int value = 65536;
+        Assertions.assertEquals(
+                AzureBlobSinkConfig.PARQUET_DICTIONARY_PAGE_SIZE_DEFAULT,
+                getConfig(parsedConfig).getParquetDictionaryPageSize()
+        );
+        parsedConfig.put(AzureBlobSinkConfig.PARQUET_DICTIONARY_PAGE_SIZE_CONF, String.valueOf(value));
+        assertEquals(
+                value, getConfig(parsedConfig).getParquetDictionaryPageSize()
+        );
+    }
+
+    /**
+     * <b>Configuration: {@link AzureBlobSinkConfig#PARQUET_DICTIONARY_ENABLED_CONF parquet.dictionary.enabled}</b>
+     */
+    @Test
+    @DisplayName("Configuration => parquet.dictionary.enabled")
+    void parquetDictionaryEnabled_config() {
+        boolean value = false;
+        Assertions.assertEquals(
+                AzureBlobSinkConfig.PARQUET_DICTIONARY_ENABLED_DEFAULT,
+                getConfig(parsedConfig).isParquetDictionaryEnabled()
+        );
+        parsedConfig.put(AzureBlobSinkConfig.PARQUET_DICTIONARY_ENABLED_CONF, String.valueOf(value));
+        assertEquals(
+                value, getConfig(parsedConfig).isParquetDictionaryEnabled()
+        );
+    }
+
+    /**
+     * <b>Configuration: {@link AzureBlobSinkConfig#PARQUET_WRITER_VERSION_CONF parquet.writer.version}</b>
+     */
+    @Test
+    @DisplayName("Configuration => parquet.writer.version")
+    void parquetWriterVersion_config() {
+        String value = "v2";
+        Assertions.assertEquals(
+                AzureBlobSinkConfig.PARQUET_WRITER_VERSION_DEFAULT, getConfig(parsedConfig).getParquetWriterVersion()
+        );
+        parsedConfig.put(AzureBlobSinkConfig.PARQUET_WRITER_VERSION_CONF, value);
+        assertEquals(
+                value, getConfig(parsedConfig).getParquetWriterVersion()
+        );
+    }
+
+    /**
+     * <b>Configuration: {@link AzureBlobSinkConfig#PARQUET_DICTIONARY_DISABLED_COLUMNS_CONF
+     * parquet.dictionary.disabled.columns}</b>
+     */
+    @Test
+    @DisplayName("Configuration => parquet.dictionary.disabled.columns")
+    void parquetDictionaryDisabledColumns_config() {
+        Assertions.assertTrue(
+                getConfig(parsedConfig).getParquetDictionaryDisabledColumns().isEmpty()
+        );
+        parsedConfig.put(AzureBlobSinkConfig.PARQUET_DICTIONARY_DISABLED_COLUMNS_CONF, "id, address.city");
+        assertEquals(
+                List.of("id", "address.city"), getConfig(parsedConfig).getParquetDictionaryDisabledColumns()
+        );
+    }
+
+    /**
+     * <b>Configuration: {@link AzureBlobSinkConfig#PARQUET_PAGE_ROW_COUNT_LIMIT_CONF parquet.page.row.count.limit}</b>
+     */
+    @Test
+    @DisplayName("Configuration => parquet.page.row.count.limit")
+    void parquetPageRowCountLimit_config() {
+        int value = 5000;
+        Assertions.assertEquals(
+                AzureBlobSinkConfig.PARQUET_PAGE_ROW_COUNT_LIMIT_DEFAULT,
+                getConfig(parsedConfig).getParquetPageRowCountLimit()
+        );
+        parsedConfig.put(AzureBlobSinkConfig.PARQUET_PAGE_ROW_COUNT_LIMIT_CONF, String.valueOf(value));
+        assertEquals(
+                value, getConfig(parsedConfig).getParquetPageRowCountLimit()
+        );
+    }
+
+    /**
+     * <b>Configuration: {@link AzureBlobSinkConfig#PARQUET_BLOOM_FILTER_EXPECTED_NDV_CONF
+     * parquet.bloom.filter.expected.ndv}</b>
+     */
+    @Test
+    @DisplayName("Configuration => parquet.bloom.filter.expected.ndv")
+    void parquetBloomFilterExpectedNdv_config() {
+        long value = 5000L;
+        Assertions.assertEquals(
+                AzureBlobSinkConfig.PARQUET_BLOOM_FILTER_EXPECTED_NDV_DEFAULT,
+                getConfig(parsedConfig).getParquetBloomFilterExpectedNdv()
+        );
+        parsedConfig.put(AzureBlobSinkConfig.PARQUET_BLOOM_FILTER_EXPECTED_NDV_CONF, String.valueOf(value));
+        assertEquals(
+                value, getConfig(parsedConfig).getParquetBloomFilterExpectedNdv()
+        );
+    }
+
+    /**
+     * <b>Configuration: {@link AzureBlobSinkConfig#PARQUET_BLOOM_FILTER_FPP_CONF parquet.bloom.filter.fpp}</b>
+     */
+    @Test
+    @DisplayName("Configuration => parquet.bloom.filter.fpp")
+    void parquetBloomFilterFpp_config() {
+        double value = 0.05;
+        Assertions.assertEquals(
+                AzureBlobSinkConfig.PARQUET_BLOOM_FILTER_FPP_DEFAULT, getConfig(parsedConfig).getParquetBloomFilterFpp()
+        );
+        parsedConfig.put(AzureBlobSinkConfig.PARQUET_BLOOM_FILTER_FPP_CONF, String.valueOf(value));
+        assertEquals(
+                value, getConfig(parsedConfig).getParquetBloomFilterFpp()
+        );
+    }
+
+    /**
+     * <b>Configuration: {@link AzureBlobSinkConfig#PARQUET_BLOOM_FILTER_COLUMNS_CONF
+     * parquet.bloom.filter.columns}</b>
+     */
+    @Test
+    @DisplayName("Configuration => parquet.bloom.filter.columns")
+    void parquetBloomFilterColumns_config() {
+        Assertions.assertTrue(
+                getConfig(parsedConfig).getParquetBloomFilterColumns().isEmpty()
+        );
+        parsedConfig.put(AzureBlobSinkConfig.PARQUET_BLOOM_FILTER_COLUMNS_CONF, "id, address.city:1000");
+        assertEquals(
+                List.of("id", "address.city:1000"), getConfig(parsedConfig).getParquetBloomFilterColumns()
+        );
+    }
+
+    /**
+     * <b>Configuration: {@link AzureBlobSinkConfig#COMPRESSION_THREADS_CONF compression.threads}</b>
+     */
+    @Test
+    @DisplayName("Configuration => compression.threads")
+    void compressionThreads_config() {
+        int value = 4;
+        Assertions.assertEquals(
+                AzureBlobSinkConfig.COMPRESSION_THREADS_DEFAULT, getConfig(parsedConfig).getCompressionThreads()
+        );
+        parsedConfig.put(AzureBlobSinkConfig.COMPRESSION_THREADS_CONF, String.valueOf(value));
+        assertEquals(
+                value, getConfig(parsedConfig).getCompressionThreads()
+        );
+    }
+
+    /**
+     * <b>Configuration: {@link AzureBlobSinkConfig#PARQUET_BATCH_SIZE_CONF parquet.batch.size}</b>
+     */
+    @Test
+    @DisplayName("Configuration => parquet.batch.size")
+    void parquetBatchSize_config() {
+        int value = 512;
+        Assertions.assertEquals(
+                AzureBlobSinkConfig.PARQUET_BATCH_SIZE_DEFAULT, getConfig(parsedConfig).getParquetBatchSize()
+        );
+        parsedConfig.put(AzureBlobSinkConfig.PARQUET_BATCH_SIZE_CONF, String.valueOf(value));
+        assertEquals(
+                value, getConfig(parsedConfig).getParquetBatchSize()
+        );
+    }
+
+    /**
+     * <b>Configuration: {@link AzureBlobSinkConfig#WRITER_POOL_MAX_IDLE_CONF writer.pool.max.idle}</b>
+     */
+    @Test
+    @DisplayName("Configuration => writer.pool.max.idle")
+    void writerPoolMaxIdle_config() {
+        int value = 16;
+        Assertions.assertEquals(
+                AzureBlobSinkConfig.WRITER_POOL_MAX_IDLE_DEFAULT, getConfig(parsedConfig).getWriterPoolMaxIdle()
+        );
+        parsedConfig.put(AzureBlobSinkConfig.WRITER_POOL_MAX_IDLE_CONF, String.valueOf(value));
+        assertEquals(
+                value, getConfig(parsedConfig).getWriterPoolMaxIdle()
+        );
+    }
+
+    /**
+     * <b>Configuration: {@link AzureBlobSinkConfig#SCHEMA_REFRESH_INTERVAL_MS_CONF schema.refresh.interval.ms}</b>
+     */
+    @Test
+    @DisplayName("Configuration => schema.refresh.interval.ms")
+    void schemaRefreshIntervalMs_config() {
+        long value = 60000L;
+        Assertions.assertEquals(
+                AzureBlobSinkConfig.SCHEMA_REFRESH_INTERVAL_MS_DEFAULT,
+                getConfig(parsedConfig).getSchemaRefreshIntervalMs()
+        );
+        parsedConfig.put(AzureBlobSinkConfig.SCHEMA_REFRESH_INTERVAL_MS_CONF, String.valueOf(value));
+        assertEquals(
+                value, getConfig(parsedConfig).getSchemaRefreshIntervalMs()
+        );
+    }
+
+    /**
+     * <b>Configuration: {@link AzureBlobSinkConfig#PROJECTION_FIELDS_CONF projection.fields}</b>
+     */
+    @Test
+    @DisplayName("Configuration => projection.fields")
+    void projectionFields_config() {
+        Assertions.assertTrue(
+                getConfig(parsedConfig).getProjectionFields().isEmpty()
+        );
+        parsedConfig.put(AzureBlobSinkConfig.PROJECTION_FIELDS_CONF, "id, amount");
+        assertEquals(
+                List.of("id", "amount"), getConfig(parsedConfig).getProjectionFields()
+        );
+    }
+
+    /**
+     * <b>Configuration: {@link AzureBlobSinkConfig#FILTER_CONDITIONS_CONF filter.conditions}</b>
+     */
+    @Test
+    @DisplayName("Configuration => filter.conditions")
+    void filterConditions_config() {
+        Assertions.assertTrue(
+                getConfig(parsedConfig).getFilterConditions().isEmpty()
+        );
+        parsedConfig.put(AzureBlobSinkConfig.FILTER_CONDITIONS_CONF, "status==PAID, amount>=10");
+        assertEquals(
+                List.of("status==PAID", "amount>=10"), getConfig(parsedConfig).getFilterConditions()
+        );
+    }
+
+    /**
+     * <b>Configuration: {@link AzureBlobSinkConfig#STORAGE_TYPE_CONF storage.type}</b>
+     */
+    @Test
+    @DisplayName("Configuration => storage.type")
+    void storageType_config() {
+        assertEquals(
+                AzureBlobSinkConfig.STORAGE_TYPE_DEFAULT, getConfig(parsedConfig).getStorageType()
+        );
+        parsedConfig.put(AzureBlobSinkConfig.STORAGE_TYPE_CONF, "local");
+        parsedConfig.put(AzureBlobSinkConfig.STORAGE_LOCAL_ROOT_DIR_CONF, "/mnt/blobs");
+        assertEquals("local", getConfig(parsedConfig).getStorageType());
+        assertEquals("/mnt/blobs", getConfig(parsedConfig).getStorageLocalRootDir());
+    }
+
     private AzureBlobSinkConfig getConfig(Map<String, String> parsedConfig) {
         return new AzureBlobSinkConfig(parsedConfig);
     }
@@ -0,0 +1,127 @@
+package io.coffeebeans.connect.azure.blob.sink.filter;
+
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.List;
+import java.util.Map;
+import org.apache.kafka.common.config.ConfigException;
+import org.apache.kafka.connect.data.Schema;
+import org.apache.kafka.connect.data.SchemaBuilder;
+import org.apache.kafka.connect.data.Struct;
+import org.apache.kafka.connect.header.ConnectHeaders;
+import org.apache.kafka.connect.sink.SinkRecord;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+/**
+ * Unit tests for {@link RecordFilter}.
+ */
+public class RecordFilterTest {
+    private static final String TOPIC = "orders";
+
+    private RecordFilter filter;
+
+    /**
+     * Init.
+     */
+    @BeforeEach
+    public void init() {
+        filter = new RecordFilter(
+                List.of("status==PAID", "customer.age>=18", "!deleted_at"),
+                Map.of("payments", List.of(), "refunds", List.of("header:source!=test", "amount<10.5")),
+                10
+        );
+    }
+
+    /**
+     * <b>Method: {@link RecordFilter#test(SinkRecord)}</b>.<br>
+     */
+    @Test
+    @DisplayName("Given struct, test should evaluate the conditions on its nested fields")
+    void test_givenStruct_shouldEvaluateTheConditionsOnItsNestedFields() {
+
+        Schema customerSchema = SchemaBuilder.struct()
+                .field("age", Schema.INT32_SCHEMA)
+                .build();
+        Schema schema = SchemaBuilder.struct()
+                .field("status", Schema.STRING_SCHEMA)
+                .field("customer", customerSchema)
+                .field("deleted_at", Schema.OPTIONAL_INT64_SCHEMA)
+                .build();
+
+        Struct adult = new Struct(schema)
+                .put("status", "PAID")
+                .put("customer", new Struct(customerSchema).put("age", 30));
+        Struct minor = new Struct(schema)
+                .put("status", "PAID")
+                .put("customer", new Struct(customerSchema).put("age", 12));
+        Struct deleted = new Struct(schema)
+                .put("status", "PAID")
+                .put("customer", new Struct(customerSchema).put("age", 30))
+                .put("deleted_at", 1L);
+
+        assertTrue(filter.test(record(TOPIC, schema, adult)));
+        assertFalse(filter.test(record(TOPIC, schema, minor)));
+        assertFalse(filter.test(record(TOPIC, schema, deleted)));
+        assertTrue(filter.test(record("payments", schema, minor)));
+    }
+
+    /**
+     * <b>Method: {@link RecordFilter#test(SinkRecord)}</b>.<br>
+     */
+    @Test
+    @DisplayName("Given JSON string and map, test should evaluate the conditions on their fields")
+    void test_givenJsonStringAndMap_shouldEvaluateTheConditionsOnTheirFields() {
+
+        assertTrue(filter.test(record(
+                TOPIC, null, "{\"items\":[{\"status\":\"NEW\"}],\"status\":\"PAID\",\"customer\":{\"age\":18}}"
+        )));
+        assertFalse(filter.test(record(
+                TOPIC, null, "{\"status\":\"NEW\",\"customer\":{\"age\":18}}"
+        )));
+        assertFalse(filter.test(record(
+                TOPIC, null, "{\"status\":\"PAID\",\"customer\":\"anonymous\"}"
+        )));
+
+        assertTrue(filter.test(record(
+                TOPIC, null, Map.of("status", "PAID", "customer", Map.of("age", 40L))
+        )));
+        assertFalse(filter.test(record(
+                TOPIC, null, Map.of("status", "PAID", "customer", Map.of("age", 40L), "deleted_at", 1L)
+        )));
+    }
+
+    /**
+     * <b>Method: {@link RecordFilter#test(SinkRecord)}</b>.<br>
+     */
+    @Test
+    @DisplayName("Given topic override, test should evaluate the headers and numeric ranges of the topic")
+    void test_givenTopicOverride_shouldEvaluateTheHeadersAndNumericRangesOfTheTopic() {
+
+        SinkRecord record = record("refunds", null, Map.of("amount", 10));
+        assertTrue(filter.test(record));
+
+        record.headers().addString("source", "test");
+        assertFalse(filter.test(record));
+
+        assertFalse(filter.test(record("refunds", null, Map.of("amount", 10.5))));
+    }
+
+    /**
+     * <b>Method: {@link RecordFilter#RecordFilter(List, Map, int)}</b>.<br>
+     */
+    @Test
+    @DisplayName("Given malformed condition, constructor should throw ConfigException")
+    void constructor_givenMalformedCondition_shouldThrowConfigException() {
+
+        assertThrows(ConfigException.class, () -> new RecordFilter(List.of("status=PAID"), Map.of(), 10));
+        assertThrows(ConfigException.class, () -> new RecordFilter(List.of(">=10"), Map.of(), 10));
+    }
+
+    private static SinkRecord record(String topic, Schema schema, Object value) {
+        return new SinkRecord(topic, 0, null, null, schema, value, 1L, null, null, new ConnectHeaders());
+    }
+}
@@ -0,0 +1,112 @@
+package io.coffeebeans.connect.azure.blob.sink.format;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyBoolean;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+import com.azure.core.http.HttpHeaders;
+import com.azure.core.http.rest.Response;
+import com.azure.core.http.rest.SimpleResponse;
+import com.azure.storage.blob.models.BlockBlobItem;
+import io.coffeebeans.connect.azure.blob.sink.storage.InMemoryStorageManager;
+import io.coffeebeans.connect.azure.blob.sink.storage.InMemoryStorageManager.Latency;
+import io.coffeebeans.connect.azure.blob.sink.storage.StorageManager;
+import java.io.IOException;
+import java.time.Duration;
+import java.time.OffsetDateTime;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import reactor.core.publisher.Mono;
+
+/**
+ * Unit tests for {@link AzureBlobOutputStream}.
+ */
+public class AzureBlobOutputStreamTest {
+    private static final String BLOB_NAME = "test-blob";
+
+    /**
+     * <b>Method: {@link AzureBlobOutputStream#commit()}</b>.<br>
+     * The block list should only be committed once the blocks still in flight are staged.
+     */
+    @Test
+    @DisplayName("Given blocks still staging, commit should commit the block list once they are staged")
+    void commit_givenBlocksStillStaging_shouldCommitTheBlockListOnceTheyAreStaged() throws Exception {
+
+        StorageManager storageManager = mock(StorageManager.class);
+        AtomicInteger stagedBlocks = new AtomicInteger();
+        CompletableFuture<Integer> stagedBlocksAtCommit = new CompletableFuture<>();
+
+        when(storageManager.stageBlockAsync(eq(BLOB_NAME), anyString(), any()))
+                .thenAnswer(invocation -> Mono.delay(Duration.ofMillis(50))
+                        .map(tick -> (Response<Void>) new SimpleResponse<Void>(null, 201, new HttpHeaders(), null))
+                        .doOnSuccess(response -> stagedBlocks.incrementAndGet()));
+        when(storageManager.commitBlockIdsAsync(eq(BLOB_NAME), anyList(), anyBoolean()))
+                .thenReturn(Mono.fromCallable(() -> {
+                    stagedBlocksAtCommit.complete(stagedBlocks.get());
+                    return new BlockBlobItem("etag", OffsetDateTime.now(), null, false, null);
+                }));
+
+        write(new AzureBlobOutputStream(storageManager, BLOB_NAME, 4), new byte[10]);
+
+        // 10 bytes in blocks of 4 bytes
+        assertEquals(3, stagedBlocksAtCommit.get(5, TimeUnit.SECONDS));
+    }
+
+    /**
+     * <b>Method: {@link AzureBlobOutputStream#commit()}</b>.<br>
+     * The blob should be committed against the simulated latency of the storage.
+     */
+    @Test
+    @DisplayName("Given slow staging, commit should wait for the blocks to be staged")
+    void commit_givenSlowStaging_shouldWaitForTheBlocksToBeStaged() throws IOException, InterruptedException {
+
+        InMemoryStorageManager storageManager = new InMemoryStorageManager()
+                .withLatency(Latency.uniform(10, 50))
+                .withSeed(1L);
+
+        byte[] data = {1, 2, 3, 4, 5, 6, 7, 8, 9, 10};
+        write(new AzureBlobOutputStream(storageManager, BLOB_NAME, 4), data);
+
+        long deadline = System.currentTimeMillis() + 5000;
+        while (storageManager.getBlob(BLOB_NAME) == null && System.currentTimeMillis() < deadline) {
+            Thread.sleep(10);
+        }
+        assertArrayEquals(data, storageManager.getBlob(BLOB_NAME));
+    }
+
+    /**
+     * <b>Method: {@link AzureBlobOutputStream#whenCommitted()}</b>.<br>
+     * The completion follows the commit of the block list, not the call to commit.
+     */
+    @Test
+    @DisplayName("Given failed block list commit, whenCommitted should fail")
+    void whenCommitted_givenFailedBlockListCommit_shouldFail() throws IOException {
+
+        StorageManager storageManager = mock(StorageManager.class);
+
+        when(storageManager.stageBlockAsync(eq(BLOB_NAME), anyString(), any()))
+                .thenReturn(Mono.just(new SimpleResponse<Void>(null, 201, new HttpHeaders(), null)));
+        when(storageManager.commitBlockIdsAsync(eq(BLOB_NAME), anyList(), anyBoolean()))
+                .thenReturn(Mono.error(new IllegalStateException("Commit failed")));
+
+        AzureBlobOutputStream outputStream = new AzureBlobOutputStream(storageManager, BLOB_NAME, 4);
+        write(outputStream, new byte[10]);
+
+        assertThrows(IllegalStateException.class, () -> outputStream.whenCommitted().block(Duration.ofSeconds(5)));
+    }
+
+    private static void write(AzureBlobOutputStream outputStream, byte[] data) throws IOException {
+        outputStream.write(data, 0, data.length);
+        outputStream.commit();
+    }
+}
@@ -0,0 +1,81 @@
+package io.coffeebeans.connect.azure.blob.sink.format;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
+import org.apache.kafka.common.config.ConfigException;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+/**
+ * Unit tests for {@link CompressionType}.
+ */
+public class CompressionTypeTest {
+
+    private static final byte[] DATA = "{\"id\":1,\"name\":\"record\"}\n"
+            .repeat(10_000)
+            .getBytes(StandardCharsets.UTF_8);
+
+    /**
+     * <b>Method: {@link CompressionType#finalize(OutputStream)}</b>.<br>
+     */
+    @Test
+    @DisplayName("Given finalized output, every compression type should read it back")
+    void finalize_givenFinalizedOutput_everyCompressionTypeShouldReadItBack() throws IOException {
+
+        for (CompressionType type : CompressionType.values()) {
+            ClosingAwareOutputStream outputStream = new ClosingAwareOutputStream();
+
+            OutputStream compressionFilter = type.wrapForOutput(outputStream, 3);
+            compressionFilter.write(DATA);
+            type.finalize(compressionFilter);
+
+            assertFalse(outputStream.closed, type.name);
+            try (InputStream inputStream = type.wrapForInput(new ByteArrayInputStream(outputStream.toByteArray()))) {
+                assertArrayEquals(DATA, inputStream.readAllBytes(), type.name);
+            }
+        }
+    }
+
+    /**
+     * <b>Method: {@link CompressionType#forName(String)}</b>.<br>
+     */
+    @Test
+    @DisplayName("Given name in any case, forName should return the compression type")
+    void forName_givenNameInAnyCase_shouldReturnTheCompressionType() {
+
+        assertEquals(CompressionType.ZSTD, CompressionType.forName("ZSTD"));
+        assertEquals(CompressionType.LZ4, CompressionType.forName("lz4"));
+        assertEquals(CompressionType.SNAPPY, CompressionType.forName("Snappy"));
+        assertThrows(IllegalArgumentException.class, () -> CompressionType.forName("brotli"));
+    }
+
+    /**
+     * <b>Method: {@link CompressionType#ensureValidLevel(int)}</b>.<br>
+     */
+    @Test
+    @DisplayName("Given level above the maximum, ensureValidLevel should throw")
+    void ensureValidLevel_givenLevelAboveTheMaximum_shouldThrow() {
+
+        assertThrows(ConfigException.class, () -> CompressionType.GZIP.ensureValidLevel(10));
+        CompressionType.ZSTD.ensureValidLevel(19);
+        CompressionType.SNAPPY.ensureValidLevel(22);
+    }
+
+    private static class ClosingAwareOutputStream extends ByteArrayOutputStream {
+        private boolean closed;
+
+        @Override
+        public void close() {
+            closed = true;
+        }
+    }
+}
@@ -0,0 +1,129 @@
+package io.coffeebeans.connect.azure.blob.sink.format;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.io.IOException;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import org.apache.kafka.connect.data.Schema;
+import org.apache.kafka.connect.data.SchemaBuilder;
+import org.apache.kafka.connect.data.Struct;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+/**
+ * Unit tests for {@link FieldProjection}.
+ */
+public class FieldProjectionTest {
+    private static final String TOPIC = "orders";
+
+    private FieldProjection projection;
+
+    /**
+     * Init.
+     */
+    @BeforeEach
+    public void init() {
+        projection = new FieldProjection(
+                List.of("id", "amount"),
+                Map.of("payments", List.of(), "refunds", List.of("id")),
+                10
+        );
+    }
+
+    /**
+     * <b>Method: {@link FieldProjection#isEnabled(String)}</b>.<br>
+     */
+    @Test
+    @DisplayName("Given topic override, isEnabled should use the fields of the topic")
+    void isEnabled_givenTopicOverride_shouldUseTheFieldsOfTheTopic() {
+
+        assertTrue(projection.isEnabled(TOPIC));
+        assertTrue(projection.isEnabled("refunds"));
+        assertFalse(projection.isEnabled("payments"));
+    }
+
+    /**
+     * <b>Method: {@link FieldProjection#project(String, Object)}</b>.<br>
+     */
+    @Test
+    @DisplayName("Given struct, project should keep the selected fields with a cached schema")
+    void project_givenStruct_shouldKeepTheSelectedFieldsWithACachedSchema() {
+
+        Schema schema = SchemaBuilder.struct()
+                .name("Order")
+                .field("id", Schema.INT64_SCHEMA)
+                .field("customer", Schema.STRING_SCHEMA)
+                .field("amount", Schema.OPTIONAL_FLOAT64_SCHEMA)
+                .build();
+
+        Struct value = new Struct(schema)
+                .put("id", 1L)
+                .put("customer", "alice")
+                .put("amount", 9.5);
+
+        Struct projectedValue = (Struct) projection.project(TOPIC, value);
+
+        assertEquals(2, projectedValue.schema().fields().size());
+        assertEquals("Order", projectedValue.schema().name());
+        assertEquals(1L, projectedValue.get("id"));
+        assertEquals(9.5, projectedValue.get("amount"));
+        assertSame(projectedValue.schema(), projection.projectSchema(TOPIC, schema));
+
+        assertSame(value, projection.project("payments", value));
+    }
+
+    /**
+     * <b>Method: {@link FieldProjection#projectMap(String, Map)}</b>.<br>
+     */
+    @Test
+    @DisplayName("Given map, projectMap should keep the selected entries")
+    void projectMap_givenMap_shouldKeepTheSelectedEntries() {
+
+        Map<String, Object> value = new LinkedHashMap<>();
+        value.put("id", 1);
+        value.put("customer", "alice");
+
+        assertEquals(Map.of("id", 1), projection.projectMap(TOPIC, value));
+    }
+
+    /**
+     * <b>Method: {@link FieldProjection#projectJson(String, String)}</b>.<br>
+     */
+    @Test
+    @DisplayName("Given JSON object, projectJson should skip the unselected subtrees")
+    void projectJson_givenJsonObject_shouldSkipTheUnselectedSubtrees() throws IOException {
+
+        String json = "{\"id\":1,\"customer\":{\"name\":\"alice\",\"tags\":[1,{\"amount\":2}]},"
+                + "\"amount\":9.5,\"items\":[{\"id\":3}]}";
+
+        assertEquals("{\"id\":1,\"amount\":9.5}", projection.projectJson(TOPIC, json));
+        assertEquals("[1,2]", projection.projectJson(TOPIC, "[1,2]"));
+        assertSame(json, projection.projectJson("payments", json));
+    }
+
+    /**
+     * <b>Method: {@link FieldProjection#projectAvroSchema(String, org.apache.avro.Schema)}</b>.<br>
+     */
+    @Test
+    @DisplayName("Given Avro record schema, projectAvroSchema should keep the selected fields")
+    void projectAvroSchema_givenAvroRecordSchema_shouldKeepTheSelectedFields() {
+
+        org.apache.avro.Schema schema = new org.apache.avro.Schema.Parser().parse(
+                "{\"type\":\"record\",\"name\":\"Order\",\"fields\":["
+                        + "{\"name\":\"id\",\"type\":\"long\"},"
+                        + "{\"name\":\"customer\",\"type\":\"string\"}]}"
+        );
+        org.apache.avro.Schema projectedSchema = projection.projectAvroSchema("refunds", schema);
+
+        assertEquals("Order", projectedSchema.getName());
+        assertEquals(1, projectedSchema.getFields().size());
+        assertNull(projectedSchema.getField("customer"));
+    }
+}
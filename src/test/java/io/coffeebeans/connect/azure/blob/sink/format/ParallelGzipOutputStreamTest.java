@@ -0,0 +1,87 @@
+package io.coffeebeans.connect.azure.blob.sink.format;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.Random;
+import java.util.zip.Deflater;
+import java.util.zip.GZIPInputStream;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+/**
+ * Unit tests for {@link ParallelGzipOutputStream}.
+ */
+public class ParallelGzipOutputStreamTest {
+
+    private CompressionPool pool;
+
+    /**
+     * Init.
+     */
+    @BeforeEach
+    public void init() {
+        pool = new CompressionPool(2);
+    }
+
+    /**
+     * Tear down.
+     */
+    @AfterEach
+    public void tearDown() {
+        pool.close();
+    }
+
+    /**
+     * <b>Method: {@link ParallelGzipOutputStream#write(byte[], int, int)}</b>.<br>
+     */
+    @Test
+    @DisplayName("Given data spanning chunks, gzip reader should read it back as a whole")
+    void write_givenDataSpanningChunks_gzipReaderShouldReadItBackAsAWhole() throws IOException {
+
+        byte[] data = new byte[100_000];
+        Random random = new Random(42);
+        for (int i = 0; i < data.length; i++) {
+            data[i] = (byte) ('a' + random.nextInt(4));
+        }
+
+        ByteArrayOutputStream outputStream = new ByteArrayOutputStream();
+        try (ParallelGzipOutputStream gzip = new ParallelGzipOutputStream(
+                outputStream, Deflater.BEST_SPEED, pool, 4096)) {
+
+            gzip.write(data, 0, 1000);
+            gzip.write(data[1000]);
+            gzip.write(data, 1001, data.length - 1001);
+        }
+
+        assertArrayEquals(data, gunzip(outputStream.toByteArray()));
+    }
+
+    /**
+     * <b>Method: {@link ParallelGzipOutputStream#finish()}</b>.<br>
+     */
+    @Test
+    @DisplayName("Given no data, finish should write a valid empty gzip file")
+    void finish_givenNoData_shouldWriteAValidEmptyGzipFile() throws IOException {
+
+        ByteArrayOutputStream outputStream = new ByteArrayOutputStream();
+        ParallelGzipOutputStream gzip = new ParallelGzipOutputStream(outputStream, Deflater.DEFAULT_COMPRESSION, pool);
+        gzip.finish();
+
+        assertEquals(0, gunzip(outputStream.toByteArray()).length);
+        assertThrows(IOException.class, () -> gzip.write(1));
+    }
+
+    private byte[] gunzip(byte[] compressed) throws IOException {
+        try (InputStream inputStream = new GZIPInputStream(new ByteArrayInputStream(compressed))) {
+            return inputStream.readAllBytes();
+        }
+    }
+}
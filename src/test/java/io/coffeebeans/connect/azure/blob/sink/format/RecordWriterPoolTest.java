@@ -0,0 +1,92 @@
+package io.coffeebeans.connect.azure.blob.sink.format;
+
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+/**
+ * Unit tests for {@link RecordWriterPool}.
+ */
+public class RecordWriterPoolTest {
+    private static final String TOPIC = "test-topic";
+
+    private RecordWriterPool pool;
+
+    /**
+     * Init.
+     */
+    @BeforeEach
+    public void init() {
+        pool = new RecordWriterPool(1);
+    }
+
+    /**
+     * <b>Method: {@link RecordWriterPool#borrow(String, String)}</b>.<br>
+     */
+    @Test
+    @DisplayName("Given released writer, borrow should reset it on the blob")
+    void borrow_givenReleasedWriter_shouldResetItOnTheBlob() {
+
+        ResettableRecordWriter writer = mock(ResettableRecordWriter.class);
+        pool.release(writer, TOPIC);
+
+        assertNull(pool.borrow("blob", "other-topic"));
+        assertSame(writer, pool.borrow("blob", TOPIC));
+        verify(writer, times(1))
+                .reset("blob");
+
+        assertNull(pool.borrow("blob", TOPIC));
+    }
+
+    /**
+     * <b>Method: {@link RecordWriterPool#release(RecordWriter, String)}</b>.<br>
+     */
+    @Test
+    @DisplayName("Given max idle writers, release should drop the writer")
+    void release_givenMaxIdleWriters_shouldDropTheWriter() {
+
+        RecordWriter first = mock(ResettableRecordWriter.class);
+        RecordWriter second = mock(ResettableRecordWriter.class);
+        pool.release(first, TOPIC);
+        pool.release(second, TOPIC);
+
+        assertSame(first, pool.borrow("blob", TOPIC));
+        assertNull(pool.borrow("blob", TOPIC));
+    }
+
+    /**
+     * <b>Method: {@link RecordWriterPool#evict(String)}</b>.<br>
+     */
+    @Test
+    @DisplayName("Given idle writers, evict should drop the writers of the topic")
+    void evict_givenIdleWriters_shouldDropTheWritersOfTheTopic() {
+
+        RecordWriter writer = mock(ResettableRecordWriter.class);
+        RecordWriter otherWriter = mock(ResettableRecordWriter.class);
+        pool.release(writer, TOPIC);
+        pool.release(otherWriter, "other-topic");
+
+        pool.evict(TOPIC);
+
+        assertNull(pool.borrow("blob", TOPIC));
+        assertSame(otherWriter, pool.borrow("blob", "other-topic"));
+    }
+
+    /**
+     * <b>Method: {@link RecordWriterPool#release(RecordWriter, String)}</b>.<br>
+     */
+    @Test
+    @DisplayName("Given writer which cannot be reset, release should drop the writer")
+    void release_givenWriterWhichCannotBeReset_shouldDropTheWriter() {
+
+        pool.release(mock(RecordWriter.class), TOPIC);
+
+        assertNull(pool.borrow("blob", TOPIC));
+    }
+}
@@ -74,7 +74,9 @@ public class AvroRecordWriterTest {
                 "test",
                 "Ktopic",
                 CodecFactory.nullCodec(),
-                avroData);
+                null,
+                avroData,
+                null);
 
         // Injecting mocked DataFileWriter.
         Field dataFileWriterField = writer
@@ -148,6 +150,10 @@ public class AvroRecordWriterTest {
     @DisplayName("Close should invoke data file writer close")
     void close_shouldInvokeDataFileWriterClose() throws IOException {
 
+        when(sinkRecord.value())
+                .thenReturn(struct);
+        writer.write(sinkRecord);
+
         writer.close();
         verify(dataFileWriter, times(1))
                 .close();
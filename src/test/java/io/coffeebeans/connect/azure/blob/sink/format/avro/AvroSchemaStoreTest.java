@@ -9,6 +9,8 @@ import java.io.InputStream;
 import java.net.URL;
 import java.net.URLConnection;
 import java.net.URLStreamHandlerFactory;
+import java.nio.charset.StandardCharsets;
+import java.util.Map;
 import org.apache.avro.Schema;
 import org.junit.jupiter.api.Assertions;
 import org.junit.jupiter.api.BeforeAll;
@@ -26,6 +28,8 @@ public class AvroSchemaStoreTest {
     private static SchemaStore schemaStore;
 
     private static final String KAFKA_TOPIC = "test";
+    private static final String SCHEMA = "{\"type\": \"record\", \"name\": \"Record\", "
+            + "\"fields\": [{\"name\": \"id\", \"type\": \"long\"}]}";
 
 
     /**
@@ -171,4 +175,65 @@ public class AvroSchemaStoreTest {
         );
     }
 
+    /**
+     * <b>Method: {@link AvroSchemaStore#registerAll(Map)}</b>.<br>
+     * <b>Expectations: </b>
+     * <ul>
+     *     <li>Should register the schemas loaded successfully</li>
+     *     <li>Should skip the schemas failing to load, without throwing</li>
+     * </ul>
+     */
+    @Test
+    @DisplayName("Given one failing url, registerAll should register the other schemas")
+    void registerAll_givenOneFailingUrl_shouldRegisterTheOtherSchemas() throws IOException {
+
+        URLConnection validConnection = Mockito.mock(URLConnection.class);
+        httpUrlStreamHandler.addConnection(new URL("http://host/alpha"), validConnection);
+        Mockito
+                .when(validConnection.getInputStream())
+                .thenReturn(new ByteArrayInputStream(SCHEMA.getBytes(StandardCharsets.UTF_8)));
+
+        URLConnection failingConnection = Mockito.mock(URLConnection.class);
+        httpUrlStreamHandler.addConnection(new URL("http://host/beta"), failingConnection);
+        Mockito
+                .when(failingConnection.getInputStream())
+                .thenThrow(IOException.class);
+
+        schemaStore.registerAll(Map.of(
+                "alpha", "http://host/alpha",
+                "beta", "http://host/beta"
+        ));
+
+        Assertions.assertEquals(new Schema.Parser().parse(SCHEMA), schemaStore.getSchema("alpha"));
+        Assertions.assertNull(schemaStore.getSchema("beta"));
+    }
+
+    /**
+     * <b>Method: {@link AvroSchemaStore#refresh()}</b>.<br>
+     * <b>Expectations: </b>
+     * <ul>
+     *     <li>Should replace the schema with the one downloaded again</li>
+     * </ul>
+     */
+    @Test
+    @DisplayName("Given updated schema, refresh should replace the registered schema")
+    void refresh_givenUpdatedSchema_shouldReplaceTheRegisteredSchema() throws IOException {
+
+        String givenSchemaUrl = "http://host/schema";
+        String updatedSchema = SCHEMA.replace("]", ", {\"name\": \"name\", \"type\": [\"null\", \"string\"]}]");
+
+        URLConnection urlConnection = Mockito.mock(URLConnection.class);
+        httpUrlStreamHandler.addConnection(new URL(givenSchemaUrl), urlConnection);
+        Mockito
+                .when(urlConnection.getInputStream())
+                .thenReturn(
+                        new ByteArrayInputStream(SCHEMA.getBytes(StandardCharsets.UTF_8)),
+                        new ByteArrayInputStream(updatedSchema.getBytes(StandardCharsets.UTF_8))
+                );
+
+        schemaStore.register(KAFKA_TOPIC, givenSchemaUrl);
+        ((AvroSchemaStore) schemaStore).refresh();
+
+        Assertions.assertEquals(new Schema.Parser().parse(updatedSchema), schemaStore.getSchema(KAFKA_TOPIC));
+    }
 }
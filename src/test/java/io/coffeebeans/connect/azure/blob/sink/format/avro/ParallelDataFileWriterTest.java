@@ -0,0 +1,116 @@
+package io.coffeebeans.connect.azure.blob.sink.format.avro;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+import io.coffeebeans.connect.azure.blob.sink.format.CompressionPool;
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import org.apache.avro.Schema;
+import org.apache.avro.SchemaBuilder;
+import org.apache.avro.file.CodecFactory;
+import org.apache.avro.file.DataFileStream;
+import org.apache.avro.generic.GenericData;
+import org.apache.avro.generic.GenericDatumReader;
+import org.apache.avro.generic.GenericRecord;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+/**
+ * Unit tests for {@link ParallelDataFileWriter}.
+ */
+public class ParallelDataFileWriterTest {
+
+    private static final Schema SCHEMA = SchemaBuilder.record("record")
+            .fields()
+            .requiredLong("id")
+            .requiredString("name")
+            .endRecord();
+
+    private CompressionPool pool;
+
+    /**
+     * Init.
+     */
+    @BeforeEach
+    public void init() {
+        pool = new CompressionPool(2);
+    }
+
+    /**
+     * Tear down.
+     */
+    @AfterEach
+    public void tearDown() {
+        pool.close();
+    }
+
+    /**
+     * <b>Method: {@link ParallelDataFileWriter#append(Object)}</b>.<br>
+     */
+    @Test
+    @DisplayName("Given records spanning blocks, standard reader should read them back in order")
+    void append_givenRecordsSpanningBlocks_standardReaderShouldReadThemBackInOrder() throws IOException {
+
+        ByteArrayOutputStream outputStream = new ByteArrayOutputStream();
+        try (ParallelDataFileWriter writer = new ParallelDataFileWriter(
+                SCHEMA, CodecFactory.deflateCodec(6), outputStream, pool)) {
+
+            for (long i = 0; i < 50_000; i++) {
+                writer.append(newRecord(i));
+            }
+        }
+
+        try (DataFileStream<GenericRecord> reader = new DataFileStream<>(
+                new ByteArrayInputStream(outputStream.toByteArray()), new GenericDatumReader<>())) {
+
+            assertEquals("deflate", reader.getMetaString("avro.codec"));
+            for (long i = 0; i < 50_000; i++) {
+                GenericRecord record = reader.next();
+                assertEquals(i, record.get("id"));
+                assertEquals("name-" + i, record.get("name").toString());
+            }
+            assertFalse(reader.hasNext());
+        }
+    }
+
+    /**
+     * <b>Method: {@link ParallelDataFileWriter#append(Object)}</b>.<br>
+     */
+    @Test
+    @DisplayName("Given invalid record, append should drop it from the block")
+    void append_givenInvalidRecord_shouldDropItFromTheBlock() throws IOException {
+
+        GenericRecord invalid = new GenericData.Record(SCHEMA);
+        invalid.put("id", 1L);
+
+        ByteArrayOutputStream outputStream = new ByteArrayOutputStream();
+        try (ParallelDataFileWriter writer = new ParallelDataFileWriter(
+                SCHEMA, CodecFactory.deflateCodec(6), outputStream, pool)) {
+
+            writer.append(newRecord(0));
+            assertThrows(RuntimeException.class, () -> writer.append(invalid));
+            writer.append(newRecord(1));
+        }
+
+        try (DataFileStream<GenericRecord> reader = new DataFileStream<>(
+                new ByteArrayInputStream(outputStream.toByteArray()), new GenericDatumReader<>())) {
+
+            assertEquals(0L, reader.next().get("id"));
+            assertEquals(1L, reader.next().get("id"));
+            assertFalse(reader.hasNext());
+        }
+    }
+
+    private GenericRecord newRecord(long id) {
+        GenericRecord record = new GenericData.Record(SCHEMA);
+        record.put("id", id);
+        record.put("name", "name-" + id);
+
+        return record;
+    }
+}
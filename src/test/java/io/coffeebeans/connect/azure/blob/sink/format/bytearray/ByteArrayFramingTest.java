@@ -0,0 +1,113 @@
+package io.coffeebeans.connect.azure.blob.sink.format.bytearray;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.EOFException;
+import java.io.IOException;
+import java.util.Arrays;
+import java.util.List;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+/**
+ * Unit tests for {@link ByteArrayFraming} and {@link FramedRecordReader}.
+ */
+public class ByteArrayFramingTest {
+
+    /**
+     * <b>Method: {@link ByteArrayFraming#writeFrame(java.io.OutputStream, byte[])}</b>.<br>
+     */
+    @Test
+    @DisplayName("Given varint framing, reader should return values containing newline bytes")
+    void writeFrame_givenVarintFraming_readerShouldReturnValuesContainingNewlineBytes() throws IOException {
+        assertRoundTrip(ByteArrayFraming.VARINT, valuesWithNewlineBytes());
+    }
+
+    /**
+     * <b>Method: {@link ByteArrayFraming#writeFrame(java.io.OutputStream, byte[])}</b>.<br>
+     */
+    @Test
+    @DisplayName("Given fixed32 framing, reader should return values containing newline bytes")
+    void writeFrame_givenFixed32Framing_readerShouldReturnValuesContainingNewlineBytes() throws IOException {
+        assertRoundTrip(ByteArrayFraming.FIXED32, valuesWithNewlineBytes());
+    }
+
+    /**
+     * <b>Method: {@link ByteArrayFraming#writeFrame(java.io.OutputStream, byte[])}</b>.<br>
+     */
+    @Test
+    @DisplayName("Given newline framing, reader should return values written")
+    void writeFrame_givenNewlineFraming_readerShouldReturnValuesWritten() throws IOException {
+
+        List<byte[]> values = List.of(
+                new byte[] {'a', 'b'},
+                new byte[] {'c'}
+        );
+        assertRoundTrip(ByteArrayFraming.NEWLINE, values);
+    }
+
+    /**
+     * <b>Method: {@link ByteArrayFraming#writeFrame(java.io.OutputStream, byte[], int, int)}</b>.<br>
+     */
+    @Test
+    @DisplayName("Given varint framing, write frame should prefix the length as varint")
+    void writeFrame_givenVarintFraming_shouldPrefixTheLengthAsVarint() throws IOException {
+
+        ByteArrayOutputStream outputStream = new ByteArrayOutputStream();
+        ByteArrayFraming.VARINT.writeFrame(outputStream, new byte[300], 0, 300);
+
+        byte[] output = outputStream.toByteArray();
+        assertEquals(302, output.length);
+        assertEquals((byte) 0xAC, output[0]);
+        assertEquals((byte) 0x02, output[1]);
+    }
+
+    /**
+     * <b>Method: {@link FramedRecordReader#next()}</b>.<br>
+     */
+    @Test
+    @DisplayName("Given truncated frame, next should throw EOFException")
+    void next_givenTruncatedFrame_shouldThrowEofException() throws IOException {
+
+        ByteArrayOutputStream outputStream = new ByteArrayOutputStream();
+        ByteArrayFraming.FIXED32.writeFrame(outputStream, new byte[] {1, 2, 3});
+
+        byte[] truncated = Arrays.copyOf(outputStream.toByteArray(), 5);
+        FramedRecordReader reader = new FramedRecordReader(
+                new ByteArrayInputStream(truncated), ByteArrayFraming.FIXED32);
+
+        assertThrows(EOFException.class, reader::next);
+    }
+
+    private List<byte[]> valuesWithNewlineBytes() {
+        byte[] large = new byte[70_000];
+        Arrays.fill(large, (byte) '\n');
+
+        return List.of(
+                new byte[] {'a', '\n', 'b'},
+                new byte[0],
+                large
+        );
+    }
+
+    private void assertRoundTrip(ByteArrayFraming framing, List<byte[]> values) throws IOException {
+        ByteArrayOutputStream outputStream = new ByteArrayOutputStream();
+        for (byte[] value : values) {
+            framing.writeFrame(outputStream, value);
+        }
+
+        try (FramedRecordReader reader = new FramedRecordReader(
+                new ByteArrayInputStream(outputStream.toByteArray()), framing)) {
+
+            for (byte[] value : values) {
+                assertArrayEquals(value, reader.next());
+            }
+            assertNull(reader.next());
+        }
+    }
+}
@@ -1,6 +1,9 @@
 package io.coffeebeans.connect.azure.blob.sink.format.bytearray;
 
 import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.never;
 import static org.mockito.Mockito.times;
 import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
@@ -10,6 +13,7 @@ import io.coffeebeans.connect.azure.blob.sink.format.CompressionType;
 import java.io.IOException;
 import java.io.OutputStream;
 import java.lang.reflect.Field;
+import java.nio.ByteBuffer;
 import org.apache.kafka.connect.converters.ByteArrayConverter;
 import org.apache.kafka.connect.sink.SinkRecord;
 import org.junit.jupiter.api.BeforeEach;
@@ -50,7 +54,8 @@ public class ByteArrayRecordWriterTest {
 
         writer = new ByteArrayRecordWriter(
                 null, CompressionType.NONE,
-                -1, 5, "test", "kTopic"
+                -1, null, 5, "test", "kTopic",
+                ByteArrayFraming.NEWLINE
         );
 
         // Injecting Mocked ByteArrayConverter
@@ -83,12 +88,53 @@ public class ByteArrayRecordWriterTest {
     void write_givenSinkRecord_shouldWriteDataToWrapperOutputStream() throws IOException {
 
         when(byteArrayConverter.fromConnectData(any(), any(), any()))
-                .thenReturn(null);
+                .thenReturn(new byte[] {1, 2});
 
         writer.write(sinkRecord);
 
-        verify(wrapperOutputStream, times(2))
-                .write(any());
+        verify(wrapperOutputStream, times(1))
+                .write(any(byte[].class), eq(0), eq(2));
+        verify(wrapperOutputStream, times(1))
+                .write(any(byte[].class));
+    }
+
+    /**
+     * <b>Method: {@link ByteArrayRecordWriter#write(SinkRecord)}</b>.<br>
+     */
+    @Test
+    @DisplayName("Given byte array value, write should not invoke the converter")
+    void write_givenByteArrayValue_shouldNotInvokeTheConverter() throws IOException {
+
+        byte[] value = new byte[] {1, 2, 3};
+        when(sinkRecord.value())
+                .thenReturn(value);
+
+        writer.write(sinkRecord);
+
+        verify(byteArrayConverter, never())
+                .fromConnectData(any(), any(), any());
+        verify(wrapperOutputStream, times(1))
+                .write(eq(value), eq(0), eq(3));
+    }
+
+    /**
+     * <b>Method: {@link ByteArrayRecordWriter#write(SinkRecord)}</b>.<br>
+     */
+    @Test
+    @DisplayName("Given byte buffer value, write should write its backing array without copying")
+    void write_givenByteBufferValue_shouldWriteItsBackingArrayWithoutCopying() throws IOException {
+
+        byte[] backingArray = new byte[] {0, 1, 2, 3, 4};
+        ByteBuffer value = ByteBuffer.wrap(backingArray, 1, 3);
+        when(sinkRecord.value())
+                .thenReturn(value);
+
+        writer.write(sinkRecord);
+
+        verify(byteArrayConverter, never())
+                .fromConnectData(any(), any(), any());
+        verify(wrapperOutputStream, times(1))
+                .write(eq(backingArray), eq(1), anyInt());
     }
 
     /**
@@ -1,6 +1,7 @@
 package io.coffeebeans.connect.azure.blob.sink.format.json;
 
 import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyInt;
 import static org.mockito.ArgumentMatchers.anyString;
 import static org.mockito.Mockito.times;
 import static org.mockito.Mockito.verify;
@@ -14,7 +15,6 @@ import java.io.OutputStream;
 import java.lang.reflect.Field;
 import java.util.HashMap;
 import org.apache.kafka.connect.data.Struct;
-import org.apache.kafka.connect.json.JsonConverter;
 import org.apache.kafka.connect.sink.SinkRecord;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.DisplayName;
@@ -42,7 +42,7 @@ public class JsonRecordWriterTest {
     private OutputStream wrapperOutputStream;
 
     @Mock
-    private JsonConverter jsonConverter;
+    private StructJsonSerializer structSerializer;
 
     @Mock
     private JsonGenerator jsonGenerator;
@@ -62,18 +62,13 @@ public class JsonRecordWriterTest {
                 null,
                 CompressionType.NONE,
                 -1,
+                null,
                 10000,
                 "test-blob",
-                100
+                structSerializer,
+                null
         );
 
-        // Injecting Mocked JsonConverter
-        Field jsonConverterField = writer
-                .getClass().getDeclaredField("jsonConverter");
-
-        jsonConverterField.setAccessible(true);
-        jsonConverterField.set(writer, jsonConverter);
-
         // Injecting Mocked JsonGenerator
         Field jsonGeneratorField = writer
                 .getClass().getDeclaredField("jsonGenerator");
@@ -100,16 +95,18 @@ public class JsonRecordWriterTest {
      * <b>Method: {@link JsonRecordWriter#write(SinkRecord)}</b>.<br>
      */
     @Test
-    @DisplayName("Given struct, write should write data to wrapper output stream")
-    void write_givenStruct_shouldWriteDataToWrapperOutputStream() throws IOException {
+    @DisplayName("Given struct, write should serialize it to Json generator")
+    void write_givenStruct_shouldSerializeItToJsonGenerator() throws IOException {
 
         when(sinkRecord.value())
                 .thenReturn(struct);
-        when(jsonConverter.fromConnectData(any(), any(), any()))
-                .thenReturn(null);
 
         writer.write(sinkRecord);
-        verify(wrapperOutputStream, times(2))
+        verify(structSerializer, times(1))
+                .serialize(jsonGenerator, struct);
+        verify(jsonGenerator, times(1))
+                .writeRaw(anyString());
+        verify(wrapperOutputStream, times(0))
                 .write(any());
     }
 
@@ -169,4 +166,34 @@ public class JsonRecordWriterTest {
         verify(jsonGenerator, times(1))
                 .close();
     }
+
+    /**
+     * <b>Method: {@link JsonRecordWriter#reset(String)}</b>.<br>
+     * <b>Expectations: </b>
+     * <ul>
+     *     <li>Should reset the output stream on the new blob</li>
+     *     <li>Should write the next records to a new compression wrapper</li>
+     * </ul>
+     */
+    @Test
+    @DisplayName("Given new blob, reset should reset the output stream and wrap it again")
+    void reset_givenNewBlob_shouldResetTheOutputStreamAndWrapItAgain() throws IOException {
+
+        when(outputStream.wrapForCompression())
+                .thenReturn(wrapperOutputStream);
+
+        writer.reset("next-blob");
+        verify(outputStream, times(1))
+                .reset("next-blob");
+
+        when(sinkRecord.value())
+                .thenReturn(new HashMap<>());
+
+        writer.write(sinkRecord);
+        writer.commit();
+        verify(jsonGenerator, times(0))
+                .writeObject(any());
+        verify(wrapperOutputStream, times(1))
+                .write(any(), anyInt(), anyInt());
+    }
 }
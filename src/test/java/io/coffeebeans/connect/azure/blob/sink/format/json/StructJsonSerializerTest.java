@@ -0,0 +1,133 @@
+package io.coffeebeans.connect.azure.blob.sink.format.json;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.math.BigDecimal;
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import org.apache.kafka.connect.data.Decimal;
+import org.apache.kafka.connect.data.Schema;
+import org.apache.kafka.connect.data.SchemaBuilder;
+import org.apache.kafka.connect.data.Struct;
+import org.apache.kafka.connect.errors.DataException;
+import org.apache.kafka.connect.json.JsonConverter;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+/**
+ * Unit tests for {@link StructJsonSerializer}.
+ */
+public class StructJsonSerializerTest {
+
+    private static final Schema ADDRESS_SCHEMA = SchemaBuilder.struct()
+            .field("city", Schema.STRING_SCHEMA)
+            .field("pin", Schema.OPTIONAL_INT32_SCHEMA)
+            .build();
+
+    private static final Schema SCHEMA = SchemaBuilder.struct()
+            .field("id", Schema.INT64_SCHEMA)
+            .field("name", Schema.STRING_SCHEMA)
+            .field("score", Schema.FLOAT64_SCHEMA)
+            .field("active", Schema.BOOLEAN_SCHEMA)
+            .field("payload", Schema.OPTIONAL_BYTES_SCHEMA)
+            .field("tags", SchemaBuilder.array(Schema.STRING_SCHEMA).build())
+            .field("counts", SchemaBuilder.map(Schema.STRING_SCHEMA, Schema.INT32_SCHEMA).build())
+            .field("amount", Decimal.schema(2))
+            .field("address", ADDRESS_SCHEMA)
+            .field("nickname", SchemaBuilder.string().optional().defaultValue("none").build())
+            .build();
+
+    private StructJsonSerializer serializer;
+
+    /**
+     * Init.
+     */
+    @BeforeEach
+    public void init() {
+        serializer = new StructJsonSerializer(10);
+    }
+
+    /**
+     * <b>Method: {@link StructJsonSerializer#serialize(JsonGenerator, Struct)}</b>.<br>
+     */
+    @Test
+    @DisplayName("Given struct, serialize should produce the same Json as JsonConverter")
+    void serialize_givenStruct_shouldProduceSameJsonAsJsonConverter() throws IOException {
+
+        Map<String, Integer> counts = new LinkedHashMap<>();
+        counts.put("a", 1);
+        counts.put("b", 2);
+
+        Struct struct = new Struct(SCHEMA)
+                .put("id", 42L)
+                .put("name", "test \"name\"")
+                .put("score", 1.5)
+                .put("active", true)
+                .put("payload", new byte[] {1, 2, 3})
+                .put("tags", Arrays.asList("x", "y"))
+                .put("counts", counts)
+                .put("amount", new BigDecimal("12.34"))
+                .put("address", new Struct(ADDRESS_SCHEMA).put("city", "Pune"));
+
+        ObjectMapper mapper = new ObjectMapper();
+        assertEquals(mapper.readTree(expected(struct)), mapper.readTree(serialize(struct)));
+    }
+
+    /**
+     * <b>Method: {@link StructJsonSerializer#serialize(JsonGenerator, Struct)}</b>.<br>
+     */
+    @Test
+    @DisplayName("Given structs with same schema, serialize should write each of them")
+    void serialize_givenStructsWithSameSchema_shouldWriteEachOfThem() throws IOException {
+
+        ByteArrayOutputStream outputStream = new ByteArrayOutputStream();
+        JsonGenerator generator = new ObjectMapper()
+                .getFactory()
+                .createGenerator(outputStream)
+                .setRootValueSeparator(null);
+
+        serializer.serialize(generator, new Struct(ADDRESS_SCHEMA).put("city", "Pune"));
+        serializer.serialize(generator, new Struct(ADDRESS_SCHEMA).put("city", "Goa").put("pin", 403001));
+        generator.flush();
+
+        assertEquals("{\"city\":\"Pune\",\"pin\":null}{\"city\":\"Goa\",\"pin\":403001}",
+                outputStream.toString(StandardCharsets.UTF_8));
+    }
+
+    /**
+     * <b>Method: {@link StructJsonSerializer#serialize(JsonGenerator, Struct)}</b>.<br>
+     */
+    @Test
+    @DisplayName("Given null value for required field, serialize should throw DataException")
+    void serialize_givenNullValueForRequiredField_shouldThrowDataException() {
+
+        Struct struct = new Struct(ADDRESS_SCHEMA);
+        assertThrows(DataException.class, () -> serialize(struct));
+    }
+
+    private String serialize(Struct struct) throws IOException {
+        ByteArrayOutputStream outputStream = new ByteArrayOutputStream();
+        JsonGenerator generator = new ObjectMapper()
+                .getFactory()
+                .createGenerator(outputStream);
+
+        serializer.serialize(generator, struct);
+        generator.flush();
+        return outputStream.toString(StandardCharsets.UTF_8);
+    }
+
+    private String expected(Struct struct) {
+        JsonConverter jsonConverter = new JsonConverter();
+        jsonConverter.configure(Map.of("schemas.enable", "false"), false);
+
+        return new String(jsonConverter.fromConnectData("test", struct.schema(), struct), StandardCharsets.UTF_8);
+    }
+}
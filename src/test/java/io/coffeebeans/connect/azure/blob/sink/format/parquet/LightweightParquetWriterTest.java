@@ -0,0 +1,406 @@
+package io.coffeebeans.connect.azure.blob.sink.format.parquet;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import io.coffeebeans.connect.azure.blob.sink.format.CompressionPool;
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.util.Map;
+import org.apache.avro.Schema;
+import org.apache.avro.SchemaBuilder;
+import org.apache.avro.generic.GenericData;
+import org.apache.avro.generic.GenericRecord;
+import org.apache.parquet.avro.AvroParquetReader;
+import org.apache.parquet.bytes.BytesInput;
+import org.apache.parquet.column.ColumnDescriptor;
+import org.apache.parquet.column.Encoding;
+import org.apache.parquet.column.ParquetProperties;
+import org.apache.parquet.column.ParquetProperties.WriterVersion;
+import org.apache.parquet.column.statistics.Statistics;
+import org.apache.parquet.hadoop.ParquetFileReader;
+import org.apache.parquet.hadoop.ParquetFileWriter;
+import org.apache.parquet.hadoop.ParquetReader;
+import org.apache.parquet.hadoop.metadata.BlockMetaData;
+import org.apache.parquet.hadoop.metadata.ColumnChunkMetaData;
+import org.apache.parquet.hadoop.metadata.CompressionCodecName;
+import org.apache.parquet.internal.column.columnindex.OffsetIndex;
+import org.apache.parquet.io.DelegatingSeekableInputStream;
+import org.apache.parquet.io.InputFile;
+import org.apache.parquet.io.OutputFile;
+import org.apache.parquet.io.PositionOutputStream;
+import org.apache.parquet.io.SeekableInputStream;
+import org.apache.parquet.schema.MessageType;
+import org.apache.parquet.schema.MessageTypeParser;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+/**
+ * Unit tests for {@link LightweightParquetWriter}.
+ */
+public class LightweightParquetWriterTest {
+
+    private static final Schema SCHEMA = SchemaBuilder.record("record")
+            .fields()
+            .requiredLong("id")
+            .requiredString("name")
+            .endRecord();
+
+    private CompressionPool pool;
+    private ParquetWriterResources resources;
+
+    /**
+     * Init.
+     */
+    @BeforeEach
+    public void init() {
+        pool = new CompressionPool(2);
+        resources = new ParquetWriterResources();
+    }
+
+    /**
+     * Tear down.
+     */
+    @AfterEach
+    public void tearDown() {
+        pool.close();
+        resources.close();
+    }
+
+    /**
+     * <b>Method: {@link LightweightParquetWriter#write(GenericRecord)}</b>.<br>
+     */
+    @Test
+    @DisplayName("Given records spanning row groups, standard reader should read them back in order")
+    void write_givenRecordsSpanningRowGroups_standardReaderShouldReadThemBackInOrder() throws IOException {
+
+        ByteArrayInputFile inputFile = write(CompressionCodecName.GZIP, 0, pool);
+
+        try (ParquetFileReader fileReader = ParquetFileReader.open(inputFile)) {
+            assertTrue(fileReader.getFooter().getBlocks().size() > 1);
+        }
+        assertReadBackInOrder(inputFile);
+    }
+
+    /**
+     * <b>Method: {@link LightweightParquetWriter#write(GenericRecord)}</b>.<br>
+     */
+    @Test
+    @DisplayName("Given no pool, pages compressed without Hadoop codecs should be read back by standard reader")
+    void write_givenNoPool_pagesCompressedWithoutHadoopCodecsShouldBeReadBackByStandardReader() throws IOException {
+
+        for (CompressionCodecName codec : new CompressionCodecName[] {
+                CompressionCodecName.UNCOMPRESSED,
+                CompressionCodecName.GZIP,
+                CompressionCodecName.SNAPPY,
+                CompressionCodecName.ZSTD}) {
+
+            assertReadBackInOrder(write(codec, 0, null));
+        }
+    }
+
+    /**
+     * <b>Method: {@link LightweightParquetWriter#write(GenericRecord)}</b>.<br>
+     */
+    @Test
+    @DisplayName("Given batch size, records encoded column by column should be read back in order")
+    void write_givenBatchSize_recordsEncodedColumnByColumnShouldBeReadBackInOrder() throws IOException {
+
+        ByteArrayInputFile inputFile = write(CompressionCodecName.SNAPPY, 256, pool);
+
+        try (ParquetFileReader fileReader = ParquetFileReader.open(inputFile)) {
+            assertTrue(fileReader.getFooter().getBlocks().size() > 1);
+        }
+        assertReadBackInOrder(inputFile);
+    }
+
+    /**
+     * <b>Method: {@link LightweightParquetWriter#write(GenericRecord)}</b>.<br>
+     */
+    @Test
+    @DisplayName("Given batch size and nullable fields, nulls should be read back")
+    void write_givenBatchSizeAndNullableFields_nullsShouldBeReadBack() throws IOException {
+
+        Schema schema = SchemaBuilder.record("record")
+                .fields()
+                .requiredInt("id")
+                .optionalDouble("amount")
+                .optionalBoolean("valid")
+                .optionalBytes("payload")
+                .endRecord();
+
+        ByteArrayOutputFile outputFile = new ByteArrayOutputFile();
+        try (LightweightParquetWriter writer = new LightweightParquetWriter(outputFile, schema,
+                resources.getConfiguration(false), ParquetProperties.builder().build(),
+                CompressionCodecName.UNCOMPRESSED, 16 * 1024, 64, null, resources)) {
+
+            for (int i = 0; i < 1000; i++) {
+                GenericRecord record = new GenericData.Record(schema);
+                record.put("id", i);
+                record.put("amount", i % 3 == 0 ? null : i * 1.5);
+                record.put("valid", i % 5 == 0 ? null : i % 2 == 0);
+                record.put("payload", i % 7 == 0 ? null : ByteBuffer.wrap(new byte[] {(byte) i}));
+                writer.write(record);
+            }
+        }
+
+        ByteArrayInputFile inputFile = new ByteArrayInputFile(outputFile.toByteArray());
+        try (ParquetReader<GenericRecord> reader = AvroParquetReader.<GenericRecord>builder(inputFile).build()) {
+            for (int i = 0; i < 1000; i++) {
+                GenericRecord record = reader.read();
+                assertEquals(i, record.get("id"));
+                assertEquals(i % 3 == 0 ? null : i * 1.5, record.get("amount"));
+                assertEquals(i % 5 == 0 ? null : i % 2 == 0, record.get("valid"));
+                assertEquals(i % 7 == 0 ? null : ByteBuffer.wrap(new byte[] {(byte) i}), record.get("payload"));
+            }
+            assertNull(reader.read());
+        }
+    }
+
+    /**
+     * <b>Method: {@link LightweightParquetWriter#write(GenericRecord)}</b>.<br>
+     * The v2 pages of the column writers are written as v1 data pages.
+     */
+    @Test
+    @DisplayName("Given v2 column writers, pages should be read back by standard reader")
+    void write_givenV2ColumnWriters_pagesShouldBeReadBackByStandardReader() throws IOException {
+
+        Schema schema = SchemaBuilder.record("record")
+                .fields()
+                .requiredLong("id")
+                .optionalString("name")
+                .endRecord();
+        ParquetProperties parquetProperties = ParquetProperties.builder()
+                .withPageSize(1024)
+                .withWriterVersion(WriterVersion.PARQUET_2_0)
+                .build();
+
+        ByteArrayOutputFile outputFile = new ByteArrayOutputFile();
+        try (LightweightParquetWriter writer = new LightweightParquetWriter(outputFile, schema,
+                resources.getConfiguration(false), parquetProperties, CompressionCodecName.SNAPPY, 16 * 1024, 0,
+                pool, resources)) {
+
+            for (long i = 0; i < 10_000; i++) {
+                GenericRecord record = new GenericData.Record(schema);
+                record.put("id", i);
+                record.put("name", i % 3 == 0 ? null : "name-" + i);
+                writer.write(record);
+            }
+        }
+
+        ByteArrayInputFile inputFile = new ByteArrayInputFile(outputFile.toByteArray());
+        try (ParquetReader<GenericRecord> reader = AvroParquetReader.<GenericRecord>builder(inputFile).build()) {
+            for (long i = 0; i < 10_000; i++) {
+                GenericRecord record = reader.read();
+                Object name = record.get("name");
+
+                assertEquals(i, record.get("id"));
+                assertEquals(i % 3 == 0 ? null : "name-" + i, name == null ? null : name.toString());
+            }
+            assertNull(reader.read());
+        }
+    }
+
+    /**
+     * <b>Method: {@link LightweightParquetWriter#write(GenericRecord)}</b>.<br>
+     * A batch larger than the page row count limit is encoded in slices.
+     */
+    @Test
+    @DisplayName("Given batch larger than page row count limit, pages should not exceed the limit")
+    void write_givenBatchLargerThanPageRowCountLimit_pagesShouldNotExceedTheLimit() throws IOException {
+
+        ByteArrayOutputFile outputFile = new ByteArrayOutputFile();
+        try (LightweightParquetWriter writer = new LightweightParquetWriter(outputFile, SCHEMA,
+                resources.getConfiguration(false), ParquetProperties.builder().withPageRowCountLimit(100).build(),
+                CompressionCodecName.UNCOMPRESSED, 16 * 1024, 1024, null, resources)) {
+
+            for (long i = 0; i < 10_000; i++) {
+                writer.write(newRecord(i));
+            }
+        }
+
+        ByteArrayInputFile inputFile = new ByteArrayInputFile(outputFile.toByteArray());
+        try (ParquetFileReader fileReader = ParquetFileReader.open(inputFile)) {
+            for (BlockMetaData block : fileReader.getFooter().getBlocks()) {
+                for (ColumnChunkMetaData column : block.getColumns()) {
+                    OffsetIndex offsetIndex = fileReader.readOffsetIndex(column);
+
+                    assertTrue(offsetIndex.getPageCount() > 1);
+                    for (int page = 0; page < offsetIndex.getPageCount(); page++) {
+                        long rows = offsetIndex.getLastRowIndex(page, block.getRowCount())
+                                - offsetIndex.getFirstRowIndex(page) + 1;
+                        assertTrue(rows <= 100);
+                    }
+                }
+            }
+        }
+        assertReadBackInOrder(inputFile);
+    }
+
+    /**
+     * <b>Method: {@link ParallelPageWriteStore#flushToFileWriter(ParquetFileWriter)}</b>.<br>
+     * A page of a repeated column handed over without its row count skips the indexes of the column.
+     */
+    @Test
+    @SuppressWarnings("deprecation")
+    @DisplayName("Given page of repeated column without row count, flush should skip the offset index")
+    void flushToFileWriter_givenPageOfRepeatedColumnWithoutRowCount_shouldSkipTheOffsetIndex() throws IOException {
+
+        MessageType schema = MessageTypeParser.parseMessageType("message record { repeated int32 values; }");
+        ColumnDescriptor column = schema.getColumns().get(0);
+        ParallelPageWriteStore pageStore = new ParallelPageWriteStore(
+                schema, CompressionCodecName.UNCOMPRESSED, null, resources);
+
+        pageStore.getPageWriter(column).writePage(BytesInput.from(new byte[8]), 2,
+                Statistics.createStats(column.getPrimitiveType()), Encoding.RLE, Encoding.RLE, Encoding.PLAIN);
+
+        ByteArrayOutputFile outputFile = new ByteArrayOutputFile();
+        ParquetFileWriter fileWriter = new ParquetFileWriter(
+                outputFile, schema, ParquetFileWriter.Mode.OVERWRITE, 16 * 1024, 0
+        );
+        fileWriter.start();
+        fileWriter.startBlock(1);
+        pageStore.flushToFileWriter(fileWriter);
+        fileWriter.endBlock();
+        fileWriter.end(Map.of());
+
+        ByteArrayInputFile inputFile = new ByteArrayInputFile(outputFile.toByteArray());
+        try (ParquetFileReader fileReader = ParquetFileReader.open(inputFile)) {
+            ColumnChunkMetaData chunk = fileReader.getFooter().getBlocks().get(0).getColumns().get(0);
+
+            assertEquals(2L, chunk.getValueCount());
+            assertNull(fileReader.readOffsetIndex(chunk));
+        }
+    }
+
+    private ByteArrayInputFile write(CompressionCodecName codec, int batchSize, CompressionPool pool)
+            throws IOException {
+
+        ByteArrayOutputFile outputFile = new ByteArrayOutputFile();
+        ParquetProperties parquetProperties = ParquetProperties.builder()
+                .withPageSize(1024)
+                .withDictionaryEncoding("name", false)
+                .build();
+
+        try (LightweightParquetWriter writer = new LightweightParquetWriter(outputFile, SCHEMA,
+                resources.getConfiguration(false), parquetProperties, codec, 16 * 1024, batchSize, pool, resources)) {
+
+            for (long i = 0; i < 10_000; i++) {
+                writer.write(newRecord(i));
+            }
+        }
+        return new ByteArrayInputFile(outputFile.toByteArray());
+    }
+
+    private void assertReadBackInOrder(ByteArrayInputFile inputFile) throws IOException {
+        try (ParquetReader<GenericRecord> reader = AvroParquetReader.<GenericRecord>builder(inputFile).build()) {
+            for (long i = 0; i < 10_000; i++) {
+                GenericRecord record = reader.read();
+                assertEquals(i, record.get("id"));
+                assertEquals("name-" + i, record.get("name").toString());
+            }
+            assertNull(reader.read());
+        }
+    }
+
+    private GenericRecord newRecord(long id) {
+        GenericRecord record = new GenericData.Record(SCHEMA);
+        record.put("id", id);
+        record.put("name", "name-" + id);
+
+        return record;
+    }
+
+    private static class ByteArrayOutputFile implements OutputFile {
+        private final ByteArrayOutputStream outputStream = new ByteArrayOutputStream();
+
+        @Override
+        public PositionOutputStream create(long blockSizeHint) {
+            return new PositionOutputStream() {
+                @Override
+                public long getPos() {
+                    return outputStream.size();
+                }
+
+                @Override
+                public void write(int b) {
+                    outputStream.write(b);
+                }
+
+                @Override
+                public void write(byte[] b, int off, int len) {
+                    outputStream.write(b, off, len);
+                }
+            };
+        }
+
+        @Override
+        public PositionOutputStream createOrOverwrite(long blockSizeHint) {
+            return create(blockSizeHint);
+        }
+
+        @Override
+        public boolean supportsBlockSize() {
+            return false;
+        }
+
+        @Override
+        public long defaultBlockSize() {
+            return 0;
+        }
+
+        private byte[] toByteArray() {
+            return outputStream.toByteArray();
+        }
+    }
+
+    private static class ByteArrayInputFile implements InputFile {
+        private final byte[] data;
+
+        private ByteArrayInputFile(byte[] data) {
+            this.data = data;
+        }
+
+        @Override
+        public long getLength() {
+            return data.length;
+        }
+
+        @Override
+        public SeekableInputStream newStream() {
+            SeekableByteArrayInputStream inputStream = new SeekableByteArrayInputStream(data);
+
+            return new DelegatingSeekableInputStream(inputStream) {
+                @Override
+                public long getPos() {
+                    return inputStream.getPos();
+                }
+
+                @Override
+                public void seek(long newPos) {
+                    inputStream.seek(newPos);
+                }
+            };
+        }
+    }
+
+    private static class SeekableByteArrayInputStream extends ByteArrayInputStream {
+
+        private SeekableByteArrayInputStream(byte[] data) {
+            super(data);
+        }
+
+        private long getPos() {
+            return pos;
+        }
+
+        private void seek(long newPos) {
+            pos = (int) newPos;
+        }
+    }
+}
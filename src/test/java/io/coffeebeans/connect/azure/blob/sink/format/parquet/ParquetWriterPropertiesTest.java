@@ -0,0 +1,117 @@
+package io.coffeebeans.connect.azure.blob.sink.format.parquet;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import io.coffeebeans.connect.azure.blob.sink.config.AzureBlobSinkConfig;
+import java.util.HashMap;
+import java.util.Map;
+import org.apache.kafka.common.config.ConfigException;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+/**
+ * Unit tests for {@link ParquetWriterProperties}.
+ */
+public class ParquetWriterPropertiesTest {
+    private static final String CONN_STR_VALUE = "AccountName=devstoreaccount1;"
+            + "AccountKey=Eby8vdM02xNOcqFlqUwJPLlmEtlCDXJ1OUzFT50uSRZ6IFsuF"
+            + "q2UVErCz4I6tq/K1SZFPTOtr/KBHBeksoGMGw==;DefaultEndpointsProt"
+            + "ocol=http;BlobEndpoint=http://host.docker.internal:10000/dev"
+            + "storeaccount1;";
+
+    private Map<String, String> parsedConfig;
+
+    /**
+     * Init.
+     */
+    @BeforeEach
+    public void init() {
+        parsedConfig = new HashMap<>();
+        parsedConfig.put(AzureBlobSinkConfig.FORMAT_CONF, "Parquet");
+        parsedConfig.put(AzureBlobSinkConfig.FLUSH_SIZE_CONF, "5000");
+        parsedConfig.put(AzureBlobSinkConfig.CONNECTION_STRING_CONF, CONN_STR_VALUE);
+    }
+
+    /**
+     * <b>Method: {@link ParquetWriterProperties#getBloomFilterColumns(String)}</b>.<br>
+     */
+    @Test
+    @DisplayName("Given topic override, getBloomFilterColumns should return the columns of the topic")
+    void getBloomFilterColumns_givenTopicOverride_shouldReturnTheColumnsOfTheTopic() {
+
+        parsedConfig.put(AzureBlobSinkConfig.PARQUET_BLOOM_FILTER_COLUMNS_CONF, "id");
+        parsedConfig.put(AzureBlobSinkConfig.PARQUET_BLOOM_FILTER_EXPECTED_NDV_CONF, "500");
+        parsedConfig.put("orders" + AzureBlobSinkConfig.TOPIC_PARQUET_BLOOM_FILTER_COLUMNS_SUFFIX,
+                "order_id:1000000, customer.email");
+
+        ParquetWriterProperties properties = new ParquetWriterProperties(
+                new AzureBlobSinkConfig(parsedConfig)
+        );
+
+        assertEquals(Map.of("order_id", 1000000L, "customer.email", 500L),
+                properties.getBloomFilterColumns("orders"));
+        assertEquals(Map.of("id", 500L), properties.getBloomFilterColumns("payments"));
+    }
+
+    /**
+     * <b>Method: {@link ParquetWriterProperties#ParquetWriterProperties(AzureBlobSinkConfig)}</b>.<br>
+     */
+    @Test
+    @DisplayName("Given invalid expected number of distinct values, constructor should throw ConfigException")
+    void constructor_givenInvalidExpectedNdv_shouldThrowConfigException() {
+
+        parsedConfig.put(AzureBlobSinkConfig.PARQUET_BLOOM_FILTER_COLUMNS_CONF, "id:many");
+        AzureBlobSinkConfig config = new AzureBlobSinkConfig(parsedConfig);
+
+        assertThrows(ConfigException.class, () -> new ParquetWriterProperties(config));
+    }
+
+    /**
+     * <b>Method: {@link ParquetWriterProperties#ParquetWriterProperties(AzureBlobSinkConfig)}</b>.<br>
+     * hadoop-mapreduce-client-core is on the test class path.
+     */
+    @Test
+    @DisplayName("Given v2 writer version with the Hadoop classes, constructor should use the standard writer")
+    void constructor_givenV2WriterVersionWithTheHadoopClasses_shouldUseTheStandardWriter() {
+
+        parsedConfig.put(AzureBlobSinkConfig.PARQUET_WRITER_VERSION_CONF, "v2");
+
+        ParquetWriterProperties properties = new ParquetWriterProperties(new AzureBlobSinkConfig(parsedConfig));
+
+        assertFalse(properties.supportsLightweightWriter());
+    }
+
+    /**
+     * <b>Method: {@link ParquetWriterProperties#requireStandardWriterClass(String)}</b>.<br>
+     */
+    @Test
+    @DisplayName("Given missing class, requireStandardWriterClass should throw ConfigException")
+    void requireStandardWriterClass_givenMissingClass_shouldThrowConfigException() {
+
+        assertThrows(ConfigException.class,
+                () -> ParquetWriterProperties.requireStandardWriterClass("org.apache.hadoop.mapreduce.Missing"));
+    }
+
+    /**
+     * <b>Method: {@link ParquetWriterProperties#sizingNdv(long)}</b>.<br>
+     */
+    @Test
+    @DisplayName("Given lower false positive probability, sizingNdv should scale up the distinct values")
+    void sizingNdv_givenLowerFpp_shouldScaleUpTheDistinctValues() {
+
+        ParquetWriterProperties defaultFpp = new ParquetWriterProperties(
+                new AzureBlobSinkConfig(parsedConfig)
+        );
+        assertEquals(1000L, defaultFpp.sizingNdv(1000L));
+
+        parsedConfig.put(AzureBlobSinkConfig.PARQUET_BLOOM_FILTER_FPP_CONF, "0.001");
+        ParquetWriterProperties lowerFpp = new ParquetWriterProperties(
+                new AzureBlobSinkConfig(parsedConfig)
+        );
+        assertTrue(lowerFpp.sizingNdv(1000L) > 1000L);
+    }
+}
@@ -0,0 +1,70 @@
+package io.coffeebeans.connect.azure.blob.sink.format.parquet;
+
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNotSame;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import org.apache.parquet.avro.AvroWriteSupport;
+import org.apache.parquet.hadoop.metadata.CompressionCodecName;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+/**
+ * Unit tests for {@link ParquetWriterResources}.
+ */
+public class ParquetWriterResourcesTest {
+
+    private ParquetWriterResources resources;
+
+    /**
+     * Init.
+     */
+    @BeforeEach
+    public void init() {
+        resources = new ParquetWriterResources();
+    }
+
+    /**
+     * Tear down.
+     */
+    @AfterEach
+    public void tearDown() {
+        resources.close();
+    }
+
+    /**
+     * <b>Method: {@link ParquetWriterResources#getConfiguration(boolean)}</b>.<br>
+     */
+    @Test
+    @DisplayName("Given array of optional items, getConfiguration should disable the old list structure")
+    void getConfiguration_givenArrayOfOptionalItems_shouldDisableTheOldListStructure() {
+
+        assertTrue(resources.getConfiguration(false)
+                .getBoolean(AvroWriteSupport.WRITE_OLD_LIST_STRUCTURE, true));
+        assertFalse(resources.getConfiguration(true)
+                .getBoolean(AvroWriteSupport.WRITE_OLD_LIST_STRUCTURE, true));
+
+        assertSame(resources.getConfiguration(false), resources.getConfiguration(false));
+    }
+
+    /**
+     * <b>Method: {@link ParquetWriterResources#borrowCompressor(CompressionCodecName)}</b>.<br>
+     */
+    @Test
+    @DisplayName("Given released compressor, borrowCompressor should reuse it")
+    void borrowCompressor_givenReleasedCompressor_shouldReuseIt() {
+
+        PageCompressor first = resources.borrowCompressor(CompressionCodecName.GZIP);
+        PageCompressor second = resources.borrowCompressor(CompressionCodecName.GZIP);
+        assertNotSame(first, second);
+
+        resources.releaseCompressor(first);
+        assertSame(first, resources.borrowCompressor(CompressionCodecName.GZIP));
+
+        resources.releaseCompressor(first);
+        resources.releaseCompressor(second);
+    }
+}
@@ -0,0 +1,137 @@
+package io.coffeebeans.connect.azure.blob.sink.manifest;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.coffeebeans.connect.azure.blob.sink.storage.InMemoryStorageManager;
+import java.nio.charset.StandardCharsets;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import org.apache.kafka.common.TopicPartition;
+import org.apache.kafka.common.record.TimestampType;
+import org.apache.kafka.connect.data.Schema;
+import org.apache.kafka.connect.data.SchemaBuilder;
+import org.apache.kafka.connect.data.Struct;
+import org.apache.kafka.connect.sink.SinkRecord;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+/**
+ * Unit tests for {@link ManifestWriter}.
+ */
+public class ManifestWriterTest {
+    private static final String TOPIC = "orders";
+    private static final TopicPartition TOPIC_PARTITION = new TopicPartition(TOPIC, 3);
+    private static final String BLOB_NAME = "topics/orders/partition=3/orders+3+100.json";
+
+    private static final Schema SCHEMA = SchemaBuilder.struct()
+            .field("amount", Schema.INT32_SCHEMA)
+            .field("country", Schema.STRING_SCHEMA)
+            .build();
+
+    private InMemoryStorageManager storageManager;
+    private ManifestWriter manifestWriter;
+
+    /**
+     * Init.
+     */
+    @BeforeEach
+    public void init() {
+        storageManager = new InMemoryStorageManager();
+        storageManager.configure(new HashMap<>());
+        manifestWriter = new ManifestWriter(storageManager, "topics", "/", List.of("amount", "country", "missing"));
+    }
+
+    /**
+     * <b>Method: {@link ManifestWriter#append(TopicPartition, String, long, ManifestEntry)}</b>.<br>
+     */
+    @Test
+    @DisplayName("Given struct records, append should write their offset, timestamp and column ranges")
+    void append_givenStructRecords_shouldWriteTheirOffsetTimestampAndColumnRanges() throws Exception {
+
+        ManifestEntry entry = manifestWriter.newEntry();
+        entry.update(record(100L, 2_000L, new Struct(SCHEMA).put("amount", 25).put("country", "FR")));
+        entry.update(record(101L, 1_000L, new Struct(SCHEMA).put("amount", 7).put("country", "US")));
+        entry.update(record(102L, 3_000L, new Struct(SCHEMA).put("amount", 12).put("country", "DE")));
+
+        JsonNode line = appendAndRead(entry, 1024L);
+
+        assertEquals(BLOB_NAME, line.get("blob").asText());
+        assertEquals(1024L, line.get("size").asLong());
+        assertEquals(TOPIC, line.get("topic").asText());
+        assertEquals(3, line.get("partition").asInt());
+        assertEquals(3L, line.get("records").asLong());
+        assertEquals(100L, line.get("start_offset").asLong());
+        assertEquals(102L, line.get("end_offset").asLong());
+        assertEquals(1_000L, line.get("min_timestamp").asLong());
+        assertEquals(3_000L, line.get("max_timestamp").asLong());
+        assertEquals(7L, line.at("/columns/amount/min").asLong());
+        assertEquals(25L, line.at("/columns/amount/max").asLong());
+        assertEquals("DE", line.at("/columns/country/min").asText());
+        assertEquals("US", line.at("/columns/country/max").asText());
+        assertFalse(line.get("columns").has("missing"));
+    }
+
+    /**
+     * <b>Method: {@link ManifestWriter#append(TopicPartition, String, long, ManifestEntry)}</b>.<br>
+     */
+    @Test
+    @DisplayName("Given map records without timestamp, append should write the column ranges only")
+    void append_givenMapRecordsWithoutTimestamp_shouldWriteTheColumnRangesOnly() throws Exception {
+
+        Map<String, Object> first = new HashMap<>();
+        first.put("amount", 4L);
+        Map<String, Object> second = new HashMap<>();
+        second.put("amount", 9.5);
+
+        ManifestEntry entry = manifestWriter.newEntry();
+        entry.update(new SinkRecord(TOPIC, 3, null, null, null, first, 100L));
+        entry.update(new SinkRecord(TOPIC, 3, null, null, null, second, 101L));
+
+        JsonNode line = appendAndRead(entry, 64L);
+
+        assertFalse(line.has("min_timestamp"));
+        assertEquals(4.0, line.at("/columns/amount/min").asDouble());
+        assertEquals(9.5, line.at("/columns/amount/max").asDouble());
+        assertFalse(line.get("columns").has("country"));
+    }
+
+    /**
+     * <b>Method: {@link ManifestWriter#manifestBlobName(String, long)}</b>.<br>
+     */
+    @Test
+    @DisplayName("Given commit time, manifestBlobName should return the manifest of the topic for its day in UTC")
+    void manifestBlobName_givenCommitTime_shouldReturnTheManifestOfTheTopicForItsDayInUtc() {
+
+        // 2022-11-21T23:59:59Z
+        assertEquals("topics/orders/_manifest/2022-11-21.jsonl",
+                manifestWriter.manifestBlobName(TOPIC, 1669075199000L));
+    }
+
+    private JsonNode appendAndRead(ManifestEntry entry, long blobSize) throws Exception {
+        long now = System.currentTimeMillis();
+        manifestWriter.append(TOPIC_PARTITION, BLOB_NAME, blobSize, entry);
+
+        String manifestBlobName = manifestWriter.manifestBlobName(TOPIC, now);
+        byte[] manifest = storageManager.getBlob(manifestBlobName);
+        for (int i = 0; manifest == null && i < 100; i++) {
+            Thread.sleep(50L);
+            manifest = storageManager.getBlob(manifestBlobName);
+        }
+        assertNotNull(manifest);
+
+        String content = new String(manifest, StandardCharsets.UTF_8);
+        assertEquals(1, content.split("\n").length);
+
+        return new ObjectMapper().readTree(content);
+    }
+
+    private static SinkRecord record(long offset, long timestamp, Struct value) {
+        return new SinkRecord(TOPIC, 3, null, null, SCHEMA, value, offset, timestamp, TimestampType.CREATE_TIME);
+    }
+}
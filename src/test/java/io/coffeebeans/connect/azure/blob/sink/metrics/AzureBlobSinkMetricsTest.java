@@ -0,0 +1,183 @@
+package io.coffeebeans.connect.azure.blob.sink.metrics;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import com.azure.core.http.HttpResponse;
+import com.azure.storage.blob.models.BlobStorageException;
+import io.coffeebeans.connect.azure.blob.sink.metrics.AzureBlobSinkMetrics.PartitionMetrics;
+import io.coffeebeans.connect.azure.blob.sink.metrics.AzureBlobSinkMetrics.RotationReason;
+import java.util.concurrent.atomic.AtomicInteger;
+import org.apache.kafka.common.TopicPartition;
+import org.apache.kafka.common.metrics.Metrics;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.mockito.Mockito;
+
+/**
+ * Unit tests for {@link AzureBlobSinkMetrics}.
+ */
+public class AzureBlobSinkMetricsTest {
+    private static final TopicPartition TOPIC_PARTITION = new TopicPartition("test", 0);
+
+    private Metrics registry;
+    private AzureBlobSinkMetrics metrics;
+
+    /**
+     * Init.
+     */
+    @BeforeEach
+    public void init() {
+        registry = new Metrics();
+        metrics = new AzureBlobSinkMetrics("test-connector", "0", registry);
+    }
+
+    /**
+     * Closes the metrics.
+     */
+    @AfterEach
+    public void close() {
+        metrics.close();
+    }
+
+    /**
+     * <b>Method: {@link AzureBlobSinkMetrics#recordStaged(long)}</b>.<br>
+     */
+    @Test
+    @DisplayName("Given staged and failed blocks, recordStaged should only record the latency of the staged ones")
+    void recordStaged_givenStagedAndFailedBlocks_shouldOnlyRecordTheLatencyOfTheStagedOnes() {
+
+        metrics.recordStaging();
+        metrics.recordStaging();
+        metrics.recordStaging();
+        assertEquals(3, value("blocks-in-flight", AzureBlobSinkMetrics.STORAGE_GROUP));
+
+        metrics.recordStaged(10L);
+        metrics.recordStaged(30L);
+        metrics.recordStaged(-1L);
+
+        assertEquals(0, value("blocks-in-flight", AzureBlobSinkMetrics.STORAGE_GROUP));
+        assertEquals(20.0, value("stage-latency-avg", AzureBlobSinkMetrics.STORAGE_GROUP));
+        assertEquals(30.0, value("stage-latency-max", AzureBlobSinkMetrics.STORAGE_GROUP));
+    }
+
+    /**
+     * <b>Method: {@link AzureBlobSinkMetrics#recordRetry(Throwable)}</b>.<br>
+     */
+    @Test
+    @DisplayName("Given throttled and failed requests, recordRetry should count the throttled ones")
+    void recordRetry_givenThrottledAndFailedRequests_shouldCountTheThrottledOnes() {
+
+        metrics.recordRetry(storageException(503));
+        metrics.recordRetry(storageException(429));
+        metrics.recordRetry(new RuntimeException("Connection reset"));
+
+        assertEquals(3.0, value("retry-total", AzureBlobSinkMetrics.STORAGE_GROUP));
+        assertEquals(2.0, value("throttle-total", AzureBlobSinkMetrics.STORAGE_GROUP));
+    }
+
+    /**
+     * <b>Method: {@link AzureBlobSinkMetrics#registerPartition(TopicPartition, java.util.function.IntSupplier,
+     * java.util.function.IntSupplier, int)}</b>.<br>
+     */
+    @Test
+    @DisplayName("Given a registered partition, gauges should follow the writers and close should unregister them")
+    void registerPartition_givenRegisteredPartition_gaugesShouldFollowTheWritersAndCloseShouldUnregisterThem() {
+
+        AtomicInteger openWriters = new AtomicInteger(2);
+        PartitionMetrics partitionMetrics = metrics.registerPartition(
+                TOPIC_PARTITION, openWriters::get, () -> 5, 1024
+        );
+        partitionMetrics.recordRotation(RotationReason.FLUSH_SIZE);
+        partitionMetrics.recordRotation(RotationReason.FLUSH_SIZE);
+        partitionMetrics.recordRotation(RotationReason.CLOSE);
+
+        assertEquals(2, value("open-writers", AzureBlobSinkMetrics.PARTITION_GROUP));
+        assertEquals(5, value("buffered-records", AzureBlobSinkMetrics.PARTITION_GROUP));
+        assertEquals(2048L, value("block-buffer-bytes", AzureBlobSinkMetrics.PARTITION_GROUP));
+        assertEquals(2.0, value("flush-size-rotation-total", AzureBlobSinkMetrics.PARTITION_GROUP));
+        assertEquals(0.0, value("rotate-interval-rotation-total", AzureBlobSinkMetrics.PARTITION_GROUP));
+        assertEquals(1.0, value("close-rotation-total", AzureBlobSinkMetrics.PARTITION_GROUP));
+
+        openWriters.set(3);
+        assertEquals(3072L, value("block-buffer-bytes", AzureBlobSinkMetrics.PARTITION_GROUP));
+
+        partitionMetrics.close();
+        assertFalse(registry.metrics().keySet().stream()
+                .anyMatch(name -> AzureBlobSinkMetrics.PARTITION_GROUP.equals(name.group())));
+        assertTrue(registry.metrics().keySet().stream()
+                .anyMatch(name -> AzureBlobSinkMetrics.STORAGE_GROUP.equals(name.group())));
+    }
+
+    /**
+     * <b>Method: {@link AzureBlobSinkMetrics#registerPartition(TopicPartition, java.util.function.IntSupplier,
+     * java.util.function.IntSupplier, int)}</b>.<br>
+     */
+    @Test
+    @DisplayName("Given partition registered again, registerPartition should replace its metrics")
+    void registerPartition_givenPartitionRegisteredAgain_shouldReplaceItsMetrics() {
+
+        metrics.registerPartition(TOPIC_PARTITION, () -> 1, () -> 1, 1024)
+                .recordRotation(RotationReason.FLUSH_SIZE);
+        metrics.registerPartition(TOPIC_PARTITION, () -> 4, () -> 2, 1024);
+
+        assertEquals(4, value("open-writers", AzureBlobSinkMetrics.PARTITION_GROUP));
+        assertEquals(0.0, value("flush-size-rotation-total", AzureBlobSinkMetrics.PARTITION_GROUP));
+    }
+
+    /**
+     * <b>Method: {@link PartitionMetrics#recordCommitted(long, long)}</b>.<br>
+     */
+    @Test
+    @DisplayName("Given files committed in two partitions, recordCommitted should record the lag per topic")
+    void recordCommitted_givenFilesCommittedInTwoPartitions_shouldRecordTheLagPerTopic() {
+
+        long now = System.currentTimeMillis();
+        metrics.registerPartition(TOPIC_PARTITION, () -> 0, () -> 0, 1024)
+                .recordCommitted(now - 1000L, now);
+        metrics.registerPartition(new TopicPartition("test", 1), () -> 0, () -> 0, 1024)
+                .recordCommitted(now - 3000L, now);
+        metrics.registerPartition(new TopicPartition("test", 2), () -> 0, () -> 0, 1024)
+                .recordCommitted(now + 5000L, now);
+
+        assertEquals(3000.0, value("freshness-lag-max", AzureBlobSinkMetrics.TOPIC_GROUP));
+        assertEquals(4000.0 / 3, value("freshness-lag-avg", AzureBlobSinkMetrics.TOPIC_GROUP));
+    }
+
+    private BlobStorageException storageException(int statusCode) {
+        HttpResponse response = Mockito.mock(HttpResponse.class);
+        Mockito.when(response.getStatusCode()).thenReturn(statusCode);
+
+        return new BlobStorageException("mocked", response, null);
+    }
+
+    /**
+     * <b>Constructor: {@link AzureBlobSinkMetrics#AzureBlobSinkMetrics(String, String, Metrics)}</b>.<br>
+     * The metrics are tagged with the connector and the id of the task given by the connector.
+     */
+    @Test
+    @DisplayName("Given connector name and task id, metrics should be tagged with them")
+    void constructor_givenConnectorNameAndTaskId_metricsShouldBeTaggedWithThem() {
+
+        registry.metrics().keySet().stream()
+                .filter(name -> name.group().equals(AzureBlobSinkMetrics.TASK_GROUP))
+                .forEach(name -> {
+                    assertEquals("test-connector", name.tags().get("connector"));
+                    assertEquals("0", name.tags().get("task"));
+                });
+        assertTrue(registry.metrics().keySet().stream()
+                .anyMatch(name -> name.group().equals(AzureBlobSinkMetrics.TASK_GROUP)));
+    }
+
+    private Object value(String name, String group) {
+        return registry.metrics().entrySet().stream()
+                .filter(entry -> entry.getKey().name().equals(name) && entry.getKey().group().equals(group))
+                .findFirst()
+                .orElseThrow()
+                .getValue()
+                .metricValue();
+    }
+}
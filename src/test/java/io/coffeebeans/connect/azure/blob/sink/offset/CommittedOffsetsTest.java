@@ -0,0 +1,207 @@
+package io.coffeebeans.connect.azure.blob.sink.offset;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+
+import io.coffeebeans.connect.azure.blob.sink.partitioner.BlobShards;
+import io.coffeebeans.connect.azure.blob.sink.storage.InMemoryStorageManager;
+import io.coffeebeans.connect.azure.blob.sink.storage.InMemoryStorageManager.Latency;
+import java.time.Duration;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import org.apache.kafka.common.TopicPartition;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+/**
+ * Unit tests for {@link CommittedOffsets}.
+ */
+public class CommittedOffsetsTest {
+    private static final String TOPIC = "orders";
+    private static final Duration TIMEOUT = Duration.ofSeconds(10);
+
+    private InMemoryStorageManager storageManager;
+    private CommittedOffsets committedOffsets;
+
+    /**
+     * Init.
+     */
+    @BeforeEach
+    public void init() {
+        storageManager = new InMemoryStorageManager();
+        storageManager.configure(new HashMap<>());
+        committedOffsets = new CommittedOffsets(storageManager, "topics", "/", new BlobShards(0), false, TIMEOUT);
+    }
+
+    /**
+     * <b>Method: {@link CommittedOffsets#getCommittedOffset(TopicPartition)}</b>.<br>
+     */
+    @Test
+    @DisplayName("Given committed blobs, getCommittedOffset should return the highest committed offset per partition")
+    void getCommittedOffset_givenCommittedBlobs_shouldReturnTheHighestCommittedOffsetPerPartition() {
+
+        commit("topics/orders/country=FR/orders+0+0.json", CommittedOffsets.metadata(0, 99L, 99L));
+        commit("topics/orders/country=US/orders+0+100.json", CommittedOffsets.metadata(0, 210L, 149L));
+        commit("topics/orders/country=FR/orders+0+150.json", CommittedOffsets.metadata(0, 180L, 180L));
+        commit("topics/orders/country=FR/orders+1+0.json", CommittedOffsets.metadata(1, 40L, 40L));
+
+        assertEquals(180L, committedOffsets.getCommittedOffset(new TopicPartition(TOPIC, 0)));
+        assertEquals(40L, committedOffsets.getCommittedOffset(new TopicPartition(TOPIC, 1)));
+        assertNull(committedOffsets.getCommittedOffset(new TopicPartition(TOPIC, 2)));
+    }
+
+    /**
+     * <b>Method: {@link CommittedOffsets#getCommittedOffset(TopicPartition)}</b>.<br>
+     * The manifests and the blobs of the other topics are not considered.
+     */
+    @Test
+    @DisplayName("Given blobs without offset metadata or of another topic, getCommittedOffset should ignore them")
+    void getCommittedOffset_givenBlobsWithoutOffsetMetadataOrOfAnotherTopic_shouldIgnoreThem() {
+
+        commit("topics/orders/_manifest/2026-10-18.jsonl", Map.of());
+        commit("topics/orders_archive/orders_archive+0+0.json", CommittedOffsets.metadata(0, 500L, 500L));
+        commit("topics/orders/orders+0+0.json", Map.of(CommittedOffsets.PARTITION_METADATA, "0",
+                CommittedOffsets.COMMITTED_OFFSET_METADATA, "invalid"));
+
+        assertNull(committedOffsets.getCommittedOffset(new TopicPartition(TOPIC, 0)));
+    }
+
+    /**
+     * <b>Method: {@link CommittedOffsets#getCommittedOffset(TopicPartition)}</b>.<br>
+     * The shard prefixes of the topic are listed.
+     */
+    @Test
+    @DisplayName("Given sharded blobs, getCommittedOffset should return the highest committed offset of all the shards")
+    void getCommittedOffset_givenShardedBlobs_shouldReturnTheHighestCommittedOffsetOfAllTheShards() {
+
+        BlobShards shards = new BlobShards(16);
+        committedOffsets = new CommittedOffsets(storageManager, "topics", "/", shards, false, TIMEOUT);
+
+        for (String country : List.of("FR", "US", "DE", "IN")) {
+            String shard = shards.shard(TOPIC, 0, "country=" + country);
+            long offset = country.charAt(0) * 10L;
+
+            commit("topics/orders/" + shard + "/country=" + country + "/orders+0+" + offset + ".json",
+                    CommittedOffsets.metadata(0, offset, offset));
+        }
+
+        assertEquals(850L, committedOffsets.getCommittedOffset(new TopicPartition(TOPIC, 0)));
+    }
+
+    /**
+     * <b>Method: {@link CommittedOffsets#update(TopicPartition, long)}</b>.<br>
+     * The blobs of a partition are listed once, the offsets kept are updated by the task.
+     */
+    @Test
+    @DisplayName("Given listed partition, update should keep the committed offset without listing again")
+    void update_givenListedPartition_shouldKeepTheCommittedOffsetWithoutListingAgain() {
+
+        commit("topics/orders/orders+0+0.json", CommittedOffsets.metadata(0, 99L, 99L));
+        TopicPartition topicPartition = new TopicPartition(TOPIC, 0);
+
+        assertEquals(99L, committedOffsets.getCommittedOffset(topicPartition));
+        long requestCount = storageManager.getRequestCount();
+
+        committedOffsets.update(topicPartition, 149L);
+        committedOffsets.update(topicPartition, 120L);
+
+        assertEquals(149L, committedOffsets.getCommittedOffset(topicPartition));
+        assertEquals(requestCount, storageManager.getRequestCount());
+    }
+
+    /**
+     * <b>Method: {@link CommittedOffsets#invalidate(TopicPartition)}</b>.<br>
+     * Another task may commit blobs of the partition once it is closed.
+     */
+    @Test
+    @DisplayName("Given closed partition, invalidate should list the blobs again on the next call")
+    void invalidate_givenClosedPartition_shouldListTheBlobsAgainOnTheNextCall() {
+
+        commit("topics/orders/orders+0+0.json", CommittedOffsets.metadata(0, 99L, 99L));
+        TopicPartition topicPartition = new TopicPartition(TOPIC, 0);
+
+        assertEquals(99L, committedOffsets.getCommittedOffset(topicPartition));
+
+        committedOffsets.invalidate(topicPartition);
+        committedOffsets.update(topicPartition, 120L);
+        commit("topics/orders/orders+0+100.json", CommittedOffsets.metadata(0, 109L, 109L));
+
+        assertEquals(109L, committedOffsets.getCommittedOffset(topicPartition));
+    }
+
+    /**
+     * <b>Method: {@link CommittedOffsets#getCommittedOffsets(Collection)}</b>.<br>
+     * The partitions of a topic opened together are listed at once.
+     */
+    @Test
+    @DisplayName("Given partitions of a topic, getCommittedOffsets should list the topic once")
+    void getCommittedOffsets_givenPartitionsOfATopic_shouldListTheTopicOnce() {
+
+        commit("topics/orders/orders+0+0.json", CommittedOffsets.metadata(0, 99L, 99L));
+        commit("topics/orders/orders+1+0.json", CommittedOffsets.metadata(1, 40L, 40L));
+        TopicPartition partition0 = new TopicPartition(TOPIC, 0);
+        TopicPartition partition1 = new TopicPartition(TOPIC, 1);
+        TopicPartition partition2 = new TopicPartition(TOPIC, 2);
+
+        long requestCount = storageManager.getRequestCount();
+        Map<TopicPartition, Long> offsets = committedOffsets.getCommittedOffsets(
+                List.of(partition0, partition1, partition2));
+
+        assertEquals(Map.of(partition0, 99L, partition1, 40L), offsets);
+        assertEquals(requestCount + 1, storageManager.getRequestCount());
+    }
+
+    /**
+     * <b>Method: {@link CommittedOffsets#getCommittedOffset(TopicPartition)}</b>.<br>
+     * With the default partitioner, only the directory of the partition is listed.
+     */
+    @Test
+    @DisplayName("Given partition directories, getCommittedOffset should only list the directory of the partition")
+    void getCommittedOffset_givenPartitionDirectories_shouldOnlyListTheDirectoryOfThePartition() {
+
+        BlobShards shards = new BlobShards(16);
+        committedOffsets = new CommittedOffsets(storageManager, "topics", "/", shards, true, TIMEOUT);
+
+        for (int partition : List.of(1, 10)) {
+            String shard = shards.shard(TOPIC, partition, "partition=" + partition);
+            long offset = partition * 100L;
+
+            commit("topics/orders/" + shard + "/partition=" + partition + "/orders+" + partition + "+0.json",
+                    CommittedOffsets.metadata(partition, offset, offset));
+        }
+
+        long requestCount = storageManager.getRequestCount();
+
+        assertEquals(100L, committedOffsets.getCommittedOffset(new TopicPartition(TOPIC, 1)));
+        assertEquals(requestCount + 1, storageManager.getRequestCount());
+    }
+
+    /**
+     * <b>Method: {@link CommittedOffsets#getCommittedOffset(TopicPartition)}</b>.<br>
+     * The consumer offsets are used when the listing times out, and the partition is listed again.
+     */
+    @Test
+    @DisplayName("Given listing timeout, getCommittedOffset should return null and list again on the next call")
+    void getCommittedOffset_givenListingTimeout_shouldReturnNullAndListAgainOnTheNextCall() {
+
+        commit("topics/orders/orders+0+0.json", CommittedOffsets.metadata(0, 99L, 99L));
+        TopicPartition topicPartition = new TopicPartition(TOPIC, 0);
+
+        storageManager.withLatency(Latency.fixed(1_000L));
+        committedOffsets = new CommittedOffsets(
+                storageManager, "topics", "/", new BlobShards(0), false, Duration.ofMillis(50));
+
+        assertNull(committedOffsets.getCommittedOffset(topicPartition));
+
+        storageManager.withLatency(Latency.none());
+
+        assertEquals(99L, committedOffsets.getCommittedOffset(topicPartition));
+    }
+
+    private void commit(String blobName, Map<String, String> metadata) {
+        storageManager.commitBlockIdsAsync(blobName, List.of(), false, metadata).block();
+    }
+}
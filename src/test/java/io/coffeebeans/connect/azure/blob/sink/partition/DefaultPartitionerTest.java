@@ -1,11 +1,14 @@
 package io.coffeebeans.connect.azure.blob.sink.partition;
 
 import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
 import static org.mockito.Mockito.when;
 
 import com.fasterxml.jackson.core.JsonProcessingException;
 import io.coffeebeans.connect.azure.blob.sink.config.AzureBlobSinkConfig;
+import io.coffeebeans.connect.azure.blob.sink.partitioner.BlobShards;
 import io.coffeebeans.connect.azure.blob.sink.partitioner.DefaultPartitioner;
+import java.util.stream.IntStream;
 import org.apache.kafka.connect.sink.SinkRecord;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.DisplayName;
@@ -126,4 +129,64 @@ public class DefaultPartitionerTest {
 
         assertEquals(expectedFullPath, actualFullPath);
     }
+
+    /**
+     * <b>Method name:
+     * {@link DefaultPartitioner#generateFullPath(SinkRecord, String, long)}
+     * generateFullPath(SinkRecord, String, long)}</b>.<br>
+     * <b>Assumption: </b>
+     * <ul>
+     *     <li>Sharding is enabled with 16 shards</li>
+     * </ul>
+     *
+     * <b>Expectations: </b>
+     * <ul>
+     *     <li>Should generate full path with the shard of the encoded partition after the topic</li>
+     *     <li>Should generate a path listed by one of the shard prefixes of the topic</li>
+     * </ul>
+     */
+    @Test
+    @DisplayName("Given shards, should generate full path with the shard of the encoded partition")
+    void generateFullPath_givenShards_shouldGenerateFullPathWithTheShardOfTheEncodedPartition() {
+
+        when(config.getPartitionerShards())
+                .thenReturn(16);
+        partitioner = new DefaultPartitioner(config);
+
+        SinkRecord record = new SinkRecord(
+                "TEST-TOPIC", 0, null, null,
+                null, "TEST-VALUE", 3L
+        );
+
+        BlobShards shards = new BlobShards(16);
+        String shard = shards.shard("TEST-TOPIC", 0, "partition=0");
+        String actualFullPath = partitioner.generateFullPath(record, "partition=0", 0L);
+
+        assertEquals(1, shard.length());
+        assertEquals("test/TEST-TOPIC/" + shard + "/partition=0/TEST-TOPIC+0+0", actualFullPath);
+        assertEquals(16, shards.prefixes("test", "TEST-TOPIC", "/").size());
+        assertTrue(shards.prefixes("test", "TEST-TOPIC", "/").stream().anyMatch(actualFullPath::startsWith));
+    }
+
+    /**
+     * <b>Method name:
+     * {@link BlobShards#shard(String, int, String)}</b>.<br>
+     *
+     * <b>Expectations: </b>
+     * <ul>
+     *     <li>Should spread the encoded partitions of a topic over all the shards</li>
+     * </ul>
+     */
+    @Test
+    @DisplayName("Given encoded partitions of a topic, shard should spread them over all the shards")
+    void shard_givenEncodedPartitionsOfATopic_shouldSpreadThemOverAllTheShards() {
+
+        BlobShards shards = new BlobShards(256);
+        long distinctShards = IntStream.range(0, 4096)
+                .mapToObj(partition -> shards.shard("TEST-TOPIC", partition, "partition=" + partition))
+                .distinct()
+                .count();
+
+        assertEquals(256, distinctShards);
+    }
 }
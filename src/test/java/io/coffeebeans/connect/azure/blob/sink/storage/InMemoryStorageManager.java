@@ -0,0 +1,419 @@
+package io.coffeebeans.connect.azure.blob.sink.storage;
+
+import com.azure.core.http.HttpHeaders;
+import com.azure.core.http.rest.Response;
+import com.azure.core.http.rest.SimpleResponse;
+import com.azure.storage.blob.models.AppendBlobItem;
+import com.azure.storage.blob.models.BlockBlobItem;
+import com.azure.storage.common.policy.RetryPolicyType;
+import io.coffeebeans.connect.azure.blob.sink.config.AzureBlobSinkConfig;
+import io.coffeebeans.connect.azure.blob.sink.exception.BlobStorageException;
+import java.io.ByteArrayOutputStream;
+import java.time.Duration;
+import java.time.OffsetDateTime;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.stream.Collectors;
+import reactor.core.Exceptions;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import reactor.util.retry.Retry;
+
+/**
+ * {@link StorageManager} keeping the staged blocks and the committed<br>
+ * blobs in memory, to run the record writers without a storage account.
+ *
+ * <p>Like the block blobs, committing blocks which were not staged fails,
+ * and so does committing over an existing blob without overwrite.
+ *
+ * <p>The storage can behave like a slow or throttled account: every
+ * request can be delayed by a {@link Latency} distribution and by the
+ * transfer of its data at a capped bandwidth, shared by the concurrent
+ * requests, and fail with a 503 or never respond at the configured rates.
+ * Like {@link AzureBlobStorageManager}, the asynchronous requests time out
+ * after {@code azblob.connection.timeout.ms} and are retried as configured
+ * with {@link #configure(Map)}. Without a timeout, the requests which do
+ * not respond never complete.
+ */
+public class InMemoryStorageManager implements StorageManager {
+
+    private final AtomicLong requests;
+    private final AtomicLong throttled;
+    private final AtomicLong timedOut;
+    private final AtomicLong committedBytes;
+    private final Map<String, byte[]> blobs;
+    private final Map<String, Map<String, byte[]>> stagedBlocks;
+    private final Map<String, Map<String, String>> metadata;
+
+    private Random random;
+    private Latency latency;
+    private double throttlingRate;
+    private double timeoutRate;
+    private long bytesPerSecond;
+    private long nextTransferAt;
+
+    private int retries;
+    private String retryType;
+    private long retryBackoffMs;
+    private long retryMaxBackoffMs;
+    private long connectionTimeoutMs;
+
+    /**
+     * Constructs {@link InMemoryStorageManager} responding immediately.
+     */
+    public InMemoryStorageManager() {
+        this.requests = new AtomicLong();
+        this.throttled = new AtomicLong();
+        this.timedOut = new AtomicLong();
+        this.committedBytes = new AtomicLong();
+        this.blobs = new ConcurrentHashMap<>();
+        this.stagedBlocks = new ConcurrentHashMap<>();
+        this.metadata = new ConcurrentHashMap<>();
+
+        this.random = new Random();
+        this.latency = Latency.none();
+    }
+
+    /**
+     * Reads the timeout and the retries of the requests, as the<br>
+     * {@link AzureBlobStorageManager}. Missing values disable them.
+     *
+     * @param configProps Retry configuration
+     */
+    @Override
+    public void configure(Map<String, Object> configProps) {
+        this.retries = (int) configProps.getOrDefault(AzureBlobSinkConfig.RETRIES_CONF, 0);
+        this.retryType = (String) configProps.getOrDefault(AzureBlobSinkConfig.RETRY_TYPE_CONF, "EXPONENTIAL");
+        this.retryBackoffMs = (long) configProps.getOrDefault(AzureBlobSinkConfig.RETRY_BACKOFF_MS_CONF, 0L);
+        this.retryMaxBackoffMs = (long) configProps.getOrDefault(AzureBlobSinkConfig.RETRY_MAX_BACKOFF_MS_CONF, 0L);
+        this.connectionTimeoutMs = (long) configProps.getOrDefault(AzureBlobSinkConfig.CONNECTION_TIMEOUT_MS_CONF, 0L);
+    }
+
+    /**
+     * Delays every request.
+     *
+     * @param latency Latency distribution
+     * @return This storage manager
+     */
+    public InMemoryStorageManager withLatency(Latency latency) {
+        this.latency = latency;
+        return this;
+    }
+
+    /**
+     * Fails a fraction of the requests with a 503, after their latency.
+     *
+     * @param throttlingRate Fraction of the requests, between 0 and 1
+     * @return This storage manager
+     */
+    public InMemoryStorageManager withThrottlingRate(double throttlingRate) {
+        this.throttlingRate = throttlingRate;
+        return this;
+    }
+
+    /**
+     * Leaves a fraction of the requests without response.
+     *
+     * @param timeoutRate Fraction of the requests, between 0 and 1
+     * @return This storage manager
+     */
+    public InMemoryStorageManager withTimeoutRate(double timeoutRate) {
+        this.timeoutRate = timeoutRate;
+        return this;
+    }
+
+    /**
+     * Caps the bandwidth shared by the requests. The data of a request<br>
+     * is transferred after the data of the requests before it.
+     *
+     * @param bytesPerSecond Bandwidth, 0 for unlimited
+     * @return This storage manager
+     */
+    public InMemoryStorageManager withBandwidth(long bytesPerSecond) {
+        this.bytesPerSecond = bytesPerSecond;
+        return this;
+    }
+
+    /**
+     * Makes the latencies and the failures reproducible.
+     *
+     * @param seed Seed of the random generator
+     * @return This storage manager
+     */
+    public InMemoryStorageManager withSeed(long seed) {
+        this.random = new Random(seed);
+        return this;
+    }
+
+    @Override
+    public void append(String blobName, byte[] data) {
+        append(blobName, -1, data);
+    }
+
+    @Override
+    public void append(String blobName, long maxBlobSize, byte[] data) {
+        withRetries(request(data.length, () -> appendBlock(blobName, maxBlobSize, data)))
+                .block();
+    }
+
+    @Override
+    public Mono<Response<AppendBlobItem>> appendAsync(String blobName, byte[] data) {
+        return withRetries(request(data.length, () -> {
+            appendBlock(blobName, -1, data);
+            return new SimpleResponse<AppendBlobItem>(null, 201, new HttpHeaders(), null);
+        }));
+    }
+
+    @Override
+    public void upload(String blobName, byte[] data) {
+        upload(blobName, -1, data);
+    }
+
+    @Override
+    public void upload(String blobName, long maxBlobSize, byte[] data) {
+        withRetries(request(data.length, () -> {
+            blobs.put(blobName, data.clone());
+            committedBytes.addAndGet(data.length);
+            return null;
+        })).block();
+    }
+
+    @Override
+    public Mono<Response<Void>> stageBlockAsync(String blobName, String base64BlockId, byte[] data) {
+        return withRetries(request(data.length, () -> {
+            stagedBlocks.computeIfAbsent(blobName, name -> new ConcurrentHashMap<>())
+                    .put(base64BlockId, data);
+            return new SimpleResponse<Void>(null, 201, new HttpHeaders(), null);
+        }));
+    }
+
+    @Override
+    public Mono<BlockBlobItem> commitBlockIdsAsync(String blobName, List<String> base64BlockIds, boolean overwrite) {
+        return commitBlockIdsAsync(blobName, base64BlockIds, overwrite, Map.of());
+    }
+
+    @Override
+    public Mono<BlockBlobItem> commitBlockIdsAsync(String blobName, List<String> base64BlockIds, boolean overwrite,
+                                                   Map<String, String> blobMetadata) {
+        return withRetries(request(0, () -> {
+            if (!overwrite && blobs.containsKey(blobName)) {
+                throw new BlobStorageException("Blob already exists: " + blobName);
+            }
+            Map<String, byte[]> blocks = stagedBlocks.getOrDefault(blobName, Map.of());
+            ByteArrayOutputStream blob = new ByteArrayOutputStream();
+
+            for (String blockId : base64BlockIds) {
+                byte[] block = blocks.get(blockId);
+                if (block == null) {
+                    throw new BlobStorageException("Block: " + blockId + " is not staged for blob: " + blobName);
+                }
+                blob.write(block, 0, block.length);
+            }
+            stagedBlocks.remove(blobName);
+            blobs.put(blobName, blob.toByteArray());
+            metadata.put(blobName, Map.copyOf(blobMetadata));
+            committedBytes.addAndGet(blob.size());
+
+            return new BlockBlobItem(UUID.randomUUID().toString(), OffsetDateTime.now(), null, false, null);
+        }));
+    }
+
+    @Override
+    public Flux<Map<String, String>> listMetadataAsync(String prefix) {
+        return withRetries(request(0, () -> blobs.keySet().stream()
+                .filter(blobName -> blobName.startsWith(prefix))
+                .map(blobName -> metadata.getOrDefault(blobName, Map.of()))
+                .collect(Collectors.toList())))
+                .flatMapIterable(list -> list);
+    }
+
+    /**
+     * Content of a committed blob.
+     *
+     * @param blobName Name of the blob
+     * @return Content, or null if the blob does not exist
+     */
+    public byte[] getBlob(String blobName) {
+        return blobs.get(blobName);
+    }
+
+    public Set<String> getBlobNames() {
+        return blobs.keySet();
+    }
+
+    /**
+     * Number of bytes committed, appended or uploaded since the<br>
+     * creation of the storage, including the blobs cleared since.
+     *
+     * @return Number of bytes
+     */
+    public long getCommittedBytes() {
+        return committedBytes.get();
+    }
+
+    /**
+     * Number of requests sent, including the retries.
+     *
+     * @return Number of requests
+     */
+    public long getRequestCount() {
+        return requests.get();
+    }
+
+    public long getThrottledCount() {
+        return throttled.get();
+    }
+
+    public long getTimedOutCount() {
+        return timedOut.get();
+    }
+
+    /**
+     * Drops all the blobs and staged blocks.
+     */
+    public void clear() {
+        blobs.clear();
+        stagedBlocks.clear();
+        metadata.clear();
+    }
+
+    /**
+     * A request, delayed and failed as configured when subscribed.
+     *
+     * @param bytes Size of the data sent
+     * @param operation Operation on the storage, run if the request succeeds
+     * @return Mono of the result of the operation
+     */
+    private <T> Mono<T> request(long bytes, Callable<T> operation) {
+        return Mono.defer(() -> {
+            requests.incrementAndGet();
+            long delayMs = latency.nextMillis(random) + reserveTransfer(bytes);
+
+            if (random.nextDouble() < timeoutRate) {
+                timedOut.incrementAndGet();
+                return Mono.never();
+            }
+            Mono<T> response;
+
+            if (random.nextDouble() < throttlingRate) {
+                throttled.incrementAndGet();
+                response = Mono.error(new ServerBusyException());
+            } else {
+                response = Mono.fromCallable(operation);
+            }
+            return delayMs > 0
+                    ? Mono.delay(Duration.ofMillis(delayMs)).then(response)
+                    : response;
+        });
+    }
+
+    private <T> Mono<T> withRetries(Mono<T> request) {
+        if (connectionTimeoutMs > 0) {
+            request = request.timeout(
+                    Duration.ofMillis(connectionTimeoutMs),
+                    Mono.error(() -> new BlobStorageException("Timeout while sending request"))
+            );
+        }
+        if (retries <= 0) {
+            return request;
+        }
+        Retry retry = RetryPolicyType.FIXED.toString().equalsIgnoreCase(retryType)
+                ? Retry.fixedDelay(retries, Duration.ofMillis(retryBackoffMs))
+                        .onRetryExhaustedThrow((spec, signal) -> Exceptions.propagate(signal.failure()))
+                : Retry.backoff(retries, Duration.ofMillis(retryBackoffMs))
+                        .maxBackoff(Duration.ofMillis(Math.max(retryBackoffMs, retryMaxBackoffMs)))
+                        .onRetryExhaustedThrow((spec, signal) -> Exceptions.propagate(signal.failure()));
+
+        return request.retryWhen(retry);
+    }
+
+    /**
+     * Reserves the transfer of the data on the shared bandwidth.
+     *
+     * @return Delay until the data is transferred, in milliseconds
+     */
+    private synchronized long reserveTransfer(long bytes) {
+        if (bytesPerSecond <= 0) {
+            return 0;
+        }
+        long now = System.nanoTime();
+        nextTransferAt = Math.max(nextTransferAt, now) + bytes * TimeUnit.SECONDS.toNanos(1) / bytesPerSecond;
+
+        return TimeUnit.NANOSECONDS.toMillis(nextTransferAt - now);
+    }
+
+    private Void appendBlock(String blobName, long maxBlobSize, byte[] data) {
+        blobs.merge(blobName, data.clone(), (blob, appended) -> {
+            if (maxBlobSize > 0 && blob.length + appended.length > maxBlobSize) {
+                throw new BlobStorageException("Max blob size exceeded for blob: " + blobName);
+            }
+            return concat(blob, appended);
+        });
+        committedBytes.addAndGet(data.length);
+        return null;
+    }
+
+    private static byte[] concat(byte[] first, byte[] second) {
+        byte[] bytes = new byte[first.length + second.length];
+        System.arraycopy(first, 0, bytes, 0, first.length);
+        System.arraycopy(second, 0, bytes, first.length, second.length);
+        return bytes;
+    }
+
+    /**
+     * Distribution of the latency of the requests.
+     */
+    @FunctionalInterface
+    public interface Latency {
+
+        /**
+         * Draws the latency of a request.
+         *
+         * @param random Random generator of the storage
+         * @return Latency in milliseconds
+         */
+        long nextMillis(Random random);
+
+        static Latency none() {
+            return random -> 0L;
+        }
+
+        static Latency fixed(long latencyMs) {
+            return random -> latencyMs;
+        }
+
+        static Latency uniform(long minLatencyMs, long maxLatencyMs) {
+            return random -> minLatencyMs + (long) (random.nextDouble() * (maxLatencyMs - minLatencyMs));
+        }
+
+        /**
+         * Log-normal latency, the usual shape of the latency of a service:<br>
+         * most requests are close to the median, a few are much slower.
+         *
+         * @param medianLatencyMs Median latency
+         * @param sigma Standard deviation of the log of the latency, for e.g. 0.5
+         * @return Latency distribution
+         */
+        static Latency logNormal(double medianLatencyMs, double sigma) {
+            return random -> Math.round(medianLatencyMs * Math.exp(sigma * random.nextGaussian()));
+        }
+    }
+
+    /**
+     * Error of the throttled requests, the 503 Server Busy of the storage.
+     */
+    public static class ServerBusyException extends BlobStorageException {
+        public static final int STATUS_CODE = 503;
+
+        public ServerBusyException() {
+            super("Status code " + STATUS_CODE + ", Server Busy: the server is currently unable to receive requests");
+        }
+    }
+}
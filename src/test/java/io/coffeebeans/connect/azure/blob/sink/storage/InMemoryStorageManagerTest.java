@@ -0,0 +1,94 @@
+package io.coffeebeans.connect.azure.blob.sink.storage;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import io.coffeebeans.connect.azure.blob.sink.config.AzureBlobSinkConfig;
+import io.coffeebeans.connect.azure.blob.sink.exception.BlobStorageException;
+import io.coffeebeans.connect.azure.blob.sink.storage.InMemoryStorageManager.Latency;
+import io.coffeebeans.connect.azure.blob.sink.storage.InMemoryStorageManager.ServerBusyException;
+import java.time.Duration;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import reactor.test.StepVerifier;
+
+/**
+ * Unit tests for {@link InMemoryStorageManager}.
+ */
+public class InMemoryStorageManagerTest {
+    private static final String BLOB_NAME = "test-blob";
+    private static final String BLOCK_ID = "YmxvY2stMQ==";
+
+    private Map<String, Object> retryConfig;
+
+    /**
+     * Init.
+     */
+    @BeforeEach
+    public void init() {
+        retryConfig = new HashMap<>();
+        retryConfig.put(AzureBlobSinkConfig.RETRIES_CONF, 2);
+        retryConfig.put(AzureBlobSinkConfig.RETRY_TYPE_CONF, "FIXED");
+        retryConfig.put(AzureBlobSinkConfig.RETRY_BACKOFF_MS_CONF, 1L);
+        retryConfig.put(AzureBlobSinkConfig.CONNECTION_TIMEOUT_MS_CONF, 100L);
+    }
+
+    /**
+     * <b>Method: {@link InMemoryStorageManager#stageBlockAsync(String, String, byte[])}</b>.<br>
+     */
+    @Test
+    @DisplayName("Given throttled storage, stageBlockAsync should retry and fail with server busy")
+    void stageBlockAsync_givenThrottledStorage_shouldRetryAndFailWithServerBusy() {
+
+        InMemoryStorageManager storageManager = new InMemoryStorageManager()
+                .withThrottlingRate(1.0);
+        storageManager.configure(retryConfig);
+
+        StepVerifier.create(storageManager.stageBlockAsync(BLOB_NAME, BLOCK_ID, new byte[] {1}))
+                .expectError(ServerBusyException.class)
+                .verify(Duration.ofSeconds(5));
+
+        assertEquals(3, storageManager.getRequestCount());
+        assertEquals(3, storageManager.getThrottledCount());
+    }
+
+    /**
+     * <b>Method: {@link InMemoryStorageManager#commitBlockIdsAsync(String, List, boolean)}</b>.<br>
+     */
+    @Test
+    @DisplayName("Given unresponsive storage, commitBlockIdsAsync should time out after the retries")
+    void commitBlockIdsAsync_givenUnresponsiveStorage_shouldTimeOutAfterTheRetries() {
+
+        InMemoryStorageManager storageManager = new InMemoryStorageManager()
+                .withTimeoutRate(1.0);
+        storageManager.configure(retryConfig);
+
+        StepVerifier.create(storageManager.commitBlockIdsAsync(BLOB_NAME, List.of(BLOCK_ID), false))
+                .expectError(BlobStorageException.class)
+                .verify(Duration.ofSeconds(5));
+
+        assertEquals(3, storageManager.getTimedOutCount());
+    }
+
+    /**
+     * <b>Method: {@link InMemoryStorageManager#stageBlockAsync(String, String, byte[])}</b>.<br>
+     */
+    @Test
+    @DisplayName("Given bandwidth cap, stageBlockAsync should take the transfer time of the data")
+    void stageBlockAsync_givenBandwidthCap_shouldTakeTheTransferTimeOfTheData() {
+
+        InMemoryStorageManager storageManager = new InMemoryStorageManager()
+                .withLatency(Latency.fixed(0))
+                .withBandwidth(10_000);
+
+        long start = System.nanoTime();
+        storageManager.stageBlockAsync(BLOB_NAME, BLOCK_ID, new byte[2_000])
+                .block();
+
+        assertTrue(Duration.ofNanos(System.nanoTime() - start).toMillis() >= 190);
+    }
+}
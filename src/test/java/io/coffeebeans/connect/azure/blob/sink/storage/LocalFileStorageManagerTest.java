@@ -0,0 +1,170 @@
+package io.coffeebeans.connect.azure.blob.sink.storage;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.junit.jupiter.api.Assumptions.assumeTrue;
+
+import io.coffeebeans.connect.azure.blob.sink.exception.BlobStorageException;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.attribute.UserDefinedFileAttributeView;
+import java.util.List;
+import java.util.Map;
+import java.util.stream.Stream;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import reactor.core.publisher.Mono;
+
+/**
+ * Unit tests for {@link LocalFileStorageManager}.
+ */
+public class LocalFileStorageManagerTest {
+    private static final String CONTAINER_NAME = "container";
+    private static final String BLOB_NAME = "topics/test/partition=0/test+0+0.json";
+
+    @TempDir
+    Path rootDir;
+
+    private LocalFileStorageManager storageManager;
+
+    /**
+     * Init.
+     */
+    @BeforeEach
+    public void init() {
+        storageManager = new LocalFileStorageManager(rootDir.toString(), CONTAINER_NAME);
+        storageManager.configure(Map.of());
+    }
+
+    /**
+     * <b>Method: {@link LocalFileStorageManager#commitBlockIdsAsync(String, List, boolean)}</b>.<br>
+     */
+    @Test
+    @DisplayName("Given blocks in staged order, commitBlockIdsAsync should move the staging file to the blob")
+    void commitBlockIdsAsync_givenBlocksInStagedOrder_shouldMoveTheStagingFileToTheBlob() throws IOException {
+
+        Mono.when(
+                storageManager.stageBlockAsync(BLOB_NAME, "block-1", new byte[] {1, 2, 3}),
+                storageManager.stageBlockAsync(BLOB_NAME, "block-2", new byte[] {4, 5})
+        ).block();
+        storageManager.commitBlockIdsAsync(BLOB_NAME, List.of("block-1", "block-2"), false)
+                .block();
+
+        Path blob = rootDir.resolve(CONTAINER_NAME).resolve(BLOB_NAME);
+        assertArrayEquals(new byte[] {1, 2, 3, 4, 5}, Files.readAllBytes(blob));
+
+        try (Stream<Path> stagingFiles = Files.list(rootDir.resolve(CONTAINER_NAME).resolve(".staging"))) {
+            assertEquals(0, stagingFiles.count());
+        }
+    }
+
+    /**
+     * <b>Method: {@link LocalFileStorageManager#commitBlockIdsAsync(String, List, boolean)}</b>.<br>
+     */
+    @Test
+    @DisplayName("Given blocks in another order, commitBlockIdsAsync should write the blocks in the order of the list")
+    void commitBlockIdsAsync_givenBlocksInAnotherOrder_shouldWriteTheBlocksInTheOrderOfTheList() throws IOException {
+
+        storageManager.stageBlockAsync(BLOB_NAME, "block-1", new byte[] {1, 2, 3}).block();
+        storageManager.stageBlockAsync(BLOB_NAME, "block-2", new byte[] {4, 5}).block();
+        storageManager.commitBlockIdsAsync(BLOB_NAME, List.of("block-2", "block-1"), false)
+                .block();
+
+        Path blob = rootDir.resolve(CONTAINER_NAME).resolve(BLOB_NAME);
+        assertArrayEquals(new byte[] {4, 5, 1, 2, 3}, Files.readAllBytes(blob));
+    }
+
+    /**
+     * <b>Method: {@link LocalFileStorageManager#commitBlockIdsAsync(String, List, boolean)}</b>.<br>
+     */
+    @Test
+    @DisplayName("Given existing blob without overwrite, commitBlockIdsAsync should throw BlobStorageException")
+    void commitBlockIdsAsync_givenExistingBlobWithoutOverwrite_shouldThrowBlobStorageException() throws IOException {
+
+        storageManager.upload(BLOB_NAME, new byte[] {0});
+        storageManager.stageBlockAsync(BLOB_NAME, "block-1", new byte[] {1}).block();
+
+        Mono<?> commit = storageManager.commitBlockIdsAsync(BLOB_NAME, List.of("block-1"), false);
+
+        assertThrows(BlobStorageException.class, commit::block);
+        assertArrayEquals(new byte[] {0}, Files.readAllBytes(rootDir.resolve(CONTAINER_NAME).resolve(BLOB_NAME)));
+    }
+
+    /**
+     * <b>Method: {@link LocalFileStorageManager#commitBlockIdsAsync(String, List, boolean, Map)}</b>.<br>
+     * The metadata is written on the staging file, before it is moved into place.
+     */
+    @Test
+    @DisplayName("Given existing blob without overwrite, commitBlockIdsAsync should not write the metadata on it")
+    void commitBlockIdsAsync_givenExistingBlobWithoutOverwrite_shouldNotWriteTheMetadataOnIt() throws IOException {
+
+        assumeTrue(Files.getFileStore(rootDir).supportsFileAttributeView(UserDefinedFileAttributeView.class));
+
+        storageManager.upload(BLOB_NAME, new byte[] {0});
+        storageManager.stageBlockAsync(BLOB_NAME, "block-1", new byte[] {1}).block();
+
+        Mono<?> commit = storageManager.commitBlockIdsAsync(BLOB_NAME, List.of("block-1"), false,
+                Map.of("kafka_partition", "0"));
+
+        assertThrows(BlobStorageException.class, commit::block);
+        assertEquals(List.of(Map.of()), storageManager.listMetadataAsync("topics/test/").collectList().block());
+
+        try (Stream<Path> stagingFiles = Files.list(rootDir.resolve(CONTAINER_NAME).resolve(".staging"))) {
+            assertEquals(0, stagingFiles.count());
+        }
+    }
+
+    /**
+     * <b>Method: {@link LocalFileStorageManager#listMetadataAsync(String)}</b>.<br>
+     * The metadata are user defined attributes, skipped if the file system does not support them.
+     */
+    @Test
+    @DisplayName("Given blobs committed with metadata, listMetadataAsync should return the metadata of the prefix")
+    void listMetadataAsync_givenBlobsCommittedWithMetadata_shouldReturnTheMetadataOfThePrefix() throws IOException {
+
+        assumeTrue(Files.getFileStore(rootDir).supportsFileAttributeView(UserDefinedFileAttributeView.class));
+
+        storageManager.stageBlockAsync(BLOB_NAME, "block-1", new byte[] {1}).block();
+        storageManager.commitBlockIdsAsync(BLOB_NAME, List.of("block-1"), false, Map.of("kafka_partition", "0"))
+                .block();
+        storageManager.stageBlockAsync("topics/other/other+0+0.json", "block-1", new byte[] {1}).block();
+        storageManager.commitBlockIdsAsync("topics/other/other+0+0.json", List.of("block-1"), false,
+                Map.of("kafka_partition", "1")).block();
+
+        List<Map<String, String>> metadata = storageManager.listMetadataAsync("topics/test/")
+                .collectList()
+                .block();
+
+        assertEquals(List.of(Map.of("kafka_partition", "0")), metadata);
+    }
+
+    /**
+     * <b>Method: {@link LocalFileStorageManager#append(String, long, byte[])}</b>.<br>
+     */
+    @Test
+    @DisplayName("Given max blob size, append should append until the blob reaches it")
+    void append_givenMaxBlobSize_shouldAppendUntilTheBlobReachesIt() throws IOException {
+
+        storageManager.append(BLOB_NAME, 4, new byte[] {1, 2});
+        storageManager.appendAsync(BLOB_NAME, new byte[] {3}).block();
+
+        assertThrows(BlobStorageException.class, () -> storageManager.append(BLOB_NAME, 4, new byte[] {4, 5}));
+        assertArrayEquals(new byte[] {1, 2, 3}, Files.readAllBytes(rootDir.resolve(CONTAINER_NAME).resolve(BLOB_NAME)));
+        assertTrue(Files.isDirectory(rootDir.resolve(CONTAINER_NAME).resolve("topics")));
+    }
+
+    /**
+     * <b>Method: {@link LocalFileStorageManager#upload(String, byte[])}</b>.<br>
+     */
+    @Test
+    @DisplayName("Given blob name outside of the container, upload should throw BlobStorageException")
+    void upload_givenBlobNameOutsideOfTheContainer_shouldThrowBlobStorageException() {
+
+        assertThrows(BlobStorageException.class, () -> storageManager.upload("../escaped.json", new byte[] {1}));
+    }
+}
@@ -0,0 +1,100 @@
+package io.coffeebeans.connect.azure.blob.sink.storage;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+
+import io.coffeebeans.connect.azure.blob.sink.config.AzureBlobSinkConfig;
+import io.coffeebeans.connect.azure.blob.sink.metrics.AzureBlobSinkMetrics;
+import java.time.Duration;
+import java.util.HashMap;
+import java.util.Map;
+import org.apache.kafka.common.metrics.Metrics;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import reactor.test.StepVerifier;
+
+/**
+ * Unit tests for {@link MeteredStorageManager}.
+ */
+public class MeteredStorageManagerTest {
+    private static final String BLOB_NAME = "test-blob";
+    private static final String BLOCK_ID = "YmxvY2stMQ==";
+
+    private Metrics registry;
+    private AzureBlobSinkMetrics metrics;
+    private Map<String, Object> retryConfig;
+
+    /**
+     * Init.
+     */
+    @BeforeEach
+    public void init() {
+        registry = new Metrics();
+        metrics = new AzureBlobSinkMetrics("test-connector", "0", registry);
+
+        retryConfig = new HashMap<>();
+        retryConfig.put(AzureBlobSinkConfig.RETRIES_CONF, 2);
+        retryConfig.put(AzureBlobSinkConfig.RETRY_TYPE_CONF, "FIXED");
+        retryConfig.put(AzureBlobSinkConfig.RETRY_BACKOFF_MS_CONF, 1L);
+        retryConfig.put(AzureBlobSinkConfig.CONNECTION_TIMEOUT_MS_CONF, 100L);
+    }
+
+    /**
+     * Closes the metrics.
+     */
+    @AfterEach
+    public void close() {
+        metrics.close();
+    }
+
+    /**
+     * <b>Method: {@link MeteredStorageManager#stageBlockAsync(String, String, byte[])}</b>.<br>
+     */
+    @Test
+    @DisplayName("Given staged block, stageBlockAsync should record its bytes and latency")
+    void stageBlockAsync_givenStagedBlock_shouldRecordItsBytesAndLatency() {
+
+        StorageManager storageManager = new MeteredStorageManager(new InMemoryStorageManager(), metrics);
+        storageManager.configure(retryConfig);
+
+        StepVerifier.create(storageManager.stageBlockAsync(BLOB_NAME, BLOCK_ID, new byte[] {1, 2, 3}))
+                .expectNextCount(1)
+                .expectComplete()
+                .verify(Duration.ofSeconds(5));
+
+        assertEquals(3.0, value("byte-total", AzureBlobSinkMetrics.TASK_GROUP));
+        assertEquals(0, value("blocks-in-flight", AzureBlobSinkMetrics.STORAGE_GROUP));
+        assertFalse(Double.isNaN((double) value("stage-latency-max", AzureBlobSinkMetrics.STORAGE_GROUP)));
+    }
+
+    /**
+     * <b>Method: {@link MeteredStorageManager#stageBlockAsync(String, String, byte[])}</b>.<br>
+     */
+    @Test
+    @DisplayName("Given throttled storage, stageBlockAsync should not record the failed block")
+    void stageBlockAsync_givenThrottledStorage_shouldNotRecordTheFailedBlock() {
+
+        StorageManager storageManager = new MeteredStorageManager(
+                new InMemoryStorageManager().withThrottlingRate(1.0), metrics
+        );
+        storageManager.configure(retryConfig);
+
+        StepVerifier.create(storageManager.stageBlockAsync(BLOB_NAME, BLOCK_ID, new byte[] {1, 2, 3}))
+                .expectError()
+                .verify(Duration.ofSeconds(5));
+
+        assertEquals(0.0, value("byte-total", AzureBlobSinkMetrics.TASK_GROUP));
+        assertEquals(0, value("blocks-in-flight", AzureBlobSinkMetrics.STORAGE_GROUP));
+    }
+
+    private Object value(String name, String group) {
+        return registry.metrics().entrySet().stream()
+                .filter(entry -> entry.getKey().name().equals(name) && entry.getKey().group().equals(group))
+                .findFirst()
+                .orElseThrow()
+                .getValue()
+                .metricValue();
+    }
+}